@@ -0,0 +1,241 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.ext;
+
+import static java.lang.Math.min;
+import static java.lang.String.format;
+
+import java.util.Random;
+
+import org.jenetics.Chromosome;
+import org.jenetics.Genotype;
+import org.jenetics.Phenotype;
+import org.jenetics.Population;
+import org.jenetics.Recombinator;
+import org.jenetics.ext.internal.PreorderTree;
+import org.jenetics.util.ISeq;
+import org.jenetics.util.MSeq;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * Swaps two, randomly chosen, subtrees of two given tree chromosomes, like
+ * the {@link SingleNodeCrossover}. In contrast to the
+ * {@link SingleNodeCrossover}, this crossover doesn't convert the
+ * chromosomes into {@link org.jenetics.ext.util.TreeNode} objects. The
+ * flattened genes are re-arranged in preorder, where every subtree is a
+ * continuous gene range, and swapping two subtrees is a range copy.
+ * <p>
+ * The size and the depth of the created trees can be limited. If an
+ * offspring would exceed one of the limits, the parent tree is kept
+ * instead. The limits are checked before the offspring is created.
+ *
+ * <pre>{@code
+ * final Engine<ProgramGene<Double>, Double> engine = Engine
+ *     .builder(fitness, codec)
+ *     .alterers(new SubtreeCrossover<>(0.1, 17, 500), new Mutator<>())
+ *     .build();
+ * }</pre>
+ *
+ * @see SingleNodeCrossover
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+public class SubtreeCrossover<
+	G extends TreeGene<?, G>,
+	C extends Comparable<? super C>
+>
+	extends Recombinator<G, C>
+{
+
+	private final int _maxDepth;
+	private final int _maxSize;
+
+	/**
+	 * Create a new subtree crossover with the given probability and tree
+	 * limits.
+	 *
+	 * @param probability the recombination probability
+	 * @param maxDepth the maximal depth of the created trees
+	 * @param maxSize the maximal number of nodes of the created trees
+	 * @throws IllegalArgumentException if the {@code probability} is not in
+	 *         the valid range of {@code [0, 1]}, the {@code maxDepth} is
+	 *         negative or the {@code maxSize} is smaller than one
+	 */
+	public SubtreeCrossover(
+		final double probability,
+		final int maxDepth,
+		final int maxSize
+	) {
+		super(probability, 2);
+		if (maxDepth < 0) {
+			throw new IllegalArgumentException(format(
+				"Max depth must not be negative: %d", maxDepth
+			));
+		}
+		if (maxSize < 1) {
+			throw new IllegalArgumentException(format(
+				"Max size must be greater than zero: %d", maxSize
+			));
+		}
+
+		_maxDepth = maxDepth;
+		_maxSize = maxSize;
+	}
+
+	/**
+	 * Create a new subtree crossover with the given probability and without
+	 * tree limits.
+	 *
+	 * @param probability the recombination probability
+	 * @throws IllegalArgumentException if the {@code probability} is not in
+	 *         the valid range of {@code [0, 1]}
+	 */
+	public SubtreeCrossover(final double probability) {
+		this(probability, Integer.MAX_VALUE, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Create a new subtree crossover with the default probability and
+	 * without tree limits.
+	 */
+	public SubtreeCrossover() {
+		this(DEFAULT_ALTER_PROBABILITY);
+	}
+
+	/**
+	 * Return the maximal depth of the created trees.
+	 *
+	 * @return the maximal depth of the created trees
+	 */
+	public int getMaxDepth() {
+		return _maxDepth;
+	}
+
+	/**
+	 * Return the maximal number of nodes of the created trees.
+	 *
+	 * @return the maximal number of nodes of the created trees
+	 */
+	public int getMaxSize() {
+		return _maxSize;
+	}
+
+	@Override
+	protected int recombine(
+		final Population<G, C> population,
+		final int[] individuals,
+		final long generation
+	) {
+		assert individuals.length == 2 : "Required order of 2";
+		final Random random = RandomRegistry.getRandom();
+
+		final Phenotype<G, C> pt1 = population.get(individuals[0]);
+		final Phenotype<G, C> pt2 = population.get(individuals[1]);
+		final Genotype<G> gt1 = pt1.getGenotype();
+		final Genotype<G> gt2 = pt2.getGenotype();
+
+		//Choosing the Chromosome index for crossover.
+		final int chIndex = random.nextInt(min(gt1.length(), gt2.length()));
+
+		final MSeq<Chromosome<G>> c1 = gt1.toSeq().copy();
+		final MSeq<Chromosome<G>> c2 = gt2.toSeq().copy();
+
+		final int changed = crossover(c1, c2, chIndex, random);
+
+		if (changed > 0) {
+			population.set(
+				individuals[0],
+				pt1.newInstance(Genotype.of(c1.toISeq()), generation)
+			);
+			population.set(
+				individuals[1],
+				pt2.newInstance(Genotype.of(c2.toISeq()), generation)
+			);
+		}
+
+		return changed;
+	}
+
+	// The allele type "A" is not part of the type signature and is made
+	// "visible" again with unchecked casts, like in the TreeCrossover.
+	private <A> int crossover(
+		final MSeq<Chromosome<G>> c1,
+		final MSeq<Chromosome<G>> c2,
+		final int index,
+		final Random random
+	) {
+		@SuppressWarnings("unchecked")
+		final PreorderTree<A> tree1 = (PreorderTree<A>)PreorderTree.of(c1.get(index).toSeq());
+		@SuppressWarnings("unchecked")
+		final PreorderTree<A> tree2 = (PreorderTree<A>)PreorderTree.of(c2.get(index).toSeq());
+
+		int changed = 0;
+		if (tree1.size() > 1 && tree2.size() > 1) {
+			final int i1 = random.nextInt(tree1.size() - 1) + 1;
+			final int i2 = random.nextInt(tree2.size() - 1) + 1;
+
+			if (isValid(tree1, i1, tree2, i2)) {
+				c1.set(index, offspring(c1.get(index), tree1.replace(i1, tree2, i2)));
+				++changed;
+			}
+			if (isValid(tree2, i2, tree1, i1)) {
+				c2.set(index, offspring(c2.get(index), tree2.replace(i2, tree1, i1)));
+				++changed;
+			}
+		}
+
+		return changed;
+	}
+
+	private boolean isValid(
+		final PreorderTree<?> tree,
+		final int index,
+		final PreorderTree<?> other,
+		final int otherIndex
+	) {
+		return tree.replacedSize(index, other, otherIndex) <= _maxSize &&
+			tree.replacedDepth(index, other, otherIndex) <= _maxDepth;
+	}
+
+	private <A> Chromosome<G> offspring(
+		final Chromosome<G> parent,
+		final PreorderTree<A> tree
+	) {
+		@SuppressWarnings("unchecked")
+		final TreeGene<A, ?> template = (TreeGene<A, ?>)parent.getGene();
+
+		@SuppressWarnings("unchecked")
+		final ISeq<G> genes = tree.toBreadthFirst((value, offset, count) ->
+			(G)template.newInstance(value, offset, count));
+
+		return parent.newInstance(genes);
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"%s[p=%f, maxDepth=%d, maxSize=%d]",
+			getClass().getSimpleName(), _probability, _maxDepth, _maxSize
+		);
+	}
+
+}
@@ -0,0 +1,411 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.ext.internal;
+
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+
+import org.jenetics.ext.util.FlatTree;
+import org.jenetics.util.ISeq;
+import org.jenetics.util.MSeq;
+import org.jenetics.util.Seq;
+
+/**
+ * Array based tree representation, where the nodes are stored in preorder.
+ * In this representation every subtree occupies a continuous index range,
+ * {@code [index, index + size(index))}, and replacing a subtree is a simple
+ * range copy. The subtree sizes, subtree depths and node levels are
+ * pre-calculated. Tree operators, like crossover and mutation, can work on
+ * this representation without creating a node object per tree node.
+ * <p>
+ * <em>This class is immutable.</em>
+ *
+ * @param <V> the node value type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+public final class PreorderTree<V> {
+
+	/**
+	 * Factory for the nodes of the breadth-first flattened tree.
+	 *
+	 * @param <V> the node value type
+	 * @param <N> the node type
+	 */
+	@FunctionalInterface
+	public static interface NodeFactory<V, N> {
+
+		/**
+		 * Create a new node of a breadth-first flattened tree.
+		 *
+		 * @param value the node value
+		 * @param childOffset the index of the first child node, or {@code -1}
+		 *        if the node is a leaf
+		 * @param childCount the number of children
+		 * @return a new flat tree node
+		 */
+		public N apply(final V value, final int childOffset, final int childCount);
+
+	}
+
+	private final Object[] _values;
+	private final int[] _arities;
+	private final int[] _sizes;
+	private final int[] _depths;
+	private final int[] _levels;
+
+	private PreorderTree(final Object[] values, final int[] arities) {
+		final int n = values.length;
+		_values = values;
+		_arities = arities;
+		_sizes = new int[n];
+		_depths = new int[n];
+		_levels = new int[n];
+
+		// Levels: stack of the remaining child slots of the open nodes.
+		final int[] remaining = new int[n];
+		int sp = 0;
+		for (int i = 0; i < n; ++i) {
+			if (i > 0 && sp == 0) {
+				throw new IllegalArgumentException(format(
+					"Invalid preorder tree: %d nodes expected, but got %d.", i, n
+				));
+			}
+
+			_levels[i] = sp;
+			if (arities[i] > 0) {
+				remaining[sp++] = arities[i];
+			} else {
+				while (sp > 0 && --remaining[sp - 1] == 0) {
+					--sp;
+				}
+			}
+		}
+		if (sp != 0 || n == 0) {
+			throw new IllegalArgumentException(
+				"Invalid preorder tree: missing child nodes."
+			);
+		}
+
+		// Sizes and depths: stack of the completed subtrees.
+		final int[] sizes = remaining;
+		final int[] depths = new int[n];
+		for (int i = n; --i >= 0;) {
+			int size = 1;
+			int depth = 0;
+			for (int j = 0; j < arities[i]; ++j) {
+				--sp;
+				size += sizes[sp];
+				depth = max(depth, depths[sp] + 1);
+			}
+			sizes[sp] = _sizes[i] = size;
+			depths[sp] = _depths[i] = depth;
+			++sp;
+		}
+	}
+
+	/**
+	 * Return the number of nodes of the whole tree.
+	 *
+	 * @return the number of tree nodes
+	 */
+	public int size() {
+		return _values.length;
+	}
+
+	/**
+	 * Return the depth of the whole tree.
+	 *
+	 * @return the depth of the tree
+	 */
+	public int depth() {
+		return _depths[0];
+	}
+
+	/**
+	 * Return the value of the node at the given preorder {@code index}.
+	 *
+	 * @param index the preorder node index
+	 * @return the node value
+	 */
+	@SuppressWarnings("unchecked")
+	public V value(final int index) {
+		return (V)_values[index];
+	}
+
+	/**
+	 * Return the number of children of the node at the given {@code index}.
+	 *
+	 * @param index the preorder node index
+	 * @return the number of children
+	 */
+	public int arity(final int index) {
+		return _arities[index];
+	}
+
+	/**
+	 * Return the size of the subtree rooted at the given {@code index}.
+	 *
+	 * @param index the preorder node index
+	 * @return the subtree size
+	 */
+	public int size(final int index) {
+		return _sizes[index];
+	}
+
+	/**
+	 * Return the depth of the subtree rooted at the given {@code index}.
+	 *
+	 * @param index the preorder node index
+	 * @return the subtree depth
+	 */
+	public int depth(final int index) {
+		return _depths[index];
+	}
+
+	/**
+	 * Return the distance of the node at the given {@code index} from the
+	 * root node.
+	 *
+	 * @param index the preorder node index
+	 * @return the node level
+	 */
+	public int level(final int index) {
+		return _levels[index];
+	}
+
+	/**
+	 * Return the size of the tree, which would be created by
+	 * {@link #replace(int, PreorderTree, int)}.
+	 *
+	 * @param index the index of the subtree to replace
+	 * @param other the tree which contains the new subtree
+	 * @param otherIndex the index of the new subtree
+	 * @return the size of the resulting tree
+	 */
+	public int replacedSize(
+		final int index,
+		final PreorderTree<?> other,
+		final int otherIndex
+	) {
+		return size() - _sizes[index] + other._sizes[otherIndex];
+	}
+
+	/**
+	 * Return the depth of the tree, which would be created by
+	 * {@link #replace(int, PreorderTree, int)}.
+	 *
+	 * @param index the index of the subtree to replace
+	 * @param other the tree which contains the new subtree
+	 * @param otherIndex the index of the new subtree
+	 * @return the depth of the resulting tree
+	 */
+	public int replacedDepth(
+		final int index,
+		final PreorderTree<?> other,
+		final int otherIndex
+	) {
+		int depth = _levels[index] + other._depths[otherIndex];
+		for (int i = 0; i < index; ++i) {
+			depth = max(depth, _levels[i]);
+		}
+		for (int i = index + _sizes[index]; i < _values.length; ++i) {
+			depth = max(depth, _levels[i]);
+		}
+		return depth;
+	}
+
+	/**
+	 * Return a new tree, where the subtree at the given {@code index} is
+	 * replaced by the subtree of the {@code other} tree.
+	 *
+	 * @param index the index of the subtree to replace
+	 * @param other the tree which contains the new subtree
+	 * @param otherIndex the index of the new subtree
+	 * @return a new tree with the replaced subtree
+	 * @throws NullPointerException if the {@code other} tree is {@code null}
+	 * @throws IndexOutOfBoundsException if one of the indexes is out of range
+	 */
+	public PreorderTree<V> replace(
+		final int index,
+		final PreorderTree<? extends V> other,
+		final int otherIndex
+	) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		if (otherIndex < 0 || otherIndex >= other.size()) {
+			throw new IndexOutOfBoundsException(Integer.toString(otherIndex));
+		}
+
+		final int removed = _sizes[index];
+		final int inserted = other._sizes[otherIndex];
+		final int tail = _values.length - index - removed;
+		final int n = _values.length - removed + inserted;
+
+		final Object[] values = new Object[n];
+		final int[] arities = new int[n];
+		System.arraycopy(_values, 0, values, 0, index);
+		System.arraycopy(_arities, 0, arities, 0, index);
+		System.arraycopy(other._values, otherIndex, values, index, inserted);
+		System.arraycopy(other._arities, otherIndex, arities, index, inserted);
+		System.arraycopy(_values, index + removed, values, index + inserted, tail);
+		System.arraycopy(_arities, index + removed, arities, index + inserted, tail);
+
+		return new PreorderTree<>(values, arities);
+	}
+
+	/**
+	 * Return the nodes of this tree in breadth-first order, as it is used by
+	 * {@link FlatTree} implementations.
+	 *
+	 * @param factory the factory which creates the flat tree nodes
+	 * @param <N> the flat tree node type
+	 * @return the nodes of this tree in breadth-first order
+	 * @throws NullPointerException if the {@code factory} is {@code null}
+	 */
+	public <N> ISeq<N> toBreadthFirst(final NodeFactory<? super V, ? extends N> factory) {
+		requireNonNull(factory);
+
+		final int n = _values.length;
+		final MSeq<N> nodes = MSeq.ofLength(n);
+		final int[] queue = new int[n];
+
+		int tail = 1;
+		for (int head = 0; head < n; ++head) {
+			final int node = queue[head];
+			final int arity = _arities[node];
+			final int childOffset = arity > 0 ? tail : -1;
+
+			for (int j = 0, child = node + 1; j < arity; ++j) {
+				queue[tail++] = child;
+				child += _sizes[child];
+			}
+
+			nodes.set(head, factory.apply(value(node), childOffset, arity));
+		}
+
+		return nodes.toISeq();
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 17;
+		hash += 31*Arrays.hashCode(_values) + 37;
+		hash += 31*Arrays.hashCode(_arities) + 37;
+		return hash;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return obj instanceof PreorderTree<?> &&
+			Arrays.equals(((PreorderTree<?>)obj)._values, _values) &&
+			Arrays.equals(((PreorderTree<?>)obj)._arities, _arities);
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(_values);
+	}
+
+	/**
+	 * Create a new preorder tree from the given breadth-first flattened tree
+	 * nodes, e.g. the genes of a tree chromosome.
+	 *
+	 * @param nodes the breadth-first flattened tree nodes
+	 * @param <V> the node value type
+	 * @return a new preorder tree
+	 * @throws NullPointerException if the given {@code nodes} are {@code null}
+	 * @throws IllegalArgumentException if the given {@code nodes} are empty
+	 *         or don't form a valid tree
+	 */
+	public static <V> PreorderTree<V> of(
+		final Seq<? extends FlatTree<? extends V, ?>> nodes
+	) {
+		final int n = nodes.size();
+		final Object[] values = new Object[n];
+		final int[] arities = new int[n];
+
+		// Stack of the breadth-first indexes of the not visited nodes.
+		final int[] stack = new int[n];
+		int sp = 0;
+		if (n > 0) {
+			stack[sp++] = 0;
+		}
+
+		int index = 0;
+		while (sp > 0) {
+			if (index == n) {
+				throw new IllegalArgumentException("Invalid flat tree.");
+			}
+
+			final FlatTree<? extends V, ?> node = nodes.get(stack[--sp]);
+			values[index] = node.getValue();
+			arities[index] = node.childCount();
+			++index;
+
+			for (int j = node.childCount(); --j >= 0;) {
+				if (sp == n) {
+					throw new IllegalArgumentException("Invalid flat tree.");
+				}
+				stack[sp++] = node.childOffset() + j;
+			}
+		}
+		if (index != n) {
+			throw new IllegalArgumentException(format(
+				"Invalid flat tree: %d of %d nodes reachable.", index, n
+			));
+		}
+
+		return new PreorderTree<>(values, arities);
+	}
+
+	/**
+	 * Create a new preorder tree from the given node values and arities,
+	 * given in preorder.
+	 *
+	 * @param values the node values, in preorder
+	 * @param arities the number of children of the nodes, in preorder
+	 * @param <V> the node value type
+	 * @return a new preorder tree
+	 * @throws NullPointerException if one of the arrays is {@code null}
+	 * @throws IllegalArgumentException if the arrays have different lengths
+	 *         or don't form a valid tree
+	 */
+	public static <V> PreorderTree<V> of(final V[] values, final int[] arities) {
+		if (values.length != arities.length) {
+			throw new IllegalArgumentException(format(
+				"Values and arities have different lengths: %d != %d",
+				values.length, arities.length
+			));
+		}
+
+		return new PreorderTree<>(
+			Arrays.copyOf(values, values.length, Object[].class),
+			arities.clone()
+		);
+	}
+
+}
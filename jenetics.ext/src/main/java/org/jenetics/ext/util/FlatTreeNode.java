@@ -26,6 +26,7 @@ import java.util.Iterator;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -33,10 +34,27 @@ import org.jenetics.util.ISeq;
 import org.jenetics.util.MSeq;
 
 /**
- * Default implementation of the {@link FlatTree} interface.
+ * Default implementation of the {@link FlatTree} interface. Besides the
+ * child offsets and counts, the parent indexes, the subtree sizes and the
+ * subtree depths of all nodes are pre-calculated, when the flat tree is
+ * created. The navigation to the parent node and the {@link #size()},
+ * {@link #depth()} and ancestry queries are therefore cheap operations.
+ * <p>
+ * Tree operators, which are visiting many nodes, can use the index based
+ * traversal methods, like {@link #preorder(IntConsumer)}, together with the
+ * index based accessor methods, like {@link #value(int)}. This methods are
+ * not creating a {@code FlatTreeNode} object for every visited node.
+ *
+ * <pre>{@code
+ * final FlatTreeNode<Op<Double>> tree = FlatTreeNode.of(program);
+ * final int[] terminals = {0};
+ * tree.postorder(i -> {
+ *     if (tree.childCount(i) == 0) ++terminals[0];
+ * });
+ * }</pre>
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
- * @version 3.9
+ * @version 4.0
  * @since 3.9
  */
 public final class FlatTreeNode<T> implements FlatTree<T, FlatTreeNode<T>> {
@@ -46,16 +64,27 @@ public final class FlatTreeNode<T> implements FlatTree<T, FlatTreeNode<T>> {
 	private final int[] _childOffsets;
 	private final int[] _childCounts;
 
+	// Derived, pre-calculated node properties.
+	private final int[] _parents;
+	private final int[] _sizes;
+	private final int[] _depths;
+
 	private FlatTreeNode(
 		final int index,
 		final MSeq<T> nodes,
 		final int[] childOffsets,
-		final int[] childCounts
+		final int[] childCounts,
+		final int[] parents,
+		final int[] sizes,
+		final int[] depths
 	) {
 		_index = index;
 		_nodes = requireNonNull(nodes);
 		_childOffsets = requireNonNull(childOffsets);
 		_childCounts = requireNonNull(childCounts);
+		_parents = requireNonNull(parents);
+		_sizes = requireNonNull(sizes);
+		_depths = requireNonNull(depths);
 	}
 
 	/**
@@ -80,7 +109,10 @@ public final class FlatTreeNode<T> implements FlatTree<T, FlatTreeNode<T>> {
 			index,
 			_nodes,
 			_childOffsets,
-			_childCounts
+			_childCounts,
+			_parents,
+			_sizes,
+			_depths
 		);
 	}
 
@@ -89,11 +121,18 @@ public final class FlatTreeNode<T> implements FlatTree<T, FlatTreeNode<T>> {
 		return _nodes.get(_index);
 	}
 
+	/**
+	 * Return the parent node of {@code this} node. This implementation have a
+	 * runtime complexity of O(1).
+	 *
+	 * @return the parent node, or {@code Optional.empty()} if this node is
+	 *         the root of the tree
+	 */
 	@Override
 	public Optional<FlatTreeNode<T>> getParent() {
-		return stream()
-			.filter(node -> node.childStream().anyMatch(this::identical))
-			.findFirst();
+		return _index != 0
+			? Optional.of(node(_parents[_index]))
+			: Optional.empty();
 	}
 
 	@Override
@@ -102,12 +141,7 @@ public final class FlatTreeNode<T> implements FlatTree<T, FlatTreeNode<T>> {
 			throw new IndexOutOfBoundsException(Integer.toString(index));
 		}
 
-		return new FlatTreeNode<T>(
-			childOffset() + index,
-			_nodes,
-			_childOffsets,
-			_childCounts
-		);
+		return node(childOffset() + index);
 	}
 
 	@Override
@@ -127,6 +161,53 @@ public final class FlatTreeNode<T> implements FlatTree<T, FlatTreeNode<T>> {
 		return _childOffsets[_index];
 	}
 
+	/**
+	 * Return the number of nodes of {@code this} node (sub-tree). This
+	 * implementation have a runtime complexity of O(1).
+	 *
+	 * @return the number of nodes of {@code this} node (sub-tree)
+	 */
+	@Override
+	public int size() {
+		return _sizes[_index];
+	}
+
+	/**
+	 * Returns the depth of the tree rooted at this node. This implementation
+	 * have a runtime complexity of O(1).
+	 *
+	 * @return the depth of the tree whose root is this node
+	 */
+	@Override
+	public int depth() {
+		return _depths[_index];
+	}
+
+	@Override
+	public int level() {
+		int level = 0;
+		for (int i = _index; i != 0; i = _parents[i]) {
+			++level;
+		}
+		return level;
+	}
+
+	@Override
+	public boolean isAncestor(final Tree<?, ?> node) {
+		if (node instanceof FlatTreeNode<?> &&
+			((FlatTreeNode<?>)node)._nodes == _nodes)
+		{
+			final int ancestor = ((FlatTreeNode<?>)node)._index;
+			int i = _index;
+			while (i > ancestor) {
+				i = _parents[i];
+			}
+			return i == ancestor;
+		}
+
+		return FlatTree.super.isAncestor(node);
+	}
+
 	@Override
 	public ISeq<FlatTreeNode<T>> flattenedNodes() {
 		return stream().collect(ISeq.toISeq());
@@ -164,6 +245,212 @@ public final class FlatTreeNode<T> implements FlatTree<T, FlatTreeNode<T>> {
 			.collect(ISeq.toISeq());
 	}
 
+
+	/* *************************************************************************
+	 * Index based node access and traversal.
+	 * ************************************************************************/
+
+	/**
+	 * Return the index of {@code this} node in the underlying node array.
+	 *
+	 * @since 4.0
+	 *
+	 * @return the index of {@code this} node
+	 */
+	public int index() {
+		return _index;
+	}
+
+	/**
+	 * Return the value of the node with the given {@code index}.
+	 *
+	 * @since 4.0
+	 *
+	 * @param index the node index
+	 * @return the value of the node with the given {@code index}
+	 * @throws IndexOutOfBoundsException if the {@code index} is out of range
+	 */
+	public T value(final int index) {
+		return _nodes.get(index);
+	}
+
+	/**
+	 * Return the number of children of the node with the given {@code index}.
+	 *
+	 * @since 4.0
+	 *
+	 * @param index the node index
+	 * @return the number of children of the given node
+	 * @throws ArrayIndexOutOfBoundsException if the {@code index} is out of
+	 *         range
+	 */
+	public int childCount(final int index) {
+		return _childCounts[index];
+	}
+
+	/**
+	 * Return the index of the first child of the node with the given
+	 * {@code index}, or {@code -1} if the node is a leaf.
+	 *
+	 * @since 4.0
+	 *
+	 * @param index the node index
+	 * @return the index of the first child of the given node
+	 * @throws ArrayIndexOutOfBoundsException if the {@code index} is out of
+	 *         range
+	 */
+	public int childOffset(final int index) {
+		return _childOffsets[index];
+	}
+
+	/**
+	 * Return the index of the parent of the node with the given
+	 * {@code index}, or {@code -1} if the node is the root node.
+	 *
+	 * @since 4.0
+	 *
+	 * @param index the node index
+	 * @return the index of the parent of the given node
+	 * @throws ArrayIndexOutOfBoundsException if the {@code index} is out of
+	 *         range
+	 */
+	public int parent(final int index) {
+		return _parents[index];
+	}
+
+	/**
+	 * Return the size of the subtree rooted at the node with the given
+	 * {@code index}.
+	 *
+	 * @since 4.0
+	 *
+	 * @param index the node index
+	 * @return the size of the subtree of the given node
+	 * @throws ArrayIndexOutOfBoundsException if the {@code index} is out of
+	 *         range
+	 */
+	public int size(final int index) {
+		return _sizes[index];
+	}
+
+	/**
+	 * Return the depth of the subtree rooted at the node with the given
+	 * {@code index}.
+	 *
+	 * @since 4.0
+	 *
+	 * @param index the node index
+	 * @return the depth of the subtree of the given node
+	 * @throws ArrayIndexOutOfBoundsException if the {@code index} is out of
+	 *         range
+	 */
+	public int depth(final int index) {
+		return _depths[index];
+	}
+
+	/**
+	 * Performs the given {@code action} for the indexes of all nodes of the
+	 * subtree rooted at {@code this} node, in preorder. This method doesn't
+	 * allocate any objects.
+	 *
+	 * @since 4.0
+	 *
+	 * @param action the action which is called for every node index
+	 * @throws NullPointerException if the given {@code action} is {@code null}
+	 */
+	public void preorder(final IntConsumer action) {
+		requireNonNull(action);
+
+		int i = _index;
+		do {
+			action.accept(i);
+			if (_childCounts[i] > 0) {
+				i = _childOffsets[i];
+			} else {
+				i = nextSibling(i);
+			}
+		} while (i != -1);
+	}
+
+	/**
+	 * Performs the given {@code action} for the indexes of all nodes of the
+	 * subtree rooted at {@code this} node, in postorder. This method doesn't
+	 * allocate any objects.
+	 *
+	 * @since 4.0
+	 *
+	 * @param action the action which is called for every node index
+	 * @throws NullPointerException if the given {@code action} is {@code null}
+	 */
+	public void postorder(final IntConsumer action) {
+		requireNonNull(action);
+
+		int i = firstLeaf(_index);
+		while (true) {
+			action.accept(i);
+			if (i == _index) break;
+
+			final int parent = _parents[i];
+			if (i + 1 < _childOffsets[parent] + _childCounts[parent]) {
+				i = firstLeaf(i + 1);
+			} else {
+				i = parent;
+			}
+		}
+	}
+
+	/**
+	 * Performs the given {@code action} for the indexes of all nodes of the
+	 * subtree rooted at {@code this} node, in breadth-first order. This
+	 * method doesn't allocate any objects.
+	 *
+	 * @since 4.0
+	 *
+	 * @param action the action which is called for every node index
+	 * @throws NullPointerException if the given {@code action} is {@code null}
+	 */
+	public void breadthFirst(final IntConsumer action) {
+		requireNonNull(action);
+
+		// The nodes of one subtree level are stored continuously.
+		int from = _index;
+		int until = _index + 1;
+		while (from < until) {
+			int next = -1;
+			int end = -1;
+			for (int i = from; i < until; ++i) {
+				action.accept(i);
+				if (_childCounts[i] > 0) {
+					if (next == -1) next = _childOffsets[i];
+					end = _childOffsets[i] + _childCounts[i];
+				}
+			}
+			from = next;
+			until = end;
+		}
+	}
+
+	// Return the index of the next node in preorder, within this subtree.
+	private int nextSibling(final int index) {
+		int i = index;
+		while (i != _index) {
+			final int parent = _parents[i];
+			if (i + 1 < _childOffsets[parent] + _childCounts[parent]) {
+				return i + 1;
+			}
+			i = parent;
+		}
+		return -1;
+	}
+
+	private int firstLeaf(final int index) {
+		int i = index;
+		while (_childCounts[i] > 0) {
+			i = _childOffsets[i];
+		}
+		return i;
+	}
+
 	@Override
 	public boolean identical(final Tree<?, ?> other) {
 		return other instanceof FlatTreeNode<?> &&
@@ -210,13 +497,19 @@ public final class FlatTreeNode<T> implements FlatTree<T, FlatTreeNode<T>> {
 		final MSeq<V> elements = MSeq.ofLength(size);
 		final int[] childOffsets = new int[size];
 		final int[] childCounts = new int[size];
+		final int[] parents = new int[size];
+		final int[] sizes = new int[size];
+		final int[] depths = new int[size];
 
 		assert size >= 1;
 		final FlatTreeNode<V> root = new FlatTreeNode<>(
 			0,
 			elements,
 			childOffsets,
-			childCounts
+			childCounts,
+			parents,
+			sizes,
+			depths
 		);
 
 		int childOffset = 1;
@@ -235,6 +528,18 @@ public final class FlatTreeNode<T> implements FlatTree<T, FlatTreeNode<T>> {
 			++index;
 		}
 
+		// The children are always stored behind their parent node.
+		parents[0] = -1;
+		for (int i = size; --i >= 0;) {
+			sizes[i] += 1;
+			for (int j = 0; j < childCounts[i]; ++j) {
+				final int child = childOffsets[i] + j;
+				parents[child] = i;
+				sizes[i] += sizes[child];
+				depths[i] = Math.max(depths[i], depths[child] + 1);
+			}
+		}
+
 		return root;
 	}
 
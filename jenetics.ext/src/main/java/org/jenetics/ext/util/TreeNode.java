@@ -36,7 +36,7 @@ import org.jenetics.util.Copyable;
  * @param <T> the value type of the tree node
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
- * @version 3.9
+ * @version 4.0
  * @since 3.9
  */
 public final class TreeNode<T>
@@ -245,7 +245,7 @@ public final class TreeNode<T>
 	 * nothing.
 	 */
 	public void removeAllChildren() {
-		for (int i = 0; i < childCount(); ++i) {
+		for (int i = childCount(); --i >= 0;) {
 			remove(i);
 		}
 	}
@@ -0,0 +1,136 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.ext;
+
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.Genotype;
+import org.jenetics.Phenotype;
+import org.jenetics.Population;
+import org.jenetics.ext.util.FlatTreeNode;
+import org.jenetics.ext.util.TreeNode;
+import org.jenetics.util.ISeq;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class SubtreeCrossoverTest {
+
+	private static TreeNode<Integer> newTree(final int levels, final Random random) {
+		final TreeNode<Integer> root = TreeNode.of(random.nextInt(1000));
+		fill(root, levels, random);
+		return root;
+	}
+
+	private static void fill(
+		final TreeNode<Integer> node,
+		final int level,
+		final Random random
+	) {
+		if (level > 0) {
+			for (int i = 0, n = random.nextInt(4) + 1; i < n; ++i) {
+				final TreeNode<Integer> child = TreeNode.of(random.nextInt(1000));
+				if (random.nextDouble() < 0.8) {
+					fill(child, level - 1, random);
+				}
+				node.attach(child);
+			}
+		}
+	}
+
+	private static Phenotype<IntTreeGene, Integer> phenotype(
+		final TreeNode<Integer> tree
+	) {
+		final ISeq<IntTreeGene> genes = FlatTreeNode.of(tree).map(n ->
+			new IntTreeGene(n.getValue(), n.childOffset(), n.childCount()));
+		return Phenotype.of(Genotype.of(new IntTreeChromosome(genes)), 0, gt -> 0);
+	}
+
+	private static TreeNode<Integer> tree(final Phenotype<IntTreeGene, Integer> pt) {
+		return TreeNode.ofTree(pt.getGenotype().getChromosome().getGene());
+	}
+
+	@Test
+	public void crossover() {
+		final Random random = new Random(1234);
+		for (int i = 0; i < 50; ++i) {
+			final TreeNode<Integer> tree1 = newTree(5, random);
+			final TreeNode<Integer> tree2 = newTree(5, random);
+
+			final Population<IntTreeGene, Integer> population = new Population<>();
+			population.add(phenotype(tree1));
+			population.add(phenotype(tree2));
+
+			final int changed = RandomRegistry.with(new Random(i), r ->
+				new SubtreeCrossover<IntTreeGene, Integer>(1)
+					.recombine(population, new int[]{0, 1}, 1));
+
+			final TreeNode<Integer> offspring1 = tree(population.get(0));
+			final TreeNode<Integer> offspring2 = tree(population.get(1));
+			if (tree1.size() > 1 && tree2.size() > 1) {
+				Assert.assertEquals(changed, 2);
+				Assert.assertEquals(
+					offspring1.size() + offspring2.size(),
+					tree1.size() + tree2.size()
+				);
+				Assert.assertEquals(
+					offspring1.breadthFirstStream().mapToInt(TreeNode::getValue).sum() +
+					offspring2.breadthFirstStream().mapToInt(TreeNode::getValue).sum(),
+					tree1.breadthFirstStream().mapToInt(TreeNode::getValue).sum() +
+					tree2.breadthFirstStream().mapToInt(TreeNode::getValue).sum()
+				);
+				Assert.assertEquals(offspring1.getValue(), tree1.getValue());
+				Assert.assertEquals(offspring2.getValue(), tree2.getValue());
+			} else {
+				Assert.assertEquals(changed, 0);
+				Assert.assertEquals(offspring1, tree1);
+				Assert.assertEquals(offspring2, tree2);
+			}
+		}
+	}
+
+	@Test
+	public void limits() {
+		final Random random = new Random(4321);
+		for (int i = 0; i < 50; ++i) {
+			final TreeNode<Integer> tree1 = newTree(4, random);
+			final TreeNode<Integer> tree2 = newTree(4, random);
+
+			final Population<IntTreeGene, Integer> population = new Population<>();
+			population.add(phenotype(tree1));
+			population.add(phenotype(tree2));
+
+			final int maxSize = Math.max(tree1.size(), tree2.size());
+			final int maxDepth = Math.max(tree1.depth(), tree2.depth());
+			new SubtreeCrossover<IntTreeGene, Integer>(1, maxDepth, maxSize)
+				.recombine(population, new int[]{0, 1}, 1);
+
+			for (Phenotype<IntTreeGene, Integer> pt : population) {
+				Assert.assertTrue(tree(pt).size() <= maxSize);
+				Assert.assertTrue(tree(pt).depth() <= maxDepth);
+			}
+		}
+	}
+
+}
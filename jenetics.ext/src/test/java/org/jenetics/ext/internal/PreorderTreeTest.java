@@ -0,0 +1,161 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.ext.internal;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.ext.util.FlatTreeNode;
+import org.jenetics.ext.util.TreeNode;
+import org.jenetics.util.ISeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class PreorderTreeTest {
+
+	private static TreeNode<Integer> newTree(final int levels, final Random random) {
+		final TreeNode<Integer> root = TreeNode.of(random.nextInt(1000));
+		fill(root, levels, random);
+		return root;
+	}
+
+	private static void fill(
+		final TreeNode<Integer> node,
+		final int level,
+		final Random random
+	) {
+		if (level > 0) {
+			for (int i = 0, n = random.nextInt(4); i < n; ++i) {
+				final TreeNode<Integer> child = TreeNode.of(random.nextInt(1000));
+				if (random.nextDouble() < 0.8) {
+					fill(child, level - 1, random);
+				}
+				node.attach(child);
+			}
+		}
+	}
+
+	private static PreorderTree<Integer> preorder(final TreeNode<Integer> tree) {
+		return PreorderTree.of(FlatTreeNode.of(tree).flattenedNodes());
+	}
+
+	private static TreeNode<Integer> unflatten(final PreorderTree<Integer> tree) {
+		final ISeq<Node> flat = tree.toBreadthFirst(Node::new);
+		return toTree(flat, 0);
+	}
+
+	private static TreeNode<Integer> toTree(final ISeq<Node> nodes, final int index) {
+		final Node node = nodes.get(index);
+		final TreeNode<Integer> tree = TreeNode.of(node.value);
+		for (int i = 0; i < node.childCount; ++i) {
+			tree.attach(toTree(nodes, node.childOffset + i));
+		}
+		return tree;
+	}
+
+	private static final class Node {
+		final Integer value;
+		final int childOffset;
+		final int childCount;
+
+		Node(final Integer value, final int childOffset, final int childCount) {
+			this.value = value;
+			this.childOffset = childOffset;
+			this.childCount = childCount;
+		}
+	}
+
+	@Test
+	public void properties() {
+		final Random random = new Random(123);
+		for (int i = 0; i < 50; ++i) {
+			final TreeNode<Integer> tree = newTree(6, random);
+			final PreorderTree<Integer> preorder = preorder(tree);
+			final List<TreeNode<Integer>> nodes = tree.preorderStream()
+				.collect(Collectors.toList());
+
+			Assert.assertEquals(preorder.size(), tree.size());
+			Assert.assertEquals(preorder.depth(), tree.depth());
+			for (int j = 0; j < nodes.size(); ++j) {
+				final TreeNode<Integer> node = nodes.get(j);
+				Assert.assertEquals(preorder.value(j), node.getValue());
+				Assert.assertEquals(preorder.arity(j), node.childCount());
+				Assert.assertEquals(preorder.size(j), node.size());
+				Assert.assertEquals(preorder.depth(j), node.depth());
+				Assert.assertEquals(preorder.level(j), node.level());
+			}
+
+			Assert.assertEquals(unflatten(preorder), tree);
+		}
+	}
+
+	@Test
+	public void replace() {
+		final Random random = new Random(456);
+		for (int i = 0; i < 50; ++i) {
+			final TreeNode<Integer> tree1 = newTree(5, random);
+			final TreeNode<Integer> tree2 = newTree(5, random);
+			final PreorderTree<Integer> preorder1 = preorder(tree1);
+			final PreorderTree<Integer> preorder2 = preorder(tree2);
+
+			final int i1 = random.nextInt(preorder1.size());
+			final int i2 = random.nextInt(preorder2.size());
+			final PreorderTree<Integer> replaced = preorder1.replace(i1, preorder2, i2);
+
+			// Reference implementation with tree nodes.
+			final TreeNode<Integer> n1 = tree1.preorderStream()
+				.skip(i1).findFirst().orElseThrow(AssertionError::new);
+			final TreeNode<Integer> n2 = tree2.preorderStream()
+				.skip(i2).findFirst().orElseThrow(AssertionError::new);
+			final TreeNode<Integer> expected;
+			if (n1.isRoot()) {
+				expected = n2.copy();
+			} else {
+				final TreeNode<Integer> parent = n1.getParent().get();
+				final int index = parent.getIndex(n1);
+				parent.remove(index);
+				parent.insert(index, n2.copy());
+				expected = tree1;
+			}
+
+			Assert.assertEquals(unflatten(replaced), expected);
+			Assert.assertEquals(replaced.size(), expected.size());
+			Assert.assertEquals(replaced.depth(), expected.depth());
+			Assert.assertEquals(preorder1.replacedSize(i1, preorder2, i2), expected.size());
+			Assert.assertEquals(preorder1.replacedDepth(i1, preorder2, i2), expected.depth());
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void missingChildren() {
+		PreorderTree.of(new Integer[]{1, 2}, new int[]{2, 0});
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void tooManyNodes() {
+		PreorderTree.of(new Integer[]{1, 2, 3}, new int[]{1, 0, 0});
+	}
+
+}
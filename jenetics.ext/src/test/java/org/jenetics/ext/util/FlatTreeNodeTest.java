@@ -19,8 +19,12 @@
  */
 package org.jenetics.ext.util;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.stream.Collectors;
 
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import org.jenetics.util.ISeq;
@@ -81,6 +85,83 @@ public class FlatTreeNodeTest extends TreeTestBase<Integer, FlatTreeNode<Integer
 		//System.out.println(tree);
 	}
 
+	@Test
+	public void nodeProperties() {
+		final Random random = new Random(1234);
+		for (int i = 0; i < 20; ++i) {
+			final TreeNode<Integer> tree = TreeNode.of(0);
+			fill(tree, 6, random);
+
+			final List<TreeNode<Integer>> expected =
+				tree.breadthFirstStream().collect(Collectors.toList());
+			final List<FlatTreeNode<Integer>> nodes =
+				FlatTreeNode.of(tree).stream().collect(Collectors.toList());
+
+			for (int j = 0; j < expected.size(); ++j) {
+				final TreeNode<Integer> e = expected.get(j);
+				final FlatTreeNode<Integer> node = nodes.get(j);
+
+				Assert.assertEquals(node.index(), j);
+				Assert.assertEquals(node.size(), e.size());
+				Assert.assertEquals(node.depth(), e.depth());
+				Assert.assertEquals(node.level(), e.level());
+				Assert.assertEquals(
+					node.getParent().map(FlatTreeNode::getValue),
+					e.getParent().map(TreeNode::getValue)
+				);
+				Assert.assertEquals(
+					node.parent(j),
+					e.getParent().map(expected::indexOf).orElse(-1).intValue()
+				);
+				Assert.assertTrue(node.isAncestor(node.getRoot()));
+				Assert.assertTrue(node.isAncestor(node));
+				if (!node.isLeaf()) {
+					Assert.assertFalse(node.isAncestor(node.getChild(0)));
+					Assert.assertTrue(node.getChild(0).lastLeaf().isAncestor(node));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void indexTraversal() {
+		final Random random = new Random(4321);
+		for (int i = 0; i < 20; ++i) {
+			final TreeNode<Integer> tree = TreeNode.of(0);
+			fill(tree, 6, random);
+			final FlatTreeNode<Integer> flat = FlatTreeNode.of(tree);
+
+			flat.stream().forEach(node -> {
+				final List<Integer> preorder = new ArrayList<>();
+				node.preorder(index -> preorder.add(flat.value(index)));
+				Assert.assertEquals(
+					preorder,
+					node.preorderStream()
+						.map(FlatTreeNode::getValue)
+						.collect(Collectors.toList())
+				);
+
+				final List<Integer> postorder = new ArrayList<>();
+				node.postorder(index -> postorder.add(flat.value(index)));
+				Assert.assertEquals(
+					postorder,
+					node.postorderStream()
+						.map(FlatTreeNode::getValue)
+						.collect(Collectors.toList())
+				);
+
+				final List<Integer> breadthFirst = new ArrayList<>();
+				node.breadthFirst(index -> breadthFirst.add(flat.value(index)));
+				Assert.assertEquals(
+					breadthFirst,
+					node.breadthFirstStream()
+						.map(FlatTreeNode::getValue)
+						.collect(Collectors.toList())
+				);
+			});
+		}
+	}
+
 	private void print(final Tree<?, ?> tree) {
 		System.out.println(tree);
 		tree.breadthFirstStream().forEach(n -> {
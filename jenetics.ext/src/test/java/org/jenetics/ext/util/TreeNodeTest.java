@@ -65,6 +65,18 @@ public class TreeNodeTest extends TreeTestBase<Integer, TreeNode<Integer>> {
 		Assert.assertTrue(equals(tree, stree));
 	}
 
+	@Test
+	public void removeAllChildren() {
+		final TreeNode<Integer> tree = TreeNode.of(0)
+			.attach(1, 2, 3, 4, 5);
+		final TreeNode<Integer> child = tree.getChild(3);
+
+		tree.removeAllChildren();
+		Assert.assertEquals(tree.childCount(), 0);
+		Assert.assertTrue(tree.isLeaf());
+		Assert.assertFalse(child.getParent().isPresent());
+	}
+
 	@Test
 	public void insert() {
 		final Random random = new Random(123);
@@ -0,0 +1,158 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog.op;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.jenetics.ext.util.TreeNode;
+import org.jenetics.util.ISeq;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * Compares the row-wise, the compiled and the columnar program evaluation.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColumnProgramPerf {
+
+	static final int ROWS = 10_000;
+
+	private static final ISeq<Op<Double>> OPERATIONS = ISeq.of(
+		MathOp.ADD,
+		MathOp.SUB,
+		MathOp.MUL,
+		MathOp.DIV,
+		MathOp.SIN,
+		MathOp.COS
+	);
+
+	private static final ISeq<Op<Double>> TERMINALS = ISeq.of(
+		Var.of("x", 0),
+		Var.of("y", 1),
+		Const.of(1.0)
+	);
+
+	private final TreeNode<Op<Double>> tree = RandomRegistry.with(
+		new Random(1234),
+		r -> Program.of(6, OPERATIONS, TERMINALS)
+	);
+
+	private final double[][] columns = new double[2][ROWS]; {
+		final Random random = new Random(4321);
+		for (double[] column : columns) {
+			for (int i = 0; i < ROWS; ++i) {
+				column[i] = random.nextDouble();
+			}
+		}
+	}
+
+	private final Double[][] rows = new Double[ROWS][]; {
+		for (int i = 0; i < ROWS; ++i) {
+			rows[i] = new Double[]{columns[0][i], columns[1][i]};
+		}
+	}
+
+	private final PostfixProgram<Double> postfix = PostfixProgram.of(tree);
+	private final CompiledProgram compiled = ProgramCompiler.of(0, 1).program(tree);
+	private final double[][] primitiveRows = new double[ROWS][]; {
+		for (int i = 0; i < ROWS; ++i) {
+			primitiveRows[i] = new double[]{columns[0][i], columns[1][i]};
+		}
+	}
+	private final ColumnProgram column = ColumnProgram.of(tree);
+	private final ColumnProgram smallChunks = ColumnProgram.of(tree, 64);
+	private final double[] result = new double[ROWS];
+
+	@OperationsPerInvocation(ROWS)
+	@Benchmark
+	public double tree_eval() {
+		double sum = 0;
+		for (int i = 0; i < ROWS; ++i) {
+			sum += Program.eval(tree, rows[i]);
+		}
+		return sum;
+	}
+
+	@OperationsPerInvocation(ROWS)
+	@Benchmark
+	public double postfix_eval() {
+		double sum = 0;
+		for (int i = 0; i < ROWS; ++i) {
+			sum += postfix.apply(rows[i]);
+		}
+		return sum;
+	}
+
+	@OperationsPerInvocation(ROWS)
+	@Benchmark
+	public double compiled_eval() {
+		double sum = 0;
+		for (int i = 0; i < ROWS; ++i) {
+			sum += compiled.eval(primitiveRows[i]);
+		}
+		return sum;
+	}
+
+	@OperationsPerInvocation(ROWS)
+	@Benchmark
+	public double[] column_eval() {
+		column.eval(columns, result);
+		return result;
+	}
+
+	@OperationsPerInvocation(ROWS)
+	@Benchmark
+	public double[] column_eval_chunk64() {
+		smallChunks.eval(columns, result);
+		return result;
+	}
+
+
+	public static void main(String[] args) throws RunnerException {
+		final Options opt = new OptionsBuilder()
+			.include(".*" + ColumnProgramPerf.class.getSimpleName() + ".*")
+			.warmupIterations(3)
+			.measurementIterations(5)
+			.threads(1)
+			.forks(1)
+			.build();
+
+		new Runner(opt).run();
+	}
+
+}
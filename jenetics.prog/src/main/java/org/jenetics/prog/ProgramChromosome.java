@@ -29,6 +29,7 @@ import org.jenetics.ext.util.FlatTreeNode;
 import org.jenetics.ext.util.Tree;
 import org.jenetics.ext.util.TreeNode;
 import org.jenetics.prog.op.Op;
+import org.jenetics.prog.op.PostfixProgram;
 import org.jenetics.prog.op.Program;
 import org.jenetics.util.ISeq;
 
@@ -49,7 +50,7 @@ import org.jenetics.util.ISeq;
  * }</pre>
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
- * @version 3.9
+ * @version 4.0
  * @since 3.9
  */
 public class ProgramChromosome<A>
@@ -60,6 +61,9 @@ public class ProgramChromosome<A>
 	private final ISeq<? extends Op<A>> _operations;
 	private final ISeq<? extends Op<A>> _terminals;
 
+	// The lazily compiled program of this chromosome.
+	private transient volatile PostfixProgram<A> _program;
+
 	/**
 	 * Create a new program chromosome from the given program genes. This
 	 * constructor assumes that the given {@code program} is valid. Since the
@@ -128,7 +132,9 @@ public class ProgramChromosome<A>
 	}
 
 	/**
-	 * Evaluates the root node of this chromosome.
+	 * Evaluates the root node of this chromosome. The program tree of the
+	 * chromosome is compiled into a {@link PostfixProgram}, when it is
+	 * evaluated the first time.
 	 *
 	 * @see ProgramGene#apply(Object[])
 	 * @see ProgramChromosome#eval(Object[])
@@ -138,7 +144,12 @@ public class ProgramChromosome<A>
 	 * @throws NullPointerException if the given variable array is {@code null}
 	 */
 	public A apply(final A[] args) {
-		return getRoot().apply(args);
+		PostfixProgram<A> program = _program;
+		if (program == null) {
+			_program = program = PostfixProgram.of(getRoot());
+		}
+
+		return program.apply(args);
 	}
 
 	/**
@@ -152,13 +163,44 @@ public class ProgramChromosome<A>
 	 * @throws NullPointerException if the given variable array is {@code null}
 	 */
 	@SafeVarargs
+	@SuppressWarnings("varargs")
 	public final A eval(final A... args) {
-		return getRoot().eval(args);
+		return apply(args);
 	}
 
+	/**
+	 * Create a new chromosome from the given program genes. If the given
+	 * genes are newly created and already form a valid, breadth-first
+	 * flattened program tree, e.g. created by an array based tree alterer,
+	 * they are used directly. Otherwise the program tree is re-build (and
+	 * repaired) from the given genes.
+	 *
+	 * @param genes the program genes
+	 * @return a new chromosome from the given genes
+	 * @throws NullPointerException if the given {@code genes} are {@code null}
+	 */
 	@Override
 	public ProgramChromosome<A> newInstance(final ISeq<ProgramGene<A>> genes) {
-		return create(genes, _validator, _operations, _terminals);
+		return isFlatTree(genes)
+			? new ProgramChromosome<>(genes, _validator, _operations, _terminals)
+			: create(genes, _validator, _operations, _terminals);
+	}
+
+	// Tests whether the given, unbound, genes are a valid breadth-first
+	// flattened tree.
+	private static boolean isFlatTree(final ISeq<? extends ProgramGene<?>> genes) {
+		int childOffset = 1;
+		for (ProgramGene<?> gene : genes) {
+			final int count = gene.childCount();
+			if (gene.flattenedNodes() != null ||
+				gene.getValue().arity() != count ||
+				gene.childOffset() != (count > 0 ? childOffset : -1))
+			{
+				return false;
+			}
+			childOffset += count;
+		}
+		return !genes.isEmpty() && childOffset == genes.size();
 	}
 
 	@Override
@@ -166,6 +208,17 @@ public class ProgramChromosome<A>
 		return create(getRoot().depth(), _validator, _operations, _terminals);
 	}
 
+	/**
+	 * Create a new chromosome from the given (valid) operation tree, with the
+	 * validator, operations and terminals of {@code this} chromosome.
+	 *
+	 * @param program the operation tree
+	 * @return a new chromosome from the given operation tree
+	 */
+	ProgramChromosome<A> newInstance(final Tree<? extends Op<A>, ?> program) {
+		return create(program, _validator, _operations, _terminals);
+	}
+
 	/**
 	 * Create a new chromosome from the given operation tree (program).
 	 *
@@ -0,0 +1,199 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog;
+
+import static java.lang.String.format;
+
+import java.util.Random;
+
+import org.jenetics.Chromosome;
+import org.jenetics.Mutator;
+import org.jenetics.ext.util.TreeNode;
+import org.jenetics.prog.op.Op;
+import org.jenetics.util.ISeq;
+import org.jenetics.util.MSeq;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * Mutator which limits the depth and the size of the programs of the
+ * {@link ProgramChromosome}s (bloat control). Subtrees which are deeper than
+ * the allowed maximal depth are cut off and replaced by a random terminal.
+ * If the program is still bigger than the allowed size, the smallest
+ * subtree, whose removal is sufficient, is replaced by a random terminal.
+ * The <em>mutation</em> count of this alterer is the number of removed
+ * program nodes.
+ *
+ * <pre>{@code
+ * final Engine<ProgramGene<Double>, Double> engine = Engine
+ *     .builder(fitness, codec)
+ *     .alterers(
+ *         new SingleNodeCrossover<>(),
+ *         new Mutator<>(),
+ *         new PruneMutator<>(10, 100))
+ *     .build();
+ * }</pre>
+ *
+ * @see RewriteMutator
+ *
+ * @param <A> the operation type
+ * @param <C> the fitness type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+public class PruneMutator<A, C extends Comparable<? super C>>
+	extends Mutator<ProgramGene<A>, C>
+{
+
+	private final int _maxDepth;
+	private final int _maxSize;
+
+	/**
+	 * Create a new prune mutator with the given limits and probability.
+	 *
+	 * @param maxDepth the maximal depth of the program trees
+	 * @param maxSize the maximal number of nodes of the program trees
+	 * @param probability the probability that an individual is pruned
+	 * @throws IllegalArgumentException if the {@code maxDepth} is negative,
+	 *         the {@code maxSize} is smaller than one or the
+	 *         {@code probability} is not in the valid range of {@code [0, 1]}
+	 */
+	public PruneMutator(
+		final int maxDepth,
+		final int maxSize,
+		final double probability
+	) {
+		super(probability);
+		if (maxDepth < 0) {
+			throw new IllegalArgumentException(format(
+				"Max depth must not be negative: %d", maxDepth
+			));
+		}
+		if (maxSize < 1) {
+			throw new IllegalArgumentException(format(
+				"Max size must be greater than zero: %d", maxSize
+			));
+		}
+
+		_maxDepth = maxDepth;
+		_maxSize = maxSize;
+	}
+
+	/**
+	 * Create a new prune mutator, which limits all altered individuals.
+	 *
+	 * @param maxDepth the maximal depth of the program trees
+	 * @param maxSize the maximal number of nodes of the program trees
+	 * @throws IllegalArgumentException if the {@code maxDepth} is negative or
+	 *         the {@code maxSize} is smaller than one
+	 */
+	public PruneMutator(final int maxDepth, final int maxSize) {
+		this(maxDepth, maxSize, 1.0);
+	}
+
+	/**
+	 * Return the maximal depth of the program trees.
+	 *
+	 * @return the maximal depth of the program trees
+	 */
+	public int getMaxDepth() {
+		return _maxDepth;
+	}
+
+	/**
+	 * Return the maximal number of nodes of the program trees.
+	 *
+	 * @return the maximal number of nodes of the program trees
+	 */
+	public int getMaxSize() {
+		return _maxSize;
+	}
+
+	@Override
+	protected int mutate(
+		final MSeq<Chromosome<ProgramGene<A>>> c,
+		final int i,
+		final double p
+	) {
+		final ProgramChromosome<A> chromosome = (ProgramChromosome<A>)c.get(i);
+		if (chromosome.length() <= _maxSize &&
+			chromosome.getRoot().depth() <= _maxDepth)
+		{
+			return 0;
+		}
+
+		final Random random = RandomRegistry.getRandom();
+		final ISeq<? extends Op<A>> terminals = chromosome.getTerminals();
+		final TreeNode<Op<A>> program = TreeNode.ofTree(chromosome.getRoot());
+
+		cut(program, 0, terminals, random);
+
+		final int excess = program.size() - _maxSize;
+		if (excess > 0) {
+			// The root node is always a candidate, since max size >= 1.
+			final TreeNode<Op<A>> node = program.breadthFirstStream()
+				.filter(n -> n.size() - 1 >= excess)
+				.reduce((a, b) -> b.size() < a.size() ? b : a)
+				.orElse(program);
+
+			replace(node, terminals, random);
+		}
+
+		c.set(i, chromosome.newInstance(program));
+		return chromosome.length() - program.size();
+	}
+
+	// Replaces all subtrees at the maximal depth with terminals.
+	private void cut(
+		final TreeNode<Op<A>> node,
+		final int level,
+		final ISeq<? extends Op<A>> terminals,
+		final Random random
+	) {
+		if (level >= _maxDepth) {
+			if (!node.isLeaf()) {
+				replace(node, terminals, random);
+			}
+		} else {
+			for (int i = 0; i < node.childCount(); ++i) {
+				cut(node.getChild(i), level + 1, terminals, random);
+			}
+		}
+	}
+
+	private static <A> void replace(
+		final TreeNode<Op<A>> node,
+		final ISeq<? extends Op<A>> terminals,
+		final Random random
+	) {
+		node.removeAllChildren();
+		node.setValue(terminals.get(random.nextInt(terminals.size())));
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"PruneMutator[maxDepth=%d, maxSize=%d, p=%f]",
+			_maxDepth, _maxSize, _probability
+		);
+	}
+
+}
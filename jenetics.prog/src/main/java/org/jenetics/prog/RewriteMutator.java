@@ -0,0 +1,123 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import org.jenetics.Chromosome;
+import org.jenetics.Mutator;
+import org.jenetics.ext.util.TreeNode;
+import org.jenetics.prog.op.Op;
+import org.jenetics.prog.op.Simplifier;
+import org.jenetics.util.MSeq;
+
+/**
+ * Mutator which simplifies the programs of the {@link ProgramChromosome}s
+ * with a given {@link Simplifier}. Altered individuals are simplified
+ * before they are evaluated, which keeps the evaluated programs small and
+ * fast. The <em>mutation</em> count of this alterer is the number of removed
+ * program nodes.
+ *
+ * <pre>{@code
+ * final Engine<ProgramGene<Double>, Double> engine = Engine
+ *     .builder(fitness, codec)
+ *     .alterers(
+ *         new SingleNodeCrossover<>(),
+ *         new Mutator<>(),
+ *         new RewriteMutator<>(Simplifier.MATH))
+ *     .build();
+ * }</pre>
+ *
+ * @see Simplifier
+ * @see PruneMutator
+ *
+ * @param <A> the operation type
+ * @param <C> the fitness type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+public class RewriteMutator<A, C extends Comparable<? super C>>
+	extends Mutator<ProgramGene<A>, C>
+{
+
+	private final Simplifier<A> _simplifier;
+
+	/**
+	 * Create a new rewrite mutator with the given simplifier and probability.
+	 *
+	 * @param simplifier the simplifier used for rewriting the programs
+	 * @param probability the probability that an individual is simplified
+	 * @throws NullPointerException if the {@code simplifier} is {@code null}
+	 * @throws IllegalArgumentException if the {@code probability} is not in
+	 *         the valid range of {@code [0, 1]}
+	 */
+	public RewriteMutator(
+		final Simplifier<A> simplifier,
+		final double probability
+	) {
+		super(probability);
+		_simplifier = requireNonNull(simplifier);
+	}
+
+	/**
+	 * Create a new rewrite mutator, which simplifies all altered
+	 * individuals.
+	 *
+	 * @param simplifier the simplifier used for rewriting the programs
+	 * @throws NullPointerException if the {@code simplifier} is {@code null}
+	 */
+	public RewriteMutator(final Simplifier<A> simplifier) {
+		this(simplifier, 1.0);
+	}
+
+	/**
+	 * Return the simplifier used by this mutator.
+	 *
+	 * @return the simplifier used by this mutator
+	 */
+	public Simplifier<A> getSimplifier() {
+		return _simplifier;
+	}
+
+	@Override
+	protected int mutate(
+		final MSeq<Chromosome<ProgramGene<A>>> c,
+		final int i,
+		final double p
+	) {
+		final ProgramChromosome<A> chromosome = (ProgramChromosome<A>)c.get(i);
+		final TreeNode<Op<A>> program = _simplifier.simplify(chromosome.getRoot());
+
+		final int removed = chromosome.length() - program.size();
+		if (removed > 0) {
+			c.set(i, chromosome.newInstance(program));
+		}
+		return removed;
+	}
+
+	@Override
+	public String toString() {
+		return format("RewriteMutator[p=%f]", _probability);
+	}
+
+}
@@ -0,0 +1,214 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog;
+
+import static java.lang.Math.min;
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.jenetics.Chromosome;
+import org.jenetics.Mutator;
+import org.jenetics.ext.internal.PreorderTree;
+import org.jenetics.prog.op.Op;
+import org.jenetics.util.ISeq;
+import org.jenetics.util.MSeq;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * Mutator which replaces a randomly chosen subtree of a program with a newly
+ * created, random subtree. The new subtree is created with the <em>grow</em>
+ * method and is at most one level deeper than the replaced subtree. The
+ * mutation works directly on the flattened program genes, which are
+ * re-arranged in preorder, and doesn't create
+ * {@link org.jenetics.ext.util.TreeNode} objects.
+ * <p>
+ * If the mutated program would exceed the given depth or size limit, the
+ * original program is kept.
+ *
+ * @see org.jenetics.ext.SubtreeCrossover
+ *
+ * @param <A> the operation type
+ * @param <C> the fitness type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+public class SubtreeMutator<A, C extends Comparable<? super C>>
+	extends Mutator<ProgramGene<A>, C>
+{
+
+	private final int _maxDepth;
+	private final int _maxSize;
+
+	/**
+	 * Create a new subtree mutator with the given probability and limits.
+	 *
+	 * @param probability the mutation probability
+	 * @param maxDepth the maximal depth of the mutated programs
+	 * @param maxSize the maximal number of nodes of the mutated programs
+	 * @throws IllegalArgumentException if the {@code probability} is not in
+	 *         the valid range of {@code [0, 1]}, the {@code maxDepth} is
+	 *         negative or the {@code maxSize} is smaller than one
+	 */
+	public SubtreeMutator(
+		final double probability,
+		final int maxDepth,
+		final int maxSize
+	) {
+		super(probability);
+		if (maxDepth < 0) {
+			throw new IllegalArgumentException(format(
+				"Max depth must not be negative: %d", maxDepth
+			));
+		}
+		if (maxSize < 1) {
+			throw new IllegalArgumentException(format(
+				"Max size must be greater than zero: %d", maxSize
+			));
+		}
+
+		_maxDepth = maxDepth;
+		_maxSize = maxSize;
+	}
+
+	/**
+	 * Create a new subtree mutator with the given probability and without
+	 * program limits.
+	 *
+	 * @param probability the mutation probability
+	 * @throws IllegalArgumentException if the {@code probability} is not in
+	 *         the valid range of {@code [0, 1]}
+	 */
+	public SubtreeMutator(final double probability) {
+		this(probability, Integer.MAX_VALUE, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Return the maximal depth of the mutated programs.
+	 *
+	 * @return the maximal depth of the mutated programs
+	 */
+	public int getMaxDepth() {
+		return _maxDepth;
+	}
+
+	/**
+	 * Return the maximal number of nodes of the mutated programs.
+	 *
+	 * @return the maximal number of nodes of the mutated programs
+	 */
+	public int getMaxSize() {
+		return _maxSize;
+	}
+
+	@Override
+	protected int mutate(
+		final MSeq<Chromosome<ProgramGene<A>>> c,
+		final int i,
+		final double p
+	) {
+		final Random random = RandomRegistry.getRandom();
+		final ProgramChromosome<A> chromosome = (ProgramChromosome<A>)c.get(i);
+		final PreorderTree<Op<A>> tree = PreorderTree.of(chromosome.toSeq());
+
+		final int index = random.nextInt(tree.size());
+		final int depth = min(
+			tree.depth(index) + 1,
+			_maxDepth - tree.level(index)
+		);
+		if (depth < 0) {
+			return 0;
+		}
+
+		final PreorderTree<Op<A>> subtree = grow(
+			depth,
+			chromosome.getOperations(),
+			chromosome.getTerminals(),
+			random
+		);
+		if (tree.replacedSize(index, subtree, 0) > _maxSize ||
+			tree.replacedDepth(index, subtree, 0) > _maxDepth)
+		{
+			return 0;
+		}
+
+		final ProgramGene<A> template = chromosome.getGene();
+		final ISeq<ProgramGene<A>> genes = tree.replace(index, subtree, 0)
+			.toBreadthFirst(template::newInstance);
+
+		c.set(i, chromosome.newInstance(genes));
+		return subtree.size();
+	}
+
+	// Creates a random program tree, in preorder, with the 'grow' method.
+	private static <A> PreorderTree<Op<A>> grow(
+		final int depth,
+		final ISeq<? extends Op<A>> operations,
+		final ISeq<? extends Op<A>> terminals,
+		final Random random
+	) {
+		final List<Op<A>> ops = new ArrayList<>();
+		grow(depth, operations, terminals, random, ops);
+
+		final int[] arities = new int[ops.size()];
+		for (int i = 0; i < arities.length; ++i) {
+			arities[i] = ops.get(i).arity();
+		}
+
+		@SuppressWarnings("unchecked")
+		final Op<A>[] values = ops.toArray((Op<A>[])new Op<?>[0]);
+		return PreorderTree.of(values, arities);
+	}
+
+	private static <A> void grow(
+		final int depth,
+		final ISeq<? extends Op<A>> operations,
+		final ISeq<? extends Op<A>> terminals,
+		final Random random,
+		final List<Op<A>> ops
+	) {
+		final int n = depth > 0
+			? operations.size() + terminals.size()
+			: terminals.size();
+		final int k = random.nextInt(n);
+
+		final Op<A> op = k < terminals.size()
+			? terminals.get(k)
+			: operations.get(k - terminals.size());
+
+		ops.add(op);
+		for (int i = 0; i < op.arity(); ++i) {
+			grow(depth - 1, operations, terminals, random, ops);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"SubtreeMutator[p=%f, maxDepth=%d, maxSize=%d]",
+			_probability, _maxDepth, _maxSize
+		);
+	}
+
+}
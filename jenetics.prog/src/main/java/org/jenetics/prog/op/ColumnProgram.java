@@ -0,0 +1,367 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog.op;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jenetics.ext.util.Tree;
+
+/**
+ * Evaluates an operation tree over whole data columns, instead of single
+ * data rows. Every variable of the program is bound to one {@code double[]}
+ * column and the operations are applied element-wise to the intermediate
+ * result columns. This way the operation tree is interpreted only once per
+ * column chunk and not once per data row. The {@link MathOp} operations are
+ * executed in tight, primitive loops (see
+ * {@link MathOp#apply(double[][], double[], int)}). Other operations are
+ * applied element by element.
+ *
+ * <pre>{@code
+ * final double[] x = ...;
+ * final double[] y = ...;
+ * final ColumnProgram program = ColumnProgram.of(chromosome.getRoot());
+ * final double[] result = program.eval(x, y);
+ * }</pre>
+ *
+ * The columns are processed in chunks of a given size. The size of the
+ * temporary memory is therefore bound by the chunk size times the maximal
+ * operand stack size of the program, independent of the data set size.
+ * <p>
+ * Terminal operations, which are not a {@link Var}, are treated as
+ * constants and evaluated once, when the program is created.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+public final class ColumnProgram {
+
+	/**
+	 * The default number of rows, evaluated in one chunk.
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+	// Instruction kinds.
+	private static final int VAR = 0;
+	private static final int CONST = 1;
+	private static final int MATH_OP = 2;
+	private static final int OP = 3;
+
+	private final int[] _kinds;
+	private final int[] _arities;
+	private final int[] _vars;
+	private final MathOp[] _mathOps;
+	private final Op<Double>[] _ops;
+	private final double[][] _consts;
+	private final int _stackSize;
+	private final int _arity;
+	private final int _chunkSize;
+
+	private final AtomicReference<double[][]> _buffers = new AtomicReference<>();
+
+	private ColumnProgram(
+		final int[] kinds,
+		final int[] arities,
+		final int[] vars,
+		final MathOp[] mathOps,
+		final Op<Double>[] ops,
+		final double[][] consts,
+		final int stackSize,
+		final int arity,
+		final int chunkSize
+	) {
+		_kinds = kinds;
+		_arities = arities;
+		_vars = vars;
+		_mathOps = mathOps;
+		_ops = ops;
+		_consts = consts;
+		_stackSize = stackSize;
+		_arity = arity;
+		_chunkSize = chunkSize;
+	}
+
+	/**
+	 * Return the number of variable columns, the program needs for
+	 * evaluation. This is the maximal variable index plus one.
+	 *
+	 * @return the number of needed variable columns
+	 */
+	public int arity() {
+		return _arity;
+	}
+
+	/**
+	 * Return the number of rows, which are evaluated in one chunk.
+	 *
+	 * @return the chunk size
+	 */
+	public int chunkSize() {
+		return _chunkSize;
+	}
+
+	/**
+	 * Evaluates the program for all rows of the given variable columns.
+	 *
+	 * @param columns the variable columns; {@code columns[i]} contains the
+	 *        values of the variable with index {@code i}
+	 * @return the result column
+	 * @throws NullPointerException if one of the columns is {@code null}
+	 * @throws IllegalArgumentException if less columns than the program
+	 *         {@link #arity()} are given or the columns have different lengths
+	 */
+	public double[] eval(final double[]... columns) {
+		final double[] result = new double[rows(columns)];
+		eval(columns, result);
+		return result;
+	}
+
+	/**
+	 * Evaluates the program for all rows of the given variable columns and
+	 * writes the values into the given {@code result} column.
+	 *
+	 * @param columns the variable columns; {@code columns[i]} contains the
+	 *        values of the variable with index {@code i}
+	 * @param result the result column
+	 * @throws NullPointerException if one of the columns is {@code null}
+	 * @throws IllegalArgumentException if less columns than the program
+	 *         {@link #arity()} are given or the columns and the result have
+	 *         different lengths
+	 */
+	public void eval(final double[][] columns, final double[] result) {
+		final int rows = rows(columns);
+		if (result.length != rows) {
+			throw new IllegalArgumentException(format(
+				"Result length doesn't match column length: %d != %d",
+				result.length, rows
+			));
+		}
+
+		double[][] buffers = _buffers.getAndSet(null);
+		if (buffers == null) {
+			buffers = new double[_stackSize][_chunkSize];
+		}
+
+		final double[][] stack = new double[_stackSize][];
+		final double[][][] args = new double[_stackSize + 1][][];
+		for (int i = 1; i < args.length; ++i) {
+			args[i] = new double[i][];
+		}
+
+		// The columns are used directly, if they fit into one chunk.
+		final boolean chunked = rows > _chunkSize;
+		final double[][] vars = chunked
+			? new double[_arity][_chunkSize]
+			: columns;
+
+		for (int start = 0; start < rows; start += _chunkSize) {
+			final int length = Math.min(_chunkSize, rows - start);
+			for (int v = 0; chunked && v < _arity; ++v) {
+				System.arraycopy(columns[v], start, vars[v], 0, length);
+			}
+
+			final double[] values = execute(vars, buffers, stack, args, length);
+			System.arraycopy(values, 0, result, start, length);
+		}
+
+		_buffers.set(buffers);
+	}
+
+	private double[] execute(
+		final double[][] vars,
+		final double[][] buffers,
+		final double[][] stack,
+		final double[][][] args,
+		final int length
+	) {
+		int sp = 0;
+		for (int i = 0; i < _kinds.length; ++i) {
+			switch (_kinds[i]) {
+				case VAR:
+					stack[sp++] = vars[_vars[i]];
+					break;
+				case CONST:
+					stack[sp++] = _consts[i];
+					break;
+				case MATH_OP: {
+					final int arity = _arities[i];
+					sp -= arity;
+					final double[][] a = args[arity];
+					System.arraycopy(stack, sp, a, 0, arity);
+					_mathOps[i].apply(a, buffers[sp], length);
+					stack[sp] = buffers[sp];
+					++sp;
+					break;
+				}
+				default: {
+					final int arity = _arities[i];
+					sp -= arity;
+					final double[] r = buffers[sp];
+					final Double[] a = new Double[arity];
+					for (int j = 0; j < length; ++j) {
+						for (int k = 0; k < arity; ++k) {
+							a[k] = stack[sp + k][j];
+						}
+						r[j] = _ops[i].apply(a);
+					}
+					stack[sp] = r;
+					++sp;
+					break;
+				}
+			}
+		}
+
+		return stack[0];
+	}
+
+	private int rows(final double[][] columns) {
+		if (columns.length < _arity) {
+			throw new IllegalArgumentException(format(
+				"Number of columns is smaller than program arity: %d < %d",
+				columns.length, _arity
+			));
+		}
+
+		final int rows = columns.length > 0 ? columns[0].length : 0;
+		for (int i = 0; i < columns.length; ++i) {
+			if (columns[i].length != rows) {
+				throw new IllegalArgumentException(format(
+					"Column %d has length %d, but expected %d.",
+					i, columns[i].length, rows
+				));
+			}
+		}
+		return rows;
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"ColumnProgram[instructions=%d, arity=%d, chunkSize=%d]",
+			_kinds.length, _arity, _chunkSize
+		);
+	}
+
+
+	/* *************************************************************************
+	 * Static factory methods.
+	 * ************************************************************************/
+
+	/**
+	 * Create a new column program from the given operation tree, which
+	 * evaluates the columns in chunks of the given size.
+	 *
+	 * @param tree the operation tree
+	 * @param chunkSize the number of rows evaluated in one chunk
+	 * @return a new column program
+	 * @throws NullPointerException if the given {@code tree} or one of its
+	 *         operations is {@code null}
+	 * @throws IllegalArgumentException if the given operation tree is invalid
+	 *         or the {@code chunkSize} is smaller than one
+	 */
+	@SuppressWarnings("unchecked")
+	public static ColumnProgram of(
+		final Tree<? extends Op<Double>, ?> tree,
+		final int chunkSize
+	) {
+		Program.check(tree);
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException(format(
+				"Chunk size must be greater than zero, but was %d.", chunkSize
+			));
+		}
+
+		final List<Op<Double>> ops = new ArrayList<>();
+		final Iterator<? extends Tree<? extends Op<Double>, ?>> it =
+			tree.postorderIterator();
+		while (it.hasNext()) {
+			ops.add(requireNonNull(it.next().getValue(), "Operation"));
+		}
+
+		final int size = ops.size();
+		final int[] kinds = new int[size];
+		final int[] arities = new int[size];
+		final int[] vars = new int[size];
+		final MathOp[] mathOps = new MathOp[size];
+		final Op<Double>[] others = (Op<Double>[])new Op<?>[size];
+		final double[][] consts = new double[size][];
+
+		int stackSize = 0;
+		int arity = 0;
+		int sp = 0;
+		for (int i = 0; i < size; ++i) {
+			final Op<Double> op = ops.get(i);
+			arities[i] = op.arity();
+
+			if (op instanceof Var<?>) {
+				kinds[i] = VAR;
+				vars[i] = ((Var<?>)op).index();
+				arity = Math.max(arity, vars[i] + 1);
+			} else if (op.isTerminal()) {
+				kinds[i] = CONST;
+				consts[i] = new double[chunkSize];
+				Arrays.fill(consts[i], op.apply(new Double[0]));
+			} else if (op instanceof MathOp) {
+				kinds[i] = MATH_OP;
+				mathOps[i] = (MathOp)op;
+			} else {
+				kinds[i] = OP;
+				others[i] = op;
+			}
+
+			sp = sp - arities[i] + 1;
+			stackSize = Math.max(stackSize, sp);
+		}
+
+		return new ColumnProgram(
+			kinds,
+			arities,
+			vars,
+			mathOps,
+			others,
+			consts,
+			stackSize,
+			arity,
+			chunkSize
+		);
+	}
+
+	/**
+	 * Create a new column program from the given operation tree, with the
+	 * {@link #DEFAULT_CHUNK_SIZE}.
+	 *
+	 * @param tree the operation tree
+	 * @return a new column program
+	 * @throws NullPointerException if the given {@code tree} or one of its
+	 *         operations is {@code null}
+	 * @throws IllegalArgumentException if the given operation tree is invalid
+	 */
+	public static ColumnProgram of(final Tree<? extends Op<Double>, ?> tree) {
+		return of(tree, DEFAULT_CHUNK_SIZE);
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog.op;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.invoke.MethodHandle;
+import java.util.function.Function;
+
+import org.jenetics.ext.util.Tree;
+
+/**
+ * {@code Double} program, which is compiled into a {@link MethodHandle}
+ * after it has been evaluated more often than the threshold of the
+ * creating {@link ProgramCompiler}. Before, the program is interpreted by a
+ * {@link PostfixProgram}.
+ *
+ * @see ProgramCompiler#program(Tree)
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+public final class CompiledProgram implements Function<Double[], Double> {
+
+	private final ProgramCompiler _compiler;
+	private final Tree<? extends Op<Double>, ?> _tree;
+	private final PostfixProgram<Double> _interpreter;
+
+	// Evaluation counter; lost updates are tolerated.
+	private int _evaluations = 0;
+	private volatile MethodHandle _handle;
+
+	CompiledProgram(
+		final ProgramCompiler compiler,
+		final Tree<? extends Op<Double>, ?> tree
+	) {
+		_compiler = requireNonNull(compiler);
+		_tree = requireNonNull(tree);
+		_interpreter = PostfixProgram.of(tree);
+		if (compiler.threshold() == 0) {
+			_handle = compiler.compile(tree);
+		}
+	}
+
+	/**
+	 * Return {@code true} if the program has already been compiled.
+	 *
+	 * @return {@code true} if the program has already been compiled
+	 */
+	public boolean isCompiled() {
+		return _handle != null;
+	}
+
+	/**
+	 * Evaluates the program with the given variables.
+	 *
+	 * @param variables the input variables
+	 * @return the result of the program evaluation
+	 * @throws NullPointerException if the given variable array is {@code null}
+	 */
+	public double eval(final double... variables) {
+		requireNonNull(variables);
+
+		final MethodHandle handle = handle();
+		if (handle != null) {
+			try {
+				return (double)handle.invokeExact(variables);
+			} catch (RuntimeException|Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		final Double[] args = new Double[variables.length];
+		for (int i = 0; i < args.length; ++i) {
+			args[i] = variables[i];
+		}
+		return _interpreter.apply(args);
+	}
+
+	/**
+	 * Evaluates the program with the given variables.
+	 *
+	 * @param variables the input variables
+	 * @return the result of the program evaluation
+	 * @throws NullPointerException if the given variable array is {@code null}
+	 */
+	@Override
+	public Double apply(final Double[] variables) {
+		requireNonNull(variables);
+
+		if (handle() != null) {
+			final double[] args = new double[variables.length];
+			for (int i = 0; i < args.length; ++i) {
+				args[i] = variables[i];
+			}
+			return eval(args);
+		}
+
+		return _interpreter.apply(variables);
+	}
+
+	private MethodHandle handle() {
+		MethodHandle handle = _handle;
+		if (handle == null && ++_evaluations > _compiler.threshold()) {
+			_handle = handle = _compiler.compile(_tree);
+		}
+		return handle;
+	}
+
+	@Override
+	public String toString() {
+		return _interpreter.toString();
+	}
+
+}
@@ -42,6 +42,8 @@ import static java.lang.Math.sinh;
 import static java.lang.Math.sqrt;
 import static java.lang.Math.tan;
 import static java.lang.Math.tanh;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
 
 import java.util.function.Function;
 
@@ -51,7 +53,7 @@ import java.util.function.Function;
  * @see Math
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
- * @version 3.9
+ * @version 4.0
  * @since 3.9
  */
 public enum MathOp implements Op<Double> {
@@ -352,6 +354,85 @@ public enum MathOp implements Op<Double> {
 		return _function.apply(doubles);
 	}
 
+	/**
+	 * Applies this operation element-wise to the given argument columns. The
+	 * loop over the column elements is implemented for every operation
+	 * separately, which allows the JIT compiler to unroll (and vectorize) it.
+	 * The result of the operation is written into the {@code result} array,
+	 * which may be one of the argument arrays.
+	 *
+	 * <pre>{@code
+	 * final double[] x = {1, 2, 3};
+	 * final double[] y = {4, 5, 6};
+	 * final double[] result = new double[3];
+	 * MathOp.ADD.apply(new double[][]{x, y}, result, 3);
+	 * }</pre>
+	 *
+	 * @since 4.0
+	 *
+	 * @param args the argument columns; the number of columns must be equal
+	 *        to the operation {@link #arity()}
+	 * @param result the result column
+	 * @param length the number of elements to calculate, starting from
+	 *        index zero
+	 * @throws NullPointerException if one of the arrays is {@code null}
+	 * @throws IllegalArgumentException if the number of argument columns
+	 *         doesn't match the operation arity
+	 * @throws ArrayIndexOutOfBoundsException if one of the columns is shorter
+	 *         than the given {@code length}
+	 */
+	public void apply(
+		final double[][] args,
+		final double[] result,
+		final int length
+	) {
+		if (args.length != _arity) {
+			throw new IllegalArgumentException(format(
+				"Number of columns doesn't match arity: %d != %d",
+				args.length, _arity
+			));
+		}
+
+		final double[] a = args[0];
+		final double[] b = _arity > 1 ? args[1] : null;
+		final double[] r = requireNonNull(result);
+		final int n = length;
+
+		switch (this) {
+			case ABS: for (int i = 0; i < n; ++i) r[i] = abs(a[i]); break;
+			case NEG: for (int i = 0; i < n; ++i) r[i] = -a[i]; break;
+			case MIN: for (int i = 0; i < n; ++i) r[i] = min(a[i], b[i]); break;
+			case MAX: for (int i = 0; i < n; ++i) r[i] = max(a[i], b[i]); break;
+			case CEIL: for (int i = 0; i < n; ++i) r[i] = ceil(a[i]); break;
+			case FLOOR: for (int i = 0; i < n; ++i) r[i] = floor(a[i]); break;
+			case SIGNUM: for (int i = 0; i < n; ++i) r[i] = signum(a[i]); break;
+			case RINT: for (int i = 0; i < n; ++i) r[i] = rint(a[i]); break;
+			case ADD: for (int i = 0; i < n; ++i) r[i] = a[i] + b[i]; break;
+			case SUB: for (int i = 0; i < n; ++i) r[i] = a[i] - b[i]; break;
+			case MUL: for (int i = 0; i < n; ++i) r[i] = a[i]*b[i]; break;
+			case DIV: for (int i = 0; i < n; ++i) r[i] = a[i]/b[i]; break;
+			case MOD: for (int i = 0; i < n; ++i) r[i] = a[i]%b[i]; break;
+			case POW: for (int i = 0; i < n; ++i) r[i] = pow(a[i], b[i]); break;
+			case SQR: for (int i = 0; i < n; ++i) r[i] = a[i]*a[i]; break;
+			case SQRT: for (int i = 0; i < n; ++i) r[i] = sqrt(a[i]); break;
+			case CBRT: for (int i = 0; i < n; ++i) r[i] = cbrt(a[i]); break;
+			case HYPOT: for (int i = 0; i < n; ++i) r[i] = hypot(a[i], b[i]); break;
+			case EXP: for (int i = 0; i < n; ++i) r[i] = exp(a[i]); break;
+			case LOG: for (int i = 0; i < n; ++i) r[i] = log(a[i]); break;
+			case LOG10: for (int i = 0; i < n; ++i) r[i] = log10(a[i]); break;
+			case SIN: for (int i = 0; i < n; ++i) r[i] = sin(a[i]); break;
+			case COS: for (int i = 0; i < n; ++i) r[i] = cos(a[i]); break;
+			case TAN: for (int i = 0; i < n; ++i) r[i] = tan(a[i]); break;
+			case ACOS: for (int i = 0; i < n; ++i) r[i] = acos(a[i]); break;
+			case ASIN: for (int i = 0; i < n; ++i) r[i] = asin(a[i]); break;
+			case ATAN: for (int i = 0; i < n; ++i) r[i] = atan(a[i]); break;
+			case COSH: for (int i = 0; i < n; ++i) r[i] = cosh(a[i]); break;
+			case SINH: for (int i = 0; i < n; ++i) r[i] = sinh(a[i]); break;
+			case TANH: for (int i = 0; i < n; ++i) r[i] = tanh(a[i]); break;
+			default: throw new AssertionError("Unknown operation: " + this);
+		}
+	}
+
 	@Override
 	public String toString() {
 		return _name;
@@ -0,0 +1,175 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog.op;
+
+import org.jenetics.ext.util.Tree;
+import org.jenetics.ext.util.TreeNode;
+import org.jenetics.util.ISeq;
+
+/**
+ * Rewrite rules for arithmetic expressions, build from {@link MathOp}
+ * operations. This rules remove the typical <em>introns</em> of evolved
+ * programs, like {@code x*1}, {@code x + 0} or {@code x - x}, which are
+ * costing evaluation time without changing the program semantics.
+ * <p>
+ * The algebraic identities are applied as in the ring of the real numbers.
+ * They don't take care of {@code NaN} and infinite values, e.g.
+ * {@code x - x} is simplified to {@code 0}, also if {@code x} might evaluate
+ * to infinity. Subtrees are only removed or merged, if they consist of
+ * {@link MathOp}s, {@link Var}iables and constants, which are known to be
+ * free of side effects.
+ *
+ * @see Simplifier#MATH
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+public final class MathRules {
+	private MathRules() {}
+
+	private static final Double[] NO_ARGS = new Double[0];
+
+	/**
+	 * Evaluates {@link MathOp} nodes, whose children are all constants, and
+	 * replaces it with the resulting {@link Const} value. Constants are
+	 * {@link Const} nodes, like {@link MathOp#PI}, and {@link EphemeralConst}
+	 * nodes.
+	 */
+	public static final RewriteRule<Double> CONST_FOLDING = RewriteRule.of(
+		node -> node.getValue() instanceof MathOp &&
+			!node.getValue().isTerminal() &&
+			node.childStream().allMatch(MathRules::isConst),
+		node -> TreeNode.of(Const.of(node.getValue().apply(
+			node.childStream()
+				.map(child -> child.getValue().apply(NO_ARGS))
+				.toArray(Double[]::new)
+		)))
+	);
+
+	/**
+	 * Rewrites {@code x + 0} and {@code 0 + x} to {@code x}.
+	 */
+	public static final RewriteRule<Double> ADD_ZERO = node ->
+		node.getValue() == MathOp.ADD
+			? other(node, 0.0)
+			: null;
+
+	/**
+	 * Rewrites {@code x - 0} to {@code x}.
+	 */
+	public static final RewriteRule<Double> SUB_ZERO = RewriteRule.of(
+		node -> node.getValue() == MathOp.SUB && isConst(node.getChild(1), 0.0),
+		node -> node.getChild(0)
+	);
+
+	/**
+	 * Rewrites {@code x - x} to {@code 0}.
+	 */
+	public static final RewriteRule<Double> SUB_SELF = RewriteRule.of(
+		node -> node.getValue() == MathOp.SUB &&
+			isPure(node.getChild(0)) &&
+			Tree.equals(node.getChild(0), node.getChild(1)),
+		node -> TreeNode.of(Const.of(0.0))
+	);
+
+	/**
+	 * Rewrites {@code x*1} and {@code 1*x} to {@code x}.
+	 */
+	public static final RewriteRule<Double> MUL_ONE = node ->
+		node.getValue() == MathOp.MUL
+			? other(node, 1.0)
+			: null;
+
+	/**
+	 * Rewrites {@code x*0} and {@code 0*x} to {@code 0}.
+	 */
+	public static final RewriteRule<Double> MUL_ZERO = RewriteRule.of(
+		node -> node.getValue() == MathOp.MUL &&
+			node.childStream().allMatch(MathRules::isPure) &&
+			node.childStream().anyMatch(child -> isConst(child, 0.0)),
+		node -> TreeNode.of(Const.of(0.0))
+	);
+
+	/**
+	 * Rewrites {@code x/1} to {@code x}.
+	 */
+	public static final RewriteRule<Double> DIV_ONE = RewriteRule.of(
+		node -> node.getValue() == MathOp.DIV && isConst(node.getChild(1), 1.0),
+		node -> node.getChild(0)
+	);
+
+	/**
+	 * Rewrites {@code -(-x)} to {@code x}.
+	 */
+	public static final RewriteRule<Double> NEG_NEG = RewriteRule.of(
+		node -> node.getValue() == MathOp.NEG &&
+			node.getChild(0).getValue() == MathOp.NEG,
+		node -> node.getChild(0).getChild(0)
+	);
+
+	/**
+	 * All arithmetic rewrite rules, in the order they are applied.
+	 */
+	public static final ISeq<RewriteRule<Double>> RULES = ISeq.of(
+		CONST_FOLDING,
+		ADD_ZERO,
+		SUB_ZERO,
+		SUB_SELF,
+		MUL_ZERO,
+		MUL_ONE,
+		DIV_ONE,
+		NEG_NEG
+	);
+
+	// Return the other child of a binary node, if one child has the value.
+	private static TreeNode<Op<Double>> other(
+		final TreeNode<Op<Double>> node,
+		final double value
+	) {
+		if (isConst(node.getChild(1), value)) return node.getChild(0);
+		if (isConst(node.getChild(0), value)) return node.getChild(1);
+		return null;
+	}
+
+	private static boolean isConst(final Tree<? extends Op<Double>, ?> node) {
+		final Op<Double> op = node.getValue();
+		return op instanceof Const<?> || op instanceof EphemeralConst<?>;
+	}
+
+	private static boolean isConst(
+		final Tree<? extends Op<Double>, ?> node,
+		final double value
+	) {
+		return isConst(node) && node.getValue().apply(NO_ARGS) == value;
+	}
+
+	// Test whether the given tree is free of side effects.
+	private static boolean isPure(final Tree<? extends Op<Double>, ?> tree) {
+		return tree.breadthFirstStream()
+			.map(node -> node.getValue())
+			.allMatch(op ->
+				op instanceof MathOp ||
+				op instanceof Var<?> ||
+				op instanceof Const<?> ||
+				op instanceof EphemeralConst<?>);
+	}
+
+}
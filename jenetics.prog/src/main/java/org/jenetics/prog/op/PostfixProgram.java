@@ -0,0 +1,251 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog.op;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.jenetics.ext.util.Tree;
+
+/**
+ * Operation tree, compiled into a flat sequence of instructions in
+ * <em>postfix</em> order. The program is executed on an operand stack,
+ * without recursion and without allocating objects per evaluated node. This
+ * is considerable faster than evaluating the operation tree directly, if
+ * the same program is evaluated many times, e.g. for every data row of a
+ * symbolic regression problem.
+ *
+ * <pre>{@code
+ * final Tree<Op<Double>, ?> tree = ...;
+ * final PostfixProgram<Double> program = PostfixProgram.of(tree);
+ * final double result = program.eval(1.0, 2.0);
+ * }</pre>
+ *
+ * The operand stack and the argument arrays are reused for subsequent
+ * evaluations of the same (calling) thread. Concurrent evaluations of the
+ * same program are allowed and use separate stacks.
+ *
+ * @param <T> the argument type of the operations
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+public final class PostfixProgram<T> implements Function<T[], T> {
+
+	// Marker for instructions which are not a variable access.
+	private static final int NO_VAR = -1;
+
+	private final Op<T>[] _ops;
+	private final int[] _arities;
+	private final int[] _vars;
+	private final int _stackSize;
+	private final int _maxArity;
+
+	// The last used execution frame, for reusing it by the next evaluation.
+	private final AtomicReference<Frame<T>> _frame = new AtomicReference<>();
+
+	private PostfixProgram(
+		final Op<T>[] ops,
+		final int[] arities,
+		final int[] vars,
+		final int stackSize,
+		final int maxArity
+	) {
+		_ops = ops;
+		_arities = arities;
+		_vars = vars;
+		_stackSize = stackSize;
+		_maxArity = maxArity;
+	}
+
+	/**
+	 * Return the number of instructions of the program, which is the number
+	 * of nodes of the compiled operation tree.
+	 *
+	 * @return the number of instructions
+	 */
+	public int size() {
+		return _ops.length;
+	}
+
+	/**
+	 * Return the maximal size of the operand stack, needed for evaluating
+	 * the program.
+	 *
+	 * @return the maximal size of the operand stack
+	 */
+	public int stackSize() {
+		return _stackSize;
+	}
+
+	/**
+	 * Evaluates the program with the given variables.
+	 *
+	 * @param variables the input variables
+	 * @return the result of the program evaluation
+	 * @throws NullPointerException if the given variable array is {@code null}
+	 */
+	@Override
+	public T apply(final T[] variables) {
+		requireNonNull(variables);
+
+		Frame<T> frame = _frame.getAndSet(null);
+		if (frame == null || frame.type != variables.getClass()) {
+			frame = new Frame<>(variables.getClass(), _stackSize, _maxArity);
+		}
+
+		final T result = execute(variables, frame.stack, frame.args);
+		_frame.set(frame);
+
+		return result;
+	}
+
+	private T execute(final T[] variables, final T[] stack, final T[][] args) {
+		int sp = 0;
+		for (int i = 0; i < _ops.length; ++i) {
+			final int arity = _arities[i];
+			if (arity == 0) {
+				final int var = _vars[i];
+				stack[sp++] = var != NO_VAR
+					? variables[var]
+					: _ops[i].apply(variables);
+			} else {
+				final T[] a = args[arity];
+				sp -= arity;
+				System.arraycopy(stack, sp, a, 0, arity);
+				stack[sp++] = _ops[i].apply(a);
+			}
+		}
+
+		final T result = stack[0];
+		stack[0] = null;
+		return result;
+	}
+
+	/**
+	 * Convenient method, which lets you apply the program function without
+	 * explicitly create a wrapper array.
+	 *
+	 * @see #apply(Object[])
+	 *
+	 * @param variables the input variables
+	 * @return the result of the program evaluation
+	 * @throws NullPointerException if the given variable array is {@code null}
+	 */
+	@SafeVarargs
+	@SuppressWarnings("varargs")
+	public final T eval(final T... variables) {
+		return apply(variables);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder out = new StringBuilder();
+		for (int i = 0; i < _ops.length; ++i) {
+			if (i > 0) out.append(' ');
+			out.append(_ops[i]);
+		}
+		return out.toString();
+	}
+
+	/**
+	 * The operand stack and the argument arrays of one evaluation.
+	 */
+	private static final class Frame<T> {
+		final Class<?> type;
+		final T[] stack;
+		final T[][] args;
+
+		@SuppressWarnings("unchecked")
+		Frame(final Class<?> type, final int stackSize, final int maxArity) {
+			this.type = type;
+			stack = newArray(type, stackSize);
+			args = (T[][])new Object[maxArity + 1][];
+			for (int i = 1; i <= maxArity; ++i) {
+				args[i] = newArray(type, i);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> T[] newArray(final Class<?> arrayType, final int size) {
+			return (T[])Array.newInstance(arrayType.getComponentType(), size);
+		}
+	}
+
+
+	/* *************************************************************************
+	 * Static factory methods.
+	 * ************************************************************************/
+
+	/**
+	 * Compiles the given operation tree.
+	 *
+	 * @param tree the operation tree to compile
+	 * @param <T> the argument type of the operations
+	 * @return the compiled program
+	 * @throws NullPointerException if the given {@code tree} or one of its
+	 *         operations is {@code null}
+	 * @throws IllegalArgumentException if the given operation tree is invalid,
+	 *         which means there is at least one node where the operation arity
+	 *         and the node child count differ.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PostfixProgram<T> of(final Tree<? extends Op<T>, ?> tree) {
+		Program.check(tree);
+
+		final List<Op<T>> ops = new ArrayList<>();
+		final Iterator<? extends Tree<? extends Op<T>, ?>> it =
+			tree.postorderIterator();
+		while (it.hasNext()) {
+			ops.add(requireNonNull(it.next().getValue(), "Operation"));
+		}
+
+		final int[] arities = new int[ops.size()];
+		final int[] vars = new int[ops.size()];
+		int stackSize = 0;
+		int maxArity = 0;
+		int sp = 0;
+		for (int i = 0; i < ops.size(); ++i) {
+			final Op<T> op = ops.get(i);
+			arities[i] = op.arity();
+			vars[i] = op instanceof Var<?> ? ((Var<?>)op).index() : NO_VAR;
+
+			sp = sp - arities[i] + 1;
+			stackSize = Math.max(stackSize, sp);
+			maxArity = Math.max(maxArity, arities[i]);
+		}
+
+		return new PostfixProgram<>(
+			ops.toArray((Op<T>[])new Op<?>[0]),
+			arities,
+			vars,
+			stackSize,
+			maxArity
+		);
+	}
+
+}
@@ -22,7 +22,6 @@ package org.jenetics.prog.op;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 
-import java.lang.reflect.Array;
 import java.util.Random;
 
 import org.jenetics.ext.util.FlatTree;
@@ -38,7 +37,7 @@ import org.jenetics.util.RandomRegistry;
  * @param <T> the argument type of the operation
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
- * @version 3.9
+ * @version 4.0
  * @since 3.9
  */
 public class Program<T> implements Op<T> {
@@ -47,6 +46,9 @@ public class Program<T> implements Op<T> {
 	private final int _arity;
 	private final Tree<? extends Op<T>, ?> _tree;
 
+	// The lazily compiled operation tree.
+	private volatile PostfixProgram<T> _program;
+
 	/**
 	 * Create a new program with the given name and the given operation tree.
 	 * The arity of the program is calculated from the given operation tree and
@@ -89,7 +91,12 @@ public class Program<T> implements Op<T> {
 			));
 		}
 
-		return eval(_tree, args);
+		PostfixProgram<T> program = _program;
+		if (program == null) {
+			_program = program = PostfixProgram.of(_tree);
+		}
+
+		return program.apply(args);
 	}
 
 	/**
@@ -120,7 +127,10 @@ public class Program<T> implements Op<T> {
 	 * ************************************************************************/
 
 	/**
-	 * Evaluates the given operation tree with the given variables.
+	 * Evaluates the given operation tree with the given variables. The tree
+	 * is compiled into a {@link PostfixProgram} before it is evaluated. If
+	 * the same operation tree is evaluated several times, it is more
+	 * efficient to compile it once, with {@link PostfixProgram#of(Tree)}.
 	 *
 	 * @param <T> the argument type
 	 * @param tree the operation tree
@@ -131,6 +141,7 @@ public class Program<T> implements Op<T> {
 	 *         is smaller than the program arity
 	 */
 	@SafeVarargs
+	@SuppressWarnings("varargs")
 	public static <T> T eval(
 		final Tree<? extends Op<T>, ?> tree,
 		final T... variables
@@ -141,16 +152,7 @@ public class Program<T> implements Op<T> {
 		final Op<T> op = tree.getValue();
 		return op.isTerminal()
 			? op.apply(variables)
-			: op.apply(
-					tree.childStream()
-						.map(child -> eval(child, variables))
-						.toArray(size -> newArray(variables.getClass(), size))
-				);
-	}
-
-	@SuppressWarnings("unchecked")
-	private static <T> T[] newArray(final Class<?> arrayType, final int size) {
-		return (T[])Array.newInstance(arrayType.getComponentType(), size);
+			: PostfixProgram.of(tree).apply(variables);
 	}
 
 	/**
@@ -0,0 +1,312 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog.op;
+
+import static java.lang.String.format;
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Objects.requireNonNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jenetics.ext.util.Tree;
+
+/**
+ * Compiles {@code Double} operation trees into a composed
+ * {@link MethodHandle}, with the type {@code (double[])double}. The
+ * {@link MathOp} operations, variables and constants are compiled into
+ * primitive method handles, which the JIT compiler can inline and optimize
+ * as a whole expression. Other operations are called with boxed arguments.
+ * <p>
+ * Compiling a program is much more expensive than interpreting it a few
+ * times. The {@link #program(Tree)} method therefore returns a
+ * {@link CompiledProgram}, which interprets the program (with a
+ * {@link PostfixProgram}) until it has been evaluated more often than the
+ * compilation {@link #threshold()}. The compiled method handles are cached
+ * by the structure of the operation tree, which means that equal trees,
+ * e.g. of long-lived elite individuals, are compiled only once.
+ *
+ * <pre>{@code
+ * final ProgramCompiler compiler = ProgramCompiler.of(1000, 10_000);
+ * final CompiledProgram program = compiler.program(chromosome.getRoot());
+ * final double result = program.eval(1.0, 2.0);
+ * }</pre>
+ *
+ * <em>This class is thread-safe.</em>
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+public final class ProgramCompiler {
+
+	/**
+	 * The default compiler, with a compilation threshold of 1,000
+	 * evaluations and a cache size of 10,000 programs.
+	 */
+	public static final ProgramCompiler DEFAULT = of(1_000, 10_000);
+
+	private static final MethodType TYPE = methodType(double.class, double[].class);
+
+	private final int _threshold;
+	private final int _cacheSize;
+	private final Map<List<Op<Double>>, MethodHandle> _cache;
+	private final AtomicLong _compilations = new AtomicLong();
+
+	private ProgramCompiler(final int threshold, final int cacheSize) {
+		if (threshold < 0) {
+			throw new IllegalArgumentException(format(
+				"Threshold must not be negative: %d", threshold
+			));
+		}
+		if (cacheSize < 0) {
+			throw new IllegalArgumentException(format(
+				"Cache size must not be negative: %d", cacheSize
+			));
+		}
+
+		_threshold = threshold;
+		_cacheSize = cacheSize;
+		_cache = new LinkedHashMap<List<Op<Double>>, MethodHandle>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(
+				final Map.Entry<List<Op<Double>>, MethodHandle> eldest
+			) {
+				return size() > _cacheSize;
+			}
+		};
+	}
+
+	/**
+	 * Return the number of evaluations, after which a program is compiled.
+	 *
+	 * @return the compilation threshold
+	 */
+	public int threshold() {
+		return _threshold;
+	}
+
+	/**
+	 * Return the maximal number of cached, compiled programs.
+	 *
+	 * @return the maximal cache size
+	 */
+	public int cacheSize() {
+		return _cacheSize;
+	}
+
+	/**
+	 * Return the number of actually compiled programs, not served by the
+	 * cache.
+	 *
+	 * @return the number of compiled programs
+	 */
+	public long compilations() {
+		return _compilations.get();
+	}
+
+	/**
+	 * Return a program, which is compiled after it has been evaluated more
+	 * often than the compilation {@link #threshold()} of this compiler.
+	 *
+	 * @param tree the operation tree
+	 * @return a new program, which is compiled lazily
+	 * @throws NullPointerException if the given {@code tree} or one of its
+	 *         operations is {@code null}
+	 * @throws IllegalArgumentException if the given operation tree is invalid
+	 */
+	public CompiledProgram program(final Tree<? extends Op<Double>, ?> tree) {
+		return new CompiledProgram(this, tree);
+	}
+
+	/**
+	 * Compiles the given operation tree into a method handle of type
+	 * {@code (double[])double}. The array argument contains the values of
+	 * the program variables.
+	 *
+	 * @param tree the operation tree
+	 * @return the compiled method handle
+	 * @throws NullPointerException if the given {@code tree} or one of its
+	 *         operations is {@code null}
+	 * @throws IllegalArgumentException if the given operation tree is invalid
+	 */
+	public MethodHandle compile(final Tree<? extends Op<Double>, ?> tree) {
+		Program.check(tree);
+
+		// The operations in postfix order uniquely define the tree structure.
+		final List<Op<Double>> key = new ArrayList<>();
+		final Iterator<? extends Tree<? extends Op<Double>, ?>> it =
+			tree.postorderIterator();
+		while (it.hasNext()) {
+			key.add(requireNonNull(it.next().getValue(), "Operation"));
+		}
+
+		MethodHandle handle;
+		synchronized (_cache) {
+			handle = _cache.get(key);
+		}
+		if (handle == null) {
+			handle = toHandle(tree);
+			_compilations.incrementAndGet();
+			synchronized (_cache) {
+				_cache.put(key, handle);
+			}
+		}
+
+		return handle;
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"ProgramCompiler[threshold=%d, cacheSize=%d]",
+			_threshold, _cacheSize
+		);
+	}
+
+	/**
+	 * Create a new program compiler.
+	 *
+	 * @param threshold the number of evaluations after which a program is
+	 *        compiled
+	 * @param cacheSize the maximal number of cached, compiled programs
+	 * @return a new program compiler
+	 * @throws IllegalArgumentException if one of the arguments is negative
+	 */
+	public static ProgramCompiler of(final int threshold, final int cacheSize) {
+		return new ProgramCompiler(threshold, cacheSize);
+	}
+
+
+	/* *************************************************************************
+	 * Method handle composition.
+	 * ************************************************************************/
+
+	private static MethodHandle toHandle(final Tree<? extends Op<Double>, ?> tree) {
+		final Op<Double> op = tree.getValue();
+
+		if (op instanceof Var<?>) {
+			return MethodHandles.insertArguments(
+				MethodHandles.arrayElementGetter(double[].class),
+				1, ((Var<?>)op).index()
+			);
+		}
+		if (op.isTerminal()) {
+			return MethodHandles.dropArguments(
+				MethodHandles.constant(double.class, op.apply(new Double[0])),
+				0, double[].class
+			);
+		}
+
+		final MethodHandle[] children = new MethodHandle[tree.childCount()];
+		for (int i = 0; i < children.length; ++i) {
+			children[i] = toHandle(tree.getChild(i));
+		}
+
+		final MethodHandle function = op instanceof MathOp
+			? Handles.MATH_OPS.get(op)
+			: MethodHandles.insertArguments(Handles.APPLY, 0, op)
+				.asCollector(double[].class, op.arity());
+
+		// (double[], ..., double[])double -> (double[])double
+		return MethodHandles.permuteArguments(
+			MethodHandles.filterArguments(function, 0, children),
+			TYPE,
+			new int[children.length]
+		);
+	}
+
+	private static final class Handles {
+		static final MethodHandle APPLY;
+		static final Map<MathOp, MethodHandle> MATH_OPS = new EnumMap<>(MathOp.class);
+
+		static {
+			final MethodHandles.Lookup lookup = MethodHandles.lookup();
+			final MethodType unary = methodType(double.class, double.class);
+			final MethodType binary =
+				methodType(double.class, double.class, double.class);
+
+			try {
+				APPLY = lookup.findStatic(
+					Handles.class, "apply",
+					methodType(double.class, Op.class, double[].class)
+				);
+
+				for (MathOp op : MathOp.values()) {
+					if (op.isTerminal()) continue;
+
+					final MethodType type = op.arity() == 1 ? unary : binary;
+					final MethodHandle handle;
+					switch (op) {
+						case NEG:
+						case SQR:
+						case ADD:
+						case SUB:
+						case MUL:
+						case DIV:
+						case MOD:
+							handle = lookup.findStatic(
+								Handles.class,
+								op.name().toLowerCase(),
+								type
+							);
+							break;
+						default:
+							handle = lookup.findStatic(
+								Math.class,
+								op.name().toLowerCase(),
+								type
+							);
+					}
+					MATH_OPS.put(op, handle);
+				}
+			} catch (ReflectiveOperationException e) {
+				throw new ExceptionInInitializerError(e);
+			}
+		}
+
+		// Applies a generic operation with boxed arguments.
+		private static double apply(final Op<Double> op, final double[] args) {
+			final Double[] values = new Double[args.length];
+			for (int i = 0; i < args.length; ++i) {
+				values[i] = args[i];
+			}
+			return op.apply(values);
+		}
+
+		private static double neg(final double a) { return -a; }
+		private static double sqr(final double a) { return a*a; }
+		private static double add(final double a, final double b) { return a + b; }
+		private static double sub(final double a, final double b) { return a - b; }
+		private static double mul(final double a, final double b) { return a*b; }
+		private static double div(final double a, final double b) { return a/b; }
+		private static double mod(final double a, final double b) { return a%b; }
+	}
+
+}
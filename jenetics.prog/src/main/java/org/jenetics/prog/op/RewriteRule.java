@@ -0,0 +1,91 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog.op;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import org.jenetics.ext.util.TreeNode;
+
+/**
+ * Rewrite rule for operation trees, used by the {@link Simplifier}. A rule
+ * is applied to one node of the operation tree. If the rule matches the
+ * given node, the rewritten subtree is returned, otherwise {@code null}.
+ *
+ * <pre>{@code
+ * // Rewrites 'sqr(sqrt(x))' to 'x'.
+ * final RewriteRule<Double> rule = RewriteRule.of(
+ *     node -> node.getValue() == MathOp.SQR &&
+ *         node.getChild(0).getValue() == MathOp.SQRT,
+ *     node -> node.getChild(0).getChild(0)
+ * );
+ * }</pre>
+ *
+ * The rewritten tree is simplified again. A rule must therefore
+ * <em>reduce</em> the tree it rewrites, e.g. in size, otherwise the
+ * simplification may not terminate.
+ *
+ * @see Simplifier
+ * @see MathRules
+ *
+ * @param <T> the argument type of the operations
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+@FunctionalInterface
+public interface RewriteRule<T> {
+
+	/**
+	 * Rewrites the given operation tree node. The given node, and its
+	 * children, may be modified and re-used by the rule. The children of the
+	 * given node are already simplified.
+	 *
+	 * @param node the tree node to rewrite
+	 * @return the rewritten tree, or {@code null} if this rule doesn't match
+	 *         the given node
+	 */
+	public TreeNode<Op<T>> rewrite(final TreeNode<Op<T>> node);
+
+	/**
+	 * Create a new rewrite rule from the given {@code matcher} and
+	 * {@code rewriter} function.
+	 *
+	 * @param matcher the predicate which tests whether the rule is
+	 *        applicable to a given tree node
+	 * @param rewriter the function which rewrites the matching tree nodes
+	 * @param <T> the argument type of the operations
+	 * @return a new rewrite rule
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public static <T> RewriteRule<T> of(
+		final Predicate<? super TreeNode<Op<T>>> matcher,
+		final UnaryOperator<TreeNode<Op<T>>> rewriter
+	) {
+		requireNonNull(matcher);
+		requireNonNull(rewriter);
+
+		return node -> matcher.test(node) ? rewriter.apply(node) : null;
+	}
+
+}
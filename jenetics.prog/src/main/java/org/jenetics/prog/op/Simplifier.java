@@ -0,0 +1,154 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog.op;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import org.jenetics.ext.util.Tree;
+import org.jenetics.ext.util.TreeNode;
+import org.jenetics.util.ISeq;
+
+/**
+ * Simplifies operation trees by applying a set of {@link RewriteRule}s. The
+ * tree is simplified bottom-up: the children of a node are simplified first,
+ * then the rules are tried on the node itself, in the given order. If a rule
+ * matches, the rewritten subtree is simplified again.
+ *
+ * <pre>{@code
+ * final TreeNode<Op<Double>> program = ...;
+ * final TreeNode<Op<Double>> simplified = Simplifier.MATH.simplify(program);
+ * }</pre>
+ *
+ * @see RewriteRule
+ * @see MathRules
+ *
+ * @param <T> the argument type of the operations
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+public final class Simplifier<T> {
+
+	/**
+	 * Simplifier for arithmetic expressions, which uses all rules defined
+	 * in {@link MathRules#RULES}.
+	 */
+	public static final Simplifier<Double> MATH = of(MathRules.RULES);
+
+	private final ISeq<RewriteRule<T>> _rules;
+
+	private Simplifier(final ISeq<RewriteRule<T>> rules) {
+		_rules = requireNonNull(rules);
+	}
+
+	/**
+	 * Return the rewrite rules of this simplifier.
+	 *
+	 * @return the rewrite rules of this simplifier
+	 */
+	public ISeq<RewriteRule<T>> getRules() {
+		return _rules;
+	}
+
+	/**
+	 * Return a new simplifier, with the given {@code rules} appended to the
+	 * rules of {@code this} simplifier.
+	 *
+	 * @param rules the additional rules
+	 * @return a new simplifier with the additional rules
+	 * @throws NullPointerException if one of the rules is {@code null}
+	 */
+	@SafeVarargs
+	public final Simplifier<T> and(final RewriteRule<T>... rules) {
+		return of(_rules.append(seq(rules.length, i -> rules[i])));
+	}
+
+	/**
+	 * Simplifies the given operation tree. The given tree is not changed.
+	 *
+	 * @param tree the operation tree to simplify
+	 * @return a new, simplified operation tree
+	 * @throws NullPointerException if the given {@code tree} is {@code null}
+	 * @throws IllegalArgumentException if the given operation tree is invalid
+	 */
+	public TreeNode<Op<T>> simplify(final Tree<? extends Op<T>, ?> tree) {
+		Program.check(tree);
+		return rewrite(TreeNode.ofTree(tree)).detach();
+	}
+
+	private TreeNode<Op<T>> rewrite(final TreeNode<Op<T>> node) {
+		for (int i = 0; i < node.childCount(); ++i) {
+			final TreeNode<Op<T>> child = node.getChild(i);
+			final TreeNode<Op<T>> rewritten = rewrite(child);
+			if (rewritten != child) {
+				node.remove(i);
+				node.insert(i, rewritten.detach());
+			}
+		}
+
+		for (RewriteRule<T> rule : _rules) {
+			final TreeNode<Op<T>> rewritten = rule.rewrite(node);
+			if (rewritten != null) {
+				return rewrite(rewritten.detach());
+			}
+		}
+
+		return node;
+	}
+
+	/**
+	 * Create a new simplifier with the given rewrite rules.
+	 *
+	 * @param rules the rewrite rules
+	 * @param <T> the argument type of the operations
+	 * @return a new simplifier
+	 * @throws NullPointerException if one of the rules is {@code null}
+	 */
+	public static <T> Simplifier<T> of(final ISeq<RewriteRule<T>> rules) {
+		rules.forEach(r -> requireNonNull(r, "Rewrite rule"));
+		return new Simplifier<>(rules);
+	}
+
+	/**
+	 * Create a new simplifier with the given rewrite rules.
+	 *
+	 * @param rules the rewrite rules
+	 * @param <T> the argument type of the operations
+	 * @return a new simplifier
+	 * @throws NullPointerException if one of the rules is {@code null}
+	 */
+	@SafeVarargs
+	public static <T> Simplifier<T> of(final RewriteRule<T>... rules) {
+		return of(seq(rules.length, i -> rules[i]));
+	}
+
+	// Creates the rule sequence element-wise, instead of passing the generic
+	// varargs array on.
+	private static <T> ISeq<T> seq(final int length, final IntFunction<T> element) {
+		return IntStream.range(0, length)
+			.mapToObj(element)
+			.collect(ISeq.toISeq());
+	}
+
+}
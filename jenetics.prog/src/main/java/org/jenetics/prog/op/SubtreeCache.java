@@ -0,0 +1,400 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog.op;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jenetics.ext.util.Tree;
+
+/**
+ * Population-wide memo cache for the columnar evaluation of {@code Double}
+ * programs. In a converging GP population most programs share large,
+ * identical subtrees. This cache evaluates every distinct subtree only once
+ * over the whole data set, independent of the program (individual) it is
+ * part of.
+ * <p>
+ * The subtrees are <em>hash-consed</em>: every structurally distinct subtree
+ * is represented by exactly one canonical cache node, which is identified by
+ * its operation and the (canonical) nodes of its children. Looking up a
+ * subtree is therefore a constant time operation, once its children have
+ * been looked up, and identical subtrees of different programs are mapped to
+ * the same node and the same result column.
+ *
+ * <pre>{@code
+ * final SubtreeCache cache = SubtreeCache.of(new double[][]{x, y}, 64L << 20);
+ * final Engine<ProgramGene<Double>, Double> engine = Engine
+ *     .builder(gt -> error(cache.eval(gt.getGene()), expected), codec)
+ *     .build();
+ * }</pre>
+ *
+ * The cached result columns are bound by the given number of bytes. If the
+ * limit is exceeded, the results of the least recently used subtrees are
+ * evicted. Since the data set doesn't change between generations, the cache
+ * can be used for the whole evolution; subtrees which die out are evicted
+ * eventually. The hit-rate statistics can be reset with {@link #clear()}.
+ * <p>
+ * Terminal operations, which are not a {@link Var}, are treated as
+ * constants.
+ *
+ * <em>This class is thread-safe.</em> Results of the same subtree, which
+ * are evaluated concurrently, might be computed more than once.
+ *
+ * @see ColumnProgram
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+public final class SubtreeCache {
+
+	private final double[][] _columns;
+	private final int _length;
+	private final long _maxBytes;
+
+	// The canonical subtree nodes, in least recently used order.
+	private final Map<Node, Node> _nodes =
+		new LinkedHashMap<>(1024, 0.75f, true);
+
+	private long _bytes = 0;
+	private long _hits = 0;
+	private long _misses = 0;
+	private long _evictions = 0;
+
+	private SubtreeCache(final double[][] columns, final long maxBytes) {
+		if (maxBytes < 0) {
+			throw new IllegalArgumentException(format(
+				"Max bytes must not be negative: %d", maxBytes
+			));
+		}
+
+		_columns = columns.clone();
+		_length = _columns.length > 0 ? _columns[0].length : 0;
+		for (double[] column : _columns) {
+			if (column.length != _length) {
+				throw new IllegalArgumentException(format(
+					"All columns must have the same length: %d != %d",
+					column.length, _length
+				));
+			}
+		}
+		_maxBytes = maxBytes;
+	}
+
+	/**
+	 * Evaluates the given program over the whole data set of this cache.
+	 * The results of all (non-variable) subtrees of the program are taken
+	 * from, or stored into, the cache.
+	 *
+	 * @param tree the operation tree
+	 * @return the result column of the program evaluation, one value for
+	 *         every data row
+	 * @throws NullPointerException if the given {@code tree} or one of its
+	 *         operations is {@code null}
+	 * @throws IllegalArgumentException if the given operation tree is
+	 *         invalid or contains a variable without a data column
+	 */
+	public double[] eval(final Tree<? extends Op<Double>, ?> tree) {
+		Program.check(tree);
+		return values(node(tree)).clone();
+	}
+
+	// Return the canonical node of the given tree.
+	private Node node(final Tree<? extends Op<Double>, ?> tree) {
+		final Op<Double> op = requireNonNull(tree.getValue(), "Operation");
+		if (op instanceof Var<?> && ((Var<?>)op).index() >= _columns.length) {
+			throw new IllegalArgumentException(format(
+				"No data column for variable %s: %d >= %d",
+				op, ((Var<?>)op).index(), _columns.length
+			));
+		}
+
+		final Node[] children = new Node[tree.childCount()];
+		for (int i = 0; i < children.length; ++i) {
+			children[i] = node(tree.getChild(i));
+		}
+
+		final Node node = new Node(op, children);
+		synchronized (_nodes) {
+			final Node canonical = _nodes.get(node);
+			if (canonical != null) {
+				return canonical;
+			}
+			_nodes.put(node, node);
+		}
+		return node;
+	}
+
+	// Return the (cached) result column of the given node.
+	private double[] values(final Node node) {
+		if (node.op instanceof Var<?>) {
+			return _columns[((Var<?>)node.op).index()];
+		}
+
+		double[] result = node.result;
+		if (result != null) {
+			synchronized (_nodes) {
+				++_hits;
+				// Marks the node as recently used.
+				_nodes.get(node);
+			}
+			return result;
+		}
+
+		final double[][] args = new double[node.children.length][];
+		for (int i = 0; i < args.length; ++i) {
+			args[i] = values(node.children[i]);
+		}
+		result = apply(node.op, args);
+
+		synchronized (_nodes) {
+			++_misses;
+
+			// The node might have been evicted while evaluating its children.
+			Node canonical = _nodes.get(node);
+			if (canonical == null) {
+				_nodes.put(node, node);
+				canonical = node;
+			}
+			if (canonical == node && node.result == null) {
+				node.result = result;
+				_bytes += bytes(result);
+				evict();
+			}
+		}
+		return result;
+	}
+
+	private double[] apply(final Op<Double> op, final double[][] args) {
+		final double[] result = new double[_length];
+
+		if (op.isTerminal()) {
+			Arrays.fill(result, op.apply(new Double[0]));
+		} else if (op instanceof MathOp) {
+			((MathOp)op).apply(args, result, _length);
+		} else {
+			final Double[] values = new Double[args.length];
+			for (int i = 0; i < _length; ++i) {
+				for (int j = 0; j < values.length; ++j) {
+					values[j] = args[j][i];
+				}
+				result[i] = op.apply(values);
+			}
+		}
+
+		return result;
+	}
+
+	// Evicts the least recently used nodes, until the memory bound is met.
+	private void evict() {
+		final Iterator<Node> it = _nodes.keySet().iterator();
+		while (_bytes > _maxBytes && it.hasNext()) {
+			final Node node = it.next();
+			it.remove();
+
+			// Evicted nodes can still be referenced by their parent nodes.
+			if (node.result != null) {
+				_bytes -= bytes(node.result);
+				node.result = null;
+				++_evictions;
+			}
+		}
+	}
+
+	private static long bytes(final double[] values) {
+		return (long)values.length*Double.BYTES;
+	}
+
+	/**
+	 * Return the number of canonical subtrees stored in this cache.
+	 *
+	 * @return the number of cached subtrees
+	 */
+	public int size() {
+		synchronized (_nodes) {
+			return _nodes.size();
+		}
+	}
+
+	/**
+	 * Return the number of bytes, currently used by the cached result
+	 * columns.
+	 *
+	 * @return the number of bytes of the cached results
+	 */
+	public long bytes() {
+		synchronized (_nodes) {
+			return _bytes;
+		}
+	}
+
+	/**
+	 * Return the maximal number of bytes, used by the cached result columns.
+	 *
+	 * @return the maximal number of bytes of the cached results
+	 */
+	public long maxBytes() {
+		return _maxBytes;
+	}
+
+	/**
+	 * Return the number of subtree evaluations served by the cache.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long hitCount() {
+		synchronized (_nodes) {
+			return _hits;
+		}
+	}
+
+	/**
+	 * Return the number of subtree evaluations not served by the cache.
+	 *
+	 * @return the number of cache misses
+	 */
+	public long missCount() {
+		synchronized (_nodes) {
+			return _misses;
+		}
+	}
+
+	/**
+	 * Return the ratio of the subtree evaluations served by the cache, or
+	 * {@code 0} if no subtree has been evaluated yet.
+	 *
+	 * @return the cache hit-rate, within the range {@code [0, 1]}
+	 */
+	public double hitRate() {
+		synchronized (_nodes) {
+			final long total = _hits + _misses;
+			return total > 0 ? (double)_hits/total : 0.0;
+		}
+	}
+
+	/**
+	 * Return the number of result columns, which have been evicted because
+	 * of the memory bound.
+	 *
+	 * @return the number of evicted results
+	 */
+	public long evictionCount() {
+		synchronized (_nodes) {
+			return _evictions;
+		}
+	}
+
+	/**
+	 * Removes all cached subtrees and resets the statistics of this cache.
+	 */
+	public void clear() {
+		synchronized (_nodes) {
+			for (Node node : _nodes.keySet()) {
+				node.result = null;
+			}
+			_nodes.clear();
+			_bytes = 0;
+			_hits = 0;
+			_misses = 0;
+			_evictions = 0;
+		}
+	}
+
+	@Override
+	public String toString() {
+		synchronized (_nodes) {
+			return format(
+				"SubtreeCache[size=%d, bytes=%d, hitRate=%.4f, evictions=%d]",
+				_nodes.size(), _bytes, hitRate(), _evictions
+			);
+		}
+	}
+
+	/**
+	 * Create a new subtree cache for the given data set.
+	 *
+	 * @param columns the data set; the column {@code i} contains the values
+	 *        of the variable with index {@code i}. The columns are not copied
+	 *        and must not be changed while the cache is in use.
+	 * @param maxBytes the maximal number of bytes of the cached results
+	 * @return a new subtree cache
+	 * @throws NullPointerException if one of the columns is {@code null}
+	 * @throws IllegalArgumentException if the columns have different lengths
+	 *         or {@code maxBytes} is negative
+	 */
+	public static SubtreeCache of(final double[][] columns, final long maxBytes) {
+		return new SubtreeCache(requireNonNull(columns), maxBytes);
+	}
+
+
+	/**
+	 * Canonical (hash-consed) subtree. Two nodes are equal, if they have
+	 * equal operations and the <em>same</em> canonical child nodes.
+	 */
+	private static final class Node {
+		final Op<Double> op;
+		final Node[] children;
+		final int hash;
+
+		volatile double[] result;
+
+		Node(final Op<Double> op, final Node[] children) {
+			this.op = op;
+			this.children = children;
+
+			int h = op.hashCode();
+			for (Node child : children) {
+				h = 31*h + System.identityHashCode(child);
+			}
+			hash = h;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (obj == this) return true;
+			if (!(obj instanceof Node)) return false;
+
+			final Node other = (Node)obj;
+			if (hash != other.hash ||
+				children.length != other.children.length ||
+				!op.equals(other.op))
+			{
+				return false;
+			}
+			for (int i = 0; i < children.length; ++i) {
+				if (children[i] != other.children[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+}
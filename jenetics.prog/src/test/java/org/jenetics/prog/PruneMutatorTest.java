@@ -0,0 +1,117 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog;
+
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import org.jenetics.Genotype;
+import org.jenetics.Phenotype;
+import org.jenetics.Population;
+import org.jenetics.prog.op.Const;
+import org.jenetics.prog.op.MathOp;
+import org.jenetics.prog.op.Op;
+import org.jenetics.prog.op.Var;
+import org.jenetics.util.ISeq;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class PruneMutatorTest {
+
+	private static final ISeq<Op<Double>> OPERATIONS = ISeq.of(
+		MathOp.ADD,
+		MathOp.SUB,
+		MathOp.MUL,
+		MathOp.SIN
+	);
+
+	private static final ISeq<Op<Double>> TERMINALS = ISeq.of(
+		Var.of("x", 0),
+		Var.of("y", 1),
+		Const.of(1.0)
+	);
+
+	@DataProvider(name = "limits")
+	public Object[][] limits() {
+		return new Object[][] {
+			{0, 1},
+			{1, 100},
+			{3, 100},
+			{3, 10},
+			{10, 7},
+			{10, 1},
+			{5, 31}
+		};
+	}
+
+	@Test(dataProvider = "limits")
+	public void prune(final int maxDepth, final int maxSize) {
+		final Population<ProgramGene<Double>, Double> population =
+			RandomRegistry.with(new Random(maxDepth*31 + maxSize), r -> {
+				final Population<ProgramGene<Double>, Double> pop = new Population<>();
+				for (int i = 0; i < 50; ++i) {
+					pop.add(Phenotype.of(
+						Genotype.of(ProgramChromosome.of(6, OPERATIONS, TERMINALS)),
+						0,
+						gt -> 0.0
+					));
+				}
+				return pop;
+			});
+		final int size = population.stream()
+			.mapToInt(pt -> pt.getGenotype().getChromosome().length())
+			.sum();
+
+		final PruneMutator<Double, Double> mutator =
+			new PruneMutator<>(maxDepth, maxSize);
+		final int removed = mutator.alter(population, 1);
+
+		Assert.assertEquals(
+			population.stream()
+				.mapToInt(pt -> pt.getGenotype().getChromosome().length())
+				.sum(),
+			size - removed
+		);
+		for (Phenotype<ProgramGene<Double>, Double> pt : population) {
+			final ProgramChromosome<Double> ch =
+				(ProgramChromosome<Double>)pt.getGenotype().getChromosome();
+
+			Assert.assertTrue(ch.length() <= maxSize, "Size: " + ch.length());
+			Assert.assertTrue(ch.getRoot().depth() <= maxDepth);
+			ch.eval(1.0, 2.0);
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void negativeDepth() {
+		new PruneMutator<Double, Double>(-1, 10);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void zeroSize() {
+		new PruneMutator<Double, Double>(10, 0);
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.Genotype;
+import org.jenetics.Phenotype;
+import org.jenetics.Population;
+import org.jenetics.ext.util.TreeNode;
+import org.jenetics.prog.op.Const;
+import org.jenetics.prog.op.MathOp;
+import org.jenetics.prog.op.Op;
+import org.jenetics.prog.op.Simplifier;
+import org.jenetics.prog.op.Var;
+import org.jenetics.util.ISeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class RewriteMutatorTest {
+
+	private static final ISeq<Op<Double>> OPERATIONS = ISeq.of(
+		MathOp.ADD,
+		MathOp.SUB,
+		MathOp.MUL
+	);
+
+	private static final ISeq<Op<Double>> TERMINALS = ISeq.of(
+		Var.of("x", 0),
+		Const.of(1.0)
+	);
+
+	@Test
+	public void simplify() {
+		// (x*1) + (x - x)
+		final TreeNode<Op<Double>> tree = TreeNode.<Op<Double>>of(MathOp.ADD)
+			.attach(TreeNode.<Op<Double>>of(MathOp.MUL)
+				.attach(Var.of("x", 0))
+				.attach(Const.of(1.0)))
+			.attach(TreeNode.<Op<Double>>of(MathOp.SUB)
+				.attach(Var.of("x", 0))
+				.attach(Var.of("x", 0)));
+
+		final ProgramChromosome<Double> chromosome =
+			ProgramChromosome.of(tree, ch -> ch.length() < 5, OPERATIONS, TERMINALS);
+		Assert.assertFalse(chromosome.isValid());
+
+		final Population<ProgramGene<Double>, Double> population = new Population<>();
+		population.add(Phenotype.of(Genotype.of(chromosome), 0, gt -> 0.0));
+
+		final RewriteMutator<Double, Double> mutator =
+			new RewriteMutator<>(Simplifier.MATH);
+		Assert.assertEquals(mutator.alter(population, 1), 6);
+
+		final ProgramChromosome<Double> simplified = (ProgramChromosome<Double>)
+			population.get(0).getGenotype().getChromosome();
+		Assert.assertEquals(simplified.length(), 1);
+		Assert.assertEquals(simplified.getRoot().getValue(), Var.of("x", 0));
+		Assert.assertTrue(simplified.isValid());
+		Assert.assertEquals(simplified.eval(3.0), 3.0);
+	}
+
+	@Test
+	public void nothingToSimplify() {
+		final TreeNode<Op<Double>> tree = TreeNode.<Op<Double>>of(MathOp.ADD)
+			.attach(Var.of("x", 0))
+			.attach(Const.of(1.0));
+
+		final Phenotype<ProgramGene<Double>, Double> pt = Phenotype.of(
+			Genotype.of(ProgramChromosome.of(tree, OPERATIONS, TERMINALS)),
+			0,
+			gt -> 0.0
+		);
+		final Population<ProgramGene<Double>, Double> population = new Population<>();
+		population.add(pt);
+
+		Assert.assertEquals(
+			new RewriteMutator<Double, Double>(Simplifier.MATH).alter(population, 1),
+			0
+		);
+		Assert.assertSame(
+			population.get(0).getGenotype().getChromosome(),
+			pt.getGenotype().getChromosome()
+		);
+	}
+
+}
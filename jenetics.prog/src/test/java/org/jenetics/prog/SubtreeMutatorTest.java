@@ -0,0 +1,144 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog;
+
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import org.jenetics.Genotype;
+import org.jenetics.Phenotype;
+import org.jenetics.Population;
+import org.jenetics.ext.util.TreeNode;
+import org.jenetics.prog.op.Const;
+import org.jenetics.prog.op.MathOp;
+import org.jenetics.prog.op.Op;
+import org.jenetics.prog.op.Program;
+import org.jenetics.prog.op.Var;
+import org.jenetics.util.ISeq;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class SubtreeMutatorTest {
+
+	private static final ISeq<Op<Double>> OPERATIONS = ISeq.of(
+		MathOp.ADD,
+		MathOp.SUB,
+		MathOp.MUL,
+		MathOp.SIN
+	);
+
+	private static final ISeq<Op<Double>> TERMINALS = ISeq.of(
+		Var.of("x", 0),
+		Var.of("y", 1),
+		Const.of(1.0)
+	);
+
+	private static Population<ProgramGene<Double>, Double> population(
+		final int depth,
+		final long seed
+	) {
+		return RandomRegistry.with(new Random(seed), r -> {
+			final Population<ProgramGene<Double>, Double> pop = new Population<>();
+			for (int i = 0; i < 50; ++i) {
+				pop.add(Phenotype.of(
+					Genotype.of(ProgramChromosome.of(depth, OPERATIONS, TERMINALS)),
+					0,
+					gt -> 0.0
+				));
+			}
+			return pop;
+		});
+	}
+
+	@DataProvider(name = "limits")
+	public Object[][] limits() {
+		return new Object[][] {
+			{0, 1},
+			{3, 100},
+			{5, 20},
+			{6, 1000},
+			{10, 1000}
+		};
+	}
+
+	@Test(dataProvider = "limits")
+	public void mutate(final int maxDepth, final int maxSize) {
+		final Population<ProgramGene<Double>, Double> population =
+			population(Math.min(maxDepth, 5), maxDepth*31 + maxSize);
+		final Population<ProgramGene<Double>, Double> original = population.copy();
+
+		final SubtreeMutator<Double, Double> mutator =
+			new SubtreeMutator<>(1, maxDepth, maxSize);
+		RandomRegistry.with(new Random(maxDepth), r ->
+			mutator.alter(population, 1));
+
+		for (int i = 0; i < population.size(); ++i) {
+			final ProgramChromosome<Double> ch = (ProgramChromosome<Double>)
+				population.get(i).getGenotype().getChromosome();
+			final ProgramChromosome<Double> orig = (ProgramChromosome<Double>)
+				original.get(i).getGenotype().getChromosome();
+
+			Assert.assertTrue(ch.isValid());
+			Assert.assertTrue(
+				ch.length() <= Math.max(maxSize, orig.length()),
+				"Size: " + ch.length()
+			);
+			Assert.assertTrue(
+				ch.getRoot().depth() <= Math.max(maxDepth, orig.getRoot().depth())
+			);
+
+			// The flattened genes must represent a consistent tree.
+			final TreeNode<Op<Double>> tree = TreeNode.ofTree(ch.getRoot());
+			Assert.assertEquals(tree.size(), ch.length());
+			Assert.assertEquals(
+				ch.eval(1.0, 2.0),
+				Program.eval(tree, 1.0, 2.0)
+			);
+		}
+	}
+
+	@Test
+	public void changesPrograms() {
+		final Population<ProgramGene<Double>, Double> population = population(4, 123);
+		final Population<ProgramGene<Double>, Double> original = population.copy();
+
+		final int altered = RandomRegistry.with(new Random(123), r ->
+			new SubtreeMutator<Double, Double>(1, 17, 1000).alter(population, 1));
+
+		Assert.assertTrue(altered > 0);
+		Assert.assertNotEquals(population, original);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void negativeDepth() {
+		new SubtreeMutator<Double, Double>(0.1, -1, 10);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void zeroSize() {
+		new SubtreeMutator<Double, Double>(0.1, 10, 0);
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog.op;
+
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import org.jenetics.ext.util.TreeNode;
+import org.jenetics.util.ISeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class ColumnProgramTest {
+
+	private static final Op<Double> ADD3 = Op.of("add3", 3, v -> v[0] + v[1] + v[2]);
+
+	private static final ISeq<Op<Double>> OPERATIONS = ISeq.of(
+		MathOp.ADD,
+		MathOp.SUB,
+		MathOp.MUL,
+		MathOp.DIV,
+		MathOp.EXP,
+		MathOp.SIN,
+		MathOp.COS,
+		MathOp.HYPOT,
+		ADD3
+	);
+
+	private static final ISeq<Op<Double>> TERMINALS = ISeq.of(
+		Var.of("x", 0),
+		Var.of("y", 1),
+		Var.of("z", 2),
+		MathOp.PI,
+		Const.of(1.0)
+	);
+
+	private static double[][] columns(final int rows, final Random random) {
+		final double[][] columns = new double[3][rows];
+		for (double[] column : columns) {
+			for (int i = 0; i < rows; ++i) {
+				column[i] = random.nextDouble()*2 - 1;
+			}
+		}
+		return columns;
+	}
+
+	@DataProvider(name = "chunks")
+	public Object[][] chunks() {
+		return new Object[][] {
+			{0, 5, 1},
+			{1, 100, 1},
+			{3, 100, 7},
+			{5, 1000, 1000},
+			{6, 1000, 999},
+			{7, 1000, 4096}
+		};
+	}
+
+	@Test(dataProvider = "chunks")
+	public void eval(final int depth, final int rows, final int chunkSize) {
+		final Random random = new Random(depth*rows + chunkSize);
+		final TreeNode<Op<Double>> tree = Program.of(depth, OPERATIONS, TERMINALS);
+		final PostfixProgram<Double> expected = PostfixProgram.of(tree);
+		final ColumnProgram program = ColumnProgram.of(tree, chunkSize);
+
+		final double[][] columns = columns(rows, random);
+		final double[][] copy = columns(rows, random);
+		for (int i = 0; i < columns.length; ++i) {
+			System.arraycopy(columns[i], 0, copy[i], 0, rows);
+		}
+
+		final double[] result = program.eval(columns);
+		Assert.assertEquals(result.length, rows);
+		for (int i = 0; i < rows; ++i) {
+			final double value = expected.eval(
+				columns[0][i], columns[1][i], columns[2][i]
+			);
+			Assert.assertEquals(result[i], value, 0.0);
+		}
+
+		// The input columns must not be changed.
+		for (int i = 0; i < columns.length; ++i) {
+			Assert.assertEquals(columns[i], copy[i]);
+		}
+
+		// Evaluating a second time reuses the buffers.
+		Assert.assertEquals(program.eval(columns), result);
+	}
+
+	@Test
+	public void arity() {
+		final TreeNode<Op<Double>> tree = TreeNode.<Op<Double>>of(MathOp.MUL)
+			.attach(Var.of("y", 1))
+			.attach(Const.of(2.0));
+
+		final ColumnProgram program = ColumnProgram.of(tree);
+		Assert.assertEquals(program.arity(), 2);
+		Assert.assertEquals(
+			program.eval(new double[]{1, 2}, new double[]{3, 4}),
+			new double[]{6, 8}
+		);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void missingColumns() {
+		final TreeNode<Op<Double>> tree = TreeNode.<Op<Double>>of(MathOp.ADD)
+			.attach(Var.of("x", 0))
+			.attach(Var.of("y", 1));
+
+		ColumnProgram.of(tree).eval(new double[]{1, 2});
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void differentColumnLengths() {
+		final TreeNode<Op<Double>> tree = TreeNode.<Op<Double>>of(MathOp.ADD)
+			.attach(Var.of("x", 0))
+			.attach(Var.of("y", 1));
+
+		ColumnProgram.of(tree).eval(new double[]{1, 2}, new double[]{1});
+	}
+
+}
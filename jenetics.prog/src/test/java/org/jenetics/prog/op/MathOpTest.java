@@ -0,0 +1,84 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog.op;
+
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class MathOpTest {
+
+	@DataProvider(name = "operations")
+	public Object[][] operations() {
+		final MathOp[] ops = MathOp.values();
+		final Object[][] result = new Object[ops.length][];
+		for (int i = 0; i < ops.length; ++i) {
+			result[i] = new Object[]{ops[i]};
+		}
+		return result;
+	}
+
+	@Test(dataProvider = "operations")
+	public void applyColumns(final MathOp op) {
+		final Random random = new Random(123);
+		final int length = 100;
+
+		final double[][] args = new double[op.arity()][length];
+		for (double[] column : args) {
+			for (int i = 0; i < length; ++i) {
+				column[i] = random.nextDouble()*4 - 2;
+			}
+		}
+
+		// Only the first 'length - 1' elements are calculated.
+		final double[] result = new double[length];
+		result[length - 1] = Double.MAX_VALUE;
+		op.apply(args, result, length - 1);
+
+		for (int i = 0; i < length - 1; ++i) {
+			final Double[] values = new Double[op.arity()];
+			for (int j = 0; j < values.length; ++j) {
+				values[j] = args[j][i];
+			}
+			Assert.assertEquals(result[i], op.apply(values), 0.0, op.toString());
+		}
+		Assert.assertEquals(result[length - 1], Double.MAX_VALUE);
+	}
+
+	@Test
+	public void applyInPlace() {
+		final double[] x = {1, 2, 3};
+		final double[] y = {4, 5, 6};
+		MathOp.ADD.apply(new double[][]{x, y}, x, 3);
+
+		Assert.assertEquals(x, new double[]{5, 7, 9});
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void applyWrongArity() {
+		MathOp.ADD.apply(new double[][]{{1}}, new double[1], 1);
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog.op;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import org.jenetics.ext.util.Tree;
+import org.jenetics.ext.util.TreeNode;
+import org.jenetics.util.ISeq;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class PostfixProgramTest {
+
+	private static final Op<Double> ADD3 = Op.of("add3", 3, v -> v[0] + v[1] + v[2]);
+
+	private static final ISeq<Op<Double>> OPERATIONS = ISeq.of(
+		MathOp.ADD,
+		MathOp.SUB,
+		MathOp.MUL,
+		MathOp.DIV,
+		MathOp.EXP,
+		MathOp.SIN,
+		MathOp.COS,
+		ADD3
+	);
+
+	private static final ISeq<Op<Double>> TERMINALS = ISeq.of(
+		Var.of("x", 0),
+		Var.of("y", 1),
+		Var.of("z", 2),
+		MathOp.PI,
+		Const.of(1.0)
+	);
+
+	// Reference implementation: recursive evaluation of the operation tree.
+	private static Double eval(
+		final Tree<? extends Op<Double>, ?> tree,
+		final Double[] variables
+	) {
+		final Op<Double> op = tree.getValue();
+		return op.isTerminal()
+			? op.apply(variables)
+			: op.apply(tree.childStream()
+				.map(child -> eval(child, variables))
+				.toArray(Double[]::new));
+	}
+
+	@DataProvider(name = "depths")
+	public Object[][] depths() {
+		return IntStream.range(0, 8)
+			.mapToObj(i -> new Object[]{i})
+			.toArray(Object[][]::new);
+	}
+
+	@Test(dataProvider = "depths")
+	public void compile(final int depth) {
+		final Random random = RandomRegistry.getRandom();
+		final TreeNode<Op<Double>> tree = Program.of(depth, OPERATIONS, TERMINALS);
+		final PostfixProgram<Double> program = PostfixProgram.of(tree);
+
+		Assert.assertEquals(program.size(), tree.size());
+		for (int i = 0; i < 20; ++i) {
+			final Double[] vars = {
+				random.nextDouble(), random.nextDouble(), random.nextDouble()
+			};
+			Assert.assertEquals(program.apply(vars), eval(tree, vars));
+		}
+	}
+
+	@Test
+	public void postfixOrder() {
+		final TreeNode<Op<Double>> tree = TreeNode.<Op<Double>>of(MathOp.ADD)
+			.attach(TreeNode.<Op<Double>>of(MathOp.MUL)
+				.attach(Var.of("x", 0))
+				.attach(Const.of(2.0)))
+			.attach(Var.of("y", 1));
+
+		final PostfixProgram<Double> program = PostfixProgram.of(tree);
+		Assert.assertEquals(program.toString(), "x 2.0 mul y add");
+		Assert.assertEquals(program.size(), 5);
+		Assert.assertEquals(program.stackSize(), 2);
+		Assert.assertEquals(program.eval(3.0, 4.0), 10.0);
+		Assert.assertEquals(program.eval(1.0, 1.0), 3.0);
+	}
+
+	@Test
+	public void terminalProgram() {
+		final PostfixProgram<Double> program =
+			PostfixProgram.of(TreeNode.<Op<Double>>of(Var.of("y", 1)));
+
+		Assert.assertEquals(program.size(), 1);
+		Assert.assertEquals(program.eval(1.0, 2.0), 2.0);
+	}
+
+	@Test
+	public void concurrentEvaluation() {
+		final TreeNode<Op<Double>> tree = Program.of(6, OPERATIONS, TERMINALS);
+		final PostfixProgram<Double> program = PostfixProgram.of(tree);
+
+		final boolean equal = IntStream.range(0, 10_000).parallel()
+			.allMatch(i -> {
+				final Double[] vars = {i*0.1, i*0.2, i*0.3};
+				return program.apply(vars).equals(eval(tree, vars));
+			});
+		Assert.assertTrue(equal);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void invalidTree() {
+		PostfixProgram.of(TreeNode.<Op<Double>>of(MathOp.ADD)
+			.attach(Var.of("x", 0)));
+	}
+
+}
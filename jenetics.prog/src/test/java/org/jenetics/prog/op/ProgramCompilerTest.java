@@ -0,0 +1,169 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog.op;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import org.jenetics.ext.util.TreeNode;
+import org.jenetics.util.ISeq;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class ProgramCompilerTest {
+
+	private static final Op<Double> ADD3 = Op.of("add3", 3, v -> v[0] + v[1] + v[2]);
+
+	private static final ISeq<Op<Double>> OPERATIONS = Stream
+		.concat(
+			Stream.of(MathOp.values())
+				.filter(op -> !op.isTerminal())
+				.map(op -> (Op<Double>)op),
+			Stream.of(ADD3))
+		.collect(ISeq.toISeq());
+
+	private static final ISeq<Op<Double>> TERMINALS = ISeq.of(
+		Var.of("x", 0),
+		Var.of("y", 1),
+		Var.of("z", 2),
+		MathOp.PI,
+		Const.of(1.0)
+	);
+
+	@DataProvider(name = "depths")
+	public Object[][] depths() {
+		return IntStream.range(0, 8)
+			.mapToObj(i -> new Object[]{i})
+			.toArray(Object[][]::new);
+	}
+
+	@Test(dataProvider = "depths")
+	public void compile(final int depth) throws Throwable {
+		final Random random = RandomRegistry.getRandom();
+		final TreeNode<Op<Double>> tree = Program.of(depth, OPERATIONS, TERMINALS);
+		final MethodHandle handle = ProgramCompiler.of(0, 10).compile(tree);
+
+		for (int i = 0; i < 20; ++i) {
+			final double[] vars = {
+				random.nextDouble(), random.nextDouble(), random.nextDouble()
+			};
+			final Double expected = Program.eval(tree, vars[0], vars[1], vars[2]);
+			Assert.assertEquals((double)handle.invokeExact(vars), expected);
+		}
+	}
+
+	@Test
+	public void mathOps() {
+		final ProgramCompiler compiler = ProgramCompiler.of(0, 100);
+		for (MathOp op : MathOp.values()) {
+			final TreeNode<Op<Double>> tree = TreeNode.of(op);
+			for (int i = 0; i < op.arity(); ++i) {
+				tree.attach(Var.of("x" + i, i));
+			}
+
+			final CompiledProgram program = compiler.program(tree);
+			Assert.assertTrue(program.isCompiled());
+			Assert.assertEquals(
+				program.eval(0.7, 0.3),
+				Program.eval(tree, 0.7, 0.3),
+				op.toString()
+			);
+		}
+	}
+
+	@Test
+	public void compilationThreshold() {
+		final TreeNode<Op<Double>> tree = TreeNode.<Op<Double>>of(MathOp.ADD)
+			.attach(TreeNode.<Op<Double>>of(MathOp.MUL)
+				.attach(Var.of("x", 0))
+				.attach(Const.of(2.0)))
+			.attach(Var.of("y", 1));
+
+		final ProgramCompiler compiler = ProgramCompiler.of(5, 10);
+		final CompiledProgram program = compiler.program(tree);
+		for (int i = 0; i < 5; ++i) {
+			Assert.assertEquals(program.eval(3.0, 4.0), 10.0);
+			Assert.assertFalse(program.isCompiled());
+		}
+		Assert.assertEquals(compiler.compilations(), 0);
+
+		Assert.assertEquals(program.apply(new Double[]{3.0, 4.0}), 10.0);
+		Assert.assertTrue(program.isCompiled());
+		Assert.assertEquals(program.eval(1.0, 1.0), 3.0);
+		Assert.assertEquals(compiler.compilations(), 1);
+	}
+
+	@Test
+	public void structuralCache() {
+		final ProgramCompiler compiler = ProgramCompiler.of(0, 1);
+		final TreeNode<Op<Double>> tree1 = TreeNode.<Op<Double>>of(MathOp.ADD)
+			.attach(Var.of("x", 0))
+			.attach(Const.of(1.0));
+		final TreeNode<Op<Double>> tree2 = TreeNode.<Op<Double>>of(MathOp.ADD)
+			.attach(Var.of("x", 0))
+			.attach(Const.of(1.0));
+		final TreeNode<Op<Double>> tree3 = TreeNode.<Op<Double>>of(MathOp.ADD)
+			.attach(Const.of(1.0))
+			.attach(Var.of("x", 0));
+
+		final MethodHandle handle = compiler.compile(tree1);
+		Assert.assertSame(compiler.compile(tree2), handle);
+		Assert.assertEquals(compiler.compilations(), 1);
+
+		// Different structure, which evicts the first tree from the cache.
+		Assert.assertNotSame(compiler.compile(tree3), handle);
+		Assert.assertNotSame(compiler.compile(tree1), handle);
+		Assert.assertEquals(compiler.compilations(), 3);
+	}
+
+	@Test
+	public void concurrentEvaluation() {
+		final TreeNode<Op<Double>> tree = Program.of(6, OPERATIONS, TERMINALS);
+		final CompiledProgram program = ProgramCompiler.of(100, 10).program(tree);
+
+		final boolean equal = IntStream.range(0, 10_000).parallel()
+			.allMatch(i -> {
+				final Double[] vars = {i*0.1, i*0.2, i*0.3};
+				return program.apply(vars).equals(Program.eval(tree, vars));
+			});
+		Assert.assertTrue(equal);
+		Assert.assertTrue(program.isCompiled());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void invalidTree() {
+		ProgramCompiler.DEFAULT.compile(TreeNode.<Op<Double>>of(MathOp.ADD)
+			.attach(Var.of("x", 0)));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void negativeThreshold() {
+		ProgramCompiler.of(-1, 10);
+	}
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog.op;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import org.jenetics.ext.util.TreeNode;
+import org.jenetics.util.ISeq;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class SimplifierTest {
+
+	private static final Var<Double> X = Var.of("x", 0);
+	private static final Var<Double> Y = Var.of("y", 1);
+
+	private static final ISeq<Op<Double>> OPERATIONS = ISeq.of(
+		MathOp.ADD,
+		MathOp.SUB,
+		MathOp.MUL,
+		MathOp.DIV,
+		MathOp.NEG,
+		MathOp.SIN
+	);
+
+	private static final ISeq<Op<Double>> TERMINALS = ISeq.of(
+		X,
+		Y,
+		Const.of(0.0),
+		Const.of(1.0),
+		Const.of(2.0)
+	);
+
+	private static TreeNode<Op<Double>> node(
+		final Op<Double> op,
+		final Op<Double> a,
+		final Op<Double> b
+	) {
+		return TreeNode.<Op<Double>>of(op).attach(a).attach(b);
+	}
+
+	private static TreeNode<Op<Double>> node(
+		final Op<Double> op,
+		final TreeNode<Op<Double>> a,
+		final TreeNode<Op<Double>> b
+	) {
+		return TreeNode.<Op<Double>>of(op).attach(a).attach(b);
+	}
+
+	@DataProvider(name = "identities")
+	public Object[][] identities() {
+		return new Object[][] {
+			{node(MathOp.ADD, X, Const.of(0.0)), TreeNode.of(X)},
+			{node(MathOp.ADD, Const.of(0.0), X), TreeNode.of(X)},
+			{node(MathOp.SUB, X, Const.of(0.0)), TreeNode.of(X)},
+			{node(MathOp.SUB, X, X), TreeNode.of(Const.of(0.0))},
+			{node(MathOp.MUL, X, Const.of(1.0)), TreeNode.of(X)},
+			{node(MathOp.MUL, Const.of(1.0), Y), TreeNode.of(Y)},
+			{node(MathOp.MUL, Y, Const.of(0.0)), TreeNode.of(Const.of(0.0))},
+			{node(MathOp.DIV, X, Const.of(1.0)), TreeNode.of(X)},
+			{
+				TreeNode.<Op<Double>>of(MathOp.NEG)
+					.attach(TreeNode.<Op<Double>>of(MathOp.NEG).attach(X)),
+				TreeNode.of(X)
+			},
+			{node(MathOp.ADD, Const.of(1.0), Const.of(2.0)), TreeNode.of(Const.of(3.0))},
+			{
+				node(MathOp.ADD, TreeNode.of(X), node(MathOp.SUB, Y, Y)),
+				TreeNode.of(X)
+			},
+			{
+				node(MathOp.MUL,
+					node(MathOp.ADD, TreeNode.of(X), TreeNode.of(Const.of(0.0))),
+					node(MathOp.SUB, Const.of(3.0), Const.of(2.0))),
+				TreeNode.of(X)
+			},
+			{node(MathOp.ADD, X, Y), node(MathOp.ADD, X, Y)}
+		};
+	}
+
+	@Test(dataProvider = "identities")
+	public void simplify(
+		final TreeNode<Op<Double>> tree,
+		final TreeNode<Op<Double>> expected
+	) {
+		final TreeNode<Op<Double>> copy = tree.copy();
+		final TreeNode<Op<Double>> simplified = Simplifier.MATH.simplify(tree);
+
+		Assert.assertEquals(simplified, expected);
+		Assert.assertFalse(simplified.getParent().isPresent());
+		Assert.assertEquals(tree, copy);
+	}
+
+	@Test
+	public void keepImpureSubtrees() {
+		final Op<Double> random = Op.of("rand", 0, v -> Math.random());
+		final TreeNode<Op<Double>> tree = node(MathOp.SUB, random, random);
+
+		Assert.assertEquals(Simplifier.MATH.simplify(tree), tree);
+	}
+
+	@Test
+	public void customRule() {
+		final RewriteRule<Double> sqrSqrt = RewriteRule.of(
+			node -> node.getValue() == MathOp.SQR &&
+				node.getChild(0).getValue() == MathOp.SQRT,
+			node -> node.getChild(0).getChild(0)
+		);
+		final Simplifier<Double> simplifier = Simplifier.MATH.and(sqrSqrt);
+
+		final TreeNode<Op<Double>> tree = TreeNode.<Op<Double>>of(MathOp.SQR)
+			.attach(TreeNode.<Op<Double>>of(MathOp.SQRT)
+				.attach(node(MathOp.MUL, X, Const.of(1.0))));
+
+		Assert.assertEquals(simplifier.simplify(tree), TreeNode.of(X));
+		Assert.assertEquals(simplifier.getRules().size(), MathRules.RULES.size() + 1);
+	}
+
+	@DataProvider(name = "depths")
+	public Object[][] depths() {
+		return IntStream.range(0, 8)
+			.mapToObj(i -> new Object[]{i})
+			.toArray(Object[][]::new);
+	}
+
+	@Test(dataProvider = "depths")
+	public void sameSemantics(final int depth) {
+		final Random random = new Random(depth);
+		for (int i = 0; i < 20; ++i) {
+			final TreeNode<Op<Double>> tree = RandomRegistry.with(
+				random,
+				r -> Program.of(depth, OPERATIONS, TERMINALS)
+			);
+			final TreeNode<Op<Double>> simplified = Simplifier.MATH.simplify(tree);
+			Assert.assertTrue(simplified.size() <= tree.size());
+
+			for (int j = 0; j < 10; ++j) {
+				final double x = random.nextDouble() + 0.1;
+				final double y = random.nextDouble() + 0.1;
+				final double expected = Program.eval(tree, x, y);
+				final double actual = Program.eval(simplified, x, y);
+				if (Double.isFinite(expected)) {
+					Assert.assertEquals(actual, expected, 1e-9*Math.abs(expected) + 1e-9);
+				}
+			}
+		}
+	}
+
+}
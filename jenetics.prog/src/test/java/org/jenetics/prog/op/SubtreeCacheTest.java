@@ -0,0 +1,195 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.prog.op;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import org.jenetics.ext.util.TreeNode;
+import org.jenetics.util.ISeq;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class SubtreeCacheTest {
+
+	private static final Op<Double> ADD3 = Op.of("add3", 3, v -> v[0] + v[1] + v[2]);
+
+	private static final ISeq<Op<Double>> OPERATIONS = ISeq.of(
+		MathOp.ADD,
+		MathOp.SUB,
+		MathOp.MUL,
+		MathOp.DIV,
+		MathOp.SIN,
+		MathOp.COS,
+		ADD3
+	);
+
+	private static final ISeq<Op<Double>> TERMINALS = ISeq.of(
+		Var.of("x", 0),
+		Var.of("y", 1),
+		MathOp.PI,
+		Const.of(1.0)
+	);
+
+	private static double[][] columns(final int rows) {
+		final Random random = new Random(123);
+		final double[][] columns = new double[2][rows];
+		for (double[] column : columns) {
+			for (int i = 0; i < rows; ++i) {
+				column[i] = random.nextDouble();
+			}
+		}
+		return columns;
+	}
+
+	private static double[] expected(
+		final TreeNode<Op<Double>> tree,
+		final double[][] columns
+	) {
+		final double[] result = new double[columns[0].length];
+		for (int i = 0; i < result.length; ++i) {
+			result[i] = Program.eval(tree, columns[0][i], columns[1][i]);
+		}
+		return result;
+	}
+
+	private static TreeNode<Op<Double>> tree() {
+		return TreeNode.<Op<Double>>of(MathOp.ADD)
+			.attach(TreeNode.<Op<Double>>of(MathOp.MUL)
+				.attach(Var.of("x", 0))
+				.attach(Const.of(2.0)))
+			.attach(TreeNode.<Op<Double>>of(MathOp.SIN)
+				.attach(Var.of("y", 1)));
+	}
+
+	@DataProvider(name = "depths")
+	public Object[][] depths() {
+		return IntStream.range(0, 8)
+			.mapToObj(i -> new Object[]{i})
+			.toArray(Object[][]::new);
+	}
+
+	@Test(dataProvider = "depths")
+	public void eval(final int depth) {
+		final double[][] columns = columns(100);
+		final SubtreeCache cache = SubtreeCache.of(columns, Long.MAX_VALUE);
+
+		for (int i = 0; i < 20; ++i) {
+			final TreeNode<Op<Double>> tree = RandomRegistry.with(
+				new Random(depth*100 + i),
+				r -> Program.of(depth, OPERATIONS, TERMINALS)
+			);
+			Assert.assertEquals(cache.eval(tree), expected(tree, columns));
+			Assert.assertEquals(cache.eval(tree), expected(tree, columns));
+		}
+	}
+
+	@Test
+	public void sharedSubtrees() {
+		final double[][] columns = columns(10);
+		final SubtreeCache cache = SubtreeCache.of(columns, Long.MAX_VALUE);
+
+		final TreeNode<Op<Double>> tree1 = tree();
+		Assert.assertEquals(cache.eval(tree1), expected(tree1, columns));
+		// add, mul, const, sin
+		Assert.assertEquals(cache.missCount(), 4);
+		Assert.assertEquals(cache.hitCount(), 0);
+		Assert.assertEquals(cache.bytes(), 4*10*Double.BYTES);
+
+		// Shares the 'x*2' and 'sin(y)' subtrees with the first program.
+		final TreeNode<Op<Double>> tree2 = TreeNode.<Op<Double>>of(MathOp.SUB)
+			.attach(tree().getChild(0).copy())
+			.attach(tree().getChild(1).copy());
+		Assert.assertEquals(cache.eval(tree2), expected(tree2, columns));
+		Assert.assertEquals(cache.missCount(), 5);
+		Assert.assertEquals(cache.hitCount(), 2);
+
+		Assert.assertEquals(cache.eval(tree()), expected(tree1, columns));
+		Assert.assertEquals(cache.hitCount(), 3);
+		Assert.assertEquals(cache.hitRate(), 3.0/8.0);
+		Assert.assertEquals(cache.evictionCount(), 0);
+		Assert.assertEquals(cache.size(), 7);
+
+		cache.clear();
+		Assert.assertEquals(cache.size(), 0);
+		Assert.assertEquals(cache.bytes(), 0);
+		Assert.assertEquals(cache.hitRate(), 0.0);
+	}
+
+	@Test
+	public void eviction() {
+		final double[][] columns = columns(10);
+		final SubtreeCache cache = SubtreeCache.of(columns, 2*10*Double.BYTES);
+
+		final TreeNode<Op<Double>> tree = tree();
+		Assert.assertEquals(cache.eval(tree), expected(tree, columns));
+		Assert.assertTrue(cache.bytes() <= cache.maxBytes());
+		Assert.assertEquals(cache.evictionCount(), 2);
+
+		Assert.assertEquals(cache.eval(tree), expected(tree, columns));
+		Assert.assertTrue(cache.bytes() <= cache.maxBytes());
+	}
+
+	@Test
+	public void resultIsCopied() {
+		final double[][] columns = columns(10);
+		final SubtreeCache cache = SubtreeCache.of(columns, Long.MAX_VALUE);
+
+		final TreeNode<Op<Double>> tree = tree();
+		cache.eval(tree)[0] = Double.NaN;
+		Assert.assertEquals(cache.eval(tree), expected(tree, columns));
+	}
+
+	@Test
+	public void concurrentEvaluation() {
+		final double[][] columns = columns(50);
+		final SubtreeCache cache = SubtreeCache.of(columns, 50*50*Double.BYTES);
+
+		final boolean equal = IntStream.range(0, 1_000).parallel()
+			.allMatch(i -> {
+				final TreeNode<Op<Double>> tree = RandomRegistry.with(
+					new Random(i%50),
+					r -> Program.of(5, OPERATIONS, TERMINALS)
+				);
+				return Arrays.equals(cache.eval(tree), expected(tree, columns));
+			});
+		Assert.assertTrue(equal);
+		Assert.assertTrue(cache.bytes() <= cache.maxBytes());
+		Assert.assertTrue(cache.hitRate() > 0);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void missingColumn() {
+		SubtreeCache.of(new double[][]{{1, 2}}, 1000).eval(tree());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void differentColumnLengths() {
+		SubtreeCache.of(new double[][]{{1, 2}, {1}}, 1000);
+	}
+
+}
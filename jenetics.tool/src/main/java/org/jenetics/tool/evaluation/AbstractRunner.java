@@ -23,17 +23,18 @@ import static java.util.Objects.requireNonNull;
 
 import java.io.Console;
 import java.nio.file.Path;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import org.jenetics.internal.util.require;
 
+import org.jenetics.tool.trial.ParallelTrial;
 import org.jenetics.tool.trial.Trial;
 import org.jenetics.tool.trial.TrialMeter;
 
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
- * @version 3.5
+ * @version 4.0
  * @since 3.5
  */
 public abstract class AbstractRunner<P> {
@@ -41,32 +42,86 @@ public abstract class AbstractRunner<P> {
 	private final Supplier<TrialMeter<P>> _trialMeter;
 	private final int _sampleCount;
 	private final Path _resultPath;
+	private final int _cells;
+	private final int _coresPerCell;
 
 	private volatile Thread _trialThread = null;
-	private final AtomicBoolean _stop = new AtomicBoolean(false);
 
+	/**
+	 * Create a new runner, which calculates the (sample, parameter) cells of
+	 * the trial concurrently. The results are written to an append-only
+	 * journal, which allows to resume an interrupted trial.
+	 *
+	 * @see ParallelTrial
+	 *
+	 * @param trialMeter the trial meter factory
+	 * @param sampleCount the number of samples to calculate
+	 * @param resultPath the path of the result file
+	 * @param cells the number of cells which are calculated concurrently
+	 * @param coresPerCell the number of threads used for one cell
+	 * @throws IllegalArgumentException if one of the numeric arguments is
+	 *         smaller than one
+	 *
+	 * @since 4.0
+	 */
 	protected AbstractRunner(
 		final Supplier<TrialMeter<P>> trialMeter,
 		final int sampleCount,
-		final Path resultPath
+		final Path resultPath,
+		final int cells,
+		final int coresPerCell
 	) {
 		_trialMeter = requireNonNull(trialMeter);
 		_sampleCount = require.positive(sampleCount);
 		_resultPath = requireNonNull(resultPath);
+		_cells = require.positive(cells);
+		_coresPerCell = require.positive(coresPerCell);
+	}
+
+	protected AbstractRunner(
+		final Supplier<TrialMeter<P>> trialMeter,
+		final int sampleCount,
+		final Path resultPath
+	) {
+		this(
+			trialMeter,
+			sampleCount,
+			resultPath,
+			1,
+			Runtime.getRuntime().availableProcessors()
+		);
 	}
 
 	protected abstract double[] fitness(final P param);
 
+	/**
+	 * Calculates the result values of the given parameter with the given
+	 * (cell) executor. The default implementation ignores the executor and
+	 * calls {@link #fitness(Object)}.
+	 *
+	 * @param param the trial parameter
+	 * @param executor the executor reserved for calculating the given
+	 *        parameter
+	 * @return the result values
+	 *
+	 * @since 4.0
+	 */
+	protected double[] fitness(final P param, final Executor executor) {
+		return fitness(param);
+	}
+
 	public void start() {
 		if (_trialThread != null) {
 			throw new IllegalStateException("Trial thread already running.");
 		}
 
-		final Trial<P> trial = new Trial<>(
+		final Runnable trial = new ParallelTrial<P>(
 			this::fitness,
 			_trialMeter,
-			count -> count >= _sampleCount || _stop.get(),
-			_resultPath
+			_sampleCount,
+			_resultPath,
+			_cells,
+			_coresPerCell
 		);
 
 		_trialThread = new Thread(trial);
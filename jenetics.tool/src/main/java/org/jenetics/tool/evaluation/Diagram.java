@@ -34,6 +34,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
@@ -41,17 +43,19 @@ import java.util.stream.Stream;
 
 import org.jenetics.internal.util.Args;
 
+import org.jenetics.tool.trial.DataStore;
 import org.jenetics.tool.trial.Gnuplot;
 import org.jenetics.tool.trial.IO;
 import org.jenetics.tool.trial.Params;
 import org.jenetics.tool.trial.SampleSummary;
 import org.jenetics.tool.trial.TrialMeter;
+import org.jenetics.util.ISeq;
 
 /**
  * Helper class for creating Gnuplot diagrams from result files.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
- * @version 3.7
+ * @version 4.0
  * @since 3.4
  */
 public class Diagram {
@@ -219,10 +223,21 @@ public class Diagram {
 
 		final TrialMeter<Integer> trial = TrialMeter.read(input);
 		final Params<Integer> params = trial.getParams();
-		final SampleSummary summary = trial.getData(samples[0]).summary();
+
+		// The summaries are calculated in one pass over the binary data
+		// store, if given.
+		final Optional<DataStore> store = args.arg("data")
+			.map(Paths::get)
+			.map(DataStore::open);
+		final Function<String, SampleSummary> summarizer = store
+			.map(Diagram::summarizer)
+			.orElse(s -> trial.getData(s).summary());
+
+		final SampleSummary summary = summarizer.apply(samples[0]);
 		final SampleSummary[] summaries = Arrays.stream(samples, 1, samples.length)
-			.map(s -> trial.getData(s).summary())
+			.map(summarizer)
 			.toArray(SampleSummary[]::new);
+		store.ifPresent(DataStore::close);
 
 		create(
 			input,
@@ -234,6 +249,12 @@ public class Diagram {
 		);
 	}
 
+	private static Function<String, SampleSummary>
+	summarizer(final DataStore store) {
+		final ISeq<SampleSummary> summaries = store.summaries();
+		return name -> summaries.get(store.getDataSetNames().indexOf(name));
+	}
+
 	private static Template template(final Path path) {
 		final String name = path.getFileName().toString()
 			.split("-")[1]
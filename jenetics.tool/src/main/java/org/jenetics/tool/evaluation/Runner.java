@@ -23,6 +23,7 @@ import static java.util.Objects.requireNonNull;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -36,7 +37,7 @@ import org.jenetics.tool.trial.TrialMeter;
 
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
- * @version 3.5
+ * @version 4.0
  * @since 3.4
  */
 public class Runner<
@@ -62,12 +63,42 @@ public class Runner<
 		_terminator = requireNonNull(terminator);
 	}
 
+	public Runner(
+		final Function<? super P, Engine<G, N>> engine,
+		final Function<? super P, Predicate<? super EvolutionResult<G, N>>> terminator,
+		final Supplier<TrialMeter<P>> trialMeter,
+		final int sampleCount,
+		final Path resultPath,
+		final int cells,
+		final int coresPerCell
+	) {
+		super(trialMeter, sampleCount, resultPath, cells, coresPerCell);
+		_engine = requireNonNull(engine);
+		_terminator = requireNonNull(terminator);
+	}
+
+	@Override
 	protected double[] fitness(final P param) {
+		return fitness(_engine.apply(param), param);
+	}
+
+	/**
+	 * The evolution engine is evaluated with the given cell executor.
+	 */
+	@Override
+	protected double[] fitness(final P param, final Executor executor) {
+		return fitness(
+			_engine.apply(param).builder().executor(executor).build(),
+			param
+		);
+	}
+
+	private double[] fitness(final Engine<G, N> engine, final P param) {
 		final Predicate<? super EvolutionResult<G, N>> terminator =
 			_terminator.apply(param);
 
 		final long start = System.currentTimeMillis();
-		final EvolutionResult<G, N> result = _engine.apply(param).stream()
+		final EvolutionResult<G, N> result = engine.stream()
 			.limit(terminator)
 			.collect(EvolutionResult.toBestEvolutionResult());
 		final long end = System.currentTimeMillis();
@@ -89,6 +120,7 @@ public class Runner<
 		final String[] arguments
 	) {
 		final Args args = Args.of(arguments);
+		final int cells = args.intArg("cells").orElse(1);
 
 		return new Runner<>(
 			engine,
@@ -98,7 +130,12 @@ public class Runner<
 				.orElse(50),
 			args.arg("result-file")
 				.map(f -> Paths.get(f))
-				.orElse(Paths.get("trial_meter.xml"))
+				.orElse(Paths.get("trial_meter.xml")),
+			cells,
+			args.intArg("cores-per-cell")
+				.orElse(Math.max(
+					Runtime.getRuntime().availableProcessors()/cells, 1
+				))
 		);
 	}
 
@@ -27,6 +27,7 @@ import static org.jenetics.tool.trial.SampleSummary.toSampleSummary;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -46,7 +47,7 @@ import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
  * @see Sample
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
- * @version 3.4
+ * @version 4.0
  * @since 3.4
  */
 @XmlJavaTypeAdapter(Data.Model.Adapter.class)
@@ -100,6 +101,15 @@ public final class Data implements Serializable {
 		return _samples.get(0).size();
 	}
 
+	/**
+	 * Return the {@link Sample} objects of this data object.
+	 *
+	 * @return the samples of this data object
+	 */
+	List<Sample> samples() {
+		return Collections.unmodifiableList(_samples);
+	}
+
 	/**
 	 * Return the current {@link Sample} object. A newly created object is
 	 * returned on demand.
@@ -125,6 +135,44 @@ public final class Data implements Serializable {
 		return currentSample().nextIndex();
 	}
 
+	/**
+	 * Set the value of the given parameter index of the sample with the given
+	 * sample index. Not existing samples are created on demand. This allows
+	 * to fill the samples in an arbitrary order.
+	 *
+	 * @param sampleIndex the index of the sample
+	 * @param paramIndex the parameter index within the sample
+	 * @param value the value to set
+	 * @throws IndexOutOfBoundsException if one of the indexes is out of range
+	 * @throws IllegalArgumentException if the given value is not a number
+	 */
+	void set(final int sampleIndex, final int paramIndex, final double value) {
+		if (sampleIndex < 0) {
+			throw new IndexOutOfBoundsException(format(
+				"Sample index is negative: %d", sampleIndex
+			));
+		}
+
+		while (_samples.size() <= sampleIndex) {
+			_samples.add(_samples.get(0).newSample());
+		}
+		_samples.get(sampleIndex).set(paramIndex, value);
+	}
+
+	/**
+	 * Test whether the value of the given parameter index of the sample with
+	 * the given sample index has already been set.
+	 *
+	 * @param sampleIndex the index of the sample
+	 * @param paramIndex the parameter index within the sample
+	 * @return {@code true} if the value has been set, {@code false} otherwise
+	 */
+	boolean isSet(final int sampleIndex, final int paramIndex) {
+		return sampleIndex >= 0 &&
+			sampleIndex < _samples.size() &&
+			_samples.get(sampleIndex).isSet(paramIndex);
+	}
+
 	/**
 	 * Calculate the sample summary of this data object.
 	 *
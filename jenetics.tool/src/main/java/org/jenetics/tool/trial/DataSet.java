@@ -40,7 +40,7 @@ import org.jenetics.util.ISeq;
  * Collection of sample {@code Data} objects.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
- * @version 3.4
+ * @version 4.0
  * @since 3.4
  */
 @XmlJavaTypeAdapter(DataSet.Model.Adapter.class)
@@ -96,6 +96,53 @@ public final class DataSet implements Serializable {
 		}
 	}
 
+	/**
+	 * Set the given {@code values} at the given sample and parameter index.
+	 * In contrast to the {@link #add(double[])} method, the result values can
+	 * be set in an arbitrary order. Setting the same values twice has no
+	 * additional effect.
+	 *
+	 * @param sampleIndex the index of the sample
+	 * @param paramIndex the parameter index
+	 * @param values the values to set, one value for every {@link Data}
+	 *        object
+	 * @throws IllegalArgumentException if the number of values doesn't match
+	 *         the number of data objects
+	 * @throws IndexOutOfBoundsException if one of the indexes is out of range
+	 *
+	 * @since 4.0
+	 */
+	public void set(
+		final int sampleIndex,
+		final int paramIndex,
+		final double[] values
+	) {
+		if (values.length != _sets.length()) {
+			throw new IllegalArgumentException(format(
+				"Expected %d values, but got %d.", _sets.length(), values.length
+			));
+		}
+
+		for (int i = 0; i < values.length; ++i) {
+			_sets.get(i).set(sampleIndex, paramIndex, values[i]);
+		}
+	}
+
+	/**
+	 * Test whether the result values for the given sample and parameter
+	 * index are already available.
+	 *
+	 * @param sampleIndex the index of the sample
+	 * @param paramIndex the parameter index
+	 * @return {@code true} if the result values of all {@link Data} objects
+	 *         have been set, {@code false} otherwise
+	 *
+	 * @since 4.0
+	 */
+	public boolean isSet(final int sampleIndex, final int paramIndex) {
+		return _sets.forAll(d -> d.isSet(sampleIndex, paramIndex));
+	}
+
 	/**
 	 * Create a new {@code DataSet} object with the given number of parameters
 	 * and the data set names.
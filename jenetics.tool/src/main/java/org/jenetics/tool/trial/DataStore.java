@@ -0,0 +1,592 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.tool.trial;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.jenetics.internal.util.require;
+
+import org.jenetics.util.ISeq;
+
+/**
+ * Binary, column oriented storage of trial results. In contrast to the
+ * {@link TrialMeter}, which keeps all samples in memory and is stored as XML,
+ * the results of a data store are appended in blocks to the store file and
+ * only the current block is kept in memory. The summary statistics of the
+ * stored results are calculated in one streaming pass, with bounded memory.
+ * <p>
+ * The store file starts with a header, which contains the parameter count
+ * and the names of the data sets. The header is followed by the data blocks.
+ * Every data block contains the results of up to {@value #BLOCK_SIZE}
+ * (sample, parameter) cells, stored column wise:
+ * <pre>
+ * int n
+ * int[n]    sample indexes
+ * int[n]    parameter indexes
+ * double[n] values of the first data set
+ * ...
+ * double[n] values of the last data set
+ * </pre>
+ * An incomplete last block, caused by an abnormal termination of the writing
+ * process, is ignored when reading the store and removed when the store is
+ * opened for appending. This class is not thread safe.
+ *
+ * @see DataSet
+ * @see SampleSummaryStatistics
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+public final class DataStore implements Closeable {
+
+	/**
+	 * The maximal number of result cells of one data block.
+	 */
+	public static final int BLOCK_SIZE = 4096;
+
+	private static final int MAGIC = 0x4A545253;
+	private static final int VERSION = 1;
+
+	/**
+	 * Consumer of the stored result cells.
+	 */
+	@FunctionalInterface
+	public static interface CellConsumer {
+
+		/**
+		 * Performs this operation on the given result cell.
+		 *
+		 * @param sampleIndex the sample index of the result
+		 * @param paramIndex the parameter index of the result
+		 * @param values the result values, one value for every data set. The
+		 *        array is reused for the next cell and must not be stored.
+		 */
+		public void accept(
+			final int sampleIndex,
+			final int paramIndex,
+			final double[] values
+		);
+	}
+
+	private final Path _path;
+	private final int _parameterCount;
+	private final ISeq<String> _names;
+
+	private final FileChannel _channel;
+	private final DataOutputStream _out;
+
+	// The column buffers of the current block.
+	private final int[] _sampleIndexes = new int[BLOCK_SIZE];
+	private final int[] _paramIndexes = new int[BLOCK_SIZE];
+	private final double[][] _values;
+	private int _size = 0;
+
+	private long _count;
+
+	private DataStore(
+		final Path path,
+		final int parameterCount,
+		final ISeq<String> names,
+		final FileChannel channel,
+		final long count
+	) {
+		_path = requireNonNull(path);
+		_parameterCount = parameterCount;
+		_names = requireNonNull(names);
+		_channel = requireNonNull(channel);
+		_out = new DataOutputStream(new BufferedOutputStream(
+			Channels.newOutputStream(channel), 1 << 16
+		));
+		_values = new double[names.size()][BLOCK_SIZE];
+		_count = count;
+	}
+
+	/**
+	 * Return the path of the store file.
+	 *
+	 * @return the path of the store file
+	 */
+	public Path getPath() {
+		return _path;
+	}
+
+	/**
+	 * Return the number of parameters of the stored trial.
+	 *
+	 * @return the number of parameters of the stored trial
+	 */
+	public int parameterCount() {
+		return _parameterCount;
+	}
+
+	/**
+	 * Return the names of the stored data sets.
+	 *
+	 * @return the names of the stored data sets
+	 */
+	public ISeq<String> getDataSetNames() {
+		return _names;
+	}
+
+	/**
+	 * Return the number of stored result cells.
+	 *
+	 * @return the number of stored result cells
+	 */
+	public long size() {
+		return _count;
+	}
+
+	/**
+	 * Appends the result of one (sample, parameter) cell.
+	 *
+	 * @param sampleIndex the sample index of the result
+	 * @param paramIndex the parameter index of the result
+	 * @param values the result values, one value for every data set
+	 * @throws IllegalArgumentException if the number of values doesn't match
+	 *         the number of data sets
+	 * @throws IndexOutOfBoundsException if one of the indexes is out of range
+	 * @throws UncheckedIOException if writing the data block fails
+	 */
+	public void add(
+		final int sampleIndex,
+		final int paramIndex,
+		final double[] values
+	) {
+		if (values.length != _names.size()) {
+			throw new IllegalArgumentException(format(
+				"Expected %d values, but got %d.", _names.size(), values.length
+			));
+		}
+		if (sampleIndex < 0) {
+			throw new IndexOutOfBoundsException(format(
+				"Sample index is negative: %d", sampleIndex
+			));
+		}
+		if (paramIndex < 0 || paramIndex >= _parameterCount) {
+			throw new IndexOutOfBoundsException(format(
+				"Parameter index %d not in range [0, %d).",
+				paramIndex, _parameterCount
+			));
+		}
+
+		_sampleIndexes[_size] = sampleIndex;
+		_paramIndexes[_size] = paramIndex;
+		for (int i = 0; i < values.length; ++i) {
+			_values[i][_size] = values[i];
+		}
+		++_size;
+		++_count;
+
+		if (_size == BLOCK_SIZE) {
+			writeBlock();
+		}
+	}
+
+	/**
+	 * Appends all set values of the given data set.
+	 *
+	 * @param data the data set to append
+	 * @throws NullPointerException if the given {@code data} is {@code null}
+	 * @throws IllegalArgumentException if the data set names doesn't match
+	 *         the data set names of this store
+	 * @throws UncheckedIOException if writing the data block fails
+	 */
+	public void addAll(final DataSet data) {
+		final ISeq<String> names = data.values().map(Data::getName);
+		if (!names.equals(_names)) {
+			throw new IllegalArgumentException(format(
+				"Expected data sets %s, but got %s.", _names, names
+			));
+		}
+
+		final List<Sample> samples = data.values().get(0).samples();
+		final double[] values = new double[_names.size()];
+		for (int s = 0; s < samples.size(); ++s) {
+			for (int p = 0; p < _parameterCount; ++p) {
+				if (data.isSet(s, p)) {
+					for (int i = 0; i < values.length; ++i) {
+						values[i] = data.values().get(i).samples().get(s).get(p);
+					}
+					add(s, p, values);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the buffered results to the store file.
+	 *
+	 * @throws UncheckedIOException if writing the data block fails
+	 */
+	public void flush() {
+		writeBlock();
+		try {
+			_out.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void writeBlock() {
+		if (_size == 0) return;
+
+		try {
+			_out.writeInt(_size);
+			for (int i = 0; i < _size; ++i) {
+				_out.writeInt(_sampleIndexes[i]);
+			}
+			for (int i = 0; i < _size; ++i) {
+				_out.writeInt(_paramIndexes[i]);
+			}
+			for (double[] column : _values) {
+				for (int i = 0; i < _size; ++i) {
+					_out.writeDouble(column[i]);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		_size = 0;
+	}
+
+	/**
+	 * Performs the given action for every stored result cell, in the order
+	 * they have been added. The store file is read in one streaming pass.
+	 *
+	 * @param consumer the action to perform for every result cell
+	 * @throws NullPointerException if the given {@code consumer} is
+	 *         {@code null}
+	 * @throws UncheckedIOException if reading the store file fails
+	 */
+	public void forEach(final CellConsumer consumer) {
+		requireNonNull(consumer);
+		flush();
+
+		try (DataInputStream in = input(_path)) {
+			readHeader(in);
+			readBlocks(in, _names.size(), consumer);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Calculates the summary statistics of the data set with the given
+	 * {@code name}, in one streaming pass over the store file.
+	 *
+	 * @param name the name of the data set
+	 * @return the summary of the data set
+	 * @throws IllegalArgumentException if the store contains no data set
+	 *         with the given {@code name}
+	 * @throws UncheckedIOException if reading the store file fails
+	 */
+	public SampleSummary summary(final String name) {
+		final int index = _names.indexOf(name);
+		if (index == -1) {
+			throw new IllegalArgumentException(format(
+				"Data set '%s' not found in %s.", name, _names
+			));
+		}
+
+		return summaries().get(index);
+	}
+
+	/**
+	 * Calculates the summary statistics of all stored data sets, in one
+	 * streaming pass over the store file.
+	 *
+	 * @return the summaries of the data sets, in the order of the data set
+	 *         names
+	 * @throws UncheckedIOException if reading the store file fails
+	 */
+	public ISeq<SampleSummary> summaries() {
+		final ISeq<SampleSummaryStatistics> statistics = ISeq.of(
+			() -> new SampleSummaryStatistics(_parameterCount),
+			_names.size()
+		);
+
+		forEach((sample, param, values) -> {
+			for (int i = 0; i < values.length; ++i) {
+				statistics.get(i).accept(param, values[i]);
+			}
+		});
+
+		return statistics.map(SampleSummary::of);
+	}
+
+	/**
+	 * Writes the buffered results and closes the store file.
+	 *
+	 * @throws UncheckedIOException if writing or closing the store fails
+	 */
+	@Override
+	public void close() {
+		try {
+			flush();
+		} finally {
+			try {
+				_out.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"DataStore[path=%s, parameters=%d, data-sets=%s, size=%d]",
+			_path, _parameterCount, _names, _count
+		);
+	}
+
+	/**
+	 * Creates a new, empty data store file. An existing file is overwritten.
+	 *
+	 * @param path the path of the store file
+	 * @param parameterCount the number of parameters of the trial
+	 * @param dataSetNames the names of the stored data sets
+	 * @return a new data store, opened for appending results
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the {@code parameterCount} is
+	 *         smaller than one or no data set name is given
+	 * @throws UncheckedIOException if the store file can't be created
+	 */
+	public static DataStore create(
+		final Path path,
+		final int parameterCount,
+		final String... dataSetNames
+	) {
+		requireNonNull(path);
+		require.positive(parameterCount);
+		if (dataSetNames.length == 0) {
+			throw new IllegalArgumentException(
+				"Data set names must not be empty."
+			);
+		}
+
+		final ISeq<String> names = ISeq.of(dataSetNames);
+		try {
+			final FileChannel channel = FileChannel.open(
+				path,
+				StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE
+			);
+
+			final DataStore store =
+				new DataStore(path, parameterCount, names, channel, 0);
+			store._out.writeInt(MAGIC);
+			store._out.writeInt(VERSION);
+			store._out.writeInt(parameterCount);
+			store._out.writeInt(names.size());
+			for (String name : names) {
+				store._out.writeUTF(name);
+			}
+			store._out.flush();
+
+			return store;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Creates a new data store file with the results of the given
+	 * {@code TrialMeter}. An existing file is overwritten.
+	 *
+	 * @param path the path of the store file
+	 * @param trialMeter the trial meter to store
+	 * @return a new data store, opened for appending results
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws UncheckedIOException if the store file can't be written
+	 */
+	public static DataStore create(
+		final Path path,
+		final TrialMeter<?> trialMeter
+	) {
+		final DataSet data = trialMeter.getDataSet();
+		final DataStore store = create(
+			path,
+			trialMeter.getParams().size(),
+			data.values().map(Data::getName).toArray(new String[0])
+		);
+		store.addAll(data);
+		store.flush();
+
+		return store;
+	}
+
+	/**
+	 * Opens an existing data store file for reading and appending results.
+	 * An incomplete last data block is removed from the file.
+	 *
+	 * @param path the path of the store file
+	 * @return the opened data store
+	 * @throws NullPointerException if the given {@code path} is {@code null}
+	 * @throws UncheckedIOException if the store file can't be opened or is
+	 *         not a valid data store file
+	 */
+	public static DataStore open(final Path path) {
+		try {
+			final int parameterCount;
+			final ISeq<String> names;
+			final long[] count = {0};
+			final long length;
+			try (DataInputStream in = input(path)) {
+				final Header header = readHeader(in);
+				parameterCount = header.parameterCount;
+				names = header.names;
+				length = header.length +
+					readBlocks(in, names.size(), (s, p, v) -> ++count[0]);
+			}
+
+			final FileChannel channel = FileChannel.open(
+				path,
+				StandardOpenOption.WRITE
+			);
+			channel.truncate(length);
+			channel.position(length);
+
+			return new DataStore(path, parameterCount, names, channel, count[0]);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static DataInputStream input(final Path path) throws IOException {
+		final InputStream in = Files.newInputStream(path);
+		return new DataInputStream(new BufferedInputStream(in, 1 << 16));
+	}
+
+	private static final class Header {
+		final int parameterCount;
+		final ISeq<String> names;
+		final long length;
+
+		Header(
+			final int parameterCount,
+			final ISeq<String> names,
+			final long length
+		) {
+			this.parameterCount = parameterCount;
+			this.names = names;
+			this.length = length;
+		}
+	}
+
+	private static Header readHeader(final DataInputStream in)
+		throws IOException
+	{
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Not a data store file.");
+		}
+		final int version = in.readInt();
+		if (version != VERSION) {
+			throw new IOException(format(
+				"Unsupported data store version: %d", version
+			));
+		}
+
+		final int parameterCount = in.readInt();
+		final String[] names = new String[in.readInt()];
+		long length = 4*4;
+		for (int i = 0; i < names.length; ++i) {
+			names[i] = in.readUTF();
+			length += utfLength(names[i]);
+		}
+
+		return new Header(parameterCount, ISeq.of(names), length);
+	}
+
+	// Return the number of bytes written by 'DataOutput.writeUTF'.
+	private static int utfLength(final String value) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeUTF(value);
+		}
+		return bytes.size();
+	}
+
+	// Reads the complete data blocks and returns the number of read bytes.
+	private static long readBlocks(
+		final DataInputStream in,
+		final int columnCount,
+		final CellConsumer consumer
+	)
+		throws IOException
+	{
+		final int[] samples = new int[BLOCK_SIZE];
+		final int[] params = new int[BLOCK_SIZE];
+		final double[][] columns = new double[columnCount][BLOCK_SIZE];
+		final double[] row = new double[columnCount];
+
+		long length = 0;
+		while (true) {
+			final int size;
+			try {
+				size = in.readInt();
+				if (size <= 0 || size > BLOCK_SIZE) {
+					throw new IOException(format("Invalid block size: %d", size));
+				}
+
+				for (int i = 0; i < size; ++i) samples[i] = in.readInt();
+				for (int i = 0; i < size; ++i) params[i] = in.readInt();
+				for (double[] column : columns) {
+					for (int i = 0; i < size; ++i) column[i] = in.readDouble();
+				}
+			} catch (EOFException e) {
+				// Ignoring the incomplete last block.
+				return length;
+			}
+
+			for (int i = 0; i < size; ++i) {
+				for (int j = 0; j < columnCount; ++j) {
+					row[j] = columns[j][i];
+				}
+				consumer.accept(samples[i], params[i], row);
+			}
+
+			length += 4 + 8L*size + 8L*size*columnCount;
+		}
+	}
+
+}
@@ -0,0 +1,245 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.tool.trial;
+
+import static java.lang.Math.min;
+import static java.nio.file.Files.exists;
+import static java.util.Objects.requireNonNull;
+import static org.jenetics.tool.trial.Trial.info;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import org.jenetics.internal.util.require;
+
+/**
+ * Trial runner which calculates the independent (sample, parameter) cells of
+ * a {@link TrialMeter} concurrently. Every cell gets its own executor with a
+ * fixed number of threads, which can be used by the evaluated function, e.g.
+ * as evolution {@link org.jenetics.engine.Engine} executor. This allows to
+ * control the number of cores used for one cell.
+ * <p>
+ * The finished cells are appended to a {@link TrialJournal}, which is located
+ * next to the result file ({@code <result-file>.journal}), instead of
+ * rewriting the whole result file after every sample. An interrupted trial is
+ * continued exactly at the cells which are missing in the journal and the
+ * result file. The result file is written once, when the trial has been
+ * finished or stopped; the journal is deleted afterwards.
+ *
+ * @see Trial
+ * @see TrialJournal
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+public class ParallelTrial<T> implements Runnable {
+
+	private final BiFunction<? super T, ? super Executor, double[]> _function;
+	private final Supplier<TrialMeter<T>> _trialMeter;
+	private final int _sampleCount;
+	private final Path _resultPath;
+	private final int _cells;
+	private final int _coresPerCell;
+
+	/**
+	 * Create a new parallel trial.
+	 *
+	 * @param function the function which calculates the result values for a
+	 *        given parameter, using the given (cell) executor
+	 * @param trialMeter the factory for the trial meter, if the result file
+	 *        doesn't exist yet
+	 * @param sampleCount the number of samples to calculate
+	 * @param resultPath the path of the trial meter result file
+	 * @param cells the number of cells which are calculated concurrently
+	 * @param coresPerCell the number of threads of the cell executor
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if one of the numeric arguments is
+	 *         smaller than one
+	 */
+	public ParallelTrial(
+		final BiFunction<? super T, ? super Executor, double[]> function,
+		final Supplier<TrialMeter<T>> trialMeter,
+		final int sampleCount,
+		final Path resultPath,
+		final int cells,
+		final int coresPerCell
+	) {
+		_function = requireNonNull(function);
+		_trialMeter = requireNonNull(trialMeter);
+		_sampleCount = require.positive(sampleCount);
+		_resultPath = requireNonNull(resultPath);
+		_cells = require.positive(cells);
+		_coresPerCell = require.positive(coresPerCell);
+	}
+
+	/**
+	 * Return the path of the journal file for the given result file.
+	 *
+	 * @param resultPath the path of the trial meter result file
+	 * @return the path of the journal file
+	 */
+	public static Path journalPath(final Path resultPath) {
+		return resultPath.resolveSibling(resultPath.getFileName() + ".journal");
+	}
+
+	@Override
+	public void run() {
+		final TrialMeter<T> trialMeter;
+		if (exists(_resultPath)) {
+			trialMeter = TrialMeter.read(_resultPath);
+
+			info("Continue existing trial: '%s'.", _resultPath.toAbsolutePath());
+		} else {
+			trialMeter = _trialMeter.get();
+
+			info("Writing results to '%s'.", _resultPath.toAbsolutePath());
+		}
+
+		final TrialJournal journal = TrialJournal.open(journalPath(_resultPath));
+		try {
+			journal.replay(trialMeter.getDataSet());
+			if (!journal.getEntries().isEmpty()) {
+				info(
+					"Replayed %d results from journal '%s'.",
+					journal.getEntries().size(),
+					journal.getPath().toAbsolutePath()
+				);
+			}
+			info("    " + trialMeter);
+
+			final Queue<int[]> cells = pending(trialMeter);
+			info("Calculating %d cells, %d concurrently.", cells.size(), _cells);
+
+			if (!cells.isEmpty()) {
+				execute(trialMeter, journal, cells);
+			}
+
+			trialMeter.write(_resultPath);
+			journal.delete();
+		} finally {
+			journal.close();
+		}
+	}
+
+	// Return the not yet calculated cells, ordered by sample index.
+	private Queue<int[]> pending(final TrialMeter<T> trialMeter) {
+		final DataSet data = trialMeter.getDataSet();
+		final int params = trialMeter.getParams().size();
+
+		final Queue<int[]> cells = new ConcurrentLinkedQueue<>();
+		for (int sample = 0; sample < _sampleCount; ++sample) {
+			for (int param = 0; param < params; ++param) {
+				if (!data.isSet(sample, param)) {
+					cells.add(new int[]{sample, param});
+				}
+			}
+		}
+
+		return cells;
+	}
+
+	private void execute(
+		final TrialMeter<T> trialMeter,
+		final TrialJournal journal,
+		final Queue<int[]> cells
+	) {
+		final int workerCount = min(_cells, cells.size());
+		final ExecutorService workers = Executors.newFixedThreadPool(workerCount);
+		try {
+			final List<Future<?>> futures = new ArrayList<>(workerCount);
+			for (int i = 0; i < workerCount; ++i) {
+				futures.add(workers.submit(() -> work(trialMeter, journal, cells)));
+			}
+
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			info("Trial interrupted, %d cells not calculated.", cells.size());
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw (CancellationException)new CancellationException(
+				e.getCause().getMessage()
+			).initCause(e.getCause());
+		} finally {
+			workers.shutdownNow();
+			awaitTermination(workers);
+		}
+	}
+
+	// Calculates the cells until the queue is empty or the worker is
+	// interrupted. Every worker owns its own cell executor.
+	private void work(
+		final TrialMeter<T> trialMeter,
+		final TrialJournal journal,
+		final Queue<int[]> cells
+	) {
+		final ForkJoinPool executor = new ForkJoinPool(_coresPerCell);
+		try {
+			int[] cell;
+			while (!Thread.currentThread().isInterrupted() &&
+				(cell = cells.poll()) != null)
+			{
+				final T param = trialMeter.getParams().get(cell[1]);
+				final double[] values = _function.apply(param, executor);
+
+				if (!Thread.currentThread().isInterrupted()) {
+					synchronized (trialMeter) {
+						journal.append(cell[0], cell[1], values);
+						trialMeter.getDataSet().set(cell[0], cell[1], values);
+					}
+					info("Finished cell [sample=%d, param=%d].", cell[0], cell[1]);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void awaitTermination(final ExecutorService executor) {
+		boolean interrupted = false;
+		try {
+			while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+				info("Waiting for running cells...");
+			}
+		} catch (InterruptedException e) {
+			interrupted = true;
+		}
+
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -39,7 +39,7 @@ import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
  * class is <i>mutable</i> and <b>not</b> thread safe.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
- * @version 3.4
+ * @version 4.0
  * @since 3.4
  */
 @XmlJavaTypeAdapter(Sample.Model.Adapter.class)
@@ -79,6 +79,38 @@ public final class Sample implements Serializable {
 		_values[nextIndex()] = value;
 	}
 
+	/**
+	 * Set the given value at the given <i>slot</i> (position). Setting an
+	 * already occupied slot overrides its value.
+	 *
+	 * @param index the slot index
+	 * @param value the value to set
+	 * @throws IndexOutOfBoundsException if the {@code index} is out of range
+	 *         {@code (index < 0 || index >= size())}
+	 * @throws IllegalArgumentException if the given value is not a number,
+	 *         {@code Double.isNaN(value)} returns {@code true}
+	 */
+	void set(final int index, final double value) {
+		if (Double.isNaN(value)) {
+			throw new IllegalArgumentException();
+		}
+
+		_values[index] = value;
+	}
+
+	/**
+	 * Test whether the <i>slot</i> at the given position is occupied.
+	 *
+	 * @param index the slot index
+	 * @return {@code true} if the slot with the given {@code index} is
+	 *         occupied, {@code false} otherwise
+	 * @throws IndexOutOfBoundsException if the {@code index} is out of range
+	 *         {@code (index < 0 || index >= size())}
+	 */
+	public boolean isSet(final int index) {
+		return !Double.isNaN(_values[index]);
+	}
+
 	/**
 	 * Return the index of the next free {@code double} <i>slot</i>. If all
 	 * <i>slots</i> are occupied, {@code -1} is returned.
@@ -29,6 +29,7 @@ import java.util.stream.Stream;
 import org.jenetics.internal.util.require;
 
 import org.jenetics.stat.DoubleMomentStatistics;
+import org.jenetics.stat.QuantileSketch;
 import org.jenetics.util.ISeq;
 
 /**
@@ -40,7 +41,7 @@ import org.jenetics.util.ISeq;
  * @see SampleSummaryStatistics
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
- * @version 3.4
+ * @version 4.0
  * @since 3.4
  */
 public final class SampleSummary implements Serializable {
@@ -113,7 +114,7 @@ public final class SampleSummary implements Serializable {
 	 */
 	public static SampleSummary of(final SampleSummaryStatistics statistics) {
 		final ISeq<DoubleMomentStatistics> moments = statistics.getMoments();
-		final ISeq<ExactQuantile> quantiles = statistics.getQuantiles();
+		final ISeq<QuantileSketch> quantiles = statistics.getQuantiles();
 
 		return of(
 			IntStream.range(0, moments.size())
@@ -124,7 +125,7 @@ public final class SampleSummary implements Serializable {
 
 	private static SampleSummaryPoint toPoint(
 		final DoubleMomentStatistics moment,
-		final ExactQuantile quantile
+		final QuantileSketch quantile
 	) {
 		return SampleSummaryPoint.of(
 			moment.getMean(),
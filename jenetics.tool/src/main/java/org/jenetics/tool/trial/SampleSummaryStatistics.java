@@ -27,12 +27,17 @@ import java.util.stream.Collector;
 import org.jenetics.internal.util.require;
 
 import org.jenetics.stat.DoubleMomentStatistics;
+import org.jenetics.stat.QuantileSketch;
 import org.jenetics.util.ISeq;
 import org.jenetics.util.MSeq;
 
 /**
  * A state object for collecting statistics such as count, min, max, sum, mean,
- * variance, skewness and kurtosis. The design of this class is similar to the
+ * variance, skewness, kurtosis and quantiles. The statistics are calculated
+ * in one pass and with bounded memory, the quantiles are estimated with the
+ * mergeable {@link QuantileSketch} of the {@code org.jenetics.stat} package,
+ * which is also used by the {@code EvolutionStatistics} of the engine. The
+ * design of this class is similar to the
  * {@link java.util.DoubleSummaryStatistics} class.
  *
  * <pre>{@code
@@ -54,14 +59,14 @@ import org.jenetics.util.MSeq;
  * safe and efficient parallel execution.</i>
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz  Wilhelmstötter</a>
- * @version 3.4
+ * @version 4.0
  * @since 3.4
  */
 public class SampleSummaryStatistics implements Consumer<Sample> {
 
 	private final int _parameterCount;
 	private final ISeq<DoubleMomentStatistics> _moments;
-	private final ISeq<ExactQuantile> _quantiles;
+	private final ISeq<QuantileSketch> _quantiles;
 
 	/**
 	 * Create a new statistics object with the given expected parameter count of
@@ -74,7 +79,7 @@ public class SampleSummaryStatistics implements Consumer<Sample> {
 	public SampleSummaryStatistics(final int parameterCount) {
 		_parameterCount = require.positive(parameterCount);
 		_moments = MSeq.of(DoubleMomentStatistics::new, parameterCount).toISeq();
-		_quantiles = MSeq.of(ExactQuantile::new, parameterCount).toISeq();
+		_quantiles = MSeq.of(QuantileSketch::new, parameterCount).toISeq();
 	}
 
 	@Override
@@ -92,6 +97,23 @@ public class SampleSummaryStatistics implements Consumer<Sample> {
 		}
 	}
 
+	/**
+	 * Accept the value of one single parameter. This allows to collect the
+	 * statistics from a stream of single (sample, parameter) results, e.g.
+	 * read from a {@link DataStore}.
+	 *
+	 * @param parameter the parameter index of the value
+	 * @param value the value to accept
+	 * @throws IndexOutOfBoundsException if the {@code parameter} index is out
+	 *         of range
+	 *
+	 * @since 4.0
+	 */
+	public void accept(final int parameter, final double value) {
+		_moments.get(parameter).accept(value);
+		_quantiles.get(parameter).accept(value);
+	}
+
 	/**
 	 * Combine two {@code SampleSummaryStatistics} statistic objects.
 	 *
@@ -129,11 +151,11 @@ public class SampleSummaryStatistics implements Consumer<Sample> {
 	}
 
 	/**
-	 * Return the quantile object.
+	 * Return the quantile sketches of the parameters.
 	 *
-	 * @return the quantile object
+	 * @return the quantile sketches of the parameters
 	 */
-	public ISeq<ExactQuantile> getQuantiles() {
+	public ISeq<QuantileSketch> getQuantiles() {
 		return _quantiles;
 	}
 
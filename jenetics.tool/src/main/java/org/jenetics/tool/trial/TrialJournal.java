@@ -0,0 +1,308 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.tool.trial;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Append-only journal of finished trial results. Every result of a
+ * (sample, parameter) cell is written as one text line:
+ * <pre>
+ * sample-index \t param-index \t value_1 \t value_2 ...
+ * </pre>
+ * Appending a result is an operation with constant costs, independent of the
+ * number of already calculated results, and the journal is always in a
+ * consistent state. An incomplete last line, caused by an abnormal process
+ * termination, is discarded when the journal is opened again. This class is
+ * thread safe.
+ *
+ * @see ParallelTrial
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+public final class TrialJournal implements Closeable {
+
+	private static final char SEPARATOR = '\t';
+	private static final char NEW_LINE = '\n';
+
+	private final Path _path;
+	private final List<Entry> _entries;
+	private final FileChannel _channel;
+
+	private TrialJournal(
+		final Path path,
+		final List<Entry> entries,
+		final FileChannel channel
+	) {
+		_path = requireNonNull(path);
+		_entries = Collections.unmodifiableList(entries);
+		_channel = requireNonNull(channel);
+	}
+
+	/**
+	 * Return the path of the journal file.
+	 *
+	 * @return the path of the journal file
+	 */
+	public Path getPath() {
+		return _path;
+	}
+
+	/**
+	 * Return the journal entries which already existed when the journal has
+	 * been opened.
+	 *
+	 * @return the existing journal entries
+	 */
+	public List<Entry> getEntries() {
+		return _entries;
+	}
+
+	/**
+	 * Replays the existing journal entries on the given data set.
+	 *
+	 * @param dataSet the data set to update
+	 * @throws NullPointerException if the given {@code dataSet} is {@code null}
+	 * @throws IllegalArgumentException if the journal entries doesn't fit the
+	 *         given data set
+	 */
+	public void replay(final DataSet dataSet) {
+		requireNonNull(dataSet);
+		for (Entry entry : _entries) {
+			dataSet.set(entry._sampleIndex, entry._paramIndex, entry._values);
+		}
+	}
+
+	/**
+	 * Appends the result of the given (sample, parameter) cell to the
+	 * journal. The result line is written to the file before the method
+	 * returns.
+	 *
+	 * @param sampleIndex the sample index
+	 * @param paramIndex the parameter index
+	 * @param values the result values
+	 * @throws UncheckedIOException if writing the journal entry fails
+	 * @throws IllegalArgumentException if one of the indexes is negative
+	 */
+	public void append(
+		final int sampleIndex,
+		final int paramIndex,
+		final double[] values
+	) {
+		final byte[] line = new Entry(sampleIndex, paramIndex, values)
+			.toString().getBytes(UTF_8);
+
+		synchronized (_channel) {
+			try {
+				final ByteBuffer buffer = ByteBuffer.wrap(line);
+				while (buffer.hasRemaining()) {
+					_channel.write(buffer);
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/**
+	 * Closes the journal file.
+	 *
+	 * @throws UncheckedIOException if closing the journal file fails
+	 */
+	@Override
+	public void close() {
+		try {
+			_channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Closes and deletes the journal file. This is done after all journal
+	 * entries have been written to the {@link TrialMeter} result file.
+	 *
+	 * @throws UncheckedIOException if deleting the journal file fails
+	 */
+	public void delete() {
+		close();
+		try {
+			Files.deleteIfExists(_path);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return format("TrialJournal[path=%s, entries=%d]", _path, _entries.size());
+	}
+
+	/**
+	 * Opens the trial journal with the given path. If the journal file
+	 * doesn't exist, an empty one is created. An incomplete last journal line
+	 * is removed.
+	 *
+	 * @param path the path of the journal file
+	 * @return the opened journal
+	 * @throws NullPointerException if the given {@code path} is {@code null}
+	 * @throws UncheckedIOException if opening or reading the journal fails
+	 */
+	public static TrialJournal open(final Path path) {
+		requireNonNull(path);
+
+		try {
+			final FileChannel channel = FileChannel.open(
+				path,
+				StandardOpenOption.CREATE,
+				StandardOpenOption.READ,
+				StandardOpenOption.WRITE
+			);
+
+			try {
+				final byte[] bytes = Files.readAllBytes(path);
+				final List<Entry> entries = new ArrayList<>();
+				int start = 0;
+				for (int i = 0; i < bytes.length; ++i) {
+					if (bytes[i] == NEW_LINE) {
+						final String line = new String(bytes, start, i - start, UTF_8);
+						if (!line.trim().isEmpty()) {
+							entries.add(Entry.parse(line));
+						}
+						start = i + 1;
+					}
+				}
+
+				// Discarding the incomplete last line.
+				channel.truncate(start);
+				channel.position(start);
+
+				return new TrialJournal(path, entries, channel);
+			} catch (IOException|RuntimeException e) {
+				channel.close();
+				throw e;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+
+	/**
+	 * One journal entry, which contains the result values of one
+	 * (sample, parameter) cell.
+	 */
+	public static final class Entry {
+		private final int _sampleIndex;
+		private final int _paramIndex;
+		private final double[] _values;
+
+		private Entry(
+			final int sampleIndex,
+			final int paramIndex,
+			final double[] values
+		) {
+			if (sampleIndex < 0 || paramIndex < 0) {
+				throw new IllegalArgumentException(format(
+					"Indexes must not be negative: [%d, %d]",
+					sampleIndex, paramIndex
+				));
+			}
+
+			_sampleIndex = sampleIndex;
+			_paramIndex = paramIndex;
+			_values = values.clone();
+		}
+
+		/**
+		 * Return the sample index of the entry.
+		 *
+		 * @return the sample index of the entry
+		 */
+		public int getSampleIndex() {
+			return _sampleIndex;
+		}
+
+		/**
+		 * Return the parameter index of the entry.
+		 *
+		 * @return the parameter index of the entry
+		 */
+		public int getParamIndex() {
+			return _paramIndex;
+		}
+
+		/**
+		 * Return the result values of the entry.
+		 *
+		 * @return the result values of the entry
+		 */
+		public double[] getValues() {
+			return _values.clone();
+		}
+
+		@Override
+		public String toString() {
+			final StringBuilder out = new StringBuilder();
+			out.append(_sampleIndex).append(SEPARATOR).append(_paramIndex);
+			for (double value : _values) {
+				out.append(SEPARATOR).append(Double.toString(value));
+			}
+			return out.append(NEW_LINE).toString();
+		}
+
+		private static Entry parse(final String line) {
+			final String[] parts = line.trim().split(String.valueOf(SEPARATOR));
+			if (parts.length < 2) {
+				throw new IllegalArgumentException(format(
+					"Invalid journal line: '%s'", line
+				));
+			}
+
+			final double[] values = new double[parts.length - 2];
+			for (int i = 0; i < values.length; ++i) {
+				values[i] = Double.parseDouble(parts[i + 2]);
+			}
+
+			return new Entry(
+				Integer.parseInt(parts[0]),
+				Integer.parseInt(parts[1]),
+				values
+			);
+		}
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.tool.trial;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.util.ISeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+public class DataStoreTest {
+
+	private static TrialMeter<String> trialMeter(final int samples) {
+		final TrialMeter<String> trialMeter = TrialMeter.of(
+			"Some name", "Some description",
+			Params.of("Strings", ISeq.of("p1", "p2", "p3", "p4", "p5")),
+			"fitness", "generation"
+		);
+
+		final Random random = new Random(123);
+		for (int i = 0; i < samples; ++i) {
+			trialMeter.sample(p -> new double[] {
+				random.nextDouble(), random.nextInt(100)
+			});
+		}
+
+		return trialMeter;
+	}
+
+	@Test
+	public void summary() throws IOException {
+		final Path path = Files.createTempFile("__data_store__", ".bin");
+		try {
+			final TrialMeter<String> trialMeter = trialMeter(20);
+			try (DataStore store = DataStore.create(path, trialMeter)) {
+				Assert.assertEquals(store.size(), 20*5);
+			}
+
+			try (DataStore store = DataStore.open(path)) {
+				Assert.assertEquals(store.parameterCount(), 5);
+				Assert.assertEquals(
+					store.getDataSetNames(),
+					ISeq.of("fitness", "generation")
+				);
+				Assert.assertEquals(store.size(), 20*5);
+
+				for (String name : store.getDataSetNames()) {
+					Assert.assertEquals(
+						store.summary(name),
+						trialMeter.getData(name).summary()
+					);
+				}
+			}
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void appendBlocks() throws IOException {
+		final Path path = Files.createTempFile("__data_store__", ".bin");
+		try {
+			final int count = DataStore.BLOCK_SIZE*2 + 100;
+			try (DataStore store = DataStore.create(path, 3, "a")) {
+				for (int i = 0; i < count; ++i) {
+					store.add(i/3, i%3, new double[]{i});
+				}
+			}
+
+			try (DataStore store = DataStore.open(path)) {
+				store.add(count/3 + 1, 0, new double[]{-1});
+				Assert.assertEquals(store.size(), count + 1);
+
+				final AtomicLong index = new AtomicLong();
+				store.forEach((sample, param, values) -> {
+					final long i = index.getAndIncrement();
+					if (i < count) {
+						Assert.assertEquals(sample, i/3);
+						Assert.assertEquals(param, i%3);
+						Assert.assertEquals(values[0], (double)i);
+					} else {
+						Assert.assertEquals(values[0], -1.0);
+					}
+				});
+				Assert.assertEquals(index.get(), count + 1);
+			}
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void incompleteBlock() throws IOException {
+		final Path path = Files.createTempFile("__data_store__", ".bin");
+		try {
+			try (DataStore store = DataStore.create(path, 2, "a", "b")) {
+				store.add(0, 0, new double[]{1, 2});
+				store.flush();
+				store.add(0, 1, new double[]{3, 4});
+			}
+
+			// Cutting the last block.
+			try (FileChannel channel =
+					FileChannel.open(path, StandardOpenOption.WRITE))
+			{
+				channel.truncate(channel.size() - 3);
+			}
+
+			try (DataStore store = DataStore.open(path)) {
+				Assert.assertEquals(store.size(), 1);
+				store.add(0, 1, new double[]{5, 6});
+			}
+
+			try (DataStore store = DataStore.open(path)) {
+				Assert.assertEquals(store.size(), 2);
+				Assert.assertEquals(
+					store.summary("b").getPoints().get(1).getMax(),
+					6.0
+				);
+			}
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+}
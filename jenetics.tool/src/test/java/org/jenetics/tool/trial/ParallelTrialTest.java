@@ -0,0 +1,142 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.tool.trial;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.util.ISeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+public class ParallelTrialTest {
+
+	private static TrialMeter<Integer> trialMeter() {
+		return TrialMeter.of(
+			"Parallel trial", "Some description",
+			Params.of("Integers", ISeq.of(1, 2, 3, 4)),
+			"value", "square"
+		);
+	}
+
+	@Test
+	public void run() throws IOException {
+		final Path dir = Files.createTempDirectory("__parallel_trial__");
+		final Path result = dir.resolve("trial_meter.xml");
+		try {
+			final ConcurrentMap<Integer, AtomicInteger> calls =
+				new ConcurrentHashMap<>();
+
+			new ParallelTrial<Integer>(
+				(param, executor) -> {
+					Assert.assertEquals(
+						((ForkJoinPool)executor).getParallelism(), 2
+					);
+					calls.computeIfAbsent(param, p -> new AtomicInteger())
+						.incrementAndGet();
+					return new double[]{param, param*param};
+				},
+				ParallelTrialTest::trialMeter,
+				5,
+				result,
+				3,
+				2
+			).run();
+
+			for (int param = 1; param <= 4; ++param) {
+				Assert.assertEquals(calls.get(param).get(), 5);
+			}
+
+			Assert.assertFalse(Files.exists(ParallelTrial.journalPath(result)));
+
+			final TrialMeter<Integer> meter = TrialMeter.read(result);
+			Assert.assertEquals(meter.dataSize(), 5);
+			for (int sample = 0; sample < 5; ++sample) {
+				for (int param = 0; param < 4; ++param) {
+					Assert.assertTrue(meter.getDataSet().isSet(sample, param));
+				}
+			}
+			Assert.assertEquals(
+				meter.getData("square").summary().getPoints().length(),
+				4
+			);
+		} finally {
+			Files.deleteIfExists(ParallelTrial.journalPath(result));
+			Files.deleteIfExists(result);
+			Files.deleteIfExists(dir);
+		}
+	}
+
+	@Test
+	public void resume() throws IOException {
+		final Path dir = Files.createTempDirectory("__parallel_trial__");
+		final Path result = dir.resolve("trial_meter.xml");
+		try {
+			// Results of an interrupted trial.
+			try (TrialJournal journal =
+					TrialJournal.open(ParallelTrial.journalPath(result)))
+			{
+				journal.append(0, 0, new double[]{-1, -1});
+				journal.append(1, 3, new double[]{-2, -2});
+			}
+
+			final AtomicInteger calls = new AtomicInteger();
+			new ParallelTrial<Integer>(
+				(param, executor) -> {
+					calls.incrementAndGet();
+					return new double[]{param, param*param};
+				},
+				ParallelTrialTest::trialMeter,
+				2,
+				result,
+				2,
+				1
+			).run();
+
+			Assert.assertEquals(calls.get(), 2*4 - 2);
+
+			final TrialMeter<Integer> meter = TrialMeter.read(result);
+			Assert.assertEquals(
+				meter.getData("value").summary().getPoints().get(0).getMin(),
+				-1.0
+			);
+			Assert.assertEquals(
+				meter.getData("value").summary().getPoints().get(3).getMin(),
+				-2.0
+			);
+		} finally {
+			Files.deleteIfExists(ParallelTrial.journalPath(result));
+			Files.deleteIfExists(result);
+			Files.deleteIfExists(dir);
+		}
+	}
+
+}
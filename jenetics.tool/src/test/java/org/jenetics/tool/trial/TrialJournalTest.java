@@ -0,0 +1,116 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.tool.trial;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+public class TrialJournalTest {
+
+	@Test
+	public void appendAndReopen() throws IOException {
+		final Path path = Files.createTempFile("__trial_journal__", ".journal");
+		try {
+			try (TrialJournal journal = TrialJournal.open(path)) {
+				Assert.assertTrue(journal.getEntries().isEmpty());
+				journal.append(0, 1, new double[]{0.1, 1.0/3.0});
+				journal.append(2, 0, new double[]{Double.MAX_VALUE, -0.0});
+			}
+
+			try (TrialJournal journal = TrialJournal.open(path)) {
+				Assert.assertEquals(journal.getEntries().size(), 2);
+
+				final TrialJournal.Entry entry = journal.getEntries().get(0);
+				Assert.assertEquals(entry.getSampleIndex(), 0);
+				Assert.assertEquals(entry.getParamIndex(), 1);
+				Assert.assertEquals(entry.getValues(), new double[]{0.1, 1.0/3.0});
+				Assert.assertEquals(
+					journal.getEntries().get(1).getValues(),
+					new double[]{Double.MAX_VALUE, -0.0}
+				);
+			}
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void discardIncompleteLine() throws IOException {
+		final Path path = Files.createTempFile("__trial_journal__", ".journal");
+		try {
+			try (TrialJournal journal = TrialJournal.open(path)) {
+				journal.append(0, 0, new double[]{1, 2});
+			}
+			Files.write(path, "1\t0\t3.0\t4".getBytes(UTF_8), StandardOpenOption.APPEND);
+
+			try (TrialJournal journal = TrialJournal.open(path)) {
+				Assert.assertEquals(journal.getEntries().size(), 1);
+				journal.append(1, 0, new double[]{3, 4});
+			}
+
+			try (TrialJournal journal = TrialJournal.open(path)) {
+				Assert.assertEquals(journal.getEntries().size(), 2);
+				Assert.assertEquals(
+					journal.getEntries().get(1).getValues(),
+					new double[]{3, 4}
+				);
+			}
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void replay() throws IOException {
+		final Path path = Files.createTempFile("__trial_journal__", ".journal");
+		try {
+			try (TrialJournal journal = TrialJournal.open(path)) {
+				journal.append(1, 2, new double[]{1, 2});
+				journal.append(0, 0, new double[]{3, 4});
+			}
+
+			final DataSet data = DataSet.of(3, "a", "b");
+			try (TrialJournal journal = TrialJournal.open(path)) {
+				journal.replay(data);
+			}
+
+			Assert.assertTrue(data.isSet(1, 2));
+			Assert.assertTrue(data.isSet(0, 0));
+			Assert.assertFalse(data.isSet(0, 1));
+			Assert.assertFalse(data.isSet(2, 0));
+			Assert.assertEquals(data.dataSize(), 2);
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+}
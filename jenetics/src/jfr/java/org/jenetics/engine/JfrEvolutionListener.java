@@ -0,0 +1,179 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import java.time.Duration;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import org.jenetics.Alterer;
+
+/**
+ * Evolution listener which emits <em>Java Flight Recorder</em> events. The
+ * queueing time of a stage, reported on its start, is kept thread-locally
+ * until the stage is finished, since both methods are called by the thread
+ * executing the stage.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class JfrEvolutionListener implements EvolutionListener {
+
+	static final JfrEvolutionListener INSTANCE = new JfrEvolutionListener();
+
+	private static final ThreadLocal<long[]> QUEUED = ThreadLocal
+		.withInitial(() -> new long[Stage.values().length]);
+
+	private JfrEvolutionListener() {
+	}
+
+	@Override
+	public void stageStarted(
+		final Stage stage,
+		final long generation,
+		final Duration queued
+	) {
+		QUEUED.get()[stage.ordinal()] = queued.toNanos();
+	}
+
+	@Override
+	public void stageFinished(
+		final Stage stage,
+		final long generation,
+		final Duration duration,
+		final long allocated
+	) {
+		final StageEvent event = new StageEvent();
+		if (event.isEnabled()) {
+			event.stage = stage.name();
+			event.generation = generation;
+			event.queued = QUEUED.get()[stage.ordinal()];
+			event.executionTime = duration.toNanos();
+			event.allocated = allocated;
+			event.commit();
+		}
+	}
+
+	@Override
+	public void batchEvaluated(
+		final long generation,
+		final int size,
+		final Duration queued,
+		final Duration duration
+	) {
+		final BatchEvent event = new BatchEvent();
+		if (event.isEnabled()) {
+			event.generation = generation;
+			event.size = size;
+			event.queued = queued.toNanos();
+			event.executionTime = duration.toNanos();
+			event.commit();
+		}
+	}
+
+	@Override
+	public void altered(
+		final long generation,
+		final Alterer<?, ?> alterer,
+		final int alterations,
+		final Duration duration
+	) {
+		final AlterEvent event = new AlterEvent();
+		if (event.isEnabled()) {
+			event.generation = generation;
+			event.alterer = alterer.getClass().getName();
+			event.alterations = alterations;
+			event.executionTime = duration.toNanos();
+			event.commit();
+		}
+	}
+
+	@Name("org.jenetics.EvolutionStage")
+	@Label("Evolution Stage")
+	@Category("Jenetics")
+	@Description("Execution of one stage of an evolution step")
+	static final class StageEvent extends Event {
+		@Label("Stage")
+		String stage;
+
+		@Label("Generation")
+		long generation;
+
+		@Label("Queued")
+		@Timespan(Timespan.NANOSECONDS)
+		long queued;
+
+		@Label("Execution Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long executionTime;
+
+		@Label("Allocated")
+		@Description("Bytes allocated by the executing thread, -1 if unknown")
+		@DataAmount
+		long allocated;
+	}
+
+	@Name("org.jenetics.EvaluationBatch")
+	@Label("Evaluation Batch")
+	@Category("Jenetics")
+	@Description("Fitness evaluation of one batch of individuals")
+	static final class BatchEvent extends Event {
+		@Label("Generation")
+		long generation;
+
+		@Label("Size")
+		int size;
+
+		@Label("Queued")
+		@Timespan(Timespan.NANOSECONDS)
+		long queued;
+
+		@Label("Execution Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long executionTime;
+	}
+
+	@Name("org.jenetics.Alterer")
+	@Label("Alterer")
+	@Category("Jenetics")
+	@Description("Execution of one alterer on the offspring population")
+	static final class AlterEvent extends Event {
+		@Label("Generation")
+		long generation;
+
+		@Label("Alterer")
+		String alterer;
+
+		@Label("Alterations")
+		int alterations;
+
+		@Label("Execution Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long executionTime;
+	}
+
+}
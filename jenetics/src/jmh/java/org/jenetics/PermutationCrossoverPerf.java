@@ -0,0 +1,113 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.jenetics.util.MSeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @version 4.0
+ * @since 4.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PermutationCrossoverPerf {
+
+	@Param({"1000", "10000"})
+	public int length;
+
+	private PermutationChromosome<Integer> that;
+	private PermutationChromosome<Integer> other;
+
+	private final PartiallyMatchedCrossover<Integer, Double> pmx =
+		new PartiallyMatchedCrossover<>(1);
+	private final OrderCrossover<Integer, Double> ox =
+		new OrderCrossover<>(1);
+	private final CycleCrossover<Integer, Double> cx =
+		new CycleCrossover<>(1);
+	private final EdgeRecombinationCrossover<Integer, Double> erx =
+		new EdgeRecombinationCrossover<>(1);
+
+	@Setup
+	public void setup() {
+		that = PermutationChromosome.ofInteger(length);
+		other = that.newInstance();
+	}
+
+	private PermutationChromosome<Integer> crossover(
+		final Crossover<EnumGene<Integer>, Double> crossover
+	) {
+		final MSeq<EnumGene<Integer>> genes1 = that.toSeq().copy();
+		final MSeq<EnumGene<Integer>> genes2 = other.toSeq().copy();
+		crossover.crossover(genes1, genes2);
+		return that.newInstance(genes1.toISeq());
+	}
+
+	@Benchmark
+	public Object pmx() {
+		return crossover(pmx);
+	}
+
+	@Benchmark
+	public Object ox() {
+		return crossover(ox);
+	}
+
+	@Benchmark
+	public Object cx() {
+		return crossover(cx);
+	}
+
+	@Benchmark
+	public Object erx() {
+		return crossover(erx);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		final Options opt = new OptionsBuilder()
+			.include(".*" + PermutationCrossoverPerf.class.getSimpleName() + ".*")
+			.build();
+
+		new Runner(opt).run();
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import static java.lang.String.format;
+import static org.jenetics.OrderCrossover.checkLength;
+
+import org.jenetics.internal.math.permutation;
+import org.jenetics.internal.util.Equality;
+import org.jenetics.internal.util.Hash;
+
+import org.jenetics.util.ISeq;
+import org.jenetics.util.MSeq;
+
+/**
+ * The {@code CycleCrossover} (CX) preserves the absolute positions of the
+ * genes: every gene of an offspring is at the same position as in one of its
+ * parents. The gene positions are partitioned into cycles, and the genes of
+ * every second cycle are exchanged between the two chromosomes.
+ * <pre>
+ *     C1 = 1234567890
+ *     C2 = 2143658709
+ * </pre>
+ * The chromosomes contain the five cycles {@code (0, 1)}, {@code (2, 3)},
+ * {@code (4, 5)}, {@code (6, 7)} and {@code (8, 9)}. After performing the
+ * crossover we got the two chromosomes
+ * <pre>
+ *     C1 = 1243568790
+ *     C2 = 2134657809
+ * </pre>
+ *
+ * The crossover works on the allele indexes of the genes and needs linear
+ * time.
+ *
+ * <em>The {@code CycleCrossover} class requires chromosomes with the same
+ * length and the same valid alleles. An {@code IllegalArgumentException} is
+ * thrown at runtime if the lengths are different.</em> Partial permutations,
+ * which contain only some of the valid alleles, are supported. A cycle then
+ * ends at a gene whose allele is not part of the other chromosome.
+ *
+ * @see PermutationChromosome
+ * @see PartiallyMatchedCrossover
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public final class CycleCrossover<T, C extends Comparable<? super C>>
+	extends Crossover<EnumGene<T>, C>
+{
+
+	/**
+	 * Create a new cycle crossover with the given crossover probability.
+	 *
+	 * @param probability the crossover probability
+	 * @throws IllegalArgumentException if the {@code probability} is not in the
+	 *         valid range of {@code [0, 1]}
+	 */
+	public CycleCrossover(final double probability) {
+		super(probability);
+	}
+
+	@Override
+	protected int crossover(
+		final MSeq<EnumGene<T>> that,
+		final MSeq<EnumGene<T>> other
+	) {
+		final ISeq<T> alleles = that.get(0).getValidAlleles();
+		final int[] indexes1 = EnumGeneMSeq.indexes(that);
+		final int[] indexes2 = EnumGeneMSeq.indexes(other);
+		checkLength(indexes1, indexes2);
+
+		if (permutation.cx(indexes1, indexes2, alleles.length()) > 1) {
+			EnumGeneMSeq.set(that, indexes1, alleles);
+			EnumGeneMSeq.set(other, indexes2, alleles);
+		}
+
+		return 1;
+	}
+
+	@Override
+	public int hashCode() {
+		return Hash.of(getClass()).and(super.hashCode()).value();
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return Equality.of(this, obj).test(super::equals);
+	}
+
+	@Override
+	public String toString() {
+		return format("%s[p=%f]", getClass().getSimpleName(), _probability);
+	}
+
+}
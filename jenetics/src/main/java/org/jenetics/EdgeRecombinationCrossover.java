@@ -0,0 +1,126 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import static java.lang.String.format;
+import static org.jenetics.OrderCrossover.checkLength;
+
+import java.util.Random;
+
+import org.jenetics.internal.math.permutation;
+import org.jenetics.internal.util.Equality;
+import org.jenetics.internal.util.Hash;
+
+import org.jenetics.util.ISeq;
+import org.jenetics.util.MSeq;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * The {@code EdgeRecombinationCrossover} (ERX) preserves the adjacency
+ * information (the <em>edges</em>) of the parent chromosomes, which are
+ * treated as closed tours. This makes it well suited for the TSP. The
+ * offspring is built by starting with the first gene of one parent and
+ * repeatedly appending the not yet used neighbor (in one of the parent
+ * tours) with the fewest remaining neighbors. Ties are broken randomly. If
+ * the current gene has no unused neighbor, a random unused gene is chosen.
+ * The first offspring starts with the first gene of the first parent, the
+ * second offspring with the first gene of the second parent.
+ * <p>
+ * The crossover works on the allele indexes of the genes and needs linear
+ * time.
+ *
+ * <em>The {@code EdgeRecombinationCrossover} class requires chromosomes with
+ * the same length and the same valid alleles. An
+ * {@code IllegalArgumentException} is thrown at runtime if the lengths are
+ * different.</em> Partial permutations, which contain only some of the valid
+ * alleles, are supported. In this case the offspring may contain alleles
+ * which are only part of the other parent.
+ *
+ * @see PermutationChromosome
+ * @see PartiallyMatchedCrossover
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public final class EdgeRecombinationCrossover<
+	T,
+	C extends Comparable<? super C>
+>
+	extends Crossover<EnumGene<T>, C>
+{
+
+	/**
+	 * Create a new edge recombination crossover with the given crossover
+	 * probability.
+	 *
+	 * @param probability the crossover probability
+	 * @throws IllegalArgumentException if the {@code probability} is not in the
+	 *         valid range of {@code [0, 1]}
+	 */
+	public EdgeRecombinationCrossover(final double probability) {
+		super(probability);
+	}
+
+	@Override
+	protected int crossover(
+		final MSeq<EnumGene<T>> that,
+		final MSeq<EnumGene<T>> other
+	) {
+		final ISeq<T> alleles = that.get(0).getValidAlleles();
+		final int[] indexes1 = EnumGeneMSeq.indexes(that);
+		final int[] indexes2 = EnumGeneMSeq.indexes(other);
+		checkLength(indexes1, indexes2);
+
+		if (that.length() >= 3) {
+			final Random random = RandomRegistry.getRandom();
+			final int size = alleles.length();
+
+			EnumGeneMSeq.set(
+				that,
+				permutation.erx(indexes1, indexes2, indexes1[0], size, random),
+				alleles
+			);
+			EnumGeneMSeq.set(
+				other,
+				permutation.erx(indexes2, indexes1, indexes2[0], size, random),
+				alleles
+			);
+		}
+
+		return 1;
+	}
+
+	@Override
+	public int hashCode() {
+		return Hash.of(getClass()).and(super.hashCode()).value();
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return Equality.of(this, obj).test(super::equals);
+	}
+
+	@Override
+	public String toString() {
+		return format("%s[p=%f]", getClass().getSimpleName(), _probability);
+	}
+
+}
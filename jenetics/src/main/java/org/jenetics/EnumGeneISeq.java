@@ -0,0 +1,92 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import org.jenetics.internal.collection.Array;
+import org.jenetics.internal.collection.ArrayISeq;
+
+import org.jenetics.util.ISeq;
+
+/**
+ * Immutable {@link EnumGene} sequence, which only stores the allele indexes of
+ * the genes.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class EnumGeneISeq<A> extends ArrayISeq<EnumGene<A>> {
+	private static final long serialVersionUID = 1L;
+
+	// Primary constructor.
+	EnumGeneISeq(final Array<EnumGene<A>> array) {
+		super(array);
+		assert array.store() instanceof EnumGeneStore;
+	}
+
+	/**
+	 * Return the valid alleles of the genes of this sequence.
+	 *
+	 * @return the valid alleles of the genes
+	 */
+	ISeq<A> alleles() {
+		return ((EnumGeneStore<A>)array.store()).alleles;
+	}
+
+	/**
+	 * Return the gene table of this sequence.
+	 *
+	 * @return the gene table of this sequence
+	 */
+	EnumGene<A>[] table() {
+		return ((EnumGeneStore<A>)array.store()).table;
+	}
+
+	/**
+	 * Return the allele index of the gene at the given index, without
+	 * creating the gene object.
+	 *
+	 * @param index the gene index
+	 * @return the allele index of the gene at the given index
+	 */
+	int alleleIndex(final int index) {
+		array.checkIndex(index);
+		return ((EnumGeneStore<A>)array.store()).array[index];
+	}
+
+	@Override
+	public EnumGeneMSeq<A> copy() {
+		return EnumGeneMSeq.of(array.copy());
+	}
+
+	static <A> EnumGeneISeq<A> of(
+		final int[] indexes,
+		final EnumGene<A>[] table
+	) {
+		return new EnumGeneISeq<>(
+			Array.of(EnumGeneStore.of(indexes, table)).seal()
+		);
+	}
+
+	static <A> EnumGeneISeq<A> of(final int[] indexes, final ISeq<A> alleles) {
+		return of(indexes, EnumGeneStore.table(alleles));
+	}
+
+}
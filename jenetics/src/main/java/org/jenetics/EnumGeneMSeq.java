@@ -0,0 +1,152 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import static java.lang.String.format;
+
+import org.jenetics.internal.collection.Array;
+import org.jenetics.internal.collection.ArrayMSeq;
+
+import org.jenetics.util.ISeq;
+import org.jenetics.util.MSeq;
+import org.jenetics.util.Seq;
+
+/**
+ * Mutable {@link EnumGene} sequence, which only stores the allele indexes of
+ * the genes. The gene objects are taken from a gene table, which contains one
+ * gene for every valid allele and is shared between all sequences with the
+ * same valid alleles.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class EnumGeneMSeq<A> extends ArrayMSeq<EnumGene<A>> {
+
+	private static final long serialVersionUID = 1L;
+
+	// Primary constructor.
+	private EnumGeneMSeq(final Array<EnumGene<A>> array) {
+		super(array);
+		assert array.store() instanceof EnumGeneStore;
+	}
+
+	@Override
+	public void swap(final int i, final int j) {
+		array.checkIndex(i);
+		array.checkIndex(j);
+
+		if (isFull(array)) {
+			array.copyIfSealed();
+			final int[] indexes = ((EnumGeneStore<?>)array.store()).array;
+			final int temp = indexes[i];
+			indexes[i] = indexes[j];
+			indexes[j] = temp;
+		} else {
+			super.swap(i, j);
+		}
+	}
+
+	@Override
+	public EnumGeneMSeq<A> copy() {
+		return new EnumGeneMSeq<>(array.copy());
+	}
+
+	@Override
+	public EnumGeneISeq<A> toISeq() {
+		return new EnumGeneISeq<>(array.seal());
+	}
+
+	static <A> EnumGeneMSeq<A> of(final Array<EnumGene<A>> array) {
+		return new EnumGeneMSeq<>(array);
+	}
+
+	/**
+	 * Return the allele indexes of the given genes. For int array based gene
+	 * sequences, the allele indexes are copied without creating gene objects.
+	 *
+	 * @param genes the enum genes
+	 * @param <A> the allele type
+	 * @return a new array with the allele indexes of the given genes
+	 */
+	static <A> int[] indexes(final Seq<EnumGene<A>> genes) {
+		final Array<EnumGene<A>> array = array(genes);
+		if (array != null) {
+			return ((EnumGeneStore<A>)array.store()).array.clone();
+		}
+
+		final int[] indexes = new int[genes.length()];
+		for (int i = 0; i < indexes.length; ++i) {
+			indexes[i] = genes.get(i).getAlleleIndex();
+		}
+		return indexes;
+	}
+
+	/**
+	 * Replaces the genes of the given sequence by genes with the given allele
+	 * indexes.
+	 *
+	 * @param genes the genes to replace
+	 * @param indexes the new allele indexes
+	 * @param alleles the valid alleles of the genes
+	 * @param <A> the allele type
+	 */
+	static <A> void set(
+		final MSeq<EnumGene<A>> genes,
+		final int[] indexes,
+		final ISeq<A> alleles
+	) {
+		final Array<EnumGene<A>> array = array(genes);
+		if (array != null && ((EnumGeneStore<A>)array.store()).alleles == alleles) {
+			array.copyIfSealed();
+			final int[] target = ((EnumGeneStore<A>)array.store()).array;
+			for (int index : indexes) {
+				if (index < 0 || index >= alleles.length()) {
+					throw new IndexOutOfBoundsException(format(
+						"Allele index is not in range [0, %d).", index
+					));
+				}
+			}
+			System.arraycopy(indexes, 0, target, 0, indexes.length);
+		} else {
+			for (int i = 0; i < indexes.length; ++i) {
+				genes.set(i, new EnumGene<>(indexes[i], alleles));
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <A> Array<EnumGene<A>> array(final Seq<EnumGene<A>> genes) {
+		Array<EnumGene<A>> array = null;
+		if (genes instanceof EnumGeneMSeq) {
+			array = ((EnumGeneMSeq<A>)genes).array;
+		} else if (genes instanceof EnumGeneISeq) {
+			array = ((EnumGeneISeq<A>)genes).array;
+		}
+
+		return array != null && isFull(array) ? array : null;
+	}
+
+	// Slices of a store are not supported by the fast paths.
+	private static boolean isFull(final Array<?> array) {
+		return array.length() == array.store().length();
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.jenetics.internal.collection.Array;
+
+import org.jenetics.util.ISeq;
+
+/**
+ * Stores the allele indexes of enum genes.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class EnumGeneStore<A> implements Array.Store<EnumGene<A>>, Serializable {
+	private static final long serialVersionUID = 1L;
+
+	final int[] array;
+	final EnumGene<A>[] table;
+	final ISeq<A> alleles;
+
+	// Primary constructor.
+	private EnumGeneStore(final int[] array, final EnumGene<A>[] table) {
+		this.array = requireNonNull(array);
+		this.table = requireNonNull(table);
+		alleles = table[0].getValidAlleles();
+	}
+
+	@Override
+	public EnumGene<A> get(final int index) {
+		return table[array[index]];
+	}
+
+	@Override
+	public void sort(
+		final int from,
+		final int until,
+		final Comparator<? super EnumGene<A>> comparator
+	) {
+		if (comparator == null) {
+			Arrays.sort(array, from, until);
+		} else {
+			@SuppressWarnings("unchecked")
+			final EnumGene<A>[] genes = (EnumGene<A>[])new EnumGene<?>[until - from];
+			for (int i = 0; i < genes.length; ++i) {
+				genes[i] = get(from + i);
+			}
+			Arrays.sort(genes, comparator);
+			for (int i = 0; i < genes.length; ++i) {
+				array[from + i] = genes[i].getAlleleIndex();
+			}
+		}
+	}
+
+	@Override
+	public void set(final int index, final EnumGene<A> value) {
+		if (value.getValidAlleles() != alleles &&
+			!value.getValidAlleles().equals(alleles))
+		{
+			throw new IllegalArgumentException(format(
+				"Gene '%s' has different valid alleles.", value
+			));
+		}
+		array[index] = value.getAlleleIndex();
+	}
+
+	@Override
+	public EnumGeneStore<A> copy(final int from, final int until) {
+		return new EnumGeneStore<>(Arrays.copyOfRange(array, from, until), table);
+	}
+
+	@Override
+	public EnumGeneStore<A> newInstance(final int length) {
+		return new EnumGeneStore<>(new int[length], table);
+	}
+
+	@Override
+	public int length() {
+		return array.length;
+	}
+
+	static <A> EnumGeneStore<A> of(final int[] array, final EnumGene<A>[] table) {
+		return new EnumGeneStore<>(array, table);
+	}
+
+	/**
+	 * Create the gene table for the given valid alleles.
+	 *
+	 * @param alleles the valid alleles
+	 * @param <A> the allele type
+	 * @return a new gene table, with one gene per valid allele
+	 */
+	static <A> EnumGene<A>[] table(final ISeq<A> alleles) {
+		@SuppressWarnings("unchecked")
+		final EnumGene<A>[] table = (EnumGene<A>[])new EnumGene<?>[alleles.length()];
+		for (int i = 0; i < table.length; ++i) {
+			table[i] = new EnumGene<>(i, alleles);
+		}
+		return table;
+	}
+
+}
@@ -0,0 +1,263 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import static java.lang.Double.doubleToLongBits;
+import static java.lang.Long.rotateLeft;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import org.jenetics.util.ISeq;
+
+/**
+ * A 128 bit structural fingerprint of a {@link Genotype} or
+ * {@link Chromosome}. Two genotypes with the same gene values have the same
+ * fingerprint. If a 64 bit value is sufficient, the {@link #longValue()} can
+ * be used.
+ * <p>
+ * The fingerprint is calculated from the gene values in one pass, without
+ * creating any intermediate objects. The values of the {@link NumericGene}
+ * (with {@code double} or at most 64 bit integral alleles), {@link BitGene},
+ * {@link CharacterGene} and {@link EnumGene} types are used directly. For
+ * these genes, different genotypes have different fingerprints with
+ * overwhelming probability. For all other gene types the 32 bit
+ * {@code hashCode()} of the allele is used, which is only structural, if the
+ * allele implements a value based {@code hashCode()} method. Different
+ * genotypes of these gene types may have the same fingerprint. If the
+ * fingerprint is used as identity of a genotype, e.g. in hash sets, caches or
+ * archives, equal fingerprints must therefore be confirmed with
+ * {@link Genotype#equals(Object)}.
+ *
+ * @see Genotype#getFingerprint()
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public final class Fingerprint
+	implements Comparable<Fingerprint>, Serializable
+{
+
+	private static final long serialVersionUID = 1L;
+
+	private final long _high;
+	private final long _low;
+
+	private Fingerprint(final long high, final long low) {
+		_high = high;
+		_low = low;
+	}
+
+	/**
+	 * Return the upper 64 bits of the fingerprint.
+	 *
+	 * @return the upper 64 bits of the fingerprint
+	 */
+	public long getHigh() {
+		return _high;
+	}
+
+	/**
+	 * Return the lower 64 bits of the fingerprint.
+	 *
+	 * @return the lower 64 bits of the fingerprint
+	 */
+	public long getLow() {
+		return _low;
+	}
+
+	/**
+	 * Return the 64 bit version of this fingerprint.
+	 *
+	 * @return the 64 bit version of this fingerprint
+	 */
+	public long longValue() {
+		return _low;
+	}
+
+	@Override
+	public int compareTo(final Fingerprint other) {
+		final int cmp = Long.compareUnsigned(_high, other._high);
+		return cmp != 0 ? cmp : Long.compareUnsigned(_low, other._low);
+	}
+
+	@Override
+	public int hashCode() {
+		return (int)(_low ^ (_low >>> 32));
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return obj instanceof Fingerprint &&
+			_high == ((Fingerprint)obj)._high &&
+			_low == ((Fingerprint)obj)._low;
+	}
+
+	@Override
+	public String toString() {
+		return format("%016x%016x", _high, _low);
+	}
+
+	/**
+	 * Return the fingerprint of the given genotype. This is a shortcut for
+	 * {@code genotype.getFingerprint()}, where the fingerprint of the
+	 * genotype is calculated only once.
+	 *
+	 * @param genotype the genotype
+	 * @return the fingerprint of the given genotype
+	 * @throws NullPointerException if the given {@code genotype} is
+	 *         {@code null}
+	 */
+	public static Fingerprint of(final Genotype<?> genotype) {
+		return genotype.getFingerprint();
+	}
+
+	/**
+	 * Calculates the fingerprint of the given chromosome.
+	 *
+	 * @param chromosome the chromosome
+	 * @return the fingerprint of the given chromosome
+	 * @throws NullPointerException if the given {@code chromosome} is
+	 *         {@code null}
+	 */
+	public static Fingerprint of(final Chromosome<?> chromosome) {
+		requireNonNull(chromosome);
+		return new Hasher().add(chromosome).build();
+	}
+
+	// Calculates the fingerprint of the given chromosomes.
+	static Fingerprint of(final ISeq<? extends Chromosome<?>> chromosomes) {
+		final Hasher hasher = new Hasher();
+		for (Chromosome<?> chromosome : chromosomes) {
+			hasher.add(chromosome);
+		}
+		return hasher.build();
+	}
+
+
+	/**
+	 * Incremental calculation of the fingerprint, based on the body and
+	 * finalization steps of the 128 bit <em>MurmurHash3</em> function.
+	 */
+	static final class Hasher {
+		private static final long C1 = 0x87C37B91114253D5L;
+		private static final long C2 = 0x4CF5AD432745937FL;
+
+		private long _h1 = 0x9E3779B97F4A7C15L;
+		private long _h2 = 0xC2B2AE3D27D4EB4FL;
+		private long _length = 0;
+
+		Hasher add(final long value) {
+			_h1 ^= rotateLeft(value*C1, 31)*C2;
+			_h1 = rotateLeft(_h1, 27) + _h2;
+			_h1 = _h1*5 + 0x52DCE729;
+
+			_h2 ^= rotateLeft(value*C2, 33)*C1;
+			_h2 = rotateLeft(_h2, 31) + _h1;
+			_h2 = _h2*5 + 0x38495AB5;
+
+			++_length;
+			return this;
+		}
+
+		Hasher add(final Chromosome<?> chromosome) {
+			add(chromosome.length());
+
+			if (chromosome instanceof BitChromosome) {
+				add((BitChromosome)chromosome);
+			} else if (chromosome instanceof PermutationChromosome<?>) {
+				for (int index : ((PermutationChromosome<?>)chromosome).toAlleleIndexes()) {
+					add(index);
+				}
+			} else {
+				for (Gene<?, ?> gene : chromosome) {
+					add(value(gene));
+				}
+			}
+
+			return this;
+		}
+
+		// The bits are added in blocks of 64 bits.
+		private void add(final BitChromosome chromosome) {
+			final byte[] bytes = chromosome._genes;
+			final int length = chromosome.length();
+			final int size = (length + 7) >>> 3;
+
+			long block = 0;
+			for (int i = 0; i < size; ++i) {
+				long value = bytes[i] & 0xFF;
+				if (i == size - 1 && (length & 7) != 0) {
+					value &= (1 << (length & 7)) - 1;
+				}
+
+				block |= value << ((i & 7) << 3);
+				if ((i & 7) == 7 || i == size - 1) {
+					add(block);
+					block = 0;
+				}
+			}
+		}
+
+		private static long value(final Gene<?, ?> gene) {
+			if (gene instanceof NumericGene<?, ?>) {
+				final Number value = ((NumericGene<?, ?>)gene).getAllele();
+				return value instanceof Double || value instanceof Float
+					? doubleToLongBits(value.doubleValue())
+					: value.longValue();
+			} else if (gene instanceof BitGene) {
+				return ((BitGene)gene).getBit() ? 1 : 0;
+			} else if (gene instanceof CharacterGene) {
+				return ((CharacterGene)gene).charValue();
+			} else if (gene instanceof EnumGene<?>) {
+				return ((EnumGene<?>)gene).getAlleleIndex();
+			} else {
+				return Objects.hashCode(gene.getAllele());
+			}
+		}
+
+		Fingerprint build() {
+			long h1 = _h1 ^ _length;
+			long h2 = _h2 ^ _length;
+			h1 += h2;
+			h2 += h1;
+			h1 = mix(h1);
+			h2 = mix(h2);
+			h1 += h2;
+			h2 += h1;
+
+			return new Fingerprint(h1, h2);
+		}
+
+		private static long mix(final long value) {
+			long k = value;
+			k ^= k >>> 33;
+			k *= 0xFF51AFD7ED558CCDL;
+			k ^= k >>> 33;
+			k *= 0xC4CEB9FE1A85EC53L;
+			k ^= k >>> 33;
+			return k;
+		}
+	}
+
+}
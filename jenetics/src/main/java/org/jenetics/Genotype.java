@@ -71,7 +71,7 @@ import org.jenetics.util.Verifiable;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
  * @since 1.0
- * @version 3.0
+ * @version 4.0
  */
 @XmlJavaTypeAdapter(Genotype.Model.Adapter.class)
 public final class Genotype<G extends Gene<?, G>>
@@ -89,6 +89,9 @@ public final class Genotype<G extends Gene<?, G>>
 	//Caching isValid value.
 	private volatile Boolean _valid = null;
 
+	// Caching the fingerprint value.
+	private transient volatile Fingerprint _fingerprint = null;
+
 	private Genotype(
 		final ISeq<? extends Chromosome<G>> chromosomes,
 		final int ngenes
@@ -226,6 +229,25 @@ public final class Genotype<G extends Gene<?, G>>
 		return _ngenes;
 	}
 
+	/**
+	 * Return the structural fingerprint of this genotype. The fingerprint is
+	 * calculated only once and can be used as identity of the genotype, e.g.
+	 * for detecting duplicate genotypes.
+	 *
+	 * @since 4.0
+	 *
+	 * @return the fingerprint of this genotype
+	 */
+	public Fingerprint getFingerprint() {
+		Fingerprint fingerprint = _fingerprint;
+		if (fingerprint == null) {
+			fingerprint = Fingerprint.of(_chromosomes);
+			_fingerprint = fingerprint;
+		}
+
+		return fingerprint;
+	}
+
 	/**
 	 * Test if this genotype is valid. A genotype is valid if all its
 	 * {@link Chromosome}s are valid.
@@ -0,0 +1,291 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.jenetics.util.Seq;
+
+/**
+ * Contains the gene positions, (chromosome index, gene index) pairs, which
+ * have been changed by an alterer. The gene positions are used by an
+ * {@link IncrementalFitness} function for updating the fitness value of the
+ * parent individual, instead of evaluating the new individual from scratch.
+ * The positions are sorted by chromosome and gene index and contain no
+ * duplicates.
+ *
+ * <pre>{@code
+ * final GenotypeDelta delta = GenotypeDelta.of(parent, offspring);
+ * for (int i = 0; i < delta.size(); ++i) {
+ *     final int chromosome = delta.chromosomeIndex(i);
+ *     final int gene = delta.geneIndex(i);
+ *     ...
+ * }
+ * }</pre>
+ *
+ * @see IncrementalFitness
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public final class GenotypeDelta implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Delta object without changed genes.
+	 */
+	public static final GenotypeDelta EMPTY = new GenotypeDelta(new long[0]);
+
+	// The sorted and packed (chromosome index, gene index) pairs.
+	private final long[] _positions;
+
+	private GenotypeDelta(final long[] positions) {
+		_positions = positions;
+	}
+
+	/**
+	 * Return the number of changed genes.
+	 *
+	 * @return the number of changed genes
+	 */
+	public int size() {
+		return _positions.length;
+	}
+
+	/**
+	 * Return {@code true} if no gene has been changed.
+	 *
+	 * @return {@code true} if no gene has been changed
+	 */
+	public boolean isEmpty() {
+		return _positions.length == 0;
+	}
+
+	/**
+	 * Return the chromosome index of the changed gene with the given index.
+	 *
+	 * @param index the index of the changed gene, in the range
+	 *        {@code [0, size())}
+	 * @return the chromosome index of the changed gene
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public int chromosomeIndex(final int index) {
+		return (int)(_positions[index] >>> 32);
+	}
+
+	/**
+	 * Return the gene index, within its chromosome, of the changed gene with
+	 * the given index.
+	 *
+	 * @param index the index of the changed gene, in the range
+	 *        {@code [0, size())}
+	 * @return the gene index of the changed gene
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public int geneIndex(final int index) {
+		return (int)_positions[index];
+	}
+
+	/**
+	 * Return the indexes of the changed genes of the chromosome with the
+	 * given index, in ascending order.
+	 *
+	 * @param chromosomeIndex the chromosome index
+	 * @return the indexes of the changed genes of the given chromosome
+	 */
+	public IntStream geneIndexes(final int chromosomeIndex) {
+		return IntStream.range(0, _positions.length)
+			.filter(i -> chromosomeIndex(i) == chromosomeIndex)
+			.map(this::geneIndex);
+	}
+
+	/**
+	 * Test whether the gene at the given position has been changed.
+	 *
+	 * @param chromosomeIndex the chromosome index
+	 * @param geneIndex the gene index
+	 * @return {@code true} if the gene at the given position has been
+	 *         changed
+	 */
+	public boolean contains(final int chromosomeIndex, final int geneIndex) {
+		return Arrays.binarySearch(
+			_positions,
+			position(chromosomeIndex, geneIndex)
+		) >= 0;
+	}
+
+	/**
+	 * Return a new delta object, which contains the changed genes of
+	 * {@code this} and the {@code other} delta object.
+	 *
+	 * @param other the other delta object
+	 * @return the union of {@code this} and the {@code other} gene changes
+	 * @throws NullPointerException if the {@code other} delta is {@code null}
+	 */
+	public GenotypeDelta and(final GenotypeDelta other) {
+		requireNonNull(other);
+		if (other.isEmpty()) return this;
+		if (isEmpty()) return other;
+
+		final long[] positions = new long[size() + other.size()];
+		int i = 0, j = 0, n = 0;
+		while (i < _positions.length || j < other._positions.length) {
+			final long position;
+			if (j >= other._positions.length ||
+				i < _positions.length && _positions[i] <= other._positions[j])
+			{
+				position = _positions[i++];
+			} else {
+				position = other._positions[j++];
+			}
+			if (n == 0 || positions[n - 1] != position) {
+				positions[n++] = position;
+			}
+		}
+
+		return new GenotypeDelta(Arrays.copyOf(positions, n));
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(_positions);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return obj == this ||
+			obj instanceof GenotypeDelta &&
+			Arrays.equals(((GenotypeDelta)obj)._positions, _positions);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder out = new StringBuilder("[");
+		for (int i = 0; i < _positions.length; ++i) {
+			if (i > 0) out.append(", ");
+			out.append(format("(%d, %d)", chromosomeIndex(i), geneIndex(i)));
+		}
+		return out.append("]").toString();
+	}
+
+	private static long position(final int chromosomeIndex, final int geneIndex) {
+		if (chromosomeIndex < 0 || geneIndex < 0) {
+			throw new IllegalArgumentException(format(
+				"Gene position must not be negative: (%d, %d)",
+				chromosomeIndex, geneIndex
+			));
+		}
+		return (long)chromosomeIndex << 32 | geneIndex;
+	}
+
+	/**
+	 * Create a new delta object for the given gene indexes of the chromosome
+	 * with the given index.
+	 *
+	 * @param chromosomeIndex the index of the changed chromosome
+	 * @param geneIndexes the indexes of the changed genes
+	 * @return a new delta object
+	 * @throws IllegalArgumentException if one of the indexes is negative
+	 */
+	public static GenotypeDelta of(
+		final int chromosomeIndex,
+		final int... geneIndexes
+	) {
+		final long[] positions = new long[geneIndexes.length];
+		for (int i = 0; i < geneIndexes.length; ++i) {
+			positions[i] = position(chromosomeIndex, geneIndexes[i]);
+		}
+		Arrays.sort(positions);
+
+		int n = 0;
+		for (int i = 0; i < positions.length; ++i) {
+			if (n == 0 || positions[n - 1] != positions[i]) {
+				positions[n++] = positions[i];
+			}
+		}
+
+		return n > 0
+			? new GenotypeDelta(Arrays.copyOf(positions, n))
+			: EMPTY;
+	}
+
+	/**
+	 * Determines the changed genes of the {@code offspring} genotype,
+	 * compared to the {@code parent} genotype. Since genes and chromosomes
+	 * are immutable, unchanged genes are shared between the two genotypes.
+	 * The genes are therefore compared by reference first, which is cheap:
+	 * only the genes of changed chromosomes are compared, and the
+	 * {@code equals} method is only called for different gene references.
+	 * If the chromosome lengths differ, all positions behind the shorter
+	 * chromosome are treated as changed.
+	 *
+	 * @param parent the parent genotype
+	 * @param offspring the altered genotype
+	 * @param <G> the gene type
+	 * @return the changed gene positions
+	 * @throws NullPointerException if one of the genotypes is {@code null}
+	 */
+	public static <G extends Gene<?, G>> GenotypeDelta of(
+		final Genotype<G> parent,
+		final Genotype<G> offspring
+	) {
+		requireNonNull(parent);
+		requireNonNull(offspring);
+
+		long[] positions = new long[8];
+		int n = 0;
+		for (int i = 0, c = Math.max(parent.length(), offspring.length()); i < c; ++i) {
+			final Chromosome<G> ch1 = i < parent.length() ? parent.getChromosome(i) : null;
+			final Chromosome<G> ch2 = i < offspring.length() ? offspring.getChromosome(i) : null;
+			if (ch1 == ch2) continue;
+
+			final Seq<G> genes1 = ch1 != null ? ch1.toSeq() : null;
+			final Seq<G> genes2 = ch2 != null ? ch2.toSeq() : null;
+			final int length1 = genes1 != null ? genes1.length() : 0;
+			final int length2 = genes2 != null ? genes2.length() : 0;
+			for (int j = 0, l = Math.max(length1, length2); j < l; ++j) {
+				if (j >= length1 || j >= length2 ||
+					!isSame(genes1.get(j), genes2.get(j)))
+				{
+					if (n == positions.length) {
+						positions = Arrays.copyOf(positions, n*2);
+					}
+					positions[n++] = position(i, j);
+				}
+			}
+		}
+
+		return n > 0
+			? new GenotypeDelta(Arrays.copyOf(positions, n))
+			: EMPTY;
+	}
+
+	private static boolean isSame(final Object a, final Object b) {
+		return a == b || a.equals(b);
+	}
+
+}
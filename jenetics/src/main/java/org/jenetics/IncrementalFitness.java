@@ -0,0 +1,158 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.Function;
+
+/**
+ * Fitness function which is able to update the fitness value of a parent
+ * individual, given the gene positions which have been changed by the
+ * alterers, instead of evaluating the new individual from scratch. E.g. the
+ * fitness of a TSP tour, where two cities have been swapped, can be updated
+ * in constant time, by only looking at the edges adjacent to the swapped
+ * cities.
+ *
+ * <pre>{@code
+ * final IncrementalFitness<EnumGene<Integer>, Double> fitness =
+ *     IncrementalFitness.of(
+ *         gt -> length(gt),
+ *         (parent, length, gt, delta) -> delta.size() < 10
+ *             ? length + difference(parent, gt, delta)
+ *             : length(gt)
+ *     );
+ *
+ * final Engine<EnumGene<Integer>, Double> engine = Engine
+ *     .builder(fitness, PermutationChromosome.ofInteger(100))
+ *     .optimize(Optimize.MINIMUM)
+ *     .alterers(new SwapMutator<>())
+ *     .build();
+ * }</pre>
+ *
+ * The incremental update is used when a {@link Phenotype}, created with
+ * {@link Phenotype#newInstance(Genotype, long)} or
+ * {@link Phenotype#newInstance(Genotype, long, GenotypeDelta)}, is
+ * evaluated and its parent (or a not evaluated ancestor's parent) has
+ * already been evaluated. The new individuals of the initial population and
+ * evaluators which are calling the fitness function directly, like the
+ * {@link org.jenetics.engine.ProcessEvaluator} or evaluations with time
+ * limits, are using the full fitness evaluation,
+ * {@link #apply(Object)}. <em>The incremental update must return the same
+ * fitness value as the full evaluation.</em>
+ *
+ * @see GenotypeDelta
+ *
+ * @param <G> the gene type
+ * @param <C> the fitness value type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public interface IncrementalFitness<G extends Gene<?, G>, C>
+	extends Function<Genotype<G>, C>
+{
+
+	/**
+	 * Calculates the fitness of the given {@code genotype} from the fitness
+	 * of its {@code parent} genotype.
+	 *
+	 * @param parent the (evaluated) parent genotype
+	 * @param fitness the (raw) fitness value of the {@code parent}
+	 * @param genotype the genotype to evaluate
+	 * @param delta the gene positions where the {@code genotype} differs from
+	 *        the {@code parent}
+	 * @return the fitness value of the given {@code genotype}
+	 */
+	public C apply(
+		final Genotype<G> parent,
+		final C fitness,
+		final Genotype<G> genotype,
+		final GenotypeDelta delta
+	);
+
+	/**
+	 * The incremental fitness update function.
+	 *
+	 * @param <G> the gene type
+	 * @param <C> the fitness value type
+	 */
+	@FunctionalInterface
+	public static interface Update<G extends Gene<?, G>, C> {
+
+		/**
+		 * Calculates the fitness of the given {@code genotype} from the
+		 * fitness of its {@code parent} genotype.
+		 *
+		 * @param parent the (evaluated) parent genotype
+		 * @param fitness the (raw) fitness value of the {@code parent}
+		 * @param genotype the genotype to evaluate
+		 * @param delta the gene positions where the {@code genotype} differs
+		 *        from the {@code parent}
+		 * @return the fitness value of the given {@code genotype}
+		 */
+		public C apply(
+			final Genotype<G> parent,
+			final C fitness,
+			final Genotype<G> genotype,
+			final GenotypeDelta delta
+		);
+
+	}
+
+	/**
+	 * Create a new incremental fitness function from the given full
+	 * evaluation {@code function} and the incremental {@code update}
+	 * function.
+	 *
+	 * @param function the full fitness evaluation function
+	 * @param update the incremental fitness update function
+	 * @param <G> the gene type
+	 * @param <C> the fitness value type
+	 * @return a new incremental fitness function
+	 * @throws NullPointerException if one of the functions is {@code null}
+	 */
+	public static <G extends Gene<?, G>, C> IncrementalFitness<G, C> of(
+		final Function<? super Genotype<G>, ? extends C> function,
+		final Update<G, C> update
+	) {
+		requireNonNull(function);
+		requireNonNull(update);
+
+		return new IncrementalFitness<G, C>() {
+			@Override
+			public C apply(final Genotype<G> genotype) {
+				return function.apply(genotype);
+			}
+
+			@Override
+			public C apply(
+				final Genotype<G> parent,
+				final C fitness,
+				final Genotype<G> genotype,
+				final GenotypeDelta delta
+			) {
+				return update.apply(parent, fitness, genotype, delta);
+			}
+		};
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static org.jenetics.internal.math.random.indexes;
+
+import java.util.Random;
+
+import org.jenetics.internal.util.Equality;
+import org.jenetics.internal.util.Hash;
+
+import org.jenetics.util.MSeq;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * The {@code InversionMutator} reverses the order of the genes between two
+ * randomly chosen positions. For permutation encoded tours, the inversion is
+ * a <em>2-opt</em> move, which exchanges only two edges of the tour and
+ * keeps the rest of the adjacency information. This mutation operator can be
+ * used for combinatorial problems, where no duplicated genes within a
+ * chromosome are allowed, e.g. for the TSP.
+ *
+ * @see TwoOptMutator
+ * @see SwapMutator
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public class InversionMutator<
+	G extends Gene<?, G>,
+	C extends Comparable<? super C>
+>
+	extends Mutator<G, C>
+{
+
+	/**
+	 * Constructs an alterer with a given mutation probability.
+	 *
+	 * @param probability the mutation probability.
+	 * @throws IllegalArgumentException if the {@code probability} is not in the
+	 *          valid range of {@code [0, 1]}.
+	 */
+	public InversionMutator(final double probability) {
+		super(probability);
+	}
+
+	/**
+	 * Default constructor, with default mutation probability
+	 * ({@link AbstractAlterer#DEFAULT_ALTER_PROBABILITY}).
+	 */
+	public InversionMutator() {
+		this(DEFAULT_ALTER_PROBABILITY);
+	}
+
+	/**
+	 * Reverses the genes between the selected gene and a randomly chosen
+	 * second position, with the mutation probability of this mutation.
+	 */
+	@Override
+	protected int mutate(final MSeq<G> genes, final double p) {
+		final Random random = RandomRegistry.getRandom();
+
+		return genes.length() > 1
+			? (int)indexes(random, genes.length(), p)
+				.peek(i -> {
+					final int j = random.nextInt(genes.length());
+					reverse(genes, min(i, j), max(i, j) + 1);
+				})
+				.count()
+			: 0;
+	}
+
+	private static void reverse(final MSeq<?> genes, final int from, final int until) {
+		for (int i = from, j = until - 1; i < j; ++i, --j) {
+			genes.swap(i, j);
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return Hash.of(getClass()).and(super.hashCode()).value();
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return Equality.of(this, obj).test(super::equals);
+	}
+
+	@Override
+	public String toString() {
+		return format("%s[p=%f]", getClass().getSimpleName(), _probability);
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import static java.lang.String.format;
+
+import java.util.Random;
+
+import org.jenetics.internal.math.base;
+import org.jenetics.internal.math.permutation;
+import org.jenetics.internal.util.Equality;
+import org.jenetics.internal.util.Hash;
+
+import org.jenetics.util.ISeq;
+import org.jenetics.util.MSeq;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * The {@code OrderCrossover} (OX) preserves the relative order of the genes.
+ * A crossing region is chosen by selecting two crossing points. Each offspring
+ * keeps the crossing region of its own parent. The remaining positions,
+ * starting after the crossing region and wrapping around, are filled with the
+ * genes of the other parent, in the order they appear there.
+ * <pre>
+ *     C1 = 012|345|6789
+ *     C2 = 987|654|3210
+ * </pre>
+ * After performing the crossover we got the two chromosomes
+ * <pre>
+ *     C1 = 876|345|2109
+ *     C2 = 123|654|7890
+ * </pre>
+ *
+ * The crossover works on the allele indexes of the genes and needs linear
+ * time.
+ *
+ * <em>The {@code OrderCrossover} class requires chromosomes with the same
+ * length and the same valid alleles. An {@code IllegalArgumentException} is
+ * thrown at runtime if the lengths are different.</em> Partial permutations,
+ * which contain only some of the valid alleles, are supported. In this case
+ * the offspring may contain alleles which are only part of the other parent.
+ *
+ * @see PermutationChromosome
+ * @see PartiallyMatchedCrossover
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public final class OrderCrossover<T, C extends Comparable<? super C>>
+	extends Crossover<EnumGene<T>, C>
+{
+
+	/**
+	 * Create a new order crossover with the given crossover probability.
+	 *
+	 * @param probability the crossover probability
+	 * @throws IllegalArgumentException if the {@code probability} is not in the
+	 *         valid range of {@code [0, 1]}
+	 */
+	public OrderCrossover(final double probability) {
+		super(probability);
+	}
+
+	@Override
+	protected int crossover(
+		final MSeq<EnumGene<T>> that,
+		final MSeq<EnumGene<T>> other
+	) {
+		final ISeq<T> alleles = that.get(0).getValidAlleles();
+		final int[] indexes1 = EnumGeneMSeq.indexes(that);
+		final int[] indexes2 = EnumGeneMSeq.indexes(other);
+		checkLength(indexes1, indexes2);
+
+		if (that.length() >= 2) {
+			final Random random = RandomRegistry.getRandom();
+			final int[] points = base.subset(that.length(), 2, random);
+
+			permutation.ox(
+				indexes1, indexes2,
+				points[0], points[1],
+				alleles.length()
+			);
+
+			EnumGeneMSeq.set(that, indexes1, alleles);
+			EnumGeneMSeq.set(other, indexes2, alleles);
+		}
+
+		return 1;
+	}
+
+	static void checkLength(final int[] indexes1, final int[] indexes2) {
+		if (indexes1.length != indexes2.length) {
+			throw new IllegalArgumentException(format(
+				"Required chromosomes with same length: %s != %s",
+				indexes1.length, indexes2.length
+			));
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return Hash.of(getClass()).and(super.hashCode()).value();
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return Equality.of(this, obj).test(super::equals);
+	}
+
+	@Override
+	public String toString() {
+		return format("%s[p=%f]", getClass().getSimpleName(), _probability);
+	}
+
+}
@@ -19,14 +19,17 @@
  */
 package org.jenetics;
 
+import static java.lang.Math.max;
 import static java.lang.String.format;
 
 import java.util.Random;
 
 import org.jenetics.internal.math.base;
+import org.jenetics.internal.math.permutation;
 import org.jenetics.internal.util.Equality;
 import org.jenetics.internal.util.Hash;
 
+import org.jenetics.util.ISeq;
 import org.jenetics.util.MSeq;
 import org.jenetics.util.RandomRegistry;
 
@@ -67,15 +70,21 @@ import org.jenetics.util.RandomRegistry;
  *     C2 = 987|345|6210
  * </pre>
  *
+ * The crossover works on the allele indexes of the genes. Since the mapping
+ * of the exchanged values is injective, the repair step needs linear time.
+ *
  * <em>The {@code PartiallyMatchedCrossover} class requires chromosomes with the
  * same length. An {@code IllegalArgumentException} is thrown at runtime if this
  * requirement is not fulfilled.</em>
  *
  * @see PermutationChromosome
+ * @see OrderCrossover
+ * @see CycleCrossover
+ * @see EdgeRecombinationCrossover
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
  * @since 1.0
- * @version 3.6
+ * @version 4.0
  */
 public final class PartiallyMatchedCrossover<T, C extends Comparable<? super C>>
 	extends Crossover<EnumGene<T>, C>
@@ -101,32 +110,22 @@ public final class PartiallyMatchedCrossover<T, C extends Comparable<? super C>>
 			final Random random = RandomRegistry.getRandom();
 			final int[] points = base.subset(that.length(), 2, random);
 
-			that.swap(points[0], points[1], other, points[0]);
-			repair(that, other, points[0], points[1]);
-			repair(other, that, points[0], points[1]);
-		}
+			final ISeq<T> alleles1 = that.get(0).getValidAlleles();
+			final ISeq<T> alleles2 = other.get(0).getValidAlleles();
+			final int[] indexes1 = EnumGeneMSeq.indexes(that);
+			final int[] indexes2 = EnumGeneMSeq.indexes(other);
 
-		return 1;
-	}
+			permutation.pmx(
+				indexes1, indexes2,
+				points[0], points[1],
+				max(alleles1.length(), alleles2.length())
+			);
 
-	private static <T> void repair(
-		final MSeq<T> that, final MSeq<T> other,
-		final int begin, final int end
-	) {
-		for (int i = 0; i < begin; ++i) {
-			int index = that.indexOf(that.get(i), begin, end);
-			while (index != -1) {
-				that.set(i, other.get(index));
-				index = that.indexOf(that.get(i), begin, end);
-			}
-		}
-		for (int i = end, n = that.length(); i < n; ++i) {
-			int index = that.indexOf(that.get(i), begin, end);
-			while (index != -1) {
-				that.set(i, other.get(index));
-				index = that.indexOf(that.get(i), begin, end);
-			}
+			EnumGeneMSeq.set(that, indexes1, alleles1);
+			EnumGeneMSeq.set(other, indexes2, alleles2);
 		}
+
+		return 1;
 	}
 
 	@Override
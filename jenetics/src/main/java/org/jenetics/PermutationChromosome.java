@@ -26,10 +26,10 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
@@ -43,6 +43,7 @@ import javax.xml.bind.annotation.adapters.XmlAdapter;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 import org.jenetics.internal.math.base;
+import org.jenetics.internal.math.permutation;
 import org.jenetics.internal.util.Equality;
 import org.jenetics.internal.util.Hash;
 import org.jenetics.internal.util.array;
@@ -52,7 +53,6 @@ import org.jenetics.internal.util.require;
 
 import org.jenetics.util.ISeq;
 import org.jenetics.util.IntRange;
-import org.jenetics.util.MSeq;
 import org.jenetics.util.Seq;
 
 /**
@@ -82,9 +82,20 @@ import org.jenetics.util.Seq;
  * Usable {@link Alterer} for this chromosome:
  * <ul>
  *     <li>{@link PartiallyMatchedCrossover}</li>
+ *     <li>{@link OrderCrossover}</li>
+ *     <li>{@link CycleCrossover}</li>
+ *     <li>{@link EdgeRecombinationCrossover}</li>
  *     <li>{@link SwapMutator}</li>
+ *     <li>{@link InversionMutator}</li>
+ *     <li>{@link TwoOptMutator}</li>
  * </ul>
  * <p>
+ * The genes of the chromosomes, created by the factory methods and the
+ * alterers, are stored as {@code int[]} array of allele indexes. The
+ * {@link EnumGene} objects are shared between all chromosomes with the same
+ * valid alleles. The {@link #alleleIndex(int)} and {@link #indexOf(int)}
+ * methods give direct access to the allele indexes and their positions.
+ * <p>
  * <em><b>Implementation note 1:</b>
  * The factory methods of the {@link AbstractChromosome} has been overridden so
  * that no invalid permutation will be created.
@@ -113,7 +124,7 @@ import org.jenetics.util.Seq;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
  * @since 1.0
- * @version 3.4
+ * @version 4.0
  */
 @XmlJavaTypeAdapter(PermutationChromosome.Model.Adapter.class)
 public final class PermutationChromosome<T>
@@ -124,6 +135,9 @@ public final class PermutationChromosome<T>
 
 	private ISeq<T> _validAlleles;
 
+	// Lazily created inverse index: allele index -> gene index.
+	private transient int[] _positions;
+
 	// Private primary constructor.
 	private PermutationChromosome(
 		final ISeq<EnumGene<T>> genes,
@@ -167,19 +181,83 @@ public final class PermutationChromosome<T>
 	@Override
 	public boolean isValid() {
 		if (_valid == null) {
-			final byte[] check = bit.newArray(_validAlleles.length());
-			_valid = _genes.forAll(g -> !getAndSet(check, g.getAlleleIndex()));
+			if (_genes instanceof EnumGeneISeq) {
+				_valid = permutation.isValid(
+					EnumGeneMSeq.indexes(_genes),
+					_validAlleles.length()
+				);
+			} else {
+				final byte[] check = bit.newArray(_validAlleles.length());
+				_valid = _genes.forAll(g -> !getAndSet(check, g.getAlleleIndex()));
+			}
 		}
 
 		return _valid;
 	}
 
+	/**
+	 * Return the allele index of the gene with the given index. This method
+	 * doesn't create an {@link EnumGene} object.
+	 *
+	 * @since 4.0
+	 *
+	 * @param index the gene index
+	 * @return the allele index of the gene with the given {@code index}
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public int alleleIndex(final int index) {
+		return _genes instanceof EnumGeneISeq
+			? ((EnumGeneISeq<T>)_genes).alleleIndex(index)
+			: _genes.get(index).getAlleleIndex();
+	}
+
+	/**
+	 * Return the gene index (position) of the allele with the given allele
+	 * index. The inverse position index is created on the first call, after
+	 * that this method needs constant time.
+	 *
+	 * @since 4.0
+	 *
+	 * @param alleleIndex the allele index
+	 * @return the gene index of the given allele index, or {@code -1} if the
+	 *         allele is not part of this chromosome
+	 * @throws IndexOutOfBoundsException if the allele index is not in the range
+	 *         {@code [0, getValidAlleles().length())}
+	 */
+	public int indexOf(final int alleleIndex) {
+		int[] positions = _positions;
+		if (positions == null) {
+			final int[] indexes = EnumGeneMSeq.indexes(_genes);
+			positions = new int[_validAlleles.length()];
+			Arrays.fill(positions, -1);
+			for (int i = indexes.length; --i >= 0;) {
+				positions[indexes[i]] = i;
+			}
+			_positions = positions;
+		}
+
+		return positions[alleleIndex];
+	}
+
+	/**
+	 * Return the allele indexes of this chromosome, in gene order.
+	 *
+	 * @since 4.0
+	 *
+	 * @return a new array with the allele indexes of this chromosome
+	 */
+	public int[] toAlleleIndexes() {
+		return EnumGeneMSeq.indexes(_genes);
+	}
+
 	/**
 	 * Create a new, <em>random</em> chromosome.
 	 */
 	@Override
 	public PermutationChromosome<T> newInstance() {
-		return of(_validAlleles, length());
+		return _genes instanceof EnumGeneISeq
+			? of(((EnumGeneISeq<T>)_genes).table(), length())
+			: of(_validAlleles, length());
 	}
 
 	@Override
@@ -244,12 +322,64 @@ public final class PermutationChromosome<T>
 			));
 		}
 
-		final int[] subset = array.shuffle(base.subset(alleles.size(), length));
-		final ISeq<EnumGene<T>> genes = IntStream.of(subset)
-			.mapToObj(i -> EnumGene.<T>of(i, alleles))
-			.collect(ISeq.toISeq());
+		final ISeq<T> validAlleles = ISeq.upcast(alleles);
+		return of(EnumGeneStore.table(validAlleles), length);
+	}
+
+	private static <T> PermutationChromosome<T> of(
+		final EnumGene<T>[] table,
+		final int length
+	) {
+		final int[] subset = array.shuffle(base.subset(table.length, length));
+		return new PermutationChromosome<>(EnumGeneISeq.of(subset, table), true);
+	}
+
+	/**
+	 * Create a new chromosome with the given valid alleles and the given
+	 * gene order, defined by the allele indexes. If the given allele indexes
+	 * contain duplicates, the created chromosome will be invalid
+	 * ({@code ch.isValid() == false}).
+	 *
+	 * <pre>{@code
+	 * final ISeq<String> alleles = ISeq.of("a", "b", "c", "d");
+	 * final PermutationChromosome<String> ch =
+	 *     PermutationChromosome.of(alleles, new int[]{3, 1, 0, 2});
+	 * assert ch.toString().equals("d|b|a|c");
+	 * }</pre>
+	 *
+	 * @since 4.0
+	 *
+	 * @param <T> the allele type
+	 * @param alleles the base-set of the valid alleles
+	 * @param alleleIndexes the allele indexes of the genes
+	 * @return a new chromosome with the given gene order
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the allele indexes are empty or
+	 *         an allele index is not in the range {@code [0, alleles.size())}
+	 */
+	public static <T> PermutationChromosome<T> of(
+		final ISeq<? extends T> alleles,
+		final int[] alleleIndexes
+	) {
+		if (alleleIndexes.length == 0) {
+			throw new IllegalArgumentException(
+				"The allele indexes must contain at least one index."
+			);
+		}
+		for (int index : alleleIndexes) {
+			if (index < 0 || index >= alleles.size()) {
+				throw new IllegalArgumentException(format(
+					"Allele index %d is not in range [0, %d).",
+					index, alleles.size()
+				));
+			}
+		}
 
-		return new PermutationChromosome<>(genes, true);
+		final ISeq<T> validAlleles = ISeq.upcast(alleles);
+		return new PermutationChromosome<>(
+			EnumGeneISeq.of(alleleIndexes.clone(), validAlleles),
+			null
+		);
 	}
 
 	/**
@@ -365,12 +495,12 @@ public final class PermutationChromosome<T>
 
 		_validAlleles = (ISeq<T>)in.readObject();
 
-		final MSeq<EnumGene<T>> genes = MSeq.ofLength(_validAlleles.length());
-		for (int i = 0; i < _validAlleles.length(); ++i) {
-			genes.set(i, new EnumGene<>(in.readInt(), _validAlleles));
+		final int[] indexes = new int[_validAlleles.length()];
+		for (int i = 0; i < indexes.length; ++i) {
+			indexes[i] = in.readInt();
 		}
 
-		_genes = genes.toISeq();
+		_genes = EnumGeneISeq.of(indexes, _validAlleles);
 	}
 
 	/* *************************************************************************
@@ -60,10 +60,16 @@ import org.jenetics.util.Verifiable;
  * Since the {@code Phenotype} implements the {@link Runnable} interface, it is
  * easily possible to perform the fitness function evaluation concurrently, by
  * putting it into an {@link java.util.concurrent.ExecutorService}.
+ * <p>
+ * If the fitness function is an {@link IncrementalFitness} function, the
+ * phenotypes created with the {@code newInstance(Genotype, ...)} methods
+ * remember the genotype and fitness value of their last evaluated ancestor.
+ * The fitness of the new phenotype is then calculated from the ancestor's
+ * fitness and the changed gene positions.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
  * @since 1.0
- * @version 3.7
+ * @version 4.0
  */
 @XmlJavaTypeAdapter(Phenotype.Model.Adapter.class)
 public final class Phenotype<
@@ -87,6 +93,9 @@ public final class Phenotype<
 	private final Lazy<C> _rawFitness;
 	private final Lazy<C> _fitness;
 
+	// The evaluated ancestor, used for incremental fitness evaluation.
+	private final transient Base<G, C> _base;
+
 	/**
 	 * Create a new phenotype from the given arguments.
 	 *
@@ -103,6 +112,18 @@ public final class Phenotype<
 		final long generation,
 		final Function<? super Genotype<G>, ? extends C> function,
 		final Function<? super C, ? extends C> scaler
+	) {
+		this(genotype, generation, function, scaler, null, null);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Phenotype(
+		final Genotype<G> genotype,
+		final long generation,
+		final Function<? super Genotype<G>, ? extends C> function,
+		final Function<? super C, ? extends C> scaler,
+		final Lazy<C> rawFitness,
+		final Base<G, C> base
 	) {
 		_genotype = requireNonNull(genotype, "Genotype");
 		_function = requireNonNull(function, "Fitness function");
@@ -114,7 +135,19 @@ public final class Phenotype<
 		}
 		_generation = generation;
 
-		_rawFitness = Lazy.of(() -> _function.apply(_genotype));
+		_base = rawFitness == null && function instanceof IncrementalFitness
+			? base
+			: null;
+
+		if (rawFitness != null) {
+			_rawFitness = rawFitness;
+		} else if (_base != null) {
+			final IncrementalFitness<G, C> incremental =
+				(IncrementalFitness<G, C>)(Object)_function;
+			_rawFitness = Lazy.of(() -> _base.apply(incremental, _genotype));
+		} else {
+			_rawFitness = Lazy.of(() -> _function.apply(_genotype));
+		}
 		_fitness = Lazy.of(() -> _scaler.apply(_rawFitness.get()));
 	}
 
@@ -140,6 +173,19 @@ public final class Phenotype<
 		return this;
 	}
 
+	/**
+	 * Test whether the fitness function of {@code this} phenotype has already
+	 * been evaluated.
+	 *
+	 * @since 4.0
+	 *
+	 * @return {@code true} if the (raw) fitness value has already been
+	 *         calculated, {@code false} otherwise
+	 */
+	public boolean isEvaluated() {
+		return _rawFitness.isEvaluated();
+	}
+
 	/**
 	 * This method simply calls the {@link #evaluate()} method. The purpose of
 	 * this method is to have a simple way for concurrent fitness calculation
@@ -260,7 +306,7 @@ public final class Phenotype<
 	 * @throws NullPointerException if the given {@code genotype} is {@code null}.
 	 */
 	public Phenotype<G, C> newInstance(final Genotype<G> genotype) {
-		return of(genotype, _generation, _function, _scaler);
+		return newInstance(genotype, _generation);
 	}
 
 	/**
@@ -278,7 +324,85 @@ public final class Phenotype<
 		final Genotype<G> genotype,
 		final long generation
 	) {
-		return of(genotype, generation, _function, _scaler);
+		return new Phenotype<>(
+			genotype,
+			generation,
+			_function,
+			_scaler,
+			null,
+			base(null)
+		);
+	}
+
+	/**
+	 * Factory method for creating a new {@link Phenotype} with the same
+	 * {@link Function} as this {@link Phenotype}. The given {@code delta}
+	 * contains the gene positions where the new {@code genotype} differs
+	 * from the genotype of {@code this} phenotype. It is passed to the
+	 * fitness function, if it is an {@link IncrementalFitness} function and
+	 * {@code this} phenotype has already been evaluated. Otherwise, the
+	 * {@code delta} is ignored.
+	 *
+	 * @since 4.0
+	 *
+	 * @param genotype the new genotype of the new phenotype.
+	 * @param generation date of birth (generation) of the new phenotype.
+	 * @param delta the changed gene positions of the new {@code genotype}
+	 * @return New {@link Phenotype} with the same fitness {@link Function}.
+	 * @throws NullPointerException if the {@code genotype} or the
+	 *         {@code delta} is {@code null}.
+	 */
+	public Phenotype<G, C> newInstance(
+		final Genotype<G> genotype,
+		final long generation,
+		final GenotypeDelta delta
+	) {
+		requireNonNull(delta, "Genotype delta");
+		return new Phenotype<>(
+			genotype,
+			generation,
+			_function,
+			_scaler,
+			null,
+			base(delta)
+		);
+	}
+
+	// Return the base for the incremental evaluation of a child phenotype.
+	private Base<G, C> base(final GenotypeDelta delta) {
+		if (!(_function instanceof IncrementalFitness)) {
+			return null;
+		}
+
+		return isEvaluated()
+			? new Base<>(_genotype, getRawFitness(), delta)
+			: _base != null
+				? _base.next()
+				: null;
+	}
+
+	/**
+	 * Return a new phenotype with the same genotype, generation, fitness
+	 * function and fitness scaler as {@code this} phenotype, but with the
+	 * given <em>raw</em> fitness value. The fitness function is not called
+	 * for the returned phenotype. This method is used for assigning fitness
+	 * values which are calculated elsewhere, e.g. the penalty fitness of an
+	 * individual whose evaluation has timed out.
+	 *
+	 * @since 4.0
+	 *
+	 * @param rawFitness the raw fitness value of the new phenotype
+	 * @return a new phenotype with the given raw fitness value
+	 */
+	public Phenotype<G, C> withFitness(final C rawFitness) {
+		return new Phenotype<>(
+			_genotype,
+			_generation,
+			_function,
+			_scaler,
+			Lazy.ofValue(rawFitness),
+			null
+		);
 	}
 
 	/**
@@ -379,6 +503,64 @@ public final class Phenotype<
 	}
 
 
+	/**
+	 * The evaluated ancestor of a not yet evaluated phenotype. The references
+	 * are released after the evaluation, so that the ancestor's genotype is
+	 * not kept alive by its offspring.
+	 */
+	private static final class Base<
+		G extends Gene<?, G>,
+		C extends Comparable<? super C>
+	> {
+		private Genotype<G> _genotype;
+		private C _fitness;
+		private GenotypeDelta _delta;
+
+		Base(
+			final Genotype<G> genotype,
+			final C fitness,
+			final GenotypeDelta delta
+		) {
+			_genotype = requireNonNull(genotype);
+			_fitness = fitness;
+			_delta = delta;
+		}
+
+		// Return the base for the offspring of a not evaluated phenotype.
+		synchronized Base<G, C> next() {
+			return _genotype != null
+				? new Base<>(_genotype, _fitness, null)
+				: null;
+		}
+
+		// The fitness function is called outside the monitor, since it may
+		// block for a long time.
+		C apply(
+			final IncrementalFitness<G, C> function,
+			final Genotype<G> genotype
+		) {
+			final Genotype<G> base;
+			final C fitness;
+			final GenotypeDelta delta;
+			synchronized (this) {
+				base = _genotype;
+				fitness = _fitness;
+				delta = _delta;
+				_genotype = null;
+				_fitness = null;
+				_delta = null;
+			}
+
+			return function.apply(
+				base,
+				fitness,
+				genotype,
+				delta != null ? delta : GenotypeDelta.of(base, genotype)
+			);
+		}
+	}
+
+
 	/* *************************************************************************
 	 *  Java object serialization
 	 * ************************************************************************/
@@ -0,0 +1,199 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static org.jenetics.internal.math.random.indexes;
+import static org.jenetics.internal.util.Equality.eq;
+
+import java.util.Random;
+import java.util.function.ToDoubleBiFunction;
+
+import org.jenetics.internal.util.Equality;
+import org.jenetics.internal.util.Hash;
+
+import org.jenetics.util.ISeq;
+import org.jenetics.util.MSeq;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * The {@code TwoOptMutator} performs improving <em>2-opt</em> moves on
+ * permutation encoded, closed tours. For every selected gene, a second
+ * position is chosen randomly and the tour between the two positions is
+ * reversed, if this shortens the tour. Only the two replaced edges are
+ * evaluated, with the given {@code distance} function, which makes the
+ * test of a move a constant time operation. Of the two equivalent
+ * reversals of a closed tour, the shorter one is performed.
+ *
+ * <pre>{@code
+ * final double[][] adjacence = ...;
+ * final Engine<EnumGene<Integer>, Double> engine = Engine
+ *     .builder(fitness, PermutationChromosome.ofInteger(adjacence.length))
+ *     .optimize(Optimize.MINIMUM)
+ *     .alterers(
+ *         new TwoOptMutator<>((a, b) -> adjacence[a][b], 0.05),
+ *         new EdgeRecombinationCrossover<>(0.3))
+ *     .build();
+ * }</pre>
+ *
+ * @see InversionMutator
+ *
+ * @param <T> the allele type
+ * @param <C> the fitness type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public class TwoOptMutator<T, C extends Comparable<? super C>>
+	extends Mutator<EnumGene<T>, C>
+{
+
+	private final ToDoubleBiFunction<? super T, ? super T> _distance;
+
+	/**
+	 * Constructs an alterer with a given distance function and mutation
+	 * probability.
+	 *
+	 * @param distance the distance function between two (adjacent) alleles
+	 * @param probability the mutation probability.
+	 * @throws NullPointerException if the {@code distance} function is
+	 *         {@code null}
+	 * @throws IllegalArgumentException if the {@code probability} is not in the
+	 *          valid range of {@code [0, 1]}.
+	 */
+	public TwoOptMutator(
+		final ToDoubleBiFunction<? super T, ? super T> distance,
+		final double probability
+	) {
+		super(probability);
+		_distance = requireNonNull(distance);
+	}
+
+	/**
+	 * Constructs an alterer with a given distance function and the default
+	 * mutation probability ({@link AbstractAlterer#DEFAULT_ALTER_PROBABILITY}).
+	 *
+	 * @param distance the distance function between two (adjacent) alleles
+	 * @throws NullPointerException if the {@code distance} function is
+	 *         {@code null}
+	 */
+	public TwoOptMutator(final ToDoubleBiFunction<? super T, ? super T> distance) {
+		this(distance, DEFAULT_ALTER_PROBABILITY);
+	}
+
+	/**
+	 * Return the distance function used by this mutator.
+	 *
+	 * @return the distance function used by this mutator
+	 */
+	public ToDoubleBiFunction<? super T, ? super T> getDistance() {
+		return _distance;
+	}
+
+	@Override
+	protected int mutate(final MSeq<EnumGene<T>> genes, final double p) {
+		if (genes.length() < 4) return 0;
+
+		final Random random = RandomRegistry.getRandom();
+		final ISeq<T> alleles = genes.get(0).getValidAlleles();
+		final int[] tour = EnumGeneMSeq.indexes(genes);
+
+		final int moves = (int)indexes(random, tour.length, p)
+			.filter(i -> move(tour, alleles, i, random.nextInt(tour.length)))
+			.count();
+
+		if (moves > 0) {
+			EnumGeneMSeq.set(genes, tour, alleles);
+		}
+		return moves;
+	}
+
+	// Reverses the tour between the positions i and j, if it gets shorter.
+	private boolean move(
+		final int[] tour,
+		final ISeq<T> alleles,
+		final int i,
+		final int j
+	) {
+		final int n = tour.length;
+		final int from = min(i, j);
+		final int to = max(i, j);
+		if (to - from < 1 || to - from >= n - 2) {
+			return false;
+		}
+
+		final T a = alleles.get(tour[(from - 1 + n)%n]);
+		final T b = alleles.get(tour[from]);
+		final T c = alleles.get(tour[to]);
+		final T d = alleles.get(tour[(to + 1)%n]);
+
+		final double delta =
+			_distance.applyAsDouble(a, c) + _distance.applyAsDouble(b, d) -
+			_distance.applyAsDouble(a, b) - _distance.applyAsDouble(c, d);
+
+		if (delta < 0) {
+			// Reversing the complement gives the same (closed) tour.
+			if (2*(to - from + 1) <= n) {
+				reverse(tour, from, to - from + 1);
+			} else {
+				reverse(tour, to + 1, n - (to - from + 1));
+			}
+			return true;
+		}
+
+		return false;
+	}
+
+	// Reverses the given number of elements, starting at the given position
+	// and wrapping around.
+	private static void reverse(final int[] tour, final int start, final int count) {
+		final int n = tour.length;
+		for (int i = start, j = start + count - 1; i < j; ++i, --j) {
+			final int temp = tour[i%n];
+			tour[i%n] = tour[j%n];
+			tour[j%n] = temp;
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return Hash.of(getClass())
+			.and(super.hashCode())
+			.and(_distance).value();
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return Equality.of(this, obj).test(mutator ->
+			eq(_distance, mutator._distance) &&
+			super.equals(obj)
+		);
+	}
+
+	@Override
+	public String toString() {
+		return format("%s[p=%f]", getClass().getSimpleName(), _probability);
+	}
+
+}
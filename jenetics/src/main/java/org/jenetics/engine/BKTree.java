@@ -0,0 +1,254 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+import org.jenetics.util.Seq;
+
+/**
+ * <em>Burkhard-Keller</em> tree for integral metric distances, like the
+ * Hamming distance. Every element is a node of the tree; the children of a
+ * node have pairwise different distances to it. The children are stored as
+ * linked sibling list, which makes the tree independent of the range of the
+ * distance values. The distances are calculated on precomputed element
+ * keys.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class BKTree<T, K> implements SpatialIndex<T> {
+
+	private final Function<? super T, ? extends K> _key;
+	private final ToIntBiFunction<? super K, ? super K> _distance;
+	private final int _checks;
+	private final Object[] _keys;
+
+	// The distance of a node to its parent, its first child and its next
+	// sibling. The root of the tree is the first element.
+	private final int[] _distances;
+	private final int[] _children;
+	private final int[] _siblings;
+
+	BKTree(
+		final Seq<? extends T> elements,
+		final Function<? super T, ? extends K> key,
+		final ToIntBiFunction<? super K, ? super K> distance,
+		final int checks
+	) {
+		_key = requireNonNull(key);
+		_distance = requireNonNull(distance);
+		_checks = checks;
+		_keys = new Object[elements.size()];
+		_distances = new int[elements.size()];
+		_children = new int[elements.size()];
+		_siblings = new int[elements.size()];
+
+		Arrays.fill(_children, -1);
+		Arrays.fill(_siblings, -1);
+		for (int i = 0; i < _keys.length; ++i) {
+			_keys[i] = key.apply(elements.get(i));
+			if (i > 0) {
+				insert(i);
+			}
+		}
+	}
+
+	private void insert(final int index) {
+		@SuppressWarnings("unchecked")
+		final K key = (K)_keys[index];
+
+		int node = 0;
+		while (true) {
+			final int distance = distance(key, node);
+
+			int child = _children[node];
+			while (child != -1 && _distances[child] != distance) {
+				child = _siblings[child];
+			}
+
+			if (child == -1) {
+				_distances[index] = distance;
+				_siblings[index] = _children[node];
+				_children[node] = index;
+				return;
+			}
+			node = child;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private int distance(final K key, final int node) {
+		return _distance.applyAsInt(key, (K)_keys[node]);
+	}
+
+	@Override
+	public int size() {
+		return _keys.length;
+	}
+
+	/*
+	 * The nodes are visited in the order of their distance lower bound
+	 * (best-first). The search stops, if the lower bound of the next node is
+	 * not smaller than the current k-th distance, or if the maximal number
+	 * of distance calculations is reached.
+	 */
+	@Override
+	public int[] nearest(final T point, final int k) {
+		final K key = _key.apply(requireNonNull(point));
+		if (k < 0) {
+			throw new IllegalArgumentException(format(
+				"Number of neighbours must not be negative: %d", k
+			));
+		}
+
+		final NeighbourHeap heap = new NeighbourHeap(Math.min(k, size()));
+		if (k > 0 && size() > 0) {
+			final Queue queue = new Queue();
+			queue.add(0, 0);
+
+			int checks = 0;
+			while (!queue.isEmpty() && checks++ < _checks) {
+				final int bound = queue.bound();
+				if (bound >= heap.bound()) break;
+
+				final int node = queue.remove();
+				final int distance = distance(key, node);
+				heap.add(node, distance);
+
+				for (int c = _children[node]; c != -1; c = _siblings[c]) {
+					final int lower = Math.max(
+						bound,
+						Math.abs(_distances[c] - distance)
+					);
+					if (lower < heap.bound()) {
+						queue.add(c, lower);
+					}
+				}
+			}
+		}
+
+		return heap.toIndexes();
+	}
+
+	@Override
+	public void within(
+		final T point,
+		final double radius,
+		final Neighbour consumer
+	) {
+		final K key = _key.apply(requireNonNull(point));
+		requireNonNull(consumer);
+		if (radius < 0) {
+			throw new IllegalArgumentException(format(
+				"Radius must not be negative: %f", radius
+			));
+		}
+
+		if (size() > 0) {
+			int[] stack = new int[64];
+			int top = 0;
+			stack[top++] = 0;
+
+			while (top > 0) {
+				final int node = stack[--top];
+				final int distance = distance(key, node);
+				if (distance <= radius) {
+					consumer.accept(node, distance);
+				}
+
+				for (int c = _children[node]; c != -1; c = _siblings[c]) {
+					if (Math.abs(_distances[c] - distance) <= radius) {
+						if (top == stack.length) {
+							stack = Arrays.copyOf(stack, top*2);
+						}
+						stack[top++] = c;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Growing min-heap of nodes, ordered by their distance lower bound.
+	 */
+	private static final class Queue {
+		private int[] _nodes = new int[64];
+		private int[] _bounds = new int[64];
+		private int _size = 0;
+
+		boolean isEmpty() {
+			return _size == 0;
+		}
+
+		int bound() {
+			return _bounds[0];
+		}
+
+		void add(final int node, final int bound) {
+			if (_size == _nodes.length) {
+				_nodes = Arrays.copyOf(_nodes, _size*2);
+				_bounds = Arrays.copyOf(_bounds, _size*2);
+			}
+
+			int i = _size++;
+			while (i > 0) {
+				final int parent = (i - 1) >>> 1;
+				if (_bounds[parent] <= bound) break;
+
+				_nodes[i] = _nodes[parent];
+				_bounds[i] = _bounds[parent];
+				i = parent;
+			}
+			_nodes[i] = node;
+			_bounds[i] = bound;
+		}
+
+		int remove() {
+			final int result = _nodes[0];
+			final int node = _nodes[--_size];
+			final int bound = _bounds[_size];
+
+			int i = 0;
+			int child;
+			while ((child = 2*i + 1) < _size) {
+				if (child + 1 < _size && _bounds[child + 1] < _bounds[child]) {
+					++child;
+				}
+				if (_bounds[child] >= bound) break;
+
+				_nodes[i] = _nodes[child];
+				_bounds[i] = _bounds[child];
+				i = child;
+			}
+			_nodes[i] = node;
+			_bounds[i] = bound;
+
+			return result;
+		}
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Signals the cancellation of a running evolution step. The cancellation
+ * conditions are derived from the limiting predicates of the evolution
+ * stream, which can be tested without an evolution result, e.g. the
+ * {@link limit#byExecutionTime(java.time.Duration)} predicate. The engine
+ * polls the cancellation while evaluating the population and stops the
+ * evaluation, if the evolution stream is going to be truncated anyway.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class Cancellation {
+
+	/**
+	 * Cancellation object which is never cancelled.
+	 */
+	static final Cancellation NONE = new Cancellation(new BooleanSupplier[0]);
+
+	private final BooleanSupplier[] _conditions;
+
+	private Cancellation(final BooleanSupplier[] conditions) {
+		_conditions = conditions;
+	}
+
+	/**
+	 * Return {@code true} if the running evolution step should be cancelled.
+	 *
+	 * @return {@code true} if the running evolution step should be cancelled
+	 */
+	boolean isCancelled() {
+		for (BooleanSupplier condition : _conditions) {
+			if (condition.getAsBoolean()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return {@code true} if {@code this} cancellation object can't be
+	 * cancelled at all.
+	 *
+	 * @return {@code true} if {@code this} object is never cancelled
+	 */
+	boolean isNone() {
+		return _conditions.length == 0;
+	}
+
+	/**
+	 * Return a new cancellation object, which is also cancelled if the given
+	 * {@code condition} becomes {@code true}.
+	 *
+	 * @param condition the additional cancellation condition
+	 * @return a new cancellation object
+	 */
+	Cancellation or(final BooleanSupplier condition) {
+		requireNonNull(condition);
+
+		final BooleanSupplier[] conditions =
+			Arrays.copyOf(_conditions, _conditions.length + 1);
+		conditions[_conditions.length] = condition;
+
+		return new Cancellation(conditions);
+	}
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.jenetics.Gene;
+import org.jenetics.Genotype;
+import org.jenetics.Optimize;
+import org.jenetics.Phenotype;
+import org.jenetics.Population;
+import org.jenetics.Selector;
+import org.jenetics.util.ISeq;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * Selector which implements <em>crowding</em> by restricting the tournaments
+ * to the neighbourhood of a randomly chosen individual. For every selection
+ * an individual is drawn at random and the best individual of its
+ * {@code nicheSize} nearest neighbours, the individual included, wins. An
+ * individual can therefore only win against similar individuals, which
+ * preserves the niches of the population, instead of letting the globally
+ * best individual take over.
+ * <p>
+ * The neighbours are found with an approximate {@link SpatialIndex}, which
+ * performs at most 1024 distance calculations per niche. This makes the
+ * selection sub-quadratic in the population size.
+ *
+ * <pre>{@code
+ * final Engine<BitGene, Integer> engine = Engine
+ *     .builder(fitness, BitChromosome.of(100))
+ *     .survivorsSelector(new CrowdingSelector<BitGene, Integer>(Distance.hamming(), 5))
+ *     .build();
+ * }</pre>
+ *
+ * @see SharingSelector
+ *
+ * @param <G> the gene type
+ * @param <C> the fitness type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public class CrowdingSelector<
+	G extends Gene<?, G>,
+	C extends Comparable<? super C>
+>
+	implements Selector<G, C>
+{
+
+	// Maximal number of distance calculations of one nearest-neighbour query.
+	private static final int CHECKS = 1024;
+
+	private final Distance<? super Genotype<G>> _distance;
+	private final int _nicheSize;
+
+	/**
+	 * Create a new crowding selector.
+	 *
+	 * @param distance the distance function of the genotypes
+	 * @param nicheSize the number of neighbours which take part in one
+	 *        tournament
+	 * @throws NullPointerException if the {@code distance} is {@code null}
+	 * @throws IllegalArgumentException if the niche size is smaller than two
+	 */
+	public CrowdingSelector(
+		final Distance<? super Genotype<G>> distance,
+		final int nicheSize
+	) {
+		if (nicheSize < 2) {
+			throw new IllegalArgumentException(
+				"Niche size must be greater than one, but was " + nicheSize
+			);
+		}
+
+		_distance = requireNonNull(distance);
+		_nicheSize = nicheSize;
+	}
+
+	/**
+	 * Create a new crowding selector with niche size five.
+	 *
+	 * @param distance the distance function of the genotypes
+	 * @throws NullPointerException if the {@code distance} is {@code null}
+	 */
+	public CrowdingSelector(final Distance<? super Genotype<G>> distance) {
+		this(distance, 5);
+	}
+
+	@Override
+	public Population<G, C> select(
+		final Population<G, C> population,
+		final int count,
+		final Optimize opt
+	) {
+		requireNonNull(population, "Population");
+		requireNonNull(opt, "Optimization");
+		if (count < 0) {
+			throw new IllegalArgumentException(format(
+				"Selection count must be greater or equal then zero, but was %s",
+				count
+			));
+		}
+
+		final Population<G, C> selection = new Population<>(count);
+		if (!population.isEmpty() && count > 0) {
+			final ISeq<Genotype<G>> genotypes = population.stream()
+				.map(Phenotype::getGenotype)
+				.collect(ISeq.toISeq());
+			final SpatialIndex<Genotype<G>> index =
+				SpatialIndex.of(genotypes, _distance, CHECKS);
+
+			// The niche winners are cached, since the same individual is
+			// usually drawn more than once.
+			final int[] winners = new int[population.size()];
+			Arrays.fill(winners, -1);
+
+			final Random random = RandomRegistry.getRandom();
+			for (int i = 0; i < count; ++i) {
+				final int center = random.nextInt(population.size());
+				if (winners[center] == -1) {
+					winners[center] = winner(
+						index.nearest(genotypes.get(center), _nicheSize),
+						population,
+						opt
+					);
+				}
+				selection.add(population.get(winners[center]));
+			}
+		}
+
+		return selection;
+	}
+
+	private int winner(
+		final int[] niche,
+		final Population<G, C> population,
+		final Optimize opt
+	) {
+		int winner = niche[0];
+		for (int i = 1; i < niche.length; ++i) {
+			if (opt.compare(
+					population.get(niche[i]).getFitness(),
+					population.get(winner).getFitness()) > 0)
+			{
+				winner = niche[i];
+			}
+		}
+		return winner;
+	}
+
+	@Override
+	public String toString() {
+		return format("%s[n=%d]", getClass().getSimpleName(), _nicheSize);
+	}
+
+}
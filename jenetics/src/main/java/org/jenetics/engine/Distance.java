@@ -0,0 +1,91 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import org.jenetics.Gene;
+import org.jenetics.Genotype;
+import org.jenetics.NumericGene;
+
+/**
+ * Distance function between two objects, usually genotypes. The distance is
+ * used for measuring the similarity of individuals, e.g. for the
+ * <em>niching</em> selectors, {@link SharingSelector} and
+ * {@link CrowdingSelector}, and for the population {@link Diversity}. The
+ * neighbour searches of the {@link SpatialIndex} requires the distance to be
+ * a <em>metric</em>: it must be non-negative, symmetric and must fulfill the
+ * triangle inequality.
+ *
+ * <pre>{@code
+ * final Distance<Genotype<DoubleGene>> distance = Distance.euclidean();
+ * final double d = distance.distance(gt1, gt2);
+ * }</pre>
+ *
+ * @see SpatialIndex
+ *
+ * @param <T> the type of the measured objects
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+@FunctionalInterface
+public interface Distance<T> {
+
+	/**
+	 * Return the distance of the two given objects.
+	 *
+	 * @param a the first object
+	 * @param b the second object
+	 * @return the non-negative distance of the two objects
+	 * @throws NullPointerException if one of the objects is {@code null}
+	 */
+	public double distance(final T a, final T b);
+
+
+	/**
+	 * Return the euclidean distance of numeric genotypes, where the gene
+	 * values of all chromosomes are treated as one coordinate vector.
+	 * Indexes of this distance function are implemented as <em>k-d</em>
+	 * tree.
+	 *
+	 * @see Surrogate#euclidean(Genotype, Genotype)
+	 *
+	 * @param <G> the numeric gene type
+	 * @return the euclidean distance of numeric genotypes
+	 */
+	public static <G extends NumericGene<?, G>>
+	Distance<Genotype<G>> euclidean() {
+		return EuclideanDistance.instance();
+	}
+
+	/**
+	 * Return the <em>Hamming</em> distance of genotypes, which is the number
+	 * of gene positions with different alleles. This distance is suitable for
+	 * bit, character and permutation chromosomes. Indexes of this distance
+	 * function are implemented as <em>BK</em> tree.
+	 *
+	 * @param <G> the gene type
+	 * @return the Hamming distance of genotypes
+	 */
+	public static <G extends Gene<?, G>> Distance<Genotype<G>> hamming() {
+		return HammingDistance.instance();
+	}
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import org.jenetics.Fingerprint;
+import org.jenetics.Gene;
+import org.jenetics.Genotype;
+import org.jenetics.stat.DoubleMomentStatistics;
+import org.jenetics.stat.DoubleMoments;
+import org.jenetics.util.Seq;
+
+/**
+ * Diversity statistics of a population. The diversity is measured by the
+ * number of structurally different genotypes and by the distance of every
+ * genotype to its nearest neighbour in the population. The nearest
+ * neighbours are found with an approximate {@link SpatialIndex}, which
+ * performs at most 1024 distance calculations per genotype. This makes the
+ * calculation sub-quadratic in the population size.
+ *
+ * <pre>{@code
+ * final Diversity diversity = result.getDiversity(Distance.euclidean());
+ * final double spread = diversity.getNearestNeighbourDistances().getMean();
+ * }</pre>
+ *
+ * @see EvolutionResult#getDiversity(Distance)
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public final class Diversity implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	// Maximal number of distance calculations of one nearest-neighbour query.
+	private static final int CHECKS = 1024;
+
+	private final int _size;
+	private final int _distinctCount;
+	private final DoubleMoments _nearestNeighbourDistances;
+
+	private Diversity(
+		final int size,
+		final int distinctCount,
+		final DoubleMoments nearestNeighbourDistances
+	) {
+		_size = size;
+		_distinctCount = distinctCount;
+		_nearestNeighbourDistances = requireNonNull(nearestNeighbourDistances);
+	}
+
+	/**
+	 * Return the number of measured genotypes.
+	 *
+	 * @return the number of measured genotypes
+	 */
+	public int getSize() {
+		return _size;
+	}
+
+	/**
+	 * Return the number of distinct genotypes, according to their
+	 * {@link Fingerprint}.
+	 *
+	 * @return the number of distinct genotypes
+	 */
+	public int getDistinctCount() {
+		return _distinctCount;
+	}
+
+	/**
+	 * Return the ratio of distinct genotypes, a value within the range
+	 * {@code [0, 1]}.
+	 *
+	 * @return the ratio of distinct genotypes
+	 */
+	public double getDistinctRatio() {
+		return _size > 0 ? (double)_distinctCount/_size : 0.0;
+	}
+
+	/**
+	 * Return the statistical moments of the distances of every genotype to
+	 * its nearest neighbour. A mean value near zero indicates a converged
+	 * population.
+	 *
+	 * @return the statistics of the nearest-neighbour distances
+	 */
+	public DoubleMoments getNearestNeighbourDistances() {
+		return _nearestNeighbourDistances;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 17;
+		hash += 31*_size + 17;
+		hash += 31*_distinctCount + 17;
+		hash += 31*_nearestNeighbourDistances.hashCode() + 17;
+		return hash;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return obj instanceof Diversity &&
+			_size == ((Diversity)obj)._size &&
+			_distinctCount == ((Diversity)obj)._distinctCount &&
+			Objects.equals(
+				_nearestNeighbourDistances,
+				((Diversity)obj)._nearestNeighbourDistances
+			);
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"Diversity[size=%d, distinct=%d, nearest=%s]",
+			_size, _distinctCount, _nearestNeighbourDistances
+		);
+	}
+
+	/**
+	 * Calculates the diversity statistics of the given genotypes.
+	 *
+	 * @param genotypes the genotypes to measure
+	 * @param distance the (metric) distance function of the genotypes
+	 * @param <G> the gene type
+	 * @return the diversity of the given genotypes
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public static <G extends Gene<?, G>> Diversity of(
+		final Seq<? extends Genotype<G>> genotypes,
+		final Distance<? super Genotype<G>> distance
+	) {
+		final SpatialIndex<Genotype<G>> index =
+			SpatialIndex.of(genotypes, distance, CHECKS);
+		final Set<Fingerprint> fingerprints = new HashSet<>();
+		final DoubleMomentStatistics distances = new DoubleMomentStatistics();
+
+		for (int i = 0; i < genotypes.size(); ++i) {
+			final Genotype<G> genotype = genotypes.get(i);
+			fingerprints.add(genotype.getFingerprint());
+
+			// The genotype itself is usually its own nearest neighbour.
+			for (int neighbour : index.nearest(genotype, 2)) {
+				if (neighbour != i) {
+					distances.accept(
+						distance.distance(genotype, genotypes.get(neighbour))
+					);
+					break;
+				}
+			}
+		}
+
+		return new Diversity(
+			genotypes.size(),
+			fingerprints.size(),
+			DoubleMoments.of(distances)
+		);
+	}
+
+}
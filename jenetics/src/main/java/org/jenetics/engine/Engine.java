@@ -19,6 +19,8 @@
  */
 package org.jenetics.engine;
 
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.Math.round;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
@@ -26,21 +28,34 @@ import static org.jenetics.Population.toPopulation;
 import static org.jenetics.internal.util.require.probability;
 
 import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
+import java.util.function.LongFunction;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.jenetics.internal.util.Concurrency;
+import org.jenetics.internal.util.ThreadPerTaskExecutor;
 import org.jenetics.internal.util.require;
 
 import org.jenetics.Alterer;
 import org.jenetics.Chromosome;
+import org.jenetics.Fingerprint;
 import org.jenetics.Gene;
 import org.jenetics.Genotype;
 import org.jenetics.Mutator;
@@ -50,9 +65,12 @@ import org.jenetics.Population;
 import org.jenetics.Selector;
 import org.jenetics.SinglePointCrossover;
 import org.jenetics.TournamentSelector;
+import org.jenetics.engine.EvolutionListener.Stage;
 import org.jenetics.util.Copyable;
 import org.jenetics.util.Factory;
+import org.jenetics.util.ISeq;
 import org.jenetics.util.NanoClock;
+import org.jenetics.util.RandomRegistry;
 
 /**
  * Genetic algorithm <em>engine</em> which is the main class. The following
@@ -101,7 +119,9 @@ import org.jenetics.util.NanoClock;
  *     <b>This class is thread safe:</b>
  *     No mutable state is maintained by the engine. Therefore it is save to
  *     create multiple evolution streams with one engine, which may be actually
- *     used in different threads.
+ *     used in different threads. The only mutable part of an evolution, the
+ *     {@link Surrogate} model, is created anew for every evolution stream
+ *     and iterator and is not shared between them.
  * </em>
  *
  * @see Engine.Builder
@@ -113,7 +133,7 @@ import org.jenetics.util.NanoClock;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
  * @since 3.0
- * @version 3.7
+ * @version 4.0
  */
 public final class Engine<
 	G extends Gene<?, G>,
@@ -130,8 +150,11 @@ public final class Engine<
 	private final Function<? super C, ? extends C> _fitnessScaler;
 	private final Selector<G, C> _survivorsSelector;
 	private final Selector<G, C> _offspringSelector;
+	private final ISeq<Alterer<G, C>> _alterers;
 	private final Alterer<G, C> _alterer;
 	private final Predicate<? super Phenotype<G, C>> _validator;
+	private final Function<? super Genotype<G>, ? extends Genotype<G>> _repair;
+	private final boolean _duplicateElimination;
 	private final Optimize _optimize;
 	private final int _offspringCount;
 	private final int _survivorsCount;
@@ -139,11 +162,19 @@ public final class Engine<
 
 	// Execution context for concurrent execution of evolving steps.
 	private final TimedExecutor _executor;
+	private final Executor _evaluationExecutor;
+	private final EvaluationDeadline<C> _evaluationDeadline;
+	private final SurrogateScreening<G, C> _surrogateScreening;
 	private final Clock _clock;
+	private final EvolutionListener _listener;
+	private final LongFunction<? extends Random> _creationRandom;
 
 	// Additional parameters.
 	private final int _individualCreationRetries;
 
+	// The maximal number of new individuals created by one task.
+	private static final int CREATION_CHUNK_SIZE = 64;
+
 
 	/**
 	 * Create a new GA engine with the given parameters.
@@ -153,15 +184,29 @@ public final class Engine<
 	 * @param fitnessScaler the fitness scaler this GA is using.
 	 * @param survivorsSelector the selector used for selecting the survivors
 	 * @param offspringSelector the selector used for selecting the offspring
-	 * @param alterer the alterer used for altering the offspring
+	 * @param alterers the alterers used for altering the offspring
 	 * @param validator phenotype validator which can override the default
 	 *        implementation the {@link Phenotype#isValid()} method.
+	 * @param repair the function which repairs invalid genotypes; may be
+	 *        {@code null}
+	 * @param duplicateElimination replaces duplicate offspring individuals,
+	 *        if {@code true}
 	 * @param optimize the kind of optimization (minimize or maximize)
 	 * @param offspringCount the number of the offspring individuals
 	 * @param survivorsCount the number of the survivor individuals
 	 * @param maximalPhenotypeAge the maximal age of an individual
 	 * @param executor the executor used for executing the single evolve steps
+	 * @param evaluationExecutor the executor used for evaluating the fitness
+	 *        function of the individuals
+	 * @param evaluationDeadline the time limits of the fitness evaluation;
+	 *        may be {@code null}
+	 * @param surrogateScreening the surrogate pre-screening of new
+	 *        individuals; may be {@code null}
 	 * @param clock the clock used for calculating the timing results
+	 * @param listener the listener which is notified about the evolution
+	 *        stages; may be {@code null}
+	 * @param creationRandom the factory of the seeded PRNGs, used for
+	 *        creating new individuals concurrently; may be {@code null}
 	 * @param individualCreationRetries the maximal number of attempts for
 	 *        creating a valid individual.
 	 * @throws NullPointerException if one of the arguments is {@code null}
@@ -174,14 +219,21 @@ public final class Engine<
 		final Function<? super C, ? extends C> fitnessScaler,
 		final Selector<G, C> survivorsSelector,
 		final Selector<G, C> offspringSelector,
-		final Alterer<G, C> alterer,
+		final ISeq<Alterer<G, C>> alterers,
 		final Predicate<? super Phenotype<G, C>> validator,
+		final Function<? super Genotype<G>, ? extends Genotype<G>> repair,
+		final boolean duplicateElimination,
 		final Optimize optimize,
 		final int offspringCount,
 		final int survivorsCount,
 		final long maximalPhenotypeAge,
 		final Executor executor,
+		final Executor evaluationExecutor,
+		final EvaluationDeadline<C> evaluationDeadline,
+		final SurrogateScreening<G, C> surrogateScreening,
 		final Clock clock,
+		final EvolutionListener listener,
+		final LongFunction<? extends Random> creationRandom,
 		final int individualCreationRetries
 	) {
 		_fitnessFunction = requireNonNull(fitnessFunction);
@@ -189,8 +241,11 @@ public final class Engine<
 		_genotypeFactory = requireNonNull(genotypeFactory);
 		_survivorsSelector = requireNonNull(survivorsSelector);
 		_offspringSelector = requireNonNull(offspringSelector);
-		_alterer = requireNonNull(alterer);
+		_alterers = requireNonNull(alterers);
+		_alterer = compose(alterers);
 		_validator = requireNonNull(validator);
+		_repair = repair;
+		_duplicateElimination = duplicateElimination;
 		_optimize = requireNonNull(optimize);
 
 		_offspringCount = require.nonNegative(offspringCount);
@@ -198,7 +253,12 @@ public final class Engine<
 		_maximalPhenotypeAge = require.positive(maximalPhenotypeAge);
 
 		_executor = new TimedExecutor(requireNonNull(executor));
+		_evaluationExecutor = requireNonNull(evaluationExecutor);
+		_evaluationDeadline = evaluationDeadline;
+		_surrogateScreening = surrogateScreening;
 		_clock = requireNonNull(clock);
+		_listener = listener;
+		_creationRandom = creationRandom;
 
 		if (individualCreationRetries < 0) {
 			throw new IllegalArgumentException(format(
@@ -237,7 +297,10 @@ public final class Engine<
 	/**
 	 * Perform one evolution step with the given evolution {@code start} object
 	 * New phenotypes are created with the fitness function and fitness scaler
-	 * defined by this <em>engine</em>
+	 * defined by this <em>engine</em>. If a {@link Surrogate} is configured,
+	 * every call of this method uses a new surrogate model, which is only
+	 * trained with the start population of this evolution step. Evolution
+	 * streams and iterators keep their surrogate model for all steps.
 	 * <p>
 	 * <em>This method is thread-safe.</em>
 	 *
@@ -250,47 +313,124 @@ public final class Engine<
 	 *         {@code start} is {@code null}
 	 */
 	public EvolutionResult<G, C> evolve(final EvolutionStart<G, C> start) {
+		return evolve(start, surrogate());
+	}
+
+	// Return the evolution function of a new evolution stream or iterator.
+	// The surrogate model is created once and trained by all evolution steps
+	// of the stream.
+	private Function<EvolutionStart<G, C>, EvolutionResult<G, C>> evolution() {
+		final Surrogate<G, C> surrogate = surrogate();
+		return start -> evolve(start, surrogate);
+	}
+
+	private Surrogate<G, C> surrogate() {
+		return _surrogateScreening != null
+			? _surrogateScreening.newSurrogate()
+			: null;
+	}
+
+	private EvolutionResult<G, C> evolve(
+		final EvolutionStart<G, C> start,
+		final Surrogate<G, C> surrogate
+	) {
+		// The finish times of the stages, if a listener is registered.
+		final long[] times = _listener != null
+			? new long[Stage.values().length]
+			: null;
+
+		return stage(
+			Stage.EVOLVE, start.getGeneration(), times, 0,
+			() -> evolve(start, surrogate, times)
+		);
+	}
+
+	private EvolutionResult<G, C> evolve(
+		final EvolutionStart<G, C> start,
+		final Surrogate<G, C> surrogate,
+		final long[] times
+	) {
 		final Timer timer = Timer.of(_clock).start();
 
 		final Population<G, C> startPopulation = start.getPopulation();
+		final Cancellation cancellation = start.getCancellation();
+		final long generation = start.getGeneration();
+		final long ready = times != null ? System.nanoTime() : 0;
 
 		// Initial evaluation of the population.
 		final Timer evaluateTimer = Timer.of(_clock).start();
-		evaluate(startPopulation);
+		final EvaluationCounts startCounts = _surrogateScreening != null
+			? _surrogateScreening.train(
+				startPopulation,
+				surrogate,
+				p -> evaluate(p, cancellation, generation))
+			: evaluate(startPopulation, cancellation, generation);
 		evaluateTimer.stop();
 
+		// The evolution stream has been truncated while evaluating the
+		// start population; the evolution step is not performed.
+		if (!isEvaluated(startPopulation)) {
+			return EvolutionResult.of(
+				_optimize,
+				evaluated(startPopulation, Population.empty()),
+				start.getGeneration(),
+				start.getGeneration(),
+				EvolutionDurations.of(
+					Duration.ZERO,
+					Duration.ZERO,
+					Duration.ZERO,
+					Duration.ZERO,
+					Duration.ZERO,
+					evaluateTimer.getTime(),
+					timer.stop().getTime()
+				),
+				0,
+				0,
+				0,
+				startCounts
+			);
+		}
+
 		// Select the offspring population.
 		final CompletableFuture<TimedResult<Population<G, C>>> offspring =
 			_executor.async(() ->
-				selectOffspring(startPopulation),
+				stage(Stage.OFFSPRING_SELECTION, generation, times, ready, () ->
+					selectOffspring(startPopulation)),
 				_clock
 			);
 
 		// Select the survivor population.
 		final CompletableFuture<TimedResult<Population<G, C>>> survivors =
 			_executor.async(() ->
-				selectSurvivors(startPopulation),
+				stage(Stage.SURVIVORS_SELECTION, generation, times, ready, () ->
+					selectSurvivors(startPopulation)),
 				_clock
 			);
 
 		// Altering the offspring population.
 		final CompletableFuture<TimedResult<AlterResult<G, C>>> alteredOffspring =
 			_executor.thenApply(offspring, p ->
-				alter(p.result, start.getGeneration()),
+				stage(Stage.OFFSPRING_ALTER, generation, times,
+					finished(times, Stage.OFFSPRING_SELECTION), () ->
+					alter(p.result, generation)),
 				_clock
 			);
 
 		// Filter and replace invalid and old survivor individuals.
 		final CompletableFuture<TimedResult<FilterResult<G, C>>> filteredSurvivors =
 			_executor.thenApply(survivors, pop ->
-				filter(pop.result, start.getGeneration()),
+				stage(Stage.SURVIVORS_FILTER, generation, times,
+					finished(times, Stage.SURVIVORS_SELECTION), () ->
+					filter(pop.result, generation)),
 				_clock
 			);
 
 		// Filter and replace invalid and old offspring individuals.
 		final CompletableFuture<TimedResult<FilterResult<G, C>>> filteredOffspring =
 			_executor.thenApply(alteredOffspring, pop ->
-				filter(pop.result.population, start.getGeneration()),
+				stage(Stage.OFFSPRING_FILTER, generation, times,
+					finished(times, Stage.OFFSPRING_ALTER), () ->
+					filter(pop.result.population, generation)),
 				_clock
 			);
 
@@ -303,15 +443,28 @@ public final class Engine<
 					);
 					pop.addAll(s.result.population);
 					pop.addAll(o.result.population);
+					if (_duplicateElimination) {
+						eliminateDuplicates(pop, s.result.population.size(), generation);
+					}
 					return pop;
 				},
 				_executor.get()
 			);
 
-		// Evaluate the fitness-function and wait for result.
+		// Evaluate the fitness-function and wait for result. The new
+		// individuals are pre-screened, if a surrogate model is given.
 		final Population<G, C> pop = population.join();
-		final TimedResult<Population<G, C>> result = TimedResult
-			.of(() -> evaluate(pop), _clock)
+		final long evaluationReady = times != null ? System.nanoTime() : 0;
+		final TimedResult<EvaluationCounts> result = TimedResult
+			.of(() -> stage(Stage.EVALUATION, generation, times, evaluationReady, () ->
+				_surrogateScreening != null
+					? _surrogateScreening.evaluate(
+						pop,
+						_optimize,
+						surrogate,
+						p -> evaluate(p, cancellation, generation))
+					: evaluate(pop, cancellation, generation)),
+				_clock)
 			.get();
 
 
@@ -335,12 +488,14 @@ public final class Engine<
 
 		return EvolutionResult.of(
 			_optimize,
-			result.result,
+			evaluated(pop, startPopulation),
+			start.getGeneration(),
 			start.getGeneration(),
 			durations,
 			killCount,
 			invalidCount,
-			alteredOffspring.join().result.alterCount
+			alteredOffspring.join().result.alterCount,
+			startCounts.plus(result.result)
 		);
 	}
 
@@ -355,6 +510,47 @@ public final class Engine<
 		return evolve(start);
 	}
 
+	// Executes the given evolution stage and notifies the listener, if one
+	// is registered. The 'ready' time is the nano time, when the stage has
+	// been ready for execution; the finish time of the stage is stored in the
+	// given 'times' array.
+	private <T> T stage(
+		final Stage stage,
+		final long generation,
+		final long[] times,
+		final long ready,
+		final Supplier<T> function
+	) {
+		if (_listener == null) {
+			return function.get();
+		}
+
+		final long start = System.nanoTime();
+		final long allocated = ThreadAllocation.bytes();
+		_listener.stageStarted(
+			stage,
+			generation,
+			Duration.ofNanos(ready != 0 ? max(start - ready, 0) : 0)
+		);
+
+		try {
+			return function.get();
+		} finally {
+			final long end = System.nanoTime();
+			times[stage.ordinal()] = end;
+			_listener.stageFinished(
+				stage,
+				generation,
+				Duration.ofNanos(end - start),
+				allocated >= 0 ? ThreadAllocation.bytes() - allocated : -1
+			);
+		}
+	}
+
+	private static long finished(final long[] times, final Stage stage) {
+		return times != null ? times[stage.ordinal()] : 0;
+	}
+
 	// Selects the survivors population. A new population object is returned.
 	private Population<G, C> selectSurvivors(final Population<G, C> population) {
 		return _survivorsCount > 0
@@ -370,18 +566,26 @@ public final class Engine<
 	}
 
 	// Filters out invalid and old individuals. Filtering is done in place.
+	// Invalid individuals are repaired, if a repair function is given.
 	private FilterResult<G, C> filter(
 		final Population<G, C> population,
 		final long generation
 	) {
 		int killCount = 0;
 		int invalidCount = 0;
+		final int[] invalids = _repair != null
+			? new int[population.size()]
+			: null;
 
 		for (int i = 0, n = population.size(); i < n; ++i) {
 			final Phenotype<G, C> individual = population.get(i);
 
 			if (!_validator.test(individual)) {
-				population.set(i, newPhenotype(generation));
+				if (invalids != null) {
+					invalids[invalidCount] = i;
+				} else {
+					population.set(i, newPhenotype(generation));
+				}
 				++invalidCount;
 			} else if (individual.getAge(generation) > _maximalPhenotypeAge) {
 				population.set(i, newPhenotype(generation));
@@ -389,43 +593,387 @@ public final class Engine<
 			}
 		}
 
+		if (invalids != null && invalidCount > 0) {
+			repair(population, invalids, invalidCount, generation);
+		}
+
 		return new FilterResult<>(population, killCount, invalidCount);
 	}
 
+	// Repairs the invalid individuals with the given population indexes.
+	// The repair is done concurrently, if the engine executor is a fork-join
+	// pool, which allows to wait for sub-tasks without blocking a worker.
+	private void repair(
+		final Population<G, C> population,
+		final int[] indexes,
+		final int count,
+		final long generation
+	) {
+		final Executor executor = _executor.get();
+		if (count > 1 && executor instanceof ForkJoinPool) {
+			final List<Runnable> tasks = new ArrayList<>(count);
+			for (int i = 0; i < count; ++i) {
+				final int index = indexes[i];
+				final Phenotype<G, C> individual = population.get(index);
+				tasks.add(() ->
+					population.set(index, repair(individual, generation)));
+			}
+			try (Concurrency c = Concurrency.with(executor)) {
+				c.execute(tasks);
+			}
+		} else {
+			for (int i = 0; i < count; ++i) {
+				final int index = indexes[i];
+				population.set(index, repair(population.get(index), generation));
+			}
+		}
+	}
+
+	// Repairs the given individual, which keeps its generation. If the
+	// repaired individual is still invalid, it is replaced by a new one.
+	private Phenotype<G, C> repair(
+		final Phenotype<G, C> individual,
+		final long generation
+	) {
+		final Phenotype<G, C> repaired = individual.newInstance(
+			_repair.apply(individual.getGenotype())
+		);
+
+		return _validator.test(repaired)
+			? repaired
+			: newPhenotype(generation);
+	}
+
+	// Replaces the offspring individuals, starting at the given population
+	// index, whose genotype is already part of the population. The check is
+	// done concurrently, if the engine executor is a fork-join pool.
+	private void eliminateDuplicates(
+		final Population<G, C> population,
+		final int offspringIndex,
+		final long generation
+	) {
+		final ConcurrentMap<Fingerprint, List<Genotype<G>>> genotypes =
+			new ConcurrentHashMap<>(population.size());
+		for (int i = 0; i < offspringIndex; ++i) {
+			add(genotypes, population.get(i).getGenotype());
+		}
+
+		final Executor executor = _executor.get();
+		if (executor instanceof ForkJoinPool) {
+			final List<Runnable> tasks = new ArrayList<>();
+			for (int i = offspringIndex; i < population.size(); ++i) {
+				final int index = i;
+				final Phenotype<G, C> individual = population.get(index);
+				tasks.add(() -> {
+					if (!add(genotypes, individual.getGenotype())) {
+						population.set(index, newUnique(genotypes, generation));
+					}
+				});
+			}
+			try (Concurrency c = Concurrency.with(executor)) {
+				c.execute(tasks);
+			}
+		} else {
+			for (int i = offspringIndex; i < population.size(); ++i) {
+				final Phenotype<G, C> individual = population.get(i);
+				if (!add(genotypes, individual.getGenotype())) {
+					population.set(i, newUnique(genotypes, generation));
+				}
+			}
+		}
+	}
+
+	// Create a new phenotype, whose genotype is not part of the given
+	// genotypes, if possible within the individual creation retries.
+	private Phenotype<G, C> newUnique(
+		final ConcurrentMap<Fingerprint, List<Genotype<G>>> genotypes,
+		final long generation
+	) {
+		int count = 0;
+		Phenotype<G, C> phenotype;
+		do {
+			phenotype = newPhenotype(generation);
+		} while (++count < _individualCreationRetries &&
+				!add(genotypes, phenotype.getGenotype()));
+
+		return phenotype;
+	}
+
+	// Adds the given genotype to the genotypes, grouped by their fingerprint.
+	// Return false, if an equal genotype is already part of it. Since
+	// different genotypes may have the same fingerprint, the duplicates are
+	// confirmed with 'Genotype.equals'.
+	private static <G extends Gene<?, G>> boolean add(
+		final ConcurrentMap<Fingerprint, List<Genotype<G>>> genotypes,
+		final Genotype<G> genotype
+	) {
+		final List<Genotype<G>> existing = genotypes.putIfAbsent(
+			genotype.getFingerprint(),
+			Collections.singletonList(genotype)
+		);
+		if (existing == null) {
+			return true;
+		}
+
+		final boolean[] added = {false};
+		genotypes.computeIfPresent(genotype.getFingerprint(), (fp, list) -> {
+			if (list.contains(genotype)) {
+				return list;
+			}
+
+			final List<Genotype<G>> result = new ArrayList<>(list);
+			result.add(genotype);
+			added[0] = true;
+			return result;
+		});
+		return added[0];
+	}
+
+	// Return the valid individual, or its repaired version if it is invalid
+	// and a repair function is given.
+	private Phenotype<G, C> repaired(final Phenotype<G, C> individual) {
+		return _repair != null && !_validator.test(individual)
+			? individual.newInstance(_repair.apply(individual.getGenotype()))
+			: individual;
+	}
+
 	// Create a new and valid phenotype
 	private Phenotype<G, C> newPhenotype(final long generation) {
-		int count = 0;
+		return newPhenotype(generation, 0);
+	}
+
+	// Create a new and valid phenotype, where 'count' creation attempts have
+	// already been made.
+	private Phenotype<G, C> newPhenotype(final long generation, int count) {
 		Phenotype<G, C> phenotype;
 		do {
-			phenotype = Phenotype.of(
+			phenotype = repaired(Phenotype.of(
 				_genotypeFactory.newInstance(),
 				generation,
 				_fitnessFunction,
 				_fitnessScaler
-			);
+			));
 		} while (++count < _individualCreationRetries &&
 				!_validator.test(phenotype));
 
 		return phenotype;
 	}
 
+	// Create the given number of new and valid phenotypes. Bigger numbers of
+	// phenotypes are created in chunks, concurrently on the engine executor,
+	// if a chunk PRNG is available (see Builder.creationRandom). Every chunk
+	// uses its own PRNG, seeded from the registry PRNG of the calling thread.
+	// This keeps the result reproducible, independent of the executor, if
+	// the registry PRNG is seeded. The created phenotypes differ from the
+	// ones created sequentially with the same registry PRNG.
+	private List<Phenotype<G, C>> newPhenotypes(
+		final int count,
+		final long generation
+	) {
+		final Random random = RandomRegistry.getRandom();
+		final LongFunction<? extends Random> randoms = count > CREATION_CHUNK_SIZE
+			? chunkRandoms(random)
+			: null;
+
+		if (randoms == null) {
+			final List<Phenotype<G, C>> phenotypes = new ArrayList<>(count);
+			for (Genotype<G> gt : _genotypeFactory.newInstances(count)) {
+				final Phenotype<G, C> pt = repaired(Phenotype.of(
+					gt, generation, _fitnessFunction, _fitnessScaler));
+
+				phenotypes.add(
+					_individualCreationRetries > 1 && !_validator.test(pt)
+						? newPhenotype(generation, 1)
+						: pt
+				);
+			}
+			return phenotypes;
+		}
+
+		final int chunks = (count + CREATION_CHUNK_SIZE - 1)/CREATION_CHUNK_SIZE;
+		final List<List<Phenotype<G, C>>> parts = new ArrayList<>(chunks);
+		final List<Runnable> tasks = new ArrayList<>(chunks);
+		for (int i = 0; i < chunks; ++i) {
+			final int index = i;
+			final int size = min(CREATION_CHUNK_SIZE, count - i*CREATION_CHUNK_SIZE);
+			final long seed = random.nextLong();
+
+			parts.add(null);
+			tasks.add(() -> {
+				final List<Phenotype<G, C>> part = RandomRegistry.with(
+					randoms.apply(seed),
+					r -> newPhenotypes(size, generation)
+				);
+				synchronized (parts) {
+					parts.set(index, part);
+				}
+			});
+		}
+		try (Concurrency c = Concurrency.with(_executor.get())) {
+			c.execute(tasks);
+		}
+
+		final List<Phenotype<G, C>> phenotypes = new ArrayList<>(count);
+		synchronized (parts) {
+			parts.forEach(phenotypes::addAll);
+		}
+		return phenotypes;
+	}
+
+	// Return the factory for the seeded chunk PRNGs, or null, if the new
+	// individuals must be created sequentially. Without an explicitly set
+	// factory, only the (not seedable) ThreadLocalRandom is used concurrently.
+	private LongFunction<? extends Random> chunkRandoms(final Random random) {
+		if (_creationRandom != null) {
+			return _creationRandom;
+		}
+
+		return random instanceof ThreadLocalRandom
+			? seed -> ThreadLocalRandom.current()
+			: null;
+	}
+
 	// Alters the given population. The altering is done in place.
 	private AlterResult<G, C> alter(
 		final Population<G,C> population,
 		final long generation
 	) {
-		return new AlterResult<>(
-			population,
-			_alterer.alter(population, generation)
-		);
+		if (_listener == null) {
+			return new AlterResult<>(
+				population,
+				_alterer.alter(population, generation)
+			);
+		}
+
+		int alterations = 0;
+		for (Alterer<G, C> alterer : _alterers) {
+			final long start = System.nanoTime();
+			final int count = alterer.alter(population, generation);
+			_listener.altered(
+				generation,
+				alterer,
+				count,
+				Duration.ofNanos(System.nanoTime() - start)
+			);
+			alterations += count;
+		}
+
+		return new AlterResult<>(population, alterations);
+	}
+
+	private static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	Alterer<G, C> compose(final ISeq<Alterer<G, C>> alterers) {
+		Alterer<G, C> alterer = alterers.get(0);
+		for (int i = 1; i < alterers.size(); ++i) {
+			alterer = alterer.andThen(alterers.get(i));
+		}
+		return alterer;
 	}
 
 	// Evaluates the fitness function of the give population concurrently.
-	private Population<G, C> evaluate(final Population<G, C> population) {
-		try (Concurrency c = Concurrency.with(_executor.get())) {
-			c.execute(population);
+	// If the evolution step is cancelled, no new evaluations are started.
+	private EvaluationCounts evaluate(
+		final Population<G, C> population,
+		final Cancellation cancellation,
+		final long generation
+	) {
+		if (_evaluationDeadline != null) {
+			return _evaluationDeadline.evaluate(
+				population,
+				_evaluationExecutor,
+				cancellation
+			);
+		}
+
+		final List<Phenotype<G, C>> phenotypes = new ArrayList<>();
+		for (Phenotype<G, C> pt : population) {
+			if (!pt.isEvaluated()) phenotypes.add(pt);
+		}
+
+		if (phenotypes.isEmpty()) {
+			return EvaluationCounts.ZERO;
+		}
+
+		if (cancellation.isNone() && _listener == null) {
+			try (Concurrency c = Concurrency.with(_evaluationExecutor)) {
+				c.execute(phenotypes);
+			}
+			return EvaluationCounts.of(phenotypes.size());
 		}
-		return population;
+
+		final long submitted = System.nanoTime();
+		final List<Runnable> tasks = new ArrayList<>(phenotypes.size());
+		for (Phenotype<G, C> pt : phenotypes) {
+			tasks.add(() -> evaluate(pt, cancellation, generation, submitted));
+		}
+		try (Concurrency c = Concurrency.with(_evaluationExecutor)) {
+			c.execute(tasks);
+		}
+
+		int count = 0;
+		for (Phenotype<G, C> pt : phenotypes) {
+			if (pt.isEvaluated()) ++count;
+		}
+		return EvaluationCounts.of(count);
+	}
+
+	// Evaluates the given phenotype, if the evolution step is not cancelled,
+	// and notifies the listener about the evaluation.
+	private void evaluate(
+		final Phenotype<G, C> phenotype,
+		final Cancellation cancellation,
+		final long generation,
+		final long submitted
+	) {
+		if (cancellation.isCancelled()) {
+			return;
+		}
+
+		if (_listener == null) {
+			phenotype.evaluate();
+		} else {
+			final long start = System.nanoTime();
+			phenotype.evaluate();
+			_listener.batchEvaluated(
+				generation,
+				1,
+				Duration.ofNanos(start - submitted),
+				Duration.ofNanos(System.nanoTime() - start)
+			);
+		}
+	}
+
+	private static boolean isEvaluated(final Population<?, ?> population) {
+		for (Phenotype<?, ?> pt : population) {
+			if (!pt.isEvaluated()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Return the evaluated individuals of the given population. If the
+	// evaluation has been cancelled, the missing individuals are taken from
+	// the evaluated individuals of the 'fallback' population. The returned
+	// population is empty, if no individual has been evaluated at all.
+	private Population<G, C> evaluated(
+		final Population<G, C> population,
+		final Population<G, C> fallback
+	) {
+		if (isEvaluated(population)) {
+			return population;
+		}
+
+		final Population<G, C> result = new Population<>(population.size());
+		for (Phenotype<G, C> pt : population) {
+			if (pt.isEvaluated()) result.add(pt);
+		}
+		for (int i = 0, n = fallback.size();
+			i < n && result.size() < population.size(); ++i)
+		{
+			if (fallback.get(i).isEvaluated()) result.add(fallback.get(i));
+		}
+		return result;
 	}
 
 
@@ -443,7 +991,7 @@ public final class Engine<
 	public Iterator<EvolutionResult<G, C>> iterator() {
 		return new EvolutionIterator<>(
 			this::evolutionStart,
-			this::evolve
+			evolution()
 		);
 	}
 
@@ -454,15 +1002,15 @@ public final class Engine<
 	 * @return a new evolution stream.
 	 */
 	public EvolutionStream<G, C> stream() {
-		return EvolutionStream.of(this::evolutionStart, this::evolve);
+		return EvolutionStream.of(this::evolutionStart, evolution());
 	}
 
 	private EvolutionStart<G, C> evolutionStart() {
 		final int generation = 1;
 		final int size = _offspringCount + _survivorsCount;
 
-		final Population<G, C> population = new Population<G, C>(size)
-			.fill(() -> newPhenotype(generation), size);
+		final Population<G, C> population =
+			new Population<>(newPhenotypes(size, generation));
 
 		return EvolutionStart.of(population, generation);
 	}
@@ -486,7 +1034,7 @@ public final class Engine<
 
 		return new EvolutionIterator<>(
 			() -> evolutionStart(genotypes, 1),
-			this::evolve
+			evolution()
 		);
 	}
 
@@ -509,7 +1057,7 @@ public final class Engine<
 
 		return EvolutionStream.of(
 			() -> evolutionStart(genotypes, 1),
-			this::evolve
+			evolution()
 		);
 	}
 
@@ -517,16 +1065,17 @@ public final class Engine<
 		final Iterable<Genotype<G>> genotypes,
 		final long generation
 	) {
-		final Stream<Phenotype<G, C>> stream = Stream.concat(
+		final Population<G, C> population =
 			StreamSupport.stream(genotypes.spliterator(), false)
+				.limit(getPopulationSize())
 				.map(gt -> Phenotype.of(
-					gt, generation, _fitnessFunction, _fitnessScaler)),
-			Stream.generate(() -> newPhenotype(generation))
-		);
+					gt, generation, _fitnessFunction, _fitnessScaler))
+				.collect(toPopulation());
 
-		final Population<G, C> population = stream
-			.limit(getPopulationSize())
-			.collect(toPopulation());
+		population.addAll(newPhenotypes(
+			getPopulationSize() - population.size(),
+			generation
+		));
 
 		return EvolutionStart.of(population, generation);
 	}
@@ -558,7 +1107,7 @@ public final class Engine<
 
 		return new EvolutionIterator<>(
 			() -> evolutionStart(genotypes, generation),
-			this::evolve
+			evolution()
 		);
 	}
 
@@ -588,7 +1137,7 @@ public final class Engine<
 
 		return EvolutionStream.of(
 			() -> evolutionStart(genotypes, generation),
-			this::evolve
+			evolution()
 		);
 	}
 
@@ -616,7 +1165,7 @@ public final class Engine<
 
 		return new EvolutionIterator<>(
 			() -> evolutionStart(population, 1),
-			this::evolve
+			evolution()
 		);
 	}
 
@@ -642,7 +1191,7 @@ public final class Engine<
 
 		return EvolutionStream.of(
 			() -> evolutionStart(population, 1),
-			this::evolve
+			evolution()
 		);
 	}
 
@@ -650,19 +1199,16 @@ public final class Engine<
 		final Population<G, C> population,
 		final long generation
 	) {
-		final Stream<Phenotype<G, C>> stream = Stream.concat(
-			population.stream()
-				.map(p -> p.newInstance(
-					p.getGeneration(),
-					_fitnessFunction,
-					_fitnessScaler)),
-			Stream.generate(() -> newPhenotype(generation))
-		);
-
-		final Population<G, C> pop = stream
+		final Population<G, C> pop = population.stream()
 			.limit(getPopulationSize())
+			.map(p -> p.newInstance(
+				p.getGeneration(),
+				_fitnessFunction,
+				_fitnessScaler))
 			.collect(toPopulation());
 
+		pop.addAll(newPhenotypes(getPopulationSize() - pop.size(), generation));
+
 		return EvolutionStart.of(pop, generation);
 	}
 
@@ -694,7 +1240,7 @@ public final class Engine<
 
 		return new EvolutionIterator<>(
 			() -> evolutionStart(population, generation),
-			this::evolve
+			evolution()
 		);
 	}
 
@@ -726,7 +1272,7 @@ public final class Engine<
 
 		return EvolutionStream.of(
 			() -> evolutionStart(population, generation),
-			this::evolve
+			evolution()
 		);
 	}
 
@@ -929,6 +1475,18 @@ public final class Engine<
 		return _executor.get();
 	}
 
+	/**
+	 * Return the {@link Executor} the engine is using for evaluating the
+	 * fitness function of the individuals.
+	 *
+	 * @since 4.0
+	 *
+	 * @return the executor used for evaluating the fitness function
+	 */
+	public Executor getEvaluationExecutor() {
+		return _evaluationExecutor;
+	}
+
 
 	/* *************************************************************************
 	 * Builder methods.
@@ -942,8 +1500,9 @@ public final class Engine<
 	 * @return a new engine builder
 	 */
 	public Builder<G, C> builder() {
-		return new Builder<G, C>(_genotypeFactory, _fitnessFunction)
-			.alterers(_alterer)
+		final Builder<G, C> builder =
+			new Builder<G, C>(_genotypeFactory, _fitnessFunction)
+			.alterers(_alterers)
 			.clock(_clock)
 			.executor(_executor.get())
 			.fitnessScaler(_fitnessScaler)
@@ -955,6 +1514,31 @@ public final class Engine<
 			.populationSize(getPopulationSize())
 			.survivorsSelector(_survivorsSelector)
 			.individualCreationRetries(_individualCreationRetries);
+
+		if (_evaluationExecutor != _executor.get()) {
+			builder.evaluationExecutor(_evaluationExecutor);
+		}
+		if (_evaluationDeadline != null) {
+			builder._individualEvaluationTimeout =
+				_evaluationDeadline.getIndividualTimeout();
+			builder._generationEvaluationTimeout =
+				_evaluationDeadline.getGenerationTimeout();
+			builder._speculationDelay = _evaluationDeadline.getSpeculationDelay();
+			builder._timeoutPenalty = _evaluationDeadline.getPenalty();
+		}
+		if (_surrogateScreening != null) {
+			builder.surrogate(
+				_surrogateScreening.getSurrogate(),
+				_surrogateScreening.getEvaluationFraction(),
+				_surrogateScreening.isDiscardPredicted()
+			);
+		}
+		builder._listener = _listener;
+		builder._creationRandom = _creationRandom;
+		builder._repair = _repair;
+		builder._duplicateElimination = _duplicateElimination;
+
+		return builder;
 	}
 
 	/**
@@ -1052,7 +1636,7 @@ public final class Engine<
 	 *
 	 * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
 	 * @since 3.0
-	 * @version 3.8
+	 * @version 4.0
 	 */
 	public static final class Builder<
 		G extends Gene<?, G>,
@@ -1069,11 +1653,13 @@ public final class Engine<
 		private Function<? super C, ? extends C> _fitnessScaler = a -> a;
 		private Selector<G, C> _survivorsSelector = new TournamentSelector<>(3);
 		private Selector<G, C> _offspringSelector = new TournamentSelector<>(3);
-		private Alterer<G, C> _alterer = Alterer.of(
+		private ISeq<Alterer<G, C>> _alterers = ISeq.of(
 			new SinglePointCrossover<G, C>(0.2),
 			new Mutator<>(0.15)
 		);
 		private Predicate<? super Phenotype<G, C>> _validator = Phenotype::isValid;
+		private Function<? super Genotype<G>, ? extends Genotype<G>> _repair = null;
+		private boolean _duplicateElimination = false;
 		private Optimize _optimize = Optimize.MAXIMUM;
 		private double _offspringFraction = 0.6;
 		private int _populationSize = 50;
@@ -1081,7 +1667,17 @@ public final class Engine<
 
 		// Engine execution environment.
 		private Executor _executor = ForkJoinPool.commonPool();
+		private Executor _evaluationExecutor = null;
+		private Duration _individualEvaluationTimeout = null;
+		private Duration _generationEvaluationTimeout = null;
+		private Duration _speculationDelay = null;
+		private C _timeoutPenalty = null;
+		private Supplier<? extends Surrogate<G, C>> _surrogate = null;
+		private double _surrogateEvaluationFraction = 1.0;
+		private boolean _discardPredicted = false;
 		private Clock _clock = NanoClock.systemUTC();
+		private EvolutionListener _listener = null;
+		private LongFunction<? extends Random> _creationRandom = null;
 
 		private int _individualCreationRetries = 10;
 
@@ -1197,10 +1793,12 @@ public final class Engine<
 			requireNonNull(first);
 			Stream.of(rest).forEach(Objects::requireNonNull);
 
-			_alterer = rest.length == 0 ?
-				first :
-				Alterer.of(rest).compose(first);
+			_alterers = ISeq.<Alterer<G, C>>of(first).append(rest);
+			return this;
+		}
 
+		Builder<G, C> alterers(final ISeq<Alterer<G, C>> alterers) {
+			_alterers = requireNonNull(alterers);
 			return this;
 		}
 
@@ -1256,6 +1854,69 @@ public final class Engine<
 			return this;
 		}
 
+		/**
+		 * The repair function used for fixing invalid individuals. Instead of
+		 * replacing an invalid individual by a newly created one, which may
+		 * need many attempts for tightly constrained problems, the genotype of
+		 * the invalid individual is mapped to a (nearby) valid one. The
+		 * repaired individual keeps its age. If the repaired individual is
+		 * still invalid, it is replaced by a new individual, as without
+		 * repair function. Newly created individuals are repaired as well,
+		 * before an other creation attempt is made. The repair of the invalid
+		 * offspring and survivors is executed concurrently, if the engine
+		 * {@link #executor(Executor)} is a {@link ForkJoinPool}.
+		 *
+		 * <pre>{@code
+		 * final Engine<BitGene, Double> engine = Engine.builder(knapsack)
+		 *     .genotypeValidator(gt -> weight(gt) <= capacity)
+		 *     .repair(gt -> removeItems(gt, capacity))
+		 *     .build();
+		 * }</pre>
+		 *
+		 * <p><i>No repair function is set by default.</i></p>
+		 *
+		 * @since 4.0
+		 *
+		 * @see #phenotypeValidator(Predicate)
+		 * @see #genotypeValidator(Predicate)
+		 *
+		 * @param repair the function which maps an invalid genotype to a
+		 *        valid one
+		 * @return {@code this} builder, for command chaining
+		 * @throws java.lang.NullPointerException if the {@code repair}
+		 *         function is {@code null}.
+		 */
+		public Builder<G, C> repair(
+			final Function<? super Genotype<G>, ? extends Genotype<G>> repair
+		) {
+			_repair = requireNonNull(repair);
+			return this;
+		}
+
+		/**
+		 * Enables or disables the elimination of duplicate individuals. If
+		 * enabled, every offspring individual whose genotype
+		 * {@link Genotype#getFingerprint() fingerprint} is already part of the
+		 * new population (survivors and preceding offspring) is replaced by a
+		 * newly created individual. Equal fingerprints are confirmed with
+		 * {@link Genotype#equals(Object)}. This keeps converged populations from
+		 * filling up with identical genotypes.
+		 *
+		 * <p><i>Default value is set to {@code false}.</i></p>
+		 *
+		 * @since 4.0
+		 *
+		 * @see org.jenetics.Fingerprint
+		 *
+		 * @param eliminate {@code true} for replacing duplicate offspring
+		 *        individuals
+		 * @return {@code this} builder, for command chaining
+		 */
+		public Builder<G, C> duplicateElimination(final boolean eliminate) {
+			_duplicateElimination = eliminate;
+			return this;
+		}
+
 		/**
 		 * The optimization strategy used by the engine. <i>Default values is
 		 * set to {@code Optimize.MAXIMUM}.</i>
@@ -1418,6 +2079,260 @@ public final class Engine<
 			return this;
 		}
 
+		/**
+		 * The executor used for evaluating the fitness function of the
+		 * individuals. <i>Default value is the engine {@link #executor(Executor)}.
+		 * </i>
+		 *
+		 * @since 4.0
+		 *
+		 * @see #threadPerEvaluation(int)
+		 *
+		 * @param executor the executor used for evaluating the fitness function
+		 * @return {@code this} builder, for command chaining
+		 */
+		public Builder<G, C> evaluationExecutor(final Executor executor) {
+			_evaluationExecutor = requireNonNull(executor);
+			return this;
+		}
+
+		/**
+		 * Evaluates every fitness function call in its own thread. If the
+		 * running Java version supports virtual threads, they are used for the
+		 * evaluation; otherwise every evaluation gets its own (daemon) platform
+		 * thread. This evaluation mode is useful for fitness functions which
+		 * spend most of their time waiting, e.g. for the result of an external
+		 * simulation service. The number of evaluations is then not limited by
+		 * the number of available cores.
+		 *
+		 * <pre>{@code
+		 * final Engine<DoubleGene, Double> engine = Engine
+		 *     .builder(RemoteSimulation::fitness, DoubleChromosome.of(0, 1, 10))
+		 *     .populationSize(5_000)
+		 *     // At most 1000 simulation requests are in flight.
+		 *     .threadPerEvaluation(1_000)
+		 *     .build();
+		 * }</pre>
+		 *
+		 * @since 4.0
+		 *
+		 * @see #evaluationExecutor(Executor)
+		 *
+		 * @param maxConcurrentEvaluations the maximal number of fitness
+		 *        evaluations which are executed concurrently
+		 * @return {@code this} builder, for command chaining
+		 * @throws IllegalArgumentException if the given
+		 *         {@code maxConcurrentEvaluations} is smaller than one
+		 */
+		public Builder<G, C> threadPerEvaluation(
+			final int maxConcurrentEvaluations
+		) {
+			return evaluationExecutor(
+				ThreadPerTaskExecutor.of(maxConcurrentEvaluations)
+			);
+		}
+
+		/**
+		 * Evaluates every fitness function call in its own thread, without
+		 * limiting the number of concurrent evaluations.
+		 *
+		 * @since 4.0
+		 *
+		 * @see #threadPerEvaluation(int)
+		 *
+		 * @return {@code this} builder, for command chaining
+		 */
+		public Builder<G, C> threadPerEvaluation() {
+			return threadPerEvaluation(Integer.MAX_VALUE);
+		}
+
+		/**
+		 * Set the maximal evaluation time of a single individual and of the
+		 * whole population of one generation. The deadline of an individual
+		 * starts when its fitness function evaluation is actually started.
+		 * The deadline of a generation starts at the beginning of the
+		 * evaluation step. If a deadline passes, the running evaluation is
+		 * cancelled with interruption and the individual gets the given
+		 * {@code penalty} fitness value. Not yet started evaluations are
+		 * removed from the executor queue. The number of timed out individuals
+		 * is reported by {@link EvaluationCounts#getTimeoutCount()}.
+		 *
+		 * <pre>{@code
+		 * final Engine<DoubleGene, Double> engine = Engine
+		 *     .builder(Simulation::fitness, DoubleChromosome.of(0, 1, 10))
+		 *     .evaluationTimeout(
+		 *         Duration.ofSeconds(2),
+		 *         Duration.ofSeconds(30),
+		 *         Double.NEGATIVE_INFINITY)
+		 *     .build();
+		 * }</pre>
+		 *
+		 * <em>A fitness function which doesn't respond to the interruption,
+		 * still occupies its executor thread after the deadline.</em>
+		 *
+		 * @since 4.0
+		 *
+		 * @param individualTimeout the maximal evaluation time of one
+		 *        individual
+		 * @param generationTimeout the maximal evaluation time of the whole
+		 *        population
+		 * @param penalty the fitness value of the timed out individuals
+		 * @return {@code this} builder, for command chaining
+		 * @throws NullPointerException if one of the arguments is {@code null}
+		 * @throws IllegalArgumentException if one of the timeouts is not
+		 *         positive
+		 */
+		public Builder<G, C> evaluationTimeout(
+			final Duration individualTimeout,
+			final Duration generationTimeout,
+			final C penalty
+		) {
+			_individualEvaluationTimeout = positive(individualTimeout);
+			_generationEvaluationTimeout = positive(generationTimeout);
+			_timeoutPenalty = requireNonNull(penalty);
+			return this;
+		}
+
+		/**
+		 * Set the maximal evaluation time of a single individual. The
+		 * evaluation time of the whole population is not limited.
+		 *
+		 * @since 4.0
+		 *
+		 * @see #evaluationTimeout(Duration, Duration, Comparable)
+		 *
+		 * @param individualTimeout the maximal evaluation time of one
+		 *        individual
+		 * @param penalty the fitness value of the timed out individuals
+		 * @return {@code this} builder, for command chaining
+		 * @throws NullPointerException if one of the arguments is {@code null}
+		 * @throws IllegalArgumentException if the timeout is not positive
+		 */
+		public Builder<G, C> evaluationTimeout(
+			final Duration individualTimeout,
+			final C penalty
+		) {
+			_individualEvaluationTimeout = positive(individualTimeout);
+			_generationEvaluationTimeout = null;
+			_timeoutPenalty = requireNonNull(penalty);
+			return this;
+		}
+
+		/**
+		 * Starts a second evaluation of individuals whose evaluation is still
+		 * running after the given {@code delay}. The fitness value of the
+		 * first finished evaluation is used and the other one is cancelled.
+		 * This mitigates <em>stragglers</em>, e.g. caused by an overloaded
+		 * remote service. The number of speculative evaluations is reported
+		 * by {@link EvaluationCounts#getSpeculationCount()}.
+		 * <p>
+		 * <em>The fitness function must be free of side effects, since it
+		 * might be called twice for the same genotype.</em>
+		 *
+		 * @since 4.0
+		 *
+		 * @param delay the evaluation time after which a speculative
+		 *        evaluation is started
+		 * @return {@code this} builder, for command chaining
+		 * @throws NullPointerException if the given {@code delay} is
+		 *         {@code null}
+		 * @throws IllegalArgumentException if the given {@code delay} is not
+		 *         positive
+		 */
+		public Builder<G, C> speculativeEvaluation(final Duration delay) {
+			_speculationDelay = positive(delay);
+			return this;
+		}
+
+		/**
+		 * Sets a surrogate model for pre-screening the new individuals of a
+		 * generation, before they are evaluated. Only the given
+		 * {@code evaluationFraction} of the individuals with the best
+		 * predicted fitness is evaluated with the real fitness function. The
+		 * remaining individuals either keep the predicted fitness value, or
+		 * they are removed from the population, if {@code discardPredicted}
+		 * is {@code true}. Individuals the surrogate can't predict are always
+		 * evaluated. The really evaluated individuals, including the
+		 * individuals of the initial population, are used for updating the
+		 * surrogate model. The number of real and predicted evaluations is
+		 * reported by {@link EvaluationCounts#getEvaluationCount()} and
+		 * {@link EvaluationCounts#getSurrogateCount()}.
+		 * <p>
+		 * Since the surrogate model is trained while the evolution is running,
+		 * every evolution stream (and iterator) of the engine gets its own
+		 * surrogate instance, created by the given {@code surrogate}
+		 * factory. This way, concurrently running evolution streams don't
+		 * influence each other.
+		 *
+		 * <pre>{@code
+		 * final Engine<DoubleGene, Double> engine = Engine
+		 *     .builder(Simulation::fitness, DoubleChromosome.of(0, 1, 10))
+		 *     .surrogate(() -> Surrogate.nearestNeighbours(5, 1000), 0.3, false)
+		 *     .build();
+		 * }</pre>
+		 *
+		 * <em>Discarding the predicted individuals shrinks the population of
+		 * the current generation. The population of the following generation
+		 * is again selected with the full population size.</em>
+		 *
+		 * @since 4.0
+		 *
+		 * @param surrogate the factory of the surrogate models, which is
+		 *        called once for every evolution stream
+		 * @param evaluationFraction the fraction of the predicted individuals,
+		 *        which are evaluated with the real fitness function
+		 * @param discardPredicted if {@code true}, the not really evaluated
+		 *        individuals are removed from the population
+		 * @return {@code this} builder, for command chaining
+		 * @throws NullPointerException if the {@code surrogate} is {@code null}
+		 * @throws IllegalArgumentException if the {@code evaluationFraction} is
+		 *         not within the range [0, 1]
+		 */
+		public Builder<G, C> surrogate(
+			final Supplier<? extends Surrogate<G, C>> surrogate,
+			final double evaluationFraction,
+			final boolean discardPredicted
+		) {
+			_surrogate = requireNonNull(surrogate);
+			_surrogateEvaluationFraction = probability(evaluationFraction);
+			_discardPredicted = discardPredicted;
+			return this;
+		}
+
+		/**
+		 * Sets a surrogate model for pre-screening the new individuals of a
+		 * generation. The not really evaluated individuals keep the predicted
+		 * fitness value.
+		 *
+		 * @since 4.0
+		 *
+		 * @see #surrogate(Supplier, double, boolean)
+		 *
+		 * @param surrogate the factory of the surrogate models, which is
+		 *        called once for every evolution stream
+		 * @param evaluationFraction the fraction of the predicted individuals,
+		 *        which are evaluated with the real fitness function
+		 * @return {@code this} builder, for command chaining
+		 * @throws NullPointerException if the {@code surrogate} is {@code null}
+		 * @throws IllegalArgumentException if the {@code evaluationFraction} is
+		 *         not within the range [0, 1]
+		 */
+		public Builder<G, C> surrogate(
+			final Supplier<? extends Surrogate<G, C>> surrogate,
+			final double evaluationFraction
+		) {
+			return surrogate(surrogate, evaluationFraction, false);
+		}
+
+		private static Duration positive(final Duration duration) {
+			if (duration.isNegative() || duration.isZero()) {
+				throw new IllegalArgumentException(format(
+					"Duration must be positive, but was %s.", duration
+				));
+			}
+			return duration;
+		}
+
 		/**
 		 * The clock used for calculating the execution durations.
 		 *
@@ -1429,6 +2344,64 @@ public final class Engine<
 			return this;
 		}
 
+		/**
+		 * The listener which is notified about the execution of the single
+		 * evolution stages, the evaluated batches and the applied alterers.
+		 * No listener is registered by default, which doesn't cause any
+		 * instrumentation overhead.
+		 *
+		 * @see EvolutionListener#of(EvolutionListener...)
+		 * @see EvolutionListener#jfr()
+		 *
+		 * @since 4.0
+		 *
+		 * @param listener the evolution listener
+		 * @return {@code this} builder, for command chaining
+		 * @throws NullPointerException if the given {@code listener} is
+		 *         {@code null}
+		 */
+		public Builder<G, C> listener(final EvolutionListener listener) {
+			_listener = requireNonNull(listener);
+			return this;
+		}
+
+		/**
+		 * Sets the factory of the seeded PRNGs, which are used for creating
+		 * bigger numbers of new individuals, e.g. the initial population,
+		 * concurrently. The individuals are then created in chunks on the
+		 * engine {@link #executor(Executor)}. Every chunk uses its own PRNG,
+		 * created by the given factory with a seed taken from the registry
+		 * PRNG. This way, the created individuals are reproducible for a
+		 * seeded registry PRNG, independent of the used executor.
+		 *
+		 * <pre>{@code
+		 * final Engine<DoubleGene, Double> engine = Engine
+		 *     .builder(fitness, DoubleChromosome.of(0, 1, 10))
+		 *     .creationRandom(Random::new)
+		 *     .build();
+		 * }</pre>
+		 *
+		 * If no factory is set, new individuals are only created concurrently
+		 * if the registry PRNG is the (default) {@link ThreadLocalRandom}.
+		 * For all other registry PRNGs, the individuals are created
+		 * sequentially, on the calling thread.
+		 *
+		 * @since 4.0
+		 *
+		 * @see RandomRegistry
+		 *
+		 * @param random the factory of the seeded PRNGs
+		 * @return {@code this} builder, for command chaining
+		 * @throws NullPointerException if the given {@code random} factory is
+		 *         {@code null}
+		 */
+		public Builder<G, C> creationRandom(
+			final LongFunction<? extends Random> random
+		) {
+			_creationRandom = requireNonNull(random);
+			return this;
+		}
+
 		/**
 		 * The maximal number of attempt before the {@code Engine} gives up
 		 * creating a valid individual ({@code Phenotype}). <i>Default values is
@@ -1464,18 +2437,42 @@ public final class Engine<
 				_fitnessScaler,
 				_survivorsSelector,
 				_offspringSelector,
-				_alterer,
+				_alterers,
 				_validator,
+				_repair,
+				_duplicateElimination,
 				_optimize,
 				getOffspringCount(),
 				getSurvivorsCount(),
 				_maximalPhenotypeAge,
 				_executor,
+				getEvaluationExecutor(),
+				getEvaluationDeadline(),
+				_surrogate != null
+					? new SurrogateScreening<>(
+						_surrogate,
+						_surrogateEvaluationFraction,
+						_discardPredicted)
+					: null,
 				_clock,
+				_listener,
+				_creationRandom,
 				_individualCreationRetries
 			);
 		}
 
+		private EvaluationDeadline<C> getEvaluationDeadline() {
+			return _individualEvaluationTimeout != null ||
+				_generationEvaluationTimeout != null ||
+				_speculationDelay != null
+				? new EvaluationDeadline<>(
+					_individualEvaluationTimeout,
+					_generationEvaluationTimeout,
+					_speculationDelay,
+					_timeoutPenalty)
+				: null;
+		}
+
 		private int getSurvivorsCount() {
 			return _populationSize - getOffspringCount();
 		}
@@ -1490,7 +2487,7 @@ public final class Engine<
 		 * @return the used {@link Alterer} of the GA.
 		 */
 		public Alterer<G, C> getAlterers() {
-			return _alterer;
+			return compose(_alterers);
 		}
 
 		/**
@@ -1505,6 +2502,29 @@ public final class Engine<
 			return _clock;
 		}
 
+		/**
+		 * Return the registered evolution listener, if any.
+		 *
+		 * @since 4.0
+		 *
+		 * @return the registered evolution listener
+		 */
+		public Optional<EvolutionListener> getListener() {
+			return Optional.ofNullable(_listener);
+		}
+
+		/**
+		 * Return the factory of the seeded PRNGs, used for creating new
+		 * individuals concurrently, if set.
+		 *
+		 * @since 4.0
+		 *
+		 * @return the factory of the seeded PRNGs for creating individuals
+		 */
+		public Optional<LongFunction<? extends Random>> getCreationRandom() {
+			return Optional.ofNullable(_creationRandom);
+		}
+
 		/**
 		 * Return the {@link Executor} the engine is using for executing the
 		 * evolution steps.
@@ -1517,6 +2537,20 @@ public final class Engine<
 			return _executor;
 		}
 
+		/**
+		 * Return the {@link Executor} the engine is using for evaluating the
+		 * fitness function of the individuals.
+		 *
+		 * @since 4.0
+		 *
+		 * @return the executor used for evaluating the fitness function
+		 */
+		public Executor getEvaluationExecutor() {
+			return _evaluationExecutor != null
+				? _evaluationExecutor
+				: _executor;
+		}
+
 		/**
 		 * Return the fitness function of the GA engine.
 		 *
@@ -1628,6 +2662,17 @@ public final class Engine<
 			return _individualCreationRetries;
 		}
 
+		/**
+		 * Return {@code true} if duplicate offspring individuals are replaced.
+		 *
+		 * @since 4.0
+		 *
+		 * @return {@code true} if duplicate offspring individuals are replaced
+		 */
+		public boolean isDuplicateElimination() {
+			return _duplicateElimination;
+		}
+
 		/**
 		 * Create a new builder, with the current configuration.
 		 *
@@ -1637,8 +2682,9 @@ public final class Engine<
 		 */
 		@Override
 		public Builder<G, C> copy() {
-			return new Builder<G, C>(_genotypeFactory, _fitnessFunction)
-				.alterers(_alterer)
+			final Builder<G, C> builder =
+				new Builder<G, C>(_genotypeFactory, _fitnessFunction)
+				.alterers(_alterers)
 				.clock(_clock)
 				.executor(_executor)
 				.fitnessScaler(_fitnessScaler)
@@ -1650,6 +2696,20 @@ public final class Engine<
 				.populationSize(_populationSize)
 				.survivorsSelector(_survivorsSelector)
 				.individualCreationRetries(_individualCreationRetries);
+
+			builder._evaluationExecutor = _evaluationExecutor;
+			builder._individualEvaluationTimeout = _individualEvaluationTimeout;
+			builder._generationEvaluationTimeout = _generationEvaluationTimeout;
+			builder._speculationDelay = _speculationDelay;
+			builder._timeoutPenalty = _timeoutPenalty;
+			builder._surrogate = _surrogate;
+			builder._surrogateEvaluationFraction = _surrogateEvaluationFraction;
+			builder._discardPredicted = _discardPredicted;
+			builder._listener = _listener;
+			builder._creationRandom = _creationRandom;
+			builder._repair = _repair;
+			builder._duplicateElimination = _duplicateElimination;
+			return builder;
 		}
 
 	}
@@ -0,0 +1,80 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import org.jenetics.Chromosome;
+import org.jenetics.Genotype;
+import org.jenetics.NumericGene;
+
+/**
+ * Euclidean distance of numeric genotypes.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class EuclideanDistance<G extends NumericGene<?, G>>
+	implements Distance<Genotype<G>>
+{
+
+	private static final EuclideanDistance<?> INSTANCE = new EuclideanDistance<>();
+
+	private EuclideanDistance() {
+	}
+
+	@Override
+	public double distance(final Genotype<G> a, final Genotype<G> b) {
+		return Surrogate.euclidean(a, b);
+	}
+
+	@Override
+	public String toString() {
+		return "EuclideanDistance";
+	}
+
+	@SuppressWarnings("unchecked")
+	static <G extends NumericGene<?, G>> EuclideanDistance<G> instance() {
+		return (EuclideanDistance<G>)INSTANCE;
+	}
+
+	/**
+	 * Return the gene values of the given numeric genotype as coordinate
+	 * vector.
+	 *
+	 * @param genotype the numeric genotype
+	 * @return the coordinate vector of the genotype
+	 * @throws ClassCastException if the genotype contains non-numeric genes
+	 */
+	static double[] vector(final Genotype<?> genotype) {
+		final double[] vector = new double[genotype.getNumberOfGenes()];
+
+		int index = 0;
+		for (int i = 0; i < genotype.length(); ++i) {
+			final Chromosome<?> chromosome = genotype.getChromosome(i);
+			for (int j = 0; j < chromosome.length(); ++j) {
+				vector[index++] =
+					((NumericGene<?, ?>)chromosome.getGene(j)).doubleValue();
+			}
+		}
+
+		return vector;
+	}
+
+}
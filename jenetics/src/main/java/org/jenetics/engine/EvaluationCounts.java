@@ -0,0 +1,219 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.lang.String.format;
+
+import java.io.Serializable;
+
+/**
+ * This class contains information about the fitness evaluations performed in
+ * one evolution step.
+ *
+ * @see EvolutionResult#getEvaluationCounts()
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public final class EvaluationCounts implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constant for zero evaluation counts.
+	 */
+	public static final EvaluationCounts ZERO = EvaluationCounts.of(0, 0, 0, 0);
+
+	private final int _evaluationCount;
+	private final int _timeoutCount;
+	private final int _speculationCount;
+	private final int _surrogateCount;
+
+	private EvaluationCounts(
+		final int evaluationCount,
+		final int timeoutCount,
+		final int speculationCount,
+		final int surrogateCount
+	) {
+		_evaluationCount = nonNegative(evaluationCount, "Evaluation count");
+		_timeoutCount = nonNegative(timeoutCount, "Timeout count");
+		_speculationCount = nonNegative(speculationCount, "Speculation count");
+		_surrogateCount = nonNegative(surrogateCount, "Surrogate count");
+	}
+
+	private static int nonNegative(final int value, final String name) {
+		if (value < 0) {
+			throw new IllegalArgumentException(format(
+				"%s must not be negative: %d", name, value
+			));
+		}
+		return value;
+	}
+
+	/**
+	 * Return the number of individuals whose fitness function has been
+	 * (really) evaluated. Individuals whose evaluation has timed out are
+	 * included, individuals whose fitness has been predicted by a
+	 * {@link Surrogate} are not.
+	 *
+	 * @return the number of evaluated individuals
+	 */
+	public int getEvaluationCount() {
+		return _evaluationCount;
+	}
+
+	/**
+	 * Return the number of individuals whose evaluation has been cancelled,
+	 * because the evaluation deadline has passed. This individuals got the
+	 * penalty fitness value.
+	 *
+	 * @see Engine.Builder#evaluationTimeout(java.time.Duration, java.time.Duration, Comparable)
+	 *
+	 * @return the number of timed out evaluations
+	 */
+	public int getTimeoutCount() {
+		return _timeoutCount;
+	}
+
+	/**
+	 * Return the number of speculatively started (duplicate) evaluations of
+	 * slow running individuals.
+	 *
+	 * @see Engine.Builder#speculativeEvaluation(java.time.Duration)
+	 *
+	 * @return the number of speculative evaluations
+	 */
+	public int getSpeculationCount() {
+		return _speculationCount;
+	}
+
+	/**
+	 * Return the number of individuals whose fitness has been predicted by
+	 * the surrogate model, instead of evaluating the fitness function.
+	 *
+	 * @see Engine.Builder#surrogate(java.util.function.Supplier, double, boolean)
+	 *
+	 * @return the number of surrogate evaluations
+	 */
+	public int getSurrogateCount() {
+		return _surrogateCount;
+	}
+
+	/**
+	 * Returns a copy of this evaluation counts with the specified counts
+	 * added.
+	 *
+	 * @param other the evaluation counts to add
+	 * @return a new {@code EvaluationCounts} object with the specified counts
+	 *         added
+	 * @throws NullPointerException if the {@code other} counts are {@code null}
+	 */
+	public EvaluationCounts plus(final EvaluationCounts other) {
+		return of(
+			_evaluationCount + other._evaluationCount,
+			_timeoutCount + other._timeoutCount,
+			_speculationCount + other._speculationCount,
+			_surrogateCount + other._surrogateCount
+		);
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 17;
+		hash += 31*_evaluationCount + 17;
+		hash += 31*_timeoutCount + 17;
+		hash += 31*_speculationCount + 17;
+		hash += 31*_surrogateCount + 17;
+		return hash;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return obj instanceof EvaluationCounts &&
+			_evaluationCount == ((EvaluationCounts)obj)._evaluationCount &&
+			_timeoutCount == ((EvaluationCounts)obj)._timeoutCount &&
+			_speculationCount == ((EvaluationCounts)obj)._speculationCount &&
+			_surrogateCount == ((EvaluationCounts)obj)._surrogateCount;
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"EvaluationCounts[evaluations=%d, timeouts=%d, speculations=%d, " +
+			"surrogates=%d]",
+			_evaluationCount, _timeoutCount, _speculationCount, _surrogateCount
+		);
+	}
+
+	/**
+	 * Return a new {@code EvaluationCounts} object with the given values.
+	 *
+	 * @param evaluationCount the number of evaluated individuals
+	 * @param timeoutCount the number of timed out evaluations
+	 * @param speculationCount the number of speculative evaluations
+	 * @param surrogateCount the number of surrogate evaluations
+	 * @return a new evaluation counts object
+	 * @throws IllegalArgumentException if one of the counts is negative
+	 */
+	public static EvaluationCounts of(
+		final int evaluationCount,
+		final int timeoutCount,
+		final int speculationCount,
+		final int surrogateCount
+	) {
+		return new EvaluationCounts(
+			evaluationCount,
+			timeoutCount,
+			speculationCount,
+			surrogateCount
+		);
+	}
+
+	/**
+	 * Return a new {@code EvaluationCounts} object with the given values.
+	 *
+	 * @param evaluationCount the number of evaluated individuals
+	 * @param timeoutCount the number of timed out evaluations
+	 * @param speculationCount the number of speculative evaluations
+	 * @return a new evaluation counts object
+	 * @throws IllegalArgumentException if one of the counts is negative
+	 */
+	public static EvaluationCounts of(
+		final int evaluationCount,
+		final int timeoutCount,
+		final int speculationCount
+	) {
+		return of(evaluationCount, timeoutCount, speculationCount, 0);
+	}
+
+	/**
+	 * Return a new {@code EvaluationCounts} object with the given number of
+	 * evaluated individuals.
+	 *
+	 * @param evaluationCount the number of evaluated individuals
+	 * @return a new evaluation counts object
+	 * @throws IllegalArgumentException if the count is negative
+	 */
+	public static EvaluationCounts of(final int evaluationCount) {
+		return of(evaluationCount, 0, 0);
+	}
+
+}
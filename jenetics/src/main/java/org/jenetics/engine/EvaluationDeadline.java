@@ -0,0 +1,413 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jenetics.Gene;
+import org.jenetics.Phenotype;
+import org.jenetics.Population;
+import org.jenetics.internal.util.ThreadPerTaskExecutor;
+
+/**
+ * Evaluates the fitness of a population within given time limits. The
+ * evaluation of an individual is cancelled (with interruption) if its
+ * deadline has passed, and the individual gets the {@code penalty} fitness.
+ * Optionally, evaluations which are running longer than a given delay are
+ * started a second time (<em>speculative execution</em>). The result of the
+ * first finished evaluation is taken. This requires that the fitness function
+ * is free of side effects.
+ * <p>
+ * The evaluations are submitted to the executor while the deadlines are
+ * monitored. If the executor limits the number of concurrent evaluations
+ * (see {@link ThreadPerTaskExecutor}), the evaluations are submitted without
+ * blocking and the not yet started individuals are still expired by the
+ * generation deadline. The execution slots of expired evaluations are given
+ * up, even if the fitness function doesn't react on the interruption.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class EvaluationDeadline<C extends Comparable<? super C>> {
+
+	// Marker value for a not given time limit.
+	private static final long NONE = Long.MAX_VALUE;
+
+	// Upper bound of the waiting time between two deadline checks.
+	private static final long MAX_WAIT = TimeUnit.SECONDS.toNanos(1);
+
+	// Waiting time between two checks of the evolution cancellation.
+	private static final long CANCELLATION_POLL = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final Duration _individualTimeout;
+	private final Duration _generationTimeout;
+	private final Duration _speculationDelay;
+	private final C _penalty;
+
+	/**
+	 * Create a new evaluation deadline object.
+	 *
+	 * @param individualTimeout the maximal evaluation time of one individual;
+	 *        may be {@code null}
+	 * @param generationTimeout the maximal evaluation time of the whole
+	 *        population; may be {@code null}
+	 * @param speculationDelay the time after which a still running
+	 *        evaluation is started a second time; may be {@code null}
+	 * @param penalty the fitness value of individuals whose evaluation timed
+	 *        out. Must not be {@code null} if one of the timeouts is given.
+	 * @throws NullPointerException if one of the timeouts is given, but no
+	 *         {@code penalty} value
+	 * @throws IllegalArgumentException if one of the durations is not positive
+	 */
+	EvaluationDeadline(
+		final Duration individualTimeout,
+		final Duration generationTimeout,
+		final Duration speculationDelay,
+		final C penalty
+	) {
+		_individualTimeout = positive(individualTimeout);
+		_generationTimeout = positive(generationTimeout);
+		_speculationDelay = positive(speculationDelay);
+		_penalty = individualTimeout != null || generationTimeout != null
+			? requireNonNull(penalty, "Penalty fitness")
+			: penalty;
+	}
+
+	private static Duration positive(final Duration duration) {
+		if (duration != null && (duration.isNegative() || duration.isZero())) {
+			throw new IllegalArgumentException(
+				"Duration must be positive: " + duration
+			);
+		}
+		return duration;
+	}
+
+	Duration getIndividualTimeout() {
+		return _individualTimeout;
+	}
+
+	Duration getGenerationTimeout() {
+		return _generationTimeout;
+	}
+
+	Duration getSpeculationDelay() {
+		return _speculationDelay;
+	}
+
+	C getPenalty() {
+		return _penalty;
+	}
+
+	/**
+	 * Evaluates the not yet evaluated individuals of the given population.
+	 * The evaluated individuals are replaced in place. If the evaluation is
+	 * cancelled, the running evaluations are interrupted and the remaining
+	 * individuals are left unevaluated.
+	 *
+	 * @param population the population to evaluate
+	 * @param executor the executor used for evaluating the fitness function
+	 * @param cancellation the cancellation signal of the evolution step
+	 * @param <G> the gene type
+	 * @return the evaluation counts of this evaluation step
+	 * @throws CancellationException if the calling thread has been
+	 *         interrupted or the fitness function has thrown an exception
+	 */
+	<G extends Gene<?, G>> EvaluationCounts evaluate(
+		final Population<G, C> population,
+		final Executor executor,
+		final Cancellation cancellation
+	) {
+		final long start = System.nanoTime();
+		final long generationDeadline = _generationTimeout != null
+			? start + nanos(_generationTimeout)
+			: NONE;
+		final long individualNanos = nanos(_individualTimeout);
+		final long speculationNanos = nanos(_speculationDelay);
+
+		final BlockingQueue<Slot<G, C>> finished = new LinkedBlockingQueue<>();
+		final List<Slot<G, C>> slots = new ArrayList<>();
+		for (int i = 0, n = population.size(); i < n; ++i) {
+			final Phenotype<G, C> pt = population.get(i);
+			if (!pt.isEvaluated()) {
+				slots.add(new Slot<>(i, pt, finished));
+			}
+		}
+
+		int timeouts = 0;
+		int speculations = 0;
+		int pending = slots.size();
+		int submitted = 0;
+		try {
+			long nextCheck = start;
+			while (pending > 0 && !cancellation.isCancelled()) {
+				// Submitting the waiting evaluations, as long as the executor
+				// accepts new tasks without blocking.
+				while (submitted < slots.size()) {
+					final Slot<G, C> slot = slots.get(submitted);
+					if (!slot.isDone() && !slot.submit(executor)) break;
+					++submitted;
+				}
+
+				final long now = System.nanoTime();
+
+				// Checking the deadlines of all running evaluations.
+				if (reached(now, nextCheck)) {
+					nextCheck = generationDeadline;
+					for (Slot<G, C> slot : slots) {
+						if (slot.isDone()) continue;
+
+						final long started = slot.started();
+						final boolean expired =
+							reached(now, generationDeadline) ||
+							started != NONE &&
+							reached(now, plus(started, individualNanos));
+
+						if (expired) {
+							if (slot.expire()) {
+								population.set(
+									slot.index,
+									slot.phenotype.withFitness(_penalty)
+								);
+								++timeouts;
+								--pending;
+							}
+						} else if (started != NONE) {
+							if (!slot.isSpeculated() &&
+								reached(now, plus(started, speculationNanos)) &&
+								slot.speculate(executor))
+							{
+								++speculations;
+							}
+
+							nextCheck = earliest(
+								nextCheck,
+								started, individualNanos,
+								slot.isSpeculated() ? NONE : speculationNanos
+							);
+						} else {
+							nextCheck = earliest(
+								nextCheck,
+								now, individualNanos, speculationNanos
+							);
+						}
+					}
+				}
+
+				// Collecting the finished evaluations.
+				final long maxWait =
+					cancellation.isNone() && submitted == slots.size()
+						? MAX_WAIT
+						: CANCELLATION_POLL;
+				final long wait = nextCheck != NONE
+					? max(min(nextCheck - now, maxWait), 0)
+					: maxWait;
+				Slot<G, C> slot = finished.poll(wait, TimeUnit.NANOSECONDS);
+				while (slot != null) {
+					population.set(slot.index, slot.result());
+					--pending;
+					slot = finished.poll();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw (CancellationException)new CancellationException(
+				e.getMessage()
+			).initCause(e);
+		} finally {
+			for (Slot<G, C> slot : slots) {
+				slot.cancel();
+			}
+		}
+
+		return EvaluationCounts.of(slots.size() - pending, timeouts, speculations);
+	}
+
+	private static long earliest(
+		final long current,
+		final long start,
+		final long duration1,
+		final long duration2
+	) {
+		return earliest(
+			earliest(current, plus(start, duration1)),
+			plus(start, duration2)
+		);
+	}
+
+	// Returns the earlier of the two nano-times, where NONE is 'never'.
+	private static long earliest(final long time1, final long time2) {
+		if (time1 == NONE) return time2;
+		if (time2 == NONE) return time1;
+		return time1 - time2 <= 0 ? time1 : time2;
+	}
+
+	private static long plus(final long time, final long duration) {
+		return duration != NONE ? time + duration : NONE;
+	}
+
+	private static boolean reached(final long now, final long time) {
+		return time != NONE && now - time >= 0;
+	}
+
+	private static long nanos(final Duration duration) {
+		return duration != null ? duration.toNanos() : NONE;
+	}
+
+
+	/**
+	 * The evaluation state of one individual.
+	 */
+	private static final class Slot<
+		G extends Gene<?, G>,
+		C extends Comparable<? super C>
+	> {
+		final int index;
+		final Phenotype<G, C> phenotype;
+
+		private final BlockingQueue<Slot<G, C>> _finished;
+		private final AtomicBoolean _done = new AtomicBoolean(false);
+		private final AtomicLong _started = new AtomicLong(NONE);
+		private final List<FutureTask<C>> _tasks = new ArrayList<>(2);
+		private final List<Runnable> _releases = new ArrayList<>(2);
+
+		private volatile C _fitness;
+		private volatile Throwable _error;
+
+		Slot(
+			final int index,
+			final Phenotype<G, C> phenotype,
+			final BlockingQueue<Slot<G, C>> finished
+		) {
+			this.index = index;
+			this.phenotype = requireNonNull(phenotype);
+			_finished = requireNonNull(finished);
+		}
+
+		// Returns false, if the executor can't start the evaluation without
+		// blocking.
+		boolean submit(final Executor executor) {
+			final FutureTask<C> task = new FutureTask<>(this::evaluate);
+			synchronized (_tasks) {
+				_tasks.add(task);
+			}
+
+			if (executor instanceof ThreadPerTaskExecutor) {
+				final Runnable release =
+					((ThreadPerTaskExecutor)executor).tryExecute(task);
+
+				synchronized (_tasks) {
+					if (release != null) {
+						_releases.add(release);
+					} else {
+						_tasks.remove(task);
+					}
+				}
+				return release != null;
+			} else {
+				executor.execute(task);
+				return true;
+			}
+		}
+
+		boolean speculate(final Executor executor) {
+			return submit(executor);
+		}
+
+		boolean isSpeculated() {
+			synchronized (_tasks) {
+				return _tasks.size() > 1;
+			}
+		}
+
+		long started() {
+			return _started.get();
+		}
+
+		boolean isDone() {
+			return _done.get();
+		}
+
+		private C evaluate() {
+			_started.compareAndSet(NONE, System.nanoTime());
+			try {
+				final C fitness = phenotype.getFitnessFunction()
+					.apply(phenotype.getGenotype());
+
+				if (_done.compareAndSet(false, true)) {
+					_fitness = fitness;
+					_finished.add(this);
+				}
+				return fitness;
+			} catch (RuntimeException|Error e) {
+				if (_done.compareAndSet(false, true)) {
+					_error = e;
+					_finished.add(this);
+				}
+				throw e;
+			}
+		}
+
+		// Marks the evaluation as expired, if it is not already finished.
+		boolean expire() {
+			final boolean expired = _done.compareAndSet(false, true);
+			if (expired) {
+				cancel();
+			}
+			return expired;
+		}
+
+		Phenotype<G, C> result() {
+			cancel();
+			if (_error != null) {
+				throw (CancellationException)new CancellationException(
+					_error.getMessage()
+				).initCause(_error);
+			}
+			return phenotype.withFitness(_fitness);
+		}
+
+		void cancel() {
+			synchronized (_tasks) {
+				for (FutureTask<C> task : _tasks) {
+					task.cancel(true);
+				}
+				for (Runnable release : _releases) {
+					release.run();
+				}
+			}
+		}
+	}
+
+}
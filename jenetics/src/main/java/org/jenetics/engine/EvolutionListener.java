@@ -0,0 +1,258 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import org.jenetics.Alterer;
+import org.jenetics.util.ISeq;
+
+/**
+ * Instrumentation interface of the evolution {@link Engine}. The listener is
+ * notified about the start and the end of the single evolution stages, the
+ * evaluation of every fitness evaluation batch and the execution of every
+ * alterer. A listener is registered with the
+ * {@link Engine.Builder#listener(EvolutionListener)} method.
+ *
+ * <pre>{@code
+ * final Engine<DoubleGene, Double> engine = Engine.builder(problem)
+ *     .listener(EvolutionListener.jfr())
+ *     .build();
+ * }</pre>
+ *
+ * The listener methods are called from the threads which are executing the
+ * evolution stages, possibly concurrently, and must therefore be thread-safe
+ * and fast. If no listener is registered, the engine doesn't measure any
+ * additional timing values.
+ *
+ * @see EvolutionDurations
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public interface EvolutionListener {
+
+	/**
+	 * The instrumented stages of one evolution step.
+	 */
+	public static enum Stage {
+
+		/**
+		 * The whole evolution step.
+		 */
+		EVOLVE,
+
+		/**
+		 * The selection of the offspring population.
+		 */
+		OFFSPRING_SELECTION,
+
+		/**
+		 * The selection of the survivors population.
+		 */
+		SURVIVORS_SELECTION,
+
+		/**
+		 * The altering of the offspring population.
+		 */
+		OFFSPRING_ALTER,
+
+		/**
+		 * The filtering of the offspring population.
+		 */
+		OFFSPRING_FILTER,
+
+		/**
+		 * The filtering of the survivors population.
+		 */
+		SURVIVORS_FILTER,
+
+		/**
+		 * The fitness evaluation of the new individuals.
+		 */
+		EVALUATION
+	}
+
+	/**
+	 * Called when the given evolution {@code stage} is started.
+	 *
+	 * @param stage the started stage
+	 * @param generation the generation of the evolution step
+	 * @param queued the time the stage has been waiting for an executor
+	 *        thread, after it has been ready for execution
+	 */
+	public default void stageStarted(
+		final Stage stage,
+		final long generation,
+		final Duration queued
+	) {
+	}
+
+	/**
+	 * Called when the given evolution {@code stage} is finished.
+	 *
+	 * @param stage the finished stage
+	 * @param generation the generation of the evolution step
+	 * @param duration the execution time of the stage
+	 * @param allocated the number of bytes allocated by the thread which
+	 *        executed the stage, or {@code -1} if the allocated memory can't
+	 *        be measured by the current JVM. The allocations of the threads
+	 *        evaluating the fitness function concurrently are not included.
+	 */
+	public default void stageFinished(
+		final Stage stage,
+		final long generation,
+		final Duration duration,
+		final long allocated
+	) {
+	}
+
+	/**
+	 * Called when a batch of individuals has been evaluated. A registered
+	 * listener doesn't change the partitioning of the fitness evaluation.
+	 * Every evaluation task of the engine reports its own batch, which
+	 * currently consists of one individual. No events are emitted for
+	 * evaluations with time limits, see
+	 * {@link Engine.Builder#evaluationTimeout(Duration, Comparable)}.
+	 *
+	 * @param generation the generation of the evolution step
+	 * @param size the number of individuals of the evaluated batch
+	 * @param queued the time the batch has been waiting for an evaluation
+	 *        thread
+	 * @param duration the evaluation time of the batch
+	 */
+	public default void batchEvaluated(
+		final long generation,
+		final int size,
+		final Duration queued,
+		final Duration duration
+	) {
+	}
+
+	/**
+	 * Called when an alterer of the engine has altered the offspring
+	 * population.
+	 *
+	 * @param generation the generation of the evolution step
+	 * @param alterer the executed alterer
+	 * @param alterations the number of alterations performed by the alterer
+	 * @param duration the execution time of the alterer
+	 */
+	public default void altered(
+		final long generation,
+		final Alterer<?, ?> alterer,
+		final int alterations,
+		final Duration duration
+	) {
+	}
+
+
+	/**
+	 * Return a listener which forwards all events to the given listeners.
+	 *
+	 * @param listeners the listeners to combine
+	 * @return a listener which forwards all events to the given listeners
+	 * @throws NullPointerException if one of the listeners is {@code null}
+	 */
+	public static EvolutionListener of(final EvolutionListener... listeners) {
+		final ISeq<EvolutionListener> seq = ISeq.of(listeners);
+		seq.forEach(Objects::requireNonNull);
+
+		return seq.size() == 1 ? seq.get(0) : new EvolutionListener() {
+			@Override
+			public void stageStarted(
+				final Stage stage,
+				final long generation,
+				final Duration queued
+			) {
+				for (EvolutionListener l : seq) {
+					l.stageStarted(stage, generation, queued);
+				}
+			}
+
+			@Override
+			public void stageFinished(
+				final Stage stage,
+				final long generation,
+				final Duration duration,
+				final long allocated
+			) {
+				for (EvolutionListener l : seq) {
+					l.stageFinished(stage, generation, duration, allocated);
+				}
+			}
+
+			@Override
+			public void batchEvaluated(
+				final long generation,
+				final int size,
+				final Duration queued,
+				final Duration duration
+			) {
+				for (EvolutionListener l : seq) {
+					l.batchEvaluated(generation, size, queued, duration);
+				}
+			}
+
+			@Override
+			public void altered(
+				final long generation,
+				final Alterer<?, ?> alterer,
+				final int alterations,
+				final Duration duration
+			) {
+				for (EvolutionListener l : seq) {
+					l.altered(generation, alterer, alterations, duration);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Return a listener which emits the events as
+	 * <a href="https://docs.oracle.com/javacomponents/jmc-5-5/jfr-runtime-guide/about.htm">
+	 * Java Flight Recorder</a> events, in the category <em>Jenetics</em>.
+	 * The events are only recorded, and their objects created, if they are
+	 * enabled in the running recording. This listener requires a JVM with the
+	 * {@code jdk.jfr} API (Java 8u262 or later). Since this API is not part
+	 * of the Java 8 platform, the listener is compiled separately and loaded
+	 * reflectively.
+	 *
+	 * @return a listener which emits <em>Java Flight Recorder</em> events
+	 * @throws UnsupportedOperationException if the running JVM doesn't
+	 *         support the {@code jdk.jfr} API
+	 */
+	public static EvolutionListener jfr() {
+		try {
+			Class.forName("jdk.jfr.Event");
+			return (EvolutionListener)Class
+				.forName("org.jenetics.engine.JfrEvolutionListener")
+				.getDeclaredField("INSTANCE")
+				.get(null);
+		} catch (ReflectiveOperationException|LinkageError e) {
+			throw new UnsupportedOperationException(
+				"Java Flight Recorder API is not available.", e
+			);
+		}
+	}
+
+}
@@ -0,0 +1,415 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+
+import org.jenetics.Phenotype;
+import org.jenetics.Population;
+import org.jenetics.engine.EvolutionListener.Stage;
+import org.jenetics.util.NanoClock;
+
+/**
+ * Lock-free metrics registry of a running evolution {@link Engine}. In
+ * contrast to the {@link EvolutionStatistics}, which accumulates the values
+ * of the whole evolution run, the metrics are aggregated over a sliding time
+ * window and can be exported periodically, while the evolution stream is
+ * running.
+ *
+ * <pre>{@code
+ * final EvolutionMetrics metrics = EvolutionMetrics.of(Duration.ofSeconds(10));
+ * final Phenotype<DoubleGene, Double> best = engine.stream()
+ *     .limit(100)
+ *     .peek(metrics)
+ *     .collect(toBestPhenotype());
+ *
+ * final MetricsSnapshot snapshot = metrics.snapshot();
+ * System.out.println(snapshot.getRates().get(EvolutionMetrics.EVALUATIONS));
+ * }</pre>
+ *
+ * The registry records the following metrics for every consumed evolution
+ * result:
+ * <ul>
+ *     <li><b>Counters:</b> {@code generations}, {@code evaluations},
+ *         {@code invalids}, {@code kills} and {@code alterations}.</li>
+ *     <li><b>Gauges:</b> {@code generation}, {@code fitness.best},
+ *         {@code fitness.p50}, {@code fitness.p90} and {@code fitness.p99}.
+ *         The fitness gauges are only available for {@link Number} fitness
+ *         values and are {@code NaN} otherwise.</li>
+ *     <li><b>Histograms:</b> the latencies of the evolution stages, named
+ *         after the {@link Stage}, e.g. {@code evolve} or
+ *         {@code offspring.selection}.</li>
+ * </ul>
+ * Additional counters, gauges and histograms can be registered by the user.
+ * Recording values is lock-free. Only the creation of a
+ * {@link #snapshot()}, which is usually done by a single exporter thread, is
+ * synchronized.
+ *
+ * @see MetricsExporter
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public final class EvolutionMetrics
+	implements Consumer<EvolutionResult<?, ?>>
+{
+
+	/** Name of the counter of the evolved generations. */
+	public static final String GENERATIONS = "generations";
+
+	/** Name of the counter of the fitness function evaluations. */
+	public static final String EVALUATIONS = "evaluations";
+
+	/** Name of the counter of the invalid individuals. */
+	public static final String INVALIDS = "invalids";
+
+	/** Name of the counter of the killed individuals. */
+	public static final String KILLS = "kills";
+
+	/** Name of the counter of the alterations. */
+	public static final String ALTERATIONS = "alterations";
+
+	private final Duration _window;
+	private final Clock _clock;
+
+	private final Map<String, LongAdder> _counters = new ConcurrentHashMap<>();
+	private final Map<String, DoubleSupplier> _gauges = new ConcurrentHashMap<>();
+	private final Map<String, LatencyHistogram>
+		_histograms = new ConcurrentHashMap<>();
+
+	// The predefined metrics.
+	private final LongAdder _generations;
+	private final LongAdder _evaluations;
+	private final LongAdder _invalids;
+	private final LongAdder _kills;
+	private final LongAdder _alterations;
+	private final Map<Stage, LatencyHistogram> _stages = new EnumMap<>(Stage.class);
+
+	private volatile long _generation = 0;
+	private volatile double[] _fitness = {
+		Double.NaN, Double.NaN, Double.NaN, Double.NaN
+	};
+
+	// The sliding window state, guarded by 'this'.
+	private final Deque<Interval> _intervals = new ArrayDeque<>();
+	private Instant _baseTime;
+	private final Map<String, Long> _baseCounts = new HashMap<>();
+	private final Map<String, long[]> _baseBuckets = new HashMap<>();
+	private Map<String, Long> _lastCounts = new HashMap<>();
+	private Map<String, long[]> _lastBuckets = new HashMap<>();
+
+	private EvolutionMetrics(final Duration window, final Clock clock) {
+		if (window.isNegative() || window.isZero()) {
+			throw new IllegalArgumentException(format(
+				"Window must be positive: %s", window
+			));
+		}
+		_window = window;
+		_clock = requireNonNull(clock);
+		_baseTime = clock.instant();
+
+		_generations = counter(GENERATIONS);
+		_evaluations = counter(EVALUATIONS);
+		_invalids = counter(INVALIDS);
+		_kills = counter(KILLS);
+		_alterations = counter(ALTERATIONS);
+
+		gauge("generation", () -> _generation);
+		gauge("fitness.best", () -> _fitness[0]);
+		gauge("fitness.p50", () -> _fitness[1]);
+		gauge("fitness.p90", () -> _fitness[2]);
+		gauge("fitness.p99", () -> _fitness[3]);
+
+		for (Stage stage : Stage.values()) {
+			_stages.put(
+				stage,
+				histogram(stage.name().toLowerCase().replace('_', '.'))
+			);
+		}
+	}
+
+	/**
+	 * Return the length of the sliding window.
+	 *
+	 * @return the length of the sliding window
+	 */
+	public Duration getWindow() {
+		return _window;
+	}
+
+	/**
+	 * Return the counter with the given name. The counter is created, if it
+	 * doesn't exist yet.
+	 *
+	 * @param name the counter name
+	 * @return the counter with the given name
+	 * @throws NullPointerException if the given {@code name} is {@code null}
+	 */
+	public LongAdder counter(final String name) {
+		return _counters.computeIfAbsent(requireNonNull(name), n -> new LongAdder());
+	}
+
+	/**
+	 * Registers the given gauge, which is read when a snapshot is taken. An
+	 * already existing gauge with the same name is replaced.
+	 *
+	 * @param name the gauge name
+	 * @param gauge the supplier of the gauge value
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public void gauge(final String name, final DoubleSupplier gauge) {
+		_gauges.put(requireNonNull(name), requireNonNull(gauge));
+	}
+
+	/**
+	 * Return the latency histogram with the given name. The histogram is
+	 * created, if it doesn't exist yet.
+	 *
+	 * @param name the histogram name
+	 * @return the histogram with the given name
+	 * @throws NullPointerException if the given {@code name} is {@code null}
+	 */
+	public LatencyHistogram histogram(final String name) {
+		return _histograms
+			.computeIfAbsent(requireNonNull(name), n -> new LatencyHistogram());
+	}
+
+	@Override
+	public void accept(final EvolutionResult<?, ?> result) {
+		_generations.increment();
+		_evaluations.add(result.getEvaluationCounts().getEvaluationCount());
+		_invalids.add(result.getInvalidCount());
+		_kills.add(result.getKillCount());
+		_alterations.add(result.getAlterCount());
+		_generation = result.getGeneration();
+
+		final EvolutionDurations durations = result.getDurations();
+		record(Stage.OFFSPRING_SELECTION, durations.getOffspringSelectionDuration());
+		record(Stage.SURVIVORS_SELECTION, durations.getSurvivorsSelectionDuration());
+		record(Stage.OFFSPRING_ALTER, durations.getOffspringAlterDuration());
+		record(Stage.OFFSPRING_FILTER, durations.getOffspringFilterDuration());
+		record(Stage.SURVIVORS_FILTER, durations.getSurvivorFilterDuration());
+		record(Stage.EVALUATION, durations.getEvaluationDuration());
+		record(Stage.EVOLVE, durations.getEvolveDuration());
+
+		if (result.getBestFitness() instanceof Number) {
+			_fitness = fitness(result);
+		}
+	}
+
+	private void record(final Stage stage, final Duration duration) {
+		_stages.get(stage).record(duration);
+	}
+
+	private static double[] fitness(final EvolutionResult<?, ?> result) {
+		final Population<?, ?> population = result.getPopulation();
+		final double[] values = new double[population.size()];
+		for (int i = 0; i < values.length; ++i) {
+			final Phenotype<?, ?> pt = population.get(i);
+			values[i] = ((Number)pt.getFitness()).doubleValue();
+		}
+		Arrays.sort(values);
+
+		return new double[] {
+			((Number)result.getBestFitness()).doubleValue(),
+			percentile(values, 0.5),
+			percentile(values, 0.9),
+			percentile(values, 0.99)
+		};
+	}
+
+	// Nearest rank percentile of the sorted values.
+	private static double percentile(final double[] values, final double p) {
+		if (values.length == 0) {
+			return Double.NaN;
+		}
+		final int rank = (int)ceil(p*values.length);
+		return values[max(rank - 1, 0)];
+	}
+
+	/**
+	 * Takes a snapshot of the current metric values. The rates and histograms
+	 * of the snapshot are calculated for the sliding window, which ends now.
+	 * Since the window is moved forward with every snapshot, the actual
+	 * window length ({@link MetricsSnapshot#getSpan()}) can be a little
+	 * bit longer than the configured one, if the snapshots are taken in
+	 * coarse intervals.
+	 *
+	 * @return a snapshot of the current metric values
+	 */
+	public synchronized MetricsSnapshot snapshot() {
+		final Instant now = _clock.instant();
+
+		final Map<String, Long> counts = new HashMap<>();
+		_counters.forEach((name, counter) -> counts.put(name, counter.sum()));
+		final Map<String, long[]> buckets = new HashMap<>();
+		_histograms.forEach((name, histogram) ->
+			buckets.put(name, histogram.counts()));
+
+		_intervals.addLast(new Interval(now, counts, buckets));
+		_lastCounts = counts;
+		_lastBuckets = buckets;
+
+		// Moving the start of the window forward.
+		final Instant start = now.minus(_window);
+		while (!_intervals.getFirst().end.isAfter(start)) {
+			final Interval interval = _intervals.removeFirst();
+			_baseTime = interval.end;
+			interval.counts.forEach((name, delta) ->
+				_baseCounts.merge(name, delta, Long::sum));
+			interval.buckets.forEach((name, delta) -> {
+				final long[] base = _baseBuckets
+					.computeIfAbsent(name, n -> new long[LatencyHistogram.BUCKETS]);
+				for (int i = 0; i < delta.length; i += 2) {
+					base[(int)delta[i]] += delta[i + 1];
+				}
+			});
+		}
+
+		final Duration span = Duration.between(_baseTime, now);
+		final double seconds = span.toNanos()/1_000_000_000.0;
+
+		final Map<String, Double> rates = new HashMap<>();
+		counts.forEach((name, count) -> rates.put(
+			name,
+			(count - _baseCounts.getOrDefault(name, 0L))/seconds
+		));
+
+		final Map<String, Double> gauges = new HashMap<>();
+		_gauges.forEach((name, gauge) -> gauges.put(name, gauge.getAsDouble()));
+
+		final Map<String, MetricsSnapshot.Histogram> histograms = new HashMap<>();
+		buckets.forEach((name, current) -> {
+			final long[] base = _baseBuckets.get(name);
+			final long[] window = current.clone();
+			if (base != null) {
+				for (int i = 0; i < window.length; ++i) {
+					window[i] -= base[i];
+				}
+			}
+			histograms.put(name, new MetricsSnapshot.Histogram(window));
+		});
+
+		return new MetricsSnapshot(now, span, counts, rates, gauges, histograms);
+	}
+
+	/**
+	 * The metric changes between two snapshots.
+	 */
+	private final class Interval {
+		final Instant end;
+		final Map<String, Long> counts = new HashMap<>();
+
+		// The changed buckets, as (index, delta) pairs.
+		final Map<String, long[]> buckets = new HashMap<>();
+
+		Interval(
+			final Instant end,
+			final Map<String, Long> counts,
+			final Map<String, long[]> buckets
+		) {
+			this.end = end;
+			counts.forEach((name, count) -> this.counts.put(
+				name,
+				count - _lastCounts.getOrDefault(name, 0L)
+			));
+			buckets.forEach((name, current) -> this.buckets.put(
+				name,
+				delta(current, _lastBuckets.get(name))
+			));
+		}
+	}
+
+	private static long[] delta(final long[] current, final long[] last) {
+		int changes = 0;
+		for (int i = 0; i < current.length; ++i) {
+			if (current[i] != (last != null ? last[i] : 0)) ++changes;
+		}
+
+		final long[] delta = new long[2*changes];
+		for (int i = 0, j = 0; i < current.length; ++i) {
+			final long diff = current[i] - (last != null ? last[i] : 0);
+			if (diff != 0) {
+				delta[j++] = i;
+				delta[j++] = diff;
+			}
+		}
+		return delta;
+	}
+
+
+	/* *************************************************************************
+	 *  Static factory methods.
+	 * ************************************************************************/
+
+	/**
+	 * Return a new metrics registry with the given sliding window length and
+	 * the given clock, used for measuring the window.
+	 *
+	 * @param window the length of the sliding window
+	 * @param clock the clock used for measuring the sliding window
+	 * @return a new metrics registry
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the {@code window} is not positive
+	 */
+	public static EvolutionMetrics of(final Duration window, final Clock clock) {
+		return new EvolutionMetrics(requireNonNull(window), clock);
+	}
+
+	/**
+	 * Return a new metrics registry with the given sliding window length.
+	 *
+	 * @param window the length of the sliding window
+	 * @return a new metrics registry
+	 * @throws NullPointerException if the {@code window} is {@code null}
+	 * @throws IllegalArgumentException if the {@code window} is not positive
+	 */
+	public static EvolutionMetrics of(final Duration window) {
+		return of(window, NanoClock.systemUTC());
+	}
+
+	/**
+	 * Return a new metrics registry with a sliding window of one minute.
+	 *
+	 * @return a new metrics registry
+	 */
+	public static EvolutionMetrics of() {
+		return of(Duration.ofMinutes(1));
+	}
+
+}
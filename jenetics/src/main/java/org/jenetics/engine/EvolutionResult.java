@@ -21,6 +21,8 @@ package org.jenetics.engine;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Objects;
@@ -29,13 +31,18 @@ import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
 import org.jenetics.internal.util.Lazy;
+import org.jenetics.internal.util.reflect;
 
 import org.jenetics.Gene;
 import org.jenetics.Genotype;
 import org.jenetics.Optimize;
 import org.jenetics.Phenotype;
 import org.jenetics.Population;
+import org.jenetics.moea.ElementComparator;
+import org.jenetics.moea.Pareto;
+import org.jenetics.moea.Vec;
 import org.jenetics.stat.MinMax;
+import org.jenetics.util.ISeq;
 
 /**
  * Represents a state of the GA after an evolution step. It also represents the
@@ -58,7 +65,7 @@ import org.jenetics.stat.MinMax;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
  * @since 3.0
- * @version 3.9
+ * @version 4.0
  */
 public final class EvolutionResult<
 	G extends Gene<?, G>,
@@ -77,10 +84,15 @@ public final class EvolutionResult<
 	private final int _killCount;
 	private final int _invalidCount;
 	private final int _alterCount;
+	private final EvaluationCounts _evaluationCounts;
 
 	private final Lazy<Phenotype<G, C>> _best;
 	private final Lazy<Phenotype<G, C>> _worst;
 
+	// The Pareto front is not serialized, since it can be (expensively)
+	// recalculated from the population.
+	private final transient Lazy<ISeq<Phenotype<G, C>>> _paretoFront;
+
 	private EvolutionResult(
 		final Optimize optimize,
 		final Population<G, C> population,
@@ -89,7 +101,8 @@ public final class EvolutionResult<
 		final EvolutionDurations durations,
 		final int killCount,
 		final int invalidCount,
-		final int alterCount
+		final int alterCount,
+		final EvaluationCounts evaluationCounts
 	) {
 		_optimize = requireNonNull(optimize);
 		_population = requireNonNull(population).copy();
@@ -99,6 +112,7 @@ public final class EvolutionResult<
 		_killCount = killCount;
 		_invalidCount = invalidCount;
 		_alterCount = alterCount;
+		_evaluationCounts = requireNonNull(evaluationCounts);
 
 		_best = Lazy.of(() -> _population.stream()
 			.max(_optimize.ascending())
@@ -109,6 +123,40 @@ public final class EvolutionResult<
 			.min(_optimize.ascending())
 			.orElse(null)
 		);
+
+		_paretoFront = Lazy.of(this::paretoFront);
+	}
+
+	// Evolution results, serialized with version 3.9, don't contain the
+	// evaluation counts.
+	private void readObject(final ObjectInputStream in)
+		throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+		if (_evaluationCounts == null) {
+			reflect.setField(this, "_evaluationCounts", EvaluationCounts.ZERO);
+		}
+		reflect.setField(this, "_paretoFront", Lazy.of(this::paretoFront));
+	}
+
+	private ISeq<Phenotype<G, C>> paretoFront() {
+		final C best = getBestFitness();
+
+		if (best instanceof Vec<?>) {
+			@SuppressWarnings("unchecked")
+			final ElementComparator<Phenotype<G, C>> comparator = (a, b, i) ->
+				((Vec<Object>)a.getFitness()).compare((Vec<Object>)b.getFitness(), i);
+
+			return Pareto.front(
+				ISeq.of(_population),
+				_optimize == Optimize.MAXIMUM ? comparator : comparator.reversed(),
+				pt -> ((Vec<?>)pt.getFitness()).length()
+			);
+		} else {
+			return _population.stream()
+				.filter(pt -> best != null && best.compareTo(pt.getFitness()) == 0)
+				.collect(ISeq.toISeq());
+		}
 	}
 
 	/**
@@ -196,6 +244,18 @@ public final class EvolutionResult<
 		return _alterCount;
 	}
 
+	/**
+	 * Return the information about the fitness evaluations performed in this
+	 * evolution step.
+	 *
+	 * @since 4.0
+	 *
+	 * @return the evaluation counts of the evolution step
+	 */
+	public EvaluationCounts getEvaluationCounts() {
+		return _evaluationCounts;
+	}
+
 	/**
 	 * Return the best {@code Phenotype} of the result population.
 	 *
@@ -214,6 +274,47 @@ public final class EvolutionResult<
 		return _worst.get();
 	}
 
+	/**
+	 * Return the <em>Pareto front</em> of the current population, the
+	 * individuals which are not dominated by any other individual. For
+	 * multi-objective fitness values, {@link Vec} objects, the Pareto
+	 * dominance is used, where all objectives are maximized or minimized
+	 * according to the optimization strategy. For all other fitness types,
+	 * the front consists of all individuals with the best fitness value.
+	 *
+	 * @see Pareto#front(org.jenetics.util.Seq, ElementComparator,
+	 *      java.util.function.ToIntFunction)
+	 *
+	 * @since 4.0
+	 *
+	 * @return the non-dominated individuals of the current population
+	 */
+	public ISeq<Phenotype<G, C>> getParetoFront() {
+		return _paretoFront.get();
+	}
+
+	/**
+	 * Return the diversity statistics of the current population, measured
+	 * with the given distance function. The statistics are calculated on
+	 * every call.
+	 *
+	 * @see Diversity#of(org.jenetics.util.Seq, Distance)
+	 *
+	 * @since 4.0
+	 *
+	 * @param distance the (metric) distance function of the genotypes
+	 * @return the diversity statistics of the current population
+	 * @throws NullPointerException if the {@code distance} is {@code null}
+	 */
+	public Diversity getDiversity(final Distance<? super Genotype<G>> distance) {
+		return Diversity.of(
+			_population.stream()
+				.map(Phenotype::getGenotype)
+				.collect(ISeq.toISeq()),
+			distance
+		);
+	}
+
 	/**
 	 * Return the best population fitness.
 	 *
@@ -264,7 +365,8 @@ public final class EvolutionResult<
 			_durations,
 			_killCount,
 			_invalidCount,
-			_alterCount
+			_alterCount,
+			_evaluationCounts
 		);
 	}
 
@@ -279,6 +381,7 @@ public final class EvolutionResult<
 		hash += 31*Objects.hashCode(_killCount) + 17;
 		hash += 31*Objects.hashCode(_invalidCount) + 17;
 		hash += 31*Objects.hashCode(_alterCount) + 17;
+		hash += 31*Objects.hashCode(_evaluationCounts) + 17;
 		hash += 31*Objects.hashCode(getBestFitness()) + 17;
 		return hash;
 	}
@@ -302,6 +405,8 @@ public final class EvolutionResult<
 				((EvolutionResult<?, ?>)obj)._invalidCount) &&
 			Objects.equals(_alterCount,
 				((EvolutionResult<?, ?>)obj)._alterCount) &&
+			Objects.equals(_evaluationCounts,
+				((EvolutionResult<?, ?>)obj)._evaluationCounts) &&
 			Objects.equals(getBestFitness(),
 				((EvolutionResult<?, ?>)obj).getBestFitness());
 	}
@@ -487,6 +592,53 @@ public final class EvolutionResult<
 		return toBestResult(codec.decoder());
 	}
 
+	/**
+	 * Return an new {@code EvolutionResult} object with the given values.
+	 *
+	 * @since 4.0
+	 *
+	 * @param optimize the optimization strategy used
+	 * @param population the population after the evolution step
+	 * @param generation the current generation
+	 * @param totalGenerations the overall number of generations
+	 * @param durations the timing (meta) information
+	 * @param killCount the number of individuals which has been killed
+	 * @param invalidCount the number of individuals which has been removed as
+	 *        invalid
+	 * @param alterCount the number of individuals which has been altered
+	 * @param evaluationCounts the information about the performed fitness
+	 *        evaluations
+	 * @param <G> the gene type
+	 * @param <C> the fitness type
+	 * @return an new evolution result object
+	 * @throws java.lang.NullPointerException if one of the parameters is
+	 *         {@code null}
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	EvolutionResult<G, C> of(
+		final Optimize optimize,
+		final Population<G, C> population,
+		final long generation,
+		final long totalGenerations,
+		final EvolutionDurations durations,
+		final int killCount,
+		final int invalidCount,
+		final int alterCount,
+		final EvaluationCounts evaluationCounts
+	) {
+		return new EvolutionResult<>(
+			optimize,
+			population,
+			generation,
+			totalGenerations,
+			durations,
+			killCount,
+			invalidCount,
+			alterCount,
+			evaluationCounts
+		);
+	}
+
 	/**
 	 * Return an new {@code EvolutionResult} object with the given values.
 	 *
@@ -524,7 +676,8 @@ public final class EvolutionResult<
 			durations,
 			killCount,
 			invalidCount,
-			alterCount
+			alterCount,
+			EvaluationCounts.ZERO
 		);
 	}
 
@@ -563,7 +716,8 @@ public final class EvolutionResult<
 			durations,
 			killCount,
 			invalidCount,
-			alterCount
+			alterCount,
+			EvaluationCounts.ZERO
 		);
 	}
 
@@ -32,7 +32,7 @@ import org.jenetics.Gene;
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
  * @since 3.0
- * @version 3.9
+ * @version 4.0
  */
 final class EvolutionSpliterator<
 	G extends Gene<?, G>,
@@ -44,6 +44,7 @@ final class EvolutionSpliterator<
 	private final Supplier<EvolutionStart<G, C>> _initial;
 	private final Function<? super EvolutionStart<G, C>, EvolutionResult<G, C>> _evolution;
 	private final Predicate<? super EvolutionResult<G, C>> _proceed;
+	private final Cancellation _cancellation;
 
 	private long _estimate;
 	private EvolutionStart<G, C> _next = null;
@@ -52,20 +53,31 @@ final class EvolutionSpliterator<
 		final Supplier<EvolutionStart<G, C>> initial,
 		final Function<? super EvolutionStart<G, C>, EvolutionResult<G, C>> evolution,
 		final Predicate<? super EvolutionResult<G, C>> proceed,
+		final Cancellation cancellation,
 		final long estimate
 	) {
 		_evolution = requireNonNull(evolution);
 		_initial = requireNonNull(initial);
 		_proceed = requireNonNull(proceed);
+		_cancellation = requireNonNull(cancellation);
 		_estimate = estimate;
 	}
 
+	EvolutionSpliterator(
+		final Supplier<EvolutionStart<G, C>> initial,
+		final Function<? super EvolutionStart<G, C>, EvolutionResult<G, C>> evolution,
+		final Predicate<? super EvolutionResult<G, C>> proceed,
+		final Cancellation cancellation
+	) {
+		this(initial, evolution, proceed, cancellation, Long.MAX_VALUE);
+	}
+
 	EvolutionSpliterator(
 		final Supplier<EvolutionStart<G, C>> initial,
 		final Function<? super EvolutionStart<G, C>, EvolutionResult<G, C>> evolution,
 		final Predicate<? super EvolutionResult<G, C>> proceed
 	) {
-		this(initial, evolution, proceed, Long.MAX_VALUE);
+		this(initial, evolution, proceed, Cancellation.NONE);
 	}
 
 	@Override
@@ -75,7 +87,17 @@ final class EvolutionSpliterator<
 			_next = _initial.get();
 		}
 
-		final EvolutionResult<G, C> result = _evolution.apply(_next);
+		final EvolutionResult<G, C> result =
+			_evolution.apply(_next.withCancellation(_cancellation));
+
+		// The evolution step has been cancelled before a single individual
+		// could be evaluated; the stream ends with the previous result.
+		if (result.getPopulation().isEmpty() &&
+			!_next.getPopulation().isEmpty())
+		{
+			return false;
+		}
+
 		action.accept(result);
 		_next = result.next();
 
@@ -86,7 +108,7 @@ final class EvolutionSpliterator<
 	public Spliterator<EvolutionResult<G, C>> trySplit() {
 		return _estimate > 0
 			? new EvolutionSpliterator<>(
-				_initial, _evolution, _proceed, _estimate >>>= 1)
+				_initial, _evolution, _proceed, _cancellation, _estimate >>>= 1)
 			: null;
 	}
 
@@ -39,7 +39,7 @@ import org.jenetics.Population;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
  * @since 3.1
- * @version 3.1
+ * @version 4.0
  */
 public final class EvolutionStart<
 	G extends Gene<?, G>,
@@ -49,13 +49,23 @@ public final class EvolutionStart<
 
 	private final Population<G, C> _population;
 	private final long _generation;
+	private final Cancellation _cancellation;
 
 	private EvolutionStart(
 		final Population<G, C> population,
-		final long generation
+		final long generation,
+		final Cancellation cancellation
 	) {
 		_population = requireNonNull(population);
 		_generation = require.positive(generation);
+		_cancellation = requireNonNull(cancellation);
+	}
+
+	private EvolutionStart(
+		final Population<G, C> population,
+		final long generation
+	) {
+		this(population, generation, Cancellation.NONE);
 	}
 
 	/**
@@ -76,6 +86,28 @@ public final class EvolutionStart<
 		return _generation;
 	}
 
+	/**
+	 * Return the cancellation signal of the evolution step, started with
+	 * this object.
+	 *
+	 * @return the cancellation signal of the evolution step
+	 */
+	Cancellation getCancellation() {
+		return _cancellation;
+	}
+
+	/**
+	 * Return a new evolution start object with the given cancellation signal.
+	 *
+	 * @param cancellation the cancellation signal of the evolution step
+	 * @return a new evolution start object with the given cancellation signal
+	 */
+	EvolutionStart<G, C> withCancellation(final Cancellation cancellation) {
+		return cancellation != _cancellation
+			? new EvolutionStart<>(_population, _generation, cancellation)
+			: this;
+	}
+
 	@Override
 	public int hashCode() {
 		int hash = 17;
@@ -31,6 +31,7 @@ import org.jenetics.stat.DoubleMomentStatistics;
 import org.jenetics.stat.IntMomentStatistics;
 import org.jenetics.stat.LongMomentStatistics;
 import org.jenetics.stat.MinMax;
+import org.jenetics.stat.QuantileSketch;
 
 /**
  * This class can be used to gather additional statistic information of an
@@ -63,6 +64,7 @@ import org.jenetics.stat.MinMax;
  * |              Altering: sum=0.086155457000 s; mean=0.007179621417 s        |
  * |   Fitness calculation: sum=0.022901606000 s; mean=0.001908467167 s        |
  * |     Overall execution: sum=0.147298067000 s; mean=0.012274838917 s        |
+ * |  Execution percentiles: p50=0.011602 s; p90=0.016210 s; p99=0.021452 s    |
  * +---------------------------------------------------------------------------+
  * |  Evolution statistics                                                     |
  * +---------------------------------------------------------------------------+
@@ -80,12 +82,19 @@ import org.jenetics.stat.MinMax;
  * |                      mean = 384.430345078660                              |
  * |                      var  = 13006.132537301528                            |
  * |                      std  = 114.044432                                    |
+ * |                      p50  = 413.287441302151                              |
+ * |                      p90  = 470.125981735436                              |
+ * |                      p99  = 480.911746502817                              |
  * +---------------------------------------------------------------------------+
  * }</pre>
  *
+ * The fitness and duration percentiles are estimated with
+ * {@link QuantileSketch} objects, which are filled in the same pass as the
+ * moment statistics.
+ *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
  * @since 3.0
- * @version 3.0
+ * @version 4.0
  */
 public abstract class EvolutionStatistics<
 	C extends Comparable<? super C>,
@@ -104,6 +113,16 @@ public abstract class EvolutionStatistics<
 	private final DoubleMomentStatistics
 		_evolveDuration = new DoubleMomentStatistics();
 
+	// The duration percentile values.
+	private final QuantileSketch
+		_selectionDurationQuantiles = new QuantileSketch();
+	private final QuantileSketch
+		_alterDurationQuantiles = new QuantileSketch();
+	private final QuantileSketch
+		_evaluationDurationQuantiles = new QuantileSketch();
+	private final QuantileSketch
+		_evolveDurationQuantiles = new QuantileSketch();
+
 	// The evolution statistics values.
 	private final IntMomentStatistics _killed = new IntMomentStatistics();
 	private final IntMomentStatistics _invalids = new IntMomentStatistics();
@@ -112,6 +131,7 @@ public abstract class EvolutionStatistics<
 	// The population statistics values.
 	final LongMomentStatistics _age = new LongMomentStatistics();
 	FitnessStatistics _fitness = null;
+	final QuantileSketch _fitnessQuantiles = new QuantileSketch();
 
 	EvolutionStatistics() {
 	}
@@ -141,12 +161,18 @@ public abstract class EvolutionStatistics<
 			toSeconds(durations.getOffspringAlterDuration()) +
 				toSeconds(durations.getOffspringFilterDuration());
 
+		final double evaluation = toSeconds(durations.getEvaluationDuration());
+		final double evolve = toSeconds(durations.getEvolveDuration());
+
 		_selectionDuration.accept(selection);
 		_alterDuration.accept(alter);
-		_evaluationDuration
-			.accept(toSeconds(durations.getEvaluationDuration()));
-		_evolveDuration
-			.accept(toSeconds(durations.getEvolveDuration()));
+		_evaluationDuration.accept(evaluation);
+		_evolveDuration.accept(evolve);
+
+		_selectionDurationQuantiles.accept(selection);
+		_alterDurationQuantiles.accept(alter);
+		_evaluationDurationQuantiles.accept(evaluation);
+		_evolveDurationQuantiles.accept(evolve);
 	}
 
 	private static double toSeconds(final Duration duration) {
@@ -198,6 +224,54 @@ public abstract class EvolutionStatistics<
 		return _evolveDuration;
 	}
 
+	/**
+	 * Return the quantile sketch of the durations needed for selecting the
+	 * population, in seconds.
+	 *
+	 * @since 4.0
+	 *
+	 * @return the selection duration quantiles
+	 */
+	public QuantileSketch getSelectionDurationQuantiles() {
+		return _selectionDurationQuantiles;
+	}
+
+	/**
+	 * Return the quantile sketch of the durations needed for altering the
+	 * population, in seconds.
+	 *
+	 * @since 4.0
+	 *
+	 * @return the alter duration quantiles
+	 */
+	public QuantileSketch getAlterDurationQuantiles() {
+		return _alterDurationQuantiles;
+	}
+
+	/**
+	 * Return the quantile sketch of the durations needed for evaluating the
+	 * fitness function of the new individuals, in seconds.
+	 *
+	 * @since 4.0
+	 *
+	 * @return the evaluation duration quantiles
+	 */
+	public QuantileSketch getEvaluationDurationQuantiles() {
+		return _evaluationDurationQuantiles;
+	}
+
+	/**
+	 * Return the quantile sketch of the durations needed for the whole evolve
+	 * step, in seconds.
+	 *
+	 * @since 4.0
+	 *
+	 * @return the evolve duration quantiles
+	 */
+	public QuantileSketch getEvolveDurationQuantiles() {
+		return _evolveDurationQuantiles;
+	}
+
 
 
 	/* *************************************************************************
@@ -252,6 +326,19 @@ public abstract class EvolutionStatistics<
 		return _fitness;
 	}
 
+	/**
+	 * Return the quantile sketch of the fitness values. The fitness
+	 * quantiles are only collected for {@code Number} fitness values, see
+	 * {@link #ofNumber()}; otherwise the returned sketch is empty.
+	 *
+	 * @since 4.0
+	 *
+	 * @return the fitness quantiles
+	 */
+	public QuantileSketch getFitnessQuantiles() {
+		return _fitnessQuantiles;
+	}
+
 	final String cpattern = "| %22s %-51s|\n";
 	final String spattern = "| %27s %-46s|\n";
 
@@ -265,6 +352,7 @@ public abstract class EvolutionStatistics<
 			format(cpattern, "Altering:", d(_alterDuration)) +
 			format(cpattern, "Fitness calculation:", d(_evaluationDuration)) +
 			format(cpattern, "Overall execution:", d(_evolveDuration)) +
+			format(cpattern, "Execution percentiles:", q(_evolveDurationQuantiles)) +
 			"+---------------------------------------------------------------------------+\n" +
 			"|  Evolution statistics                                                     |\n" +
 			"+---------------------------------------------------------------------------+\n" +
@@ -281,6 +369,15 @@ public abstract class EvolutionStatistics<
 		);
 	}
 
+	private static String q(final QuantileSketch quantiles) {
+		return format(
+			"p50=%3.6f s; p90=%3.6f s; p99=%3.6f s",
+			quantiles.quantile(0.5),
+			quantiles.quantile(0.9),
+			quantiles.quantile(0.99)
+		);
+	}
+
 	private static String i(final IntMomentStatistics statistics) {
 		final NumberFormat nf = NumberFormat.getIntegerInstance();
 		return format(
@@ -362,7 +459,10 @@ public abstract class EvolutionStatistics<
 		@Override
 		void accept(final Phenotype<?, N> pt, final long generation) {
 			super.accept(pt, generation);
-			_fitness.accept(pt.getFitness().doubleValue());
+
+			final double fitness = pt.getFitness().doubleValue();
+			_fitness.accept(fitness);
+			_fitnessQuantiles.accept(fitness);
 		}
 
 		@Override
@@ -378,6 +478,9 @@ public abstract class EvolutionStatistics<
 				format(spattern, "mean =", d(_fitness.getMean())) +
 				format(spattern, "var  =", d(_fitness.getVariance())) +
 				format(spattern, "std  =", d(sqrt(_fitness.getVariance()))) +
+				format(spattern, "p50  =", d(_fitnessQuantiles.quantile(0.5))) +
+				format(spattern, "p90  =", d(_fitnessQuantiles.quantile(0.9))) +
+				format(spattern, "p99  =", d(_fitnessQuantiles.quantile(0.99))) +
 				"+---------------------------------------------------------------------------+";
 		}
 
@@ -32,7 +32,7 @@ import org.jenetics.Gene;
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
  * @since 3.0
- * @version 3.0
+ * @version 4.0
  */
 final class EvolutionStreamImpl<
 	G extends Gene<?, G>,
@@ -45,17 +45,20 @@ final class EvolutionStreamImpl<
 	private final Supplier<EvolutionStart<G, C>> _start;
 	private final Function<? super EvolutionStart<G, C>, EvolutionResult<G, C>> _evolution;
 	private final Predicate<? super EvolutionResult<G, C>> _proceed;
+	private final Cancellation _cancellation;
 
 	private EvolutionStreamImpl(
 		final Supplier<EvolutionStart<G, C>> start,
 		final Function<? super EvolutionStart<G, C>, EvolutionResult<G, C>> evolution,
 		final Stream<EvolutionResult<G, C>> stream,
-		final Predicate<? super EvolutionResult<G, C>> proceed
+		final Predicate<? super EvolutionResult<G, C>> proceed,
+		final Cancellation cancellation
 	) {
 		super(stream);
 		_evolution = requireNonNull(evolution);
 		_start = requireNonNull(start);
 		_proceed = requireNonNull(proceed);
+		_cancellation = requireNonNull(cancellation);
 	}
 
 	EvolutionStreamImpl(
@@ -68,7 +71,8 @@ final class EvolutionStreamImpl<
 				new EvolutionSpliterator<>(start, evolution, TRUE()),
 				false
 			),
-			TRUE()
+			TRUE(),
+			Cancellation.NONE
 		);
 	}
 
@@ -79,14 +83,20 @@ final class EvolutionStreamImpl<
 			? proceed
 			: r -> proceed.test(r) & _proceed.test(r);
 
+		// Time limits are also checked while an evolution step is running.
+		final Cancellation cancellation = proceed instanceof ExecutionTimeLimit
+			? _cancellation.or(((ExecutionTimeLimit)proceed)::isExceeded)
+			: _cancellation;
+
 		return new EvolutionStreamImpl<>(
 			_start,
 			_evolution,
 			StreamSupport.stream(
-				new EvolutionSpliterator<>(_start, _evolution, prcd),
+				new EvolutionSpliterator<>(_start, _evolution, prcd, cancellation),
 				false
 			),
-			prcd
+			prcd,
+			cancellation
 		);
 	}
 
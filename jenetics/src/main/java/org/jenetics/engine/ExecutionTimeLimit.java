@@ -28,9 +28,21 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 
 /**
+ * Predicate which limits the execution time of an evolution stream. The
+ * clock is started with the first call of either {@link #test(Object)} or
+ * {@link #isExceeded()}, whichever comes first.
+ * <p>
+ * If the predicate limits an evolution stream created by an {@link Engine},
+ * {@link #isExceeded()} is already called while the first generation is
+ * evaluated. The measured execution time therefore starts with the
+ * evaluation of the first generation and not, as before version 4.0, with
+ * the test of the first evolution result. A predicate instance should only
+ * be used for limiting one evolution stream, since the clock is never
+ * reset.
+ *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
  * @since 3.1
- * @version 3.9
+ * @version 4.0
  */
 final class ExecutionTimeLimit implements Predicate<Object>  {
 
@@ -52,4 +64,16 @@ final class ExecutionTimeLimit implements Predicate<Object>  {
 		return _start.get().plus(_duration).isAfter(instant);
 	}
 
+	/**
+	 * Test whether the execution time has been exceeded, without the need of
+	 * an evolution result. This allows to check the time limit while an
+	 * evolution step is still running. Like {@link #test(Object)}, this
+	 * method starts the clock, if it hasn't been started yet.
+	 *
+	 * @return {@code true} if the execution time has been exceeded
+	 */
+	boolean isExceeded() {
+		return !test(null);
+	}
+
 }
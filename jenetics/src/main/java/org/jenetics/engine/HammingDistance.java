@@ -0,0 +1,177 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import java.util.Objects;
+
+import org.jenetics.BitChromosome;
+import org.jenetics.Chromosome;
+import org.jenetics.Gene;
+import org.jenetics.Genotype;
+import org.jenetics.PermutationChromosome;
+
+/**
+ * Hamming distance of genotypes: the number of gene positions with different
+ * alleles.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class HammingDistance<G extends Gene<?, G>>
+	implements Distance<Genotype<G>>
+{
+
+	private static final HammingDistance<?> INSTANCE = new HammingDistance<>();
+
+	private HammingDistance() {
+	}
+
+	@Override
+	public double distance(final Genotype<G> a, final Genotype<G> b) {
+		if (a.length() != b.length()) {
+			throw new IllegalArgumentException(
+				"Genotypes have different lengths."
+			);
+		}
+		for (int i = 0, n = a.length(); i < n; ++i) {
+			if (a.getChromosome(i).length() != b.getChromosome(i).length()) {
+				throw new IllegalArgumentException(
+					"Chromosomes have different lengths."
+				);
+			}
+		}
+
+		return distance(key(a), key(b));
+	}
+
+	/**
+	 * Return the comparison key of the given genotype. The key contains one
+	 * array per chromosome: the packed bits of a {@link BitChromosome}, the
+	 * allele indexes of a {@link PermutationChromosome} and the alleles of
+	 * every other chromosome type.
+	 *
+	 * @param genotype the genotype
+	 * @return the comparison key of the genotype
+	 */
+	static Object[] key(final Genotype<?> genotype) {
+		final Object[] key = new Object[genotype.length()];
+		for (int i = 0; i < key.length; ++i) {
+			final Chromosome<?> chromosome = genotype.getChromosome(i);
+			if (chromosome instanceof BitChromosome) {
+				key[i] = bits((BitChromosome)chromosome);
+			} else if (chromosome instanceof PermutationChromosome<?>) {
+				key[i] = ((PermutationChromosome<?>)chromosome).toAlleleIndexes();
+			} else {
+				final Object[] alleles = new Object[chromosome.length()];
+				for (int j = 0; j < alleles.length; ++j) {
+					alleles[j] = chromosome.getGene(j).getAllele();
+				}
+				key[i] = alleles;
+			}
+		}
+
+		return key;
+	}
+
+	// The bits are packed into blocks of 64 bits; the unused bits of the
+	// last byte are masked out.
+	private static long[] bits(final BitChromosome chromosome) {
+		final byte[] bytes = chromosome.toByteArray();
+		final int length = chromosome.length();
+		final int size = (length + 7) >>> 3;
+
+		final long[] bits = new long[(size + 7) >>> 3];
+		for (int i = 0; i < size; ++i) {
+			long value = bytes[i] & 0xFF;
+			if (i == size - 1 && (length & 7) != 0) {
+				value &= (1 << (length & 7)) - 1;
+			}
+			bits[i >>> 3] |= value << ((i & 7) << 3);
+		}
+
+		return bits;
+	}
+
+	/**
+	 * Return the Hamming distance of the two given genotype keys.
+	 *
+	 * @see #key(Genotype)
+	 *
+	 * @param a the first genotype key
+	 * @param b the second genotype key
+	 * @return the Hamming distance of the two keys
+	 * @throws IllegalArgumentException if the keys have different shapes
+	 */
+	static int distance(final Object[] a, final Object[] b) {
+		if (a.length != b.length) {
+			throw new IllegalArgumentException(
+				"Genotypes have different lengths."
+			);
+		}
+
+		int distance = 0;
+		for (int i = 0; i < a.length; ++i) {
+			if (a[i] instanceof long[]) {
+				final long[] ba = (long[])a[i];
+				final long[] bb = (long[])b[i];
+				length(ba.length, bb.length);
+				for (int j = 0; j < ba.length; ++j) {
+					distance += Long.bitCount(ba[j] ^ bb[j]);
+				}
+			} else if (a[i] instanceof int[]) {
+				final int[] ia = (int[])a[i];
+				final int[] ib = (int[])b[i];
+				length(ia.length, ib.length);
+				for (int j = 0; j < ia.length; ++j) {
+					if (ia[j] != ib[j]) ++distance;
+				}
+			} else {
+				final Object[] oa = (Object[])a[i];
+				final Object[] ob = (Object[])b[i];
+				length(oa.length, ob.length);
+				for (int j = 0; j < oa.length; ++j) {
+					if (!Objects.equals(oa[j], ob[j])) ++distance;
+				}
+			}
+		}
+
+		return distance;
+	}
+
+	private static void length(final int a, final int b) {
+		if (a != b) {
+			throw new IllegalArgumentException(
+				"Chromosomes have different lengths."
+			);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "HammingDistance";
+	}
+
+	@SuppressWarnings("unchecked")
+	static <G extends Gene<?, G>> HammingDistance<G> instance() {
+		return (HammingDistance<G>)INSTANCE;
+	}
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Writes the metrics snapshots as JSON lines into a file.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class JsonLinesExporter implements MetricsExporter {
+
+	private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+	private static final String[] QUANTILE_NAMES = {"p50", "p90", "p99"};
+
+	private final Path _path;
+
+	JsonLinesExporter(final Path path) {
+		_path = requireNonNull(path);
+	}
+
+	@Override
+	public synchronized void export(final MetricsSnapshot snapshot)
+		throws IOException
+	{
+		final String line = toJson(snapshot);
+		try (Writer out = Files.newBufferedWriter(_path, UTF_8, CREATE, APPEND)) {
+			out.write(line);
+			out.write('\n');
+		}
+	}
+
+	static String toJson(final MetricsSnapshot snapshot) {
+		final StringBuilder out = new StringBuilder(512);
+		out.append("{\"time\":");
+		string(out, snapshot.getTime().toString());
+		out.append(",\"span\":");
+		number(out, millis(snapshot.getSpan())/1000.0);
+
+		out.append(",\"counters\":{");
+		final Iterator<Map.Entry<String, Long>> counters =
+			snapshot.getCounters().entrySet().iterator();
+		while (counters.hasNext()) {
+			final Map.Entry<String, Long> counter = counters.next();
+			string(out, counter.getKey());
+			out.append(":{\"total\":").append(counter.getValue());
+			out.append(",\"rate\":");
+			number(out, snapshot.getRates().getOrDefault(counter.getKey(), Double.NaN));
+			out.append('}');
+			if (counters.hasNext()) out.append(',');
+		}
+
+		out.append("},\"gauges\":{");
+		final Iterator<Map.Entry<String, Double>> gauges =
+			snapshot.getGauges().entrySet().iterator();
+		while (gauges.hasNext()) {
+			final Map.Entry<String, Double> gauge = gauges.next();
+			string(out, gauge.getKey());
+			out.append(':');
+			number(out, gauge.getValue());
+			if (gauges.hasNext()) out.append(',');
+		}
+
+		out.append("},\"histograms\":{");
+		final Iterator<Map.Entry<String, MetricsSnapshot.Histogram>> histograms =
+			snapshot.getHistograms().entrySet().iterator();
+		while (histograms.hasNext()) {
+			final Map.Entry<String, MetricsSnapshot.Histogram> entry =
+				histograms.next();
+			final MetricsSnapshot.Histogram histogram = entry.getValue();
+
+			string(out, entry.getKey());
+			out.append(":{\"count\":").append(histogram.getCount());
+			out.append(",\"min\":");
+			number(out, millis(histogram.getMin()));
+			out.append(",\"mean\":");
+			number(out, millis(histogram.getMean()));
+			for (int i = 0; i < QUANTILES.length; ++i) {
+				out.append(',');
+				string(out, QUANTILE_NAMES[i]);
+				out.append(':');
+				number(out, millis(histogram.quantile(QUANTILES[i])));
+			}
+			out.append(",\"max\":");
+			number(out, millis(histogram.getMax()));
+			out.append('}');
+			if (histograms.hasNext()) out.append(',');
+		}
+		out.append("}}");
+
+		return out.toString();
+	}
+
+	private static double millis(final Duration duration) {
+		return duration.toNanos()/1_000_000.0;
+	}
+
+	// JSON doesn't support NaN and infinite values.
+	private static void number(final StringBuilder out, final double value) {
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			out.append("null");
+		} else {
+			out.append(value);
+		}
+	}
+
+	private static void string(final StringBuilder out, final String value) {
+		out.append('"');
+		for (int i = 0; i < value.length(); ++i) {
+			final char c = value.charAt(i);
+			switch (c) {
+				case '"': out.append("\\\""); break;
+				case '\\': out.append("\\\\"); break;
+				case '\n': out.append("\\n"); break;
+				case '\r': out.append("\\r"); break;
+				case '\t': out.append("\\t"); break;
+				default:
+					if (c < 0x20) {
+						out.append(String.format("\\u%04x", (int)c));
+					} else {
+						out.append(c);
+					}
+			}
+		}
+		out.append('"');
+	}
+
+}
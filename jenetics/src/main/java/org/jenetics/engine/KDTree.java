@@ -0,0 +1,262 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.Function;
+
+import org.jenetics.util.Seq;
+
+/**
+ * <em>k-d</em> tree for euclidean coordinate vectors. The tree is stored
+ * implicitly in a permutation of the element positions: the median of the
+ * range {@code [lo, hi)} is the node element, the lower and upper half are
+ * the two sub-trees. Ranges up to {@link #LEAF_SIZE} elements are searched
+ * linearly.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class KDTree<T> implements SpatialIndex<T> {
+
+	private static final int LEAF_SIZE = 8;
+
+	private final Function<? super T, double[]> _coordinates;
+	private final int _checks;
+	private final double[][] _points;
+	private final int[] _indexes;
+	private final int[] _axes;
+
+	KDTree(
+		final Seq<? extends T> elements,
+		final Function<? super T, double[]> coordinates,
+		final int checks
+	) {
+		_coordinates = requireNonNull(coordinates);
+		_checks = checks;
+		_points = new double[elements.size()][];
+		_indexes = new int[elements.size()];
+		_axes = new int[elements.size()];
+
+		for (int i = 0; i < _points.length; ++i) {
+			_points[i] = coordinates.apply(elements.get(i));
+			_indexes[i] = i;
+			if (_points[i].length != _points[0].length) {
+				throw new IllegalArgumentException(format(
+					"Expected dimension %d, but got %d.",
+					_points[0].length, _points[i].length
+				));
+			}
+		}
+
+		build(0, _points.length);
+	}
+
+	private void build(final int lo, final int hi) {
+		if (hi - lo <= LEAF_SIZE) return;
+
+		final int mid = (lo + hi) >>> 1;
+		final int axis = axis(lo, hi);
+		select(lo, hi, mid, axis);
+		_axes[mid] = axis;
+
+		build(lo, mid);
+		build(mid + 1, hi);
+	}
+
+	// The axis with the greatest spread of the points within [lo, hi).
+	private int axis(final int lo, final int hi) {
+		int axis = 0;
+		double spread = -1;
+		for (int d = 0; d < _points[0].length; ++d) {
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			for (int i = lo; i < hi; ++i) {
+				final double value = _points[_indexes[i]][d];
+				if (value < min) min = value;
+				if (value > max) max = value;
+			}
+			if (max - min > spread) {
+				spread = max - min;
+				axis = d;
+			}
+		}
+
+		return axis;
+	}
+
+	// Quick-select: partitions [lo, hi), so that the element at position k
+	// has the k-th smallest coordinate at the given axis.
+	private void select(int lo, int hi, final int k, final int axis) {
+		while (hi - lo > 1) {
+			final double pivot = _points[_indexes[(lo + hi) >>> 1]][axis];
+			int i = lo;
+			int j = hi - 1;
+			while (i <= j) {
+				while (_points[_indexes[i]][axis] < pivot) ++i;
+				while (_points[_indexes[j]][axis] > pivot) --j;
+				if (i <= j) {
+					final int temp = _indexes[i];
+					_indexes[i++] = _indexes[j];
+					_indexes[j--] = temp;
+				}
+			}
+
+			if (k <= j) {
+				hi = j + 1;
+			} else if (k >= i) {
+				lo = i;
+			} else {
+				return;
+			}
+		}
+	}
+
+	@Override
+	public int size() {
+		return _points.length;
+	}
+
+	@Override
+	public int[] nearest(final T point, final int k) {
+		if (k < 0) {
+			throw new IllegalArgumentException(format(
+				"Number of neighbours must not be negative: %d", k
+			));
+		}
+
+		final NeighbourHeap heap = new NeighbourHeap(Math.min(k, size()));
+		if (k > 0) {
+			nearest(query(point), 0, _points.length, heap, new int[]{_checks});
+		}
+		return heap.toIndexes();
+	}
+
+	// The heap contains the squared distances. The search stops after the
+	// given number of distance calculations.
+	private void nearest(
+		final double[] query,
+		final int lo,
+		final int hi,
+		final NeighbourHeap heap,
+		final int[] checks
+	) {
+		if (hi - lo <= LEAF_SIZE) {
+			for (int i = lo; i < hi && checks[0]-- > 0; ++i) {
+				heap.add(_indexes[i], distance2(query, _points[_indexes[i]]));
+			}
+		} else if (checks[0]-- > 0) {
+			final int mid = (lo + hi) >>> 1;
+			final double[] node = _points[_indexes[mid]];
+			final double diff = query[_axes[mid]] - node[_axes[mid]];
+
+			heap.add(_indexes[mid], distance2(query, node));
+			if (diff < 0) {
+				nearest(query, lo, mid, heap, checks);
+				if (diff*diff < heap.bound()) {
+					nearest(query, mid + 1, hi, heap, checks);
+				}
+			} else {
+				nearest(query, mid + 1, hi, heap, checks);
+				if (diff*diff < heap.bound()) {
+					nearest(query, lo, mid, heap, checks);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void within(
+		final T point,
+		final double radius,
+		final Neighbour consumer
+	) {
+		requireNonNull(consumer);
+		if (radius < 0) {
+			throw new IllegalArgumentException(format(
+				"Radius must not be negative: %f", radius
+			));
+		}
+
+		within(query(point), radius*radius, 0, _points.length, consumer);
+	}
+
+	private void within(
+		final double[] query,
+		final double radius2,
+		final int lo,
+		final int hi,
+		final Neighbour consumer
+	) {
+		if (hi - lo <= LEAF_SIZE) {
+			for (int i = lo; i < hi; ++i) {
+				accept(query, radius2, _indexes[i], consumer);
+			}
+		} else {
+			final int mid = (lo + hi) >>> 1;
+			final double diff = query[_axes[mid]] -
+				_points[_indexes[mid]][_axes[mid]];
+
+			accept(query, radius2, _indexes[mid], consumer);
+			if (diff <= 0 || diff*diff <= radius2) {
+				within(query, radius2, lo, mid, consumer);
+			}
+			if (diff >= 0 || diff*diff <= radius2) {
+				within(query, radius2, mid + 1, hi, consumer);
+			}
+		}
+	}
+
+	private void accept(
+		final double[] query,
+		final double radius2,
+		final int index,
+		final Neighbour consumer
+	) {
+		final double distance2 = distance2(query, _points[index]);
+		if (distance2 <= radius2) {
+			consumer.accept(index, Math.sqrt(distance2));
+		}
+	}
+
+	private double[] query(final T point) {
+		final double[] query = _coordinates.apply(requireNonNull(point));
+		if (_points.length > 0 && query.length != _points[0].length) {
+			throw new IllegalArgumentException(format(
+				"Expected dimension %d, but got %d.",
+				_points[0].length, query.length
+			));
+		}
+		return query;
+	}
+
+	private static double distance2(final double[] a, final double[] b) {
+		double sum = 0;
+		for (int i = 0; i < a.length; ++i) {
+			final double diff = a[i] - b[i];
+			sum += diff*diff;
+		}
+		return sum;
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with logarithmic bucket boundaries, in the
+ * style of the <em>HdrHistogram</em>. Every power of two range of
+ * nanoseconds is divided into {@code 16} linear sub-buckets, which limits the
+ * relative error of the recorded values to about {@code 6%}, for the whole
+ * range of {@code long} values. Recording a value is a single atomic
+ * increment, without any allocation.
+ *
+ * @see EvolutionMetrics#histogram(String)
+ * @see MetricsSnapshot.Histogram
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public final class LatencyHistogram {
+
+	static final int SUB_BUCKET_BITS = 4;
+	static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS)*SUB_BUCKETS;
+
+	private final AtomicLongArray _buckets = new AtomicLongArray(BUCKETS);
+
+	LatencyHistogram() {
+	}
+
+	/**
+	 * Records the given latency value. Negative values are recorded as zero.
+	 *
+	 * @param nanos the latency, in nanoseconds
+	 */
+	public void record(final long nanos) {
+		_buckets.incrementAndGet(index(nanos > 0 ? nanos : 0));
+	}
+
+	/**
+	 * Records the given latency value.
+	 *
+	 * @param duration the latency
+	 * @throws NullPointerException if the given {@code duration} is
+	 *         {@code null}
+	 * @throws ArithmeticException if the duration is too big to be expressed
+	 *         in nanoseconds
+	 */
+	public void record(final Duration duration) {
+		record(requireNonNull(duration).toNanos());
+	}
+
+	/**
+	 * Return the number of recorded values.
+	 *
+	 * @return the number of recorded values
+	 */
+	public long getCount() {
+		long count = 0;
+		for (int i = 0; i < BUCKETS; ++i) {
+			count += _buckets.get(i);
+		}
+		return count;
+	}
+
+	// Return a copy of the current bucket counts.
+	long[] counts() {
+		final long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; ++i) {
+			counts[i] = _buckets.get(i);
+		}
+		return counts;
+	}
+
+	// Return the bucket index of the given, non-negative value.
+	static int index(final long value) {
+		if (value < SUB_BUCKETS) {
+			return (int)value;
+		}
+
+		final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		final int shift = exponent - SUB_BUCKET_BITS;
+		return (shift + 1)*SUB_BUCKETS + (int)((value >>> shift) - SUB_BUCKETS);
+	}
+
+	// Return the value which represents the bucket with the given index.
+	// This is the middle of the value range covered by the bucket.
+	static long value(final int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+
+		final int shift = index/SUB_BUCKETS - 1;
+		final long lower = (long)(index%SUB_BUCKETS + SUB_BUCKETS) << shift;
+		return lower + ((1L << shift) >>> 1);
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+
+/**
+ * Exports the metrics snapshots of an {@link EvolutionMetrics} registry to an
+ * external system. The exporter is usually called periodically, e.g. by a
+ * {@link java.util.concurrent.ScheduledExecutorService}.
+ *
+ * <pre>{@code
+ * final EvolutionMetrics metrics = EvolutionMetrics.of(Duration.ofSeconds(10));
+ * final MetricsExporter exporter = MetricsExporter.jsonLines(Paths.get("metrics.jsonl"));
+ * scheduler.scheduleAtFixedRate(() -> {
+ *     try {
+ *         exporter.export(metrics.snapshot());
+ *     } catch (IOException e) {
+ *         throw new UncheckedIOException(e);
+ *     }
+ * }, 1, 1, TimeUnit.SECONDS);
+ *
+ * final Phenotype<DoubleGene, Double> best = engine.stream()
+ *     .limit(100)
+ *     .peek(metrics)
+ *     .collect(toBestPhenotype());
+ * }</pre>
+ *
+ * @see EvolutionMetrics#snapshot()
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+@FunctionalInterface
+public interface MetricsExporter {
+
+	/**
+	 * Exports the given metrics snapshot.
+	 *
+	 * @param snapshot the metrics snapshot to export
+	 * @throws IOException if the snapshot can't be exported
+	 */
+	public void export(final MetricsSnapshot snapshot) throws IOException;
+
+
+	/**
+	 * Return an exporter which appends every snapshot as one JSON object line
+	 * to the given file. The file is created, if it doesn't exist, and is
+	 * only opened while a snapshot is written. Counter rates are given per
+	 * second and histogram values in milliseconds.
+	 *
+	 * <pre>{@code
+	 * {"time":"2017-03-12T08:01:42.346Z","span":10.002,
+	 *  "counters":{"evaluations":{"total":24500,"rate":2449.5},...},
+	 *  "gauges":{"fitness.best":0.9987,...},
+	 *  "histograms":{"evolve":{"count":49,"min":0.1874,"mean":0.2041,
+	 *    "p50":0.1982,"p90":0.2251,"p99":0.3326,"max":0.3326},...}}
+	 * }</pre>
+	 * (The example object is wrapped for readability.)
+	 *
+	 * @param path the path of the JSON lines file
+	 * @return a new JSON lines exporter
+	 * @throws NullPointerException if the given {@code path} is {@code null}
+	 */
+	public static MetricsExporter jsonLines(final Path path) {
+		return new JsonLinesExporter(requireNonNull(path));
+	}
+
+	/**
+	 * Return an exporter which writes every snapshot as one JSON object line
+	 * to the given writer. The writer is flushed after every snapshot, but
+	 * never closed by the exporter.
+	 *
+	 * @see #jsonLines(Path)
+	 *
+	 * @param writer the writer of the JSON lines
+	 * @return a new JSON lines exporter
+	 * @throws NullPointerException if the given {@code writer} is {@code null}
+	 */
+	public static MetricsExporter jsonLines(final Writer writer) {
+		requireNonNull(writer);
+		return snapshot -> {
+			writer.write(JsonLinesExporter.toJson(snapshot));
+			writer.write('\n');
+			writer.flush();
+		};
+	}
+
+}
@@ -0,0 +1,243 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable snapshot of the metrics of an {@link EvolutionMetrics} registry.
+ * The counters contain the total values since the creation of the registry.
+ * The rates and the histograms are calculated for the sliding window, which
+ * ends at the snapshot {@link #getTime() time} and has the length
+ * {@link #getSpan()}.
+ *
+ * @see EvolutionMetrics#snapshot()
+ * @see MetricsExporter
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public final class MetricsSnapshot {
+
+	private final Instant _time;
+	private final Duration _span;
+	private final Map<String, Long> _counters;
+	private final Map<String, Double> _rates;
+	private final Map<String, Double> _gauges;
+	private final Map<String, Histogram> _histograms;
+
+	MetricsSnapshot(
+		final Instant time,
+		final Duration span,
+		final Map<String, Long> counters,
+		final Map<String, Double> rates,
+		final Map<String, Double> gauges,
+		final Map<String, Histogram> histograms
+	) {
+		_time = requireNonNull(time);
+		_span = requireNonNull(span);
+		_counters = unmodifiableMap(new TreeMap<>(counters));
+		_rates = unmodifiableMap(new TreeMap<>(rates));
+		_gauges = unmodifiableMap(new TreeMap<>(gauges));
+		_histograms = unmodifiableMap(new TreeMap<>(histograms));
+	}
+
+	/**
+	 * Return the time the snapshot has been taken.
+	 *
+	 * @return the time the snapshot has been taken
+	 */
+	public Instant getTime() {
+		return _time;
+	}
+
+	/**
+	 * Return the actual length of the sliding window of this snapshot. It is
+	 * at least the configured window length, if the registry is older than
+	 * the window, and depends on the times the previous snapshots have been
+	 * taken.
+	 *
+	 * @return the length of the sliding window of this snapshot
+	 */
+	public Duration getSpan() {
+		return _span;
+	}
+
+	/**
+	 * Return the total counter values, sorted by name.
+	 *
+	 * @return the total counter values
+	 */
+	public Map<String, Long> getCounters() {
+		return _counters;
+	}
+
+	/**
+	 * Return the counter increments per second within the sliding window,
+	 * sorted by name.
+	 *
+	 * @return the counter rates per second
+	 */
+	public Map<String, Double> getRates() {
+		return _rates;
+	}
+
+	/**
+	 * Return the gauge values at the snapshot time, sorted by name.
+	 *
+	 * @return the gauge values
+	 */
+	public Map<String, Double> getGauges() {
+		return _gauges;
+	}
+
+	/**
+	 * Return the latency histograms of the sliding window, sorted by name.
+	 *
+	 * @return the latency histograms of the sliding window
+	 */
+	public Map<String, Histogram> getHistograms() {
+		return _histograms;
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"MetricsSnapshot[time=%s, span=%s, counters=%s, gauges=%s]",
+			_time, _span, _counters, _gauges
+		);
+	}
+
+
+	/**
+	 * The recorded latencies of one {@link LatencyHistogram} within the
+	 * sliding window. All values are estimated from the histogram buckets and
+	 * have a relative error of about {@code 6%}.
+	 */
+	public static final class Histogram {
+		private final long[] _counts;
+		private final long _count;
+
+		Histogram(final long[] counts) {
+			_counts = requireNonNull(counts);
+
+			long count = 0;
+			for (long c : counts) {
+				count += c;
+			}
+			_count = count;
+		}
+
+		/**
+		 * Return the number of recorded values.
+		 *
+		 * @return the number of recorded values
+		 */
+		public long getCount() {
+			return _count;
+		}
+
+		/**
+		 * Return the estimated {@code p}-quantile of the recorded latencies.
+		 *
+		 * @param p the quantile probability, within the range {@code [0, 1]}
+		 * @return the estimated quantile, or {@link Duration#ZERO} if no value
+		 *         has been recorded
+		 * @throws IllegalArgumentException if {@code p} is not within the range
+		 *         {@code [0, 1]}
+		 */
+		public Duration quantile(final double p) {
+			if (p < 0.0 || p > 1.0 || Double.isNaN(p)) {
+				throw new IllegalArgumentException(format(
+					"Quantile probability must be in the range [0, 1]: %s", p
+				));
+			}
+			if (_count == 0) {
+				return Duration.ZERO;
+			}
+
+			final long rank = min(max((long)ceil(p*_count), 1), _count);
+			long count = 0;
+			int index = 0;
+			while ((count += _counts[index]) < rank) {
+				++index;
+			}
+			return Duration.ofNanos(LatencyHistogram.value(index));
+		}
+
+		/**
+		 * Return the estimated minimal latency.
+		 *
+		 * @return the estimated minimal latency
+		 */
+		public Duration getMin() {
+			return quantile(0.0);
+		}
+
+		/**
+		 * Return the estimated maximal latency.
+		 *
+		 * @return the estimated maximal latency
+		 */
+		public Duration getMax() {
+			return quantile(1.0);
+		}
+
+		/**
+		 * Return the estimated mean latency.
+		 *
+		 * @return the estimated mean latency, or {@link Duration#ZERO} if no
+		 *         value has been recorded
+		 */
+		public Duration getMean() {
+			if (_count == 0) {
+				return Duration.ZERO;
+			}
+
+			double sum = 0;
+			for (int i = 0; i < _counts.length; ++i) {
+				if (_counts[i] != 0) {
+					sum += (double)_counts[i]*LatencyHistogram.value(i);
+				}
+			}
+			return Duration.ofNanos((long)(sum/_count));
+		}
+
+		@Override
+		public String toString() {
+			return format(
+				"Histogram[count=%d, p50=%s, p90=%s, p99=%s, max=%s]",
+				_count, quantile(0.5), quantile(0.9), quantile(0.99), getMax()
+			);
+		}
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.function.ToDoubleBiFunction;
+
+import org.jenetics.Gene;
+import org.jenetics.Genotype;
+
+/**
+ * <em>k-nearest-neighbour</em> surrogate, which predicts the median fitness
+ * of the {@code k} nearest genotypes in a bounded archive.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class NearestNeighbourSurrogate<
+	G extends Gene<?, G>,
+	C extends Comparable<? super C>
+>
+	implements Surrogate<G, C>
+{
+
+	private final int _k;
+	private final ToDoubleBiFunction<? super Genotype<G>, ? super Genotype<G>> _distance;
+
+	// The archive is a ring buffer; the oldest entry is replaced first.
+	private final Object[] _genotypes;
+	private final Object[] _fitness;
+	private int _size = 0;
+	private int _next = 0;
+
+	NearestNeighbourSurrogate(
+		final int k,
+		final int archiveSize,
+		final ToDoubleBiFunction<? super Genotype<G>, ? super Genotype<G>> distance
+	) {
+		if (k < 1) {
+			throw new IllegalArgumentException(format(
+				"Number of neighbours must be greater than zero, but was %d.", k
+			));
+		}
+		if (archiveSize < k) {
+			throw new IllegalArgumentException(format(
+				"Archive size must not be smaller than k=%d, but was %d.",
+				k, archiveSize
+			));
+		}
+
+		_k = k;
+		_distance = requireNonNull(distance);
+		_genotypes = new Object[archiveSize];
+		_fitness = new Object[archiveSize];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public synchronized C predict(final Genotype<G> genotype) {
+		if (_size < _k) {
+			return null;
+		}
+
+		// Insertion sort of the k nearest neighbours.
+		final double[] distances = new double[_k];
+		final int[] indexes = new int[_k];
+		Arrays.fill(distances, Double.POSITIVE_INFINITY);
+
+		for (int i = 0; i < _size; ++i) {
+			final double d = _distance
+				.applyAsDouble(genotype, (Genotype<G>)_genotypes[i]);
+
+			if (d < distances[_k - 1]) {
+				int j = _k - 1;
+				for (; j > 0 && distances[j - 1] > d; --j) {
+					distances[j] = distances[j - 1];
+					indexes[j] = indexes[j - 1];
+				}
+				distances[j] = d;
+				indexes[j] = i;
+			}
+		}
+
+		final Object[] neighbours = new Object[_k];
+		for (int i = 0; i < _k; ++i) {
+			neighbours[i] = _fitness[indexes[i]];
+		}
+		Arrays.sort(neighbours);
+
+		return (C)neighbours[(_k - 1)/2];
+	}
+
+	@Override
+	public synchronized void update(final Genotype<G> genotype, final C fitness) {
+		_genotypes[_next] = requireNonNull(genotype);
+		_fitness[_next] = requireNonNull(fitness);
+		_next = (_next + 1)%_genotypes.length;
+		_size = Math.min(_size + 1, _genotypes.length);
+	}
+
+	int size() {
+		return _size;
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+/**
+ * Bounded max-heap of the {@code k} nearest neighbours found so far. The
+ * root of the heap is the farthest of the current neighbours, which is the
+ * pruning bound of the search.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class NeighbourHeap {
+
+	private final int[] _indexes;
+	private final double[] _distances;
+	private int _size = 0;
+
+	NeighbourHeap(final int k) {
+		_indexes = new int[k];
+		_distances = new double[k];
+	}
+
+	/**
+	 * Return the distance an element must fall below for being a neighbour.
+	 *
+	 * @return the current pruning bound
+	 */
+	double bound() {
+		return _size < _indexes.length
+			? Double.POSITIVE_INFINITY
+			: _distances[0];
+	}
+
+	void add(final int index, final double distance) {
+		if (_size < _indexes.length) {
+			int i = _size++;
+			while (i > 0) {
+				final int parent = (i - 1) >>> 1;
+				if (_distances[parent] >= distance) break;
+
+				_indexes[i] = _indexes[parent];
+				_distances[i] = _distances[parent];
+				i = parent;
+			}
+			_indexes[i] = index;
+			_distances[i] = distance;
+		} else if (_size > 0 && distance < _distances[0]) {
+			siftDown(index, distance, _size);
+		}
+	}
+
+	private void siftDown(final int index, final double distance, final int size) {
+		int i = 0;
+		int child;
+		while ((child = 2*i + 1) < size) {
+			if (child + 1 < size && _distances[child + 1] > _distances[child]) {
+				++child;
+			}
+			if (_distances[child] <= distance) break;
+
+			_indexes[i] = _indexes[child];
+			_distances[i] = _distances[child];
+			i = child;
+		}
+		_indexes[i] = index;
+		_distances[i] = distance;
+	}
+
+	/**
+	 * Return the neighbour indexes, ordered by increasing distance. The heap
+	 * is emptied by this method.
+	 *
+	 * @return the neighbour indexes, nearest first
+	 */
+	int[] toIndexes() {
+		final int[] result = new int[_size];
+		for (int i = _size - 1; i >= 0; --i) {
+			result[i] = _indexes[0];
+			final int index = _indexes[i];
+			final double distance = _distances[i];
+			_size = i;
+			if (i > 0) {
+				siftDown(index, distance, i);
+			}
+		}
+
+		return result;
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ProcessBuilder.Redirect;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transport which communicates with the worker process via its standard
+ * input and output streams.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class PipeTransport implements ProcessTransport {
+
+	static final String ARGUMENT = "--pipe";
+
+	static final PipeTransport INSTANCE = new PipeTransport();
+
+	private PipeTransport() {
+	}
+
+	@Override
+	public Connection open(final List<String> command) throws IOException {
+		final List<String> cmd = new ArrayList<>(command);
+		cmd.add(ARGUMENT);
+
+		final Process process = new ProcessBuilder(cmd)
+			.redirectError(Redirect.INHERIT)
+			.start();
+
+		return new PipeConnection(process);
+	}
+
+	@Override
+	public String toString() {
+		return "ProcessTransport.pipes()";
+	}
+
+	private static final class PipeConnection implements Connection {
+		private final Process _process;
+		private final InputStream _in;
+		private final OutputStream _out;
+
+		PipeConnection(final Process process) {
+			_process = process;
+			_in = new BufferedInputStream(process.getInputStream());
+			_out = new BufferedOutputStream(process.getOutputStream());
+		}
+
+		@Override
+		public InputStream getInputStream() {
+			return _in;
+		}
+
+		@Override
+		public OutputStream getOutputStream() {
+			return _out;
+		}
+
+		@Override
+		public boolean isAlive() {
+			return _process.isAlive();
+		}
+
+		// The process is destroyed first, which unblocks a thread that is
+		// still writing to the process.
+		@Override
+		public void close() {
+			_process.destroy();
+			try {
+				_out.close();
+			} catch (IOException ignore) {
+			}
+		}
+	}
+
+}
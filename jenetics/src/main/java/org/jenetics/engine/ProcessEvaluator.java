@@ -0,0 +1,772 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.jenetics.Gene;
+import org.jenetics.Genotype;
+
+/**
+ * Fitness function which evaluates the genotypes in separate, local worker
+ * JVMs. This allows to scale the fitness evaluation beyond the heap and
+ * garbage collector of one JVM, and it isolates the evolution from crashes
+ * of (native) code called by the fitness function. The evaluator is used
+ * like an ordinary fitness function.
+ *
+ * <pre>{@code
+ * try (ProcessEvaluator<DoubleGene, Double> evaluator = ProcessEvaluator
+ *     .builder(new ExpensiveFitness()) // Must be serializable.
+ *     .workers(4)
+ *     .batchSize(16)
+ *     .build())
+ * {
+ *     final Engine<DoubleGene, Double> engine = Engine
+ *         .builder(evaluator, DoubleChromosome.of(0, 1))
+ *         // Enough concurrent evaluations for filling the batches.
+ *         .threadPerEvaluation(4*16)
+ *         .build();
+ *
+ *     final Phenotype<DoubleGene, Double> best = engine.stream()
+ *         .limit(100)
+ *         .collect(toBestPhenotype());
+ * }
+ * }</pre>
+ *
+ * The genotypes which are evaluated concurrently are collected in batches
+ * and sent to the next free worker process. Faster workers are therefore
+ * fetching more batches (<em>work pulling</em>). The genotypes and fitness
+ * values are transmitted with Java serialization, where the class
+ * descriptors are shared within one batch. If a worker process dies, it is
+ * restarted and the genotypes of the failed batch are evaluated again, one
+ * by one. The same happens, if a worker doesn't answer within the optional
+ * {@link Builder#batchTimeout(Duration) batch timeout}; the hanging worker
+ * process is destroyed and restarted. A genotype which can't be evaluated
+ * after the maximal number of attempts, is rejected with a
+ * {@link CancellationException}.
+ * <p>
+ * The fitness function is serialized and sent to each started worker
+ * process. The fitness function, the genotype and the fitness value must
+ * therefore be {@link java.io.Serializable} and their classes must be
+ * available in the class path of the worker processes.
+ *
+ * @see ProcessTransport
+ * @see ProcessWorker
+ *
+ * @param <G> the gene type
+ * @param <C> the fitness value type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public final class ProcessEvaluator<
+	G extends Gene<?, G>,
+	C extends Comparable<? super C>
+>
+	implements Function<Genotype<G>, C>, AutoCloseable
+{
+
+	// Time to wait for a worker, which is still evaluating a batch, when
+	// the evaluator is closed.
+	private static final long CLOSE_WAIT_MILLIS = 1_000;
+
+	private final Function<? super Genotype<G>, ? extends C> _function;
+	private final ProcessTransport _transport;
+	private final List<String> _command;
+	private final int _batchSize;
+	private final int _maxAttempts;
+	private final Duration _batchTimeout;
+
+	// Closes the connections of the workers which exceeded the batch
+	// timeout; null if no timeout is given.
+	private final ScheduledExecutorService _watchdog;
+
+	private final LinkedBlockingDeque<Request<G, C>> _requests =
+		new LinkedBlockingDeque<>();
+	private final AtomicBoolean _closed = new AtomicBoolean(false);
+	private final AtomicInteger _restarts = new AtomicInteger();
+	private final List<Worker> _workers;
+
+	private ProcessEvaluator(
+		final Function<? super Genotype<G>, ? extends C> function,
+		final ProcessTransport transport,
+		final List<String> command,
+		final int workers,
+		final int batchSize,
+		final int maxAttempts,
+		final Duration batchTimeout
+	) {
+		_function = requireNonNull(function);
+		_transport = requireNonNull(transport);
+		_command = Collections.unmodifiableList(new ArrayList<>(command));
+		_batchSize = batchSize;
+		_maxAttempts = maxAttempts;
+		_batchTimeout = batchTimeout;
+		_watchdog = batchTimeout != null
+			? Executors.newSingleThreadScheduledExecutor(task -> {
+				final Thread thread =
+					new Thread(task, "jenetics-process-watchdog");
+				thread.setDaemon(true);
+				return thread;
+			})
+			: null;
+
+		final List<Worker> list = new ArrayList<>(workers);
+		for (int i = 0; i < workers; ++i) {
+			list.add(new Worker(i));
+		}
+		_workers = Collections.unmodifiableList(list);
+		_workers.forEach(Worker::start);
+	}
+
+	/**
+	 * Evaluates the given genotype in one of the worker processes. This
+	 * method blocks until the fitness value is available.
+	 *
+	 * @param genotype the genotype to evaluate
+	 * @return the fitness value of the given genotype
+	 * @throws NullPointerException if the given {@code genotype} is
+	 *         {@code null}
+	 * @throws IllegalStateException if the evaluator has been closed
+	 * @throws CancellationException if the calling thread has been
+	 *         interrupted, the fitness function has thrown an exception or
+	 *         the genotype couldn't be evaluated by the worker processes
+	 */
+	@Override
+	public C apply(final Genotype<G> genotype) {
+		final Request<G, C> request = new Request<>(genotype);
+		if (_closed.get()) {
+			throw new IllegalStateException("Process evaluator has been closed.");
+		}
+		_requests.add(request);
+
+		// The evaluator might have been closed concurrently, after the pending
+		// requests have been rejected.
+		if (_closed.get()) {
+			_requests.remove(request);
+			request.fail(new CancellationException(
+				"Process evaluator has been closed."
+			));
+		}
+
+		try {
+			return request.result.get();
+		} catch (InterruptedException e) {
+			request.result.cancel(false);
+			Thread.currentThread().interrupt();
+			throw (CancellationException)new CancellationException(
+				e.getMessage()
+			).initCause(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof CancellationException) {
+				throw (CancellationException)e.getCause();
+			}
+			throw (CancellationException)new CancellationException(
+				e.getCause().getMessage()
+			).initCause(e.getCause());
+		}
+	}
+
+	/**
+	 * Return the number of worker processes.
+	 *
+	 * @return the number of worker processes
+	 */
+	public int getWorkers() {
+		return _workers.size();
+	}
+
+	/**
+	 * Return the maximal number of genotypes sent to a worker at once.
+	 *
+	 * @return the maximal batch size
+	 */
+	public int getBatchSize() {
+		return _batchSize;
+	}
+
+	/**
+	 * Return the maximal number of evaluation attempts of one genotype.
+	 *
+	 * @return the maximal number of evaluation attempts
+	 */
+	public int getMaxAttempts() {
+		return _maxAttempts;
+	}
+
+	/**
+	 * Return the maximal time a worker process may need for evaluating one
+	 * batch, if set.
+	 *
+	 * @return the batch timeout, if set
+	 */
+	public Optional<Duration> getBatchTimeout() {
+		return Optional.ofNullable(_batchTimeout);
+	}
+
+	/**
+	 * Return the transport used for communicating with the worker processes.
+	 *
+	 * @return the used transport
+	 */
+	public ProcessTransport getTransport() {
+		return _transport;
+	}
+
+	/**
+	 * Return the command which starts a worker process, without the
+	 * transport arguments.
+	 *
+	 * @return the worker command
+	 */
+	public List<String> getCommand() {
+		return _command;
+	}
+
+	/**
+	 * Return the number of worker processes which have been restarted,
+	 * because of a failure.
+	 *
+	 * @return the number of worker restarts
+	 */
+	public int getRestartCount() {
+		return _restarts.get();
+	}
+
+	/**
+	 * Terminates the worker processes. Not yet evaluated genotypes are
+	 * rejected with a {@link CancellationException}.
+	 */
+	@Override
+	public void close() {
+		if (_closed.compareAndSet(false, true)) {
+			_workers.forEach(Worker::interrupt);
+			for (Worker worker : _workers) {
+				worker.join(CLOSE_WAIT_MILLIS);
+				worker.disconnect(false);
+			}
+			if (_watchdog != null) {
+				_watchdog.shutdownNow();
+			}
+
+			for (Request<G, C> request : _requests) {
+				request.fail(new CancellationException(
+					"Process evaluator has been closed."
+				));
+			}
+			_requests.clear();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"ProcessEvaluator[workers=%d, batchSize=%d, transport=%s]",
+			_workers.size(), _batchSize, _transport
+		);
+	}
+
+	// Return the next batch of not yet cancelled requests. Requests which
+	// already failed are evaluated alone, to isolate failing genotypes.
+	private List<Request<G, C>> nextBatch() throws InterruptedException {
+		final Request<G, C> first = _requests.take();
+
+		final List<Request<G, C>> batch = new ArrayList<>(_batchSize);
+		batch.add(first);
+		if (first.attempts == 0) {
+			_requests.drainTo(batch, _batchSize - 1);
+		}
+
+		batch.removeIf(r -> r.result.isDone());
+		return batch;
+	}
+
+	// Puts the requests of a failed batch back into the request queue.
+	private void retry(final List<Request<G, C>> batch, final Throwable cause) {
+		for (int i = batch.size(); --i >= 0;) {
+			final Request<G, C> request = batch.get(i);
+			if (request.attempts >= _maxAttempts || _closed.get()) {
+				request.fail((CancellationException)new CancellationException(
+					format(
+						"Genotype couldn't be evaluated after %d attempts: %s",
+						request.attempts, cause.getMessage()
+					)
+				).initCause(cause));
+			} else if (!request.result.isDone()) {
+				_requests.addFirst(request);
+				if (_closed.get()) {
+					_requests.remove(request);
+					request.fail(new CancellationException(
+						"Process evaluator has been closed."
+					));
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Evaluation request of one genotype.
+	 */
+	private static final class Request<
+		G extends Gene<?, G>,
+		C extends Comparable<? super C>
+	> {
+		final Genotype<G> genotype;
+		final CompletableFuture<C> result = new CompletableFuture<>();
+
+		// Only accessed by the worker thread, which currently owns the request.
+		int attempts = 0;
+
+		Request(final Genotype<G> genotype) {
+			this.genotype = requireNonNull(genotype);
+		}
+
+		void fail(final Throwable error) {
+			result.completeExceptionally(error);
+		}
+	}
+
+	/**
+	 * Dispatcher thread of one worker process. The worker process is
+	 * (re)started lazily, when the next batch is available.
+	 */
+	private final class Worker implements Runnable {
+		private final Thread _thread;
+
+		private volatile ProcessTransport.Connection _connection;
+		private ObjectOutputStream _out;
+		private ObjectInputStream _in;
+		private boolean _started = false;
+		private volatile boolean _timedOut = false;
+
+		Worker(final int index) {
+			_thread = new Thread(this, "jenetics-process-worker-" + index);
+			_thread.setDaemon(true);
+		}
+
+		void start() {
+			_thread.start();
+		}
+
+		void interrupt() {
+			_thread.interrupt();
+		}
+
+		void join(final long millis) {
+			try {
+				_thread.join(millis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (!_closed.get()) {
+					final List<Request<G, C>> batch = nextBatch();
+					if (!batch.isEmpty()) {
+						try {
+							evaluate(batch);
+						} catch (IOException|ClassNotFoundException|RuntimeException e) {
+							disconnect(false);
+							retry(batch, _timedOut
+								? new IOException(format(
+									"Worker didn't evaluate the batch within %s.",
+									_batchTimeout), e)
+								: e
+							);
+						}
+					}
+				}
+			} catch (InterruptedException ignore) {
+				// The evaluator has been closed.
+			} finally {
+				disconnect(true);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private void evaluate(final List<Request<G, C>> batch)
+			throws IOException, ClassNotFoundException
+		{
+			if (_connection == null || !_connection.isAlive()) {
+				connect();
+			}
+
+			final ScheduledFuture<?> timeout = watch();
+			try {
+				_out.writeInt(batch.size());
+				for (Request<G, C> request : batch) {
+					++request.attempts;
+					_out.writeObject(request.genotype);
+				}
+				_out.flush();
+				_out.reset();
+
+				for (Request<G, C> request : batch) {
+					if (_in.readBoolean()) {
+						request.result.complete((C)_in.readObject());
+					} else {
+						request.fail(new CancellationException(_in.readUTF()));
+					}
+				}
+			} finally {
+				if (timeout != null) {
+					timeout.cancel(false);
+				}
+			}
+		}
+
+		// Closes the current connection, if the batch timeout is exceeded.
+		// This lets the blocking reads and writes of the worker thread fail.
+		private ScheduledFuture<?> watch() {
+			_timedOut = false;
+			if (_watchdog == null) {
+				return null;
+			}
+
+			final ProcessTransport.Connection connection = _connection;
+			return _watchdog.schedule(
+				() -> {
+					_timedOut = true;
+					try {
+						connection.close();
+					} catch (IOException ignore) {
+					}
+				},
+				_batchTimeout.toNanos(),
+				TimeUnit.NANOSECONDS
+			);
+		}
+
+		private void connect() throws IOException {
+			disconnect(false);
+			if (_started) {
+				_restarts.incrementAndGet();
+			}
+			_started = true;
+
+			_connection = _transport.open(_command);
+			_out = new ObjectOutputStream(_connection.getOutputStream());
+			_out.writeObject(_function);
+			_out.flush();
+			_in = new ObjectInputStream(_connection.getInputStream());
+		}
+
+		synchronized void disconnect(final boolean graceful) {
+			final ProcessTransport.Connection connection = _connection;
+			if (connection != null) {
+				if (graceful && _out != null) {
+					try {
+						_out.writeInt(ProcessWorker.SHUTDOWN);
+						_out.flush();
+					} catch (IOException ignore) {
+					}
+				}
+				try {
+					connection.close();
+				} catch (IOException ignore) {
+				}
+				_connection = null;
+				_out = null;
+				_in = null;
+			}
+		}
+	}
+
+
+	/* *************************************************************************
+	 * Static factory methods.
+	 **************************************************************************/
+
+	/**
+	 * Create a new process evaluator builder for the given fitness function.
+	 *
+	 * @param function the (serializable) fitness function, which is
+	 *        evaluated by the worker processes
+	 * @param <G> the gene type
+	 * @param <C> the fitness value type
+	 * @return a new process evaluator builder
+	 * @throws NullPointerException if the given {@code function} is
+	 *         {@code null}
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	Builder<G, C> builder(
+		final Function<? super Genotype<G>, ? extends C> function
+	) {
+		return new Builder<>(function);
+	}
+
+	/**
+	 * Create a new process evaluator with the given number of worker
+	 * processes and the default configuration of the {@link Builder}.
+	 *
+	 * @param function the (serializable) fitness function, which is
+	 *        evaluated by the worker processes
+	 * @param workers the number of worker processes
+	 * @param <G> the gene type
+	 * @param <C> the fitness value type
+	 * @return a new process evaluator
+	 * @throws NullPointerException if the given {@code function} is
+	 *         {@code null}
+	 * @throws IllegalArgumentException if the number of {@code workers} is
+	 *         smaller than one or the fitness function is not serializable
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	ProcessEvaluator<G, C> of(
+		final Function<? super Genotype<G>, ? extends C> function,
+		final int workers
+	) {
+		return new Builder<G, C>(function).workers(workers).build();
+	}
+
+
+	/**
+	 * Builder class for {@link ProcessEvaluator} instances.
+	 *
+	 * @param <G> the gene type
+	 * @param <C> the fitness value type
+	 *
+	 * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+	 * @since 4.0
+	 * @version 4.0
+	 */
+	public static final class Builder<
+		G extends Gene<?, G>,
+		C extends Comparable<? super C>
+	> {
+
+		private final Function<? super Genotype<G>, ? extends C> _function;
+
+		private ProcessTransport _transport = ProcessTransport.pipes();
+		private int _workers = Runtime.getRuntime().availableProcessors();
+		private int _batchSize = 16;
+		private int _maxAttempts = 3;
+		private String _javaHome = System.getProperty("java.home");
+		private String _classPath = System.getProperty("java.class.path");
+		private List<String> _jvmOptions = Collections.emptyList();
+		private Duration _batchTimeout = null;
+
+		private Builder(final Function<? super Genotype<G>, ? extends C> function) {
+			_function = requireNonNull(function);
+		}
+
+		/**
+		 * The number of worker processes. <i>Default value is set to the
+		 * number of available processors.</i>
+		 *
+		 * @param workers the number of worker processes
+		 * @return {@code this} builder, for command chaining
+		 * @throws IllegalArgumentException if the number of {@code workers}
+		 *         is smaller than one
+		 */
+		public Builder<G, C> workers(final int workers) {
+			_workers = positive(workers, "Number of workers");
+			return this;
+		}
+
+		/**
+		 * The maximal number of genotypes sent to a worker at once.
+		 * <i>Default value is set to 16.</i>
+		 *
+		 * @param batchSize the maximal batch size
+		 * @return {@code this} builder, for command chaining
+		 * @throws IllegalArgumentException if the {@code batchSize} is
+		 *         smaller than one
+		 */
+		public Builder<G, C> batchSize(final int batchSize) {
+			_batchSize = positive(batchSize, "Batch size");
+			return this;
+		}
+
+		/**
+		 * The maximal number of evaluation attempts of one genotype, if the
+		 * worker process fails. <i>Default value is set to 3.</i>
+		 *
+		 * @param maxAttempts the maximal number of evaluation attempts
+		 * @return {@code this} builder, for command chaining
+		 * @throws IllegalArgumentException if {@code maxAttempts} is smaller
+		 *         than one
+		 */
+		public Builder<G, C> maxAttempts(final int maxAttempts) {
+			_maxAttempts = positive(maxAttempts, "Maximal attempts");
+			return this;
+		}
+
+		/**
+		 * The maximal time a worker process may need for evaluating one
+		 * batch. If a worker exceeds this time, it is destroyed and the
+		 * genotypes of the batch are evaluated again, one by one, by the
+		 * restarted worker. The timeout should therefore be chosen for the
+		 * {@link #batchSize(int) maximal batch size}. <i>By default, no
+		 * timeout is set.</i>
+		 *
+		 * @param timeout the maximal evaluation time of one batch
+		 * @return {@code this} builder, for command chaining
+		 * @throws NullPointerException if the given {@code timeout} is
+		 *         {@code null}
+		 * @throws IllegalArgumentException if the given {@code timeout} is
+		 *         not positive
+		 */
+		public Builder<G, C> batchTimeout(final Duration timeout) {
+			requireNonNull(timeout);
+			if (timeout.isNegative() || timeout.isZero()) {
+				throw new IllegalArgumentException(
+					"Batch timeout must be positive: " + timeout
+				);
+			}
+			_batchTimeout = timeout;
+			return this;
+		}
+
+		/**
+		 * The transport used for communicating with the worker processes.
+		 * <i>Default value is set to {@link ProcessTransport#pipes()}.</i>
+		 *
+		 * @param transport the worker transport
+		 * @return {@code this} builder, for command chaining
+		 */
+		public Builder<G, C> transport(final ProcessTransport transport) {
+			_transport = requireNonNull(transport);
+			return this;
+		}
+
+		/**
+		 * The Java installation used for starting the worker processes.
+		 * <i>Default value is the {@code java.home} of the current JVM.</i>
+		 *
+		 * @param javaHome the Java installation directory
+		 * @return {@code this} builder, for command chaining
+		 */
+		public Builder<G, C> javaHome(final String javaHome) {
+			_javaHome = requireNonNull(javaHome);
+			return this;
+		}
+
+		/**
+		 * The class path of the worker processes. <i>Default value is the
+		 * {@code java.class.path} of the current JVM.</i>
+		 *
+		 * @param classPath the class path of the worker processes
+		 * @return {@code this} builder, for command chaining
+		 */
+		public Builder<G, C> classPath(final String classPath) {
+			_classPath = requireNonNull(classPath);
+			return this;
+		}
+
+		/**
+		 * Additional JVM options of the worker processes, e.g.
+		 * {@code -Xmx2g}.
+		 *
+		 * @param options the JVM options of the worker processes
+		 * @return {@code this} builder, for command chaining
+		 */
+		public Builder<G, C> jvmOptions(final String... options) {
+			_jvmOptions = Arrays.asList(options.clone());
+			_jvmOptions.forEach(Objects::requireNonNull);
+			return this;
+		}
+
+		private static int positive(final int value, final String name) {
+			if (value < 1) {
+				throw new IllegalArgumentException(format(
+					"%s must be greater than zero, but was %d.", name, value
+				));
+			}
+			return value;
+		}
+
+		/**
+		 * Builds a new process evaluator and starts the worker threads. The
+		 * worker processes are started lazily.
+		 *
+		 * @return a new process evaluator
+		 * @throws IllegalArgumentException if the fitness function is not
+		 *         serializable
+		 */
+		public ProcessEvaluator<G, C> build() {
+			serializable(_function);
+
+			final List<String> command = new ArrayList<>();
+			command.add(_javaHome + File.separator + "bin" + File.separator + "java");
+			command.addAll(_jvmOptions);
+			command.add("-cp");
+			command.add(_classPath);
+			command.add(ProcessWorker.class.getName());
+
+			return new ProcessEvaluator<>(
+				_function,
+				_transport,
+				command,
+				_workers,
+				_batchSize,
+				_maxAttempts,
+				_batchTimeout
+			);
+		}
+
+		private static void serializable(final Object function) {
+			try (ObjectOutputStream out =
+					new ObjectOutputStream(new ByteArrayOutputStream()))
+			{
+				out.writeObject(function);
+			} catch (NotSerializableException e) {
+				throw new IllegalArgumentException(
+					"Fitness function is not serializable: " + e.getMessage(),
+					e
+				);
+			} catch (IOException e) {
+				throw new IllegalArgumentException(e.getMessage(), e);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Defines how the {@link ProcessEvaluator} starts a worker process and how
+ * it communicates with it. The transport is responsible for starting the
+ * worker process, with the given command, and for creating the
+ * communication channel. The worker side of the channel is selected by the
+ * arguments the transport appends to the worker command (see
+ * {@link ProcessWorker#main(String[])}).
+ *
+ * @see ProcessEvaluator
+ * @see ProcessWorker
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+@FunctionalInterface
+public interface ProcessTransport {
+
+	/**
+	 * Starts a new worker process with the given {@code command} and opens
+	 * the communication channel to it.
+	 *
+	 * @param command the command, which starts the worker process, without
+	 *        the transport specific arguments
+	 * @return the connection to the newly started worker process
+	 * @throws IOException if the worker process can't be started or the
+	 *         connection can't be established
+	 */
+	public Connection open(final List<String> command) throws IOException;
+
+
+	/**
+	 * Return a transport which communicates with the worker process via the
+	 * standard input and output streams of the process. The standard error
+	 * stream of the worker is inherited from the current process.
+	 *
+	 * @return a transport which uses <em>stdin/stdout</em> pipes
+	 */
+	public static ProcessTransport pipes() {
+		return PipeTransport.INSTANCE;
+	}
+
+	/**
+	 * Return a transport which communicates with the worker process via a
+	 * loopback socket connection. The standard output and error streams of
+	 * the worker are inherited from the current process.
+	 *
+	 * @param connectTimeout the maximal time to wait for the worker process
+	 *        to connect
+	 * @return a transport which uses loopback sockets
+	 * @throws NullPointerException if the given {@code connectTimeout} is
+	 *         {@code null}
+	 * @throws IllegalArgumentException if the given {@code connectTimeout} is
+	 *         not positive
+	 */
+	public static ProcessTransport sockets(final Duration connectTimeout) {
+		return new SocketTransport(connectTimeout);
+	}
+
+	/**
+	 * Return a transport which communicates with the worker process via a
+	 * loopback socket connection. The worker process must connect within
+	 * 30 seconds.
+	 *
+	 * @return a transport which uses loopback sockets
+	 */
+	public static ProcessTransport sockets() {
+		return sockets(Duration.ofSeconds(30));
+	}
+
+
+	/**
+	 * The communication channel to one worker process. Closing the
+	 * connection also terminates the worker process.
+	 */
+	public static interface Connection extends Closeable {
+
+		/**
+		 * Return the stream which receives the data sent by the worker.
+		 *
+		 * @return the input stream of the connection
+		 */
+		public InputStream getInputStream();
+
+		/**
+		 * Return the stream which sends the data to the worker.
+		 *
+		 * @return the output stream of the connection
+		 */
+		public OutputStream getOutputStream();
+
+		/**
+		 * Return {@code true} if the worker process is still running.
+		 *
+		 * @return {@code true} if the worker process is still running
+		 */
+		public boolean isAlive();
+
+	}
+
+}
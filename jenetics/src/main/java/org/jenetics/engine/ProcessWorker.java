@@ -0,0 +1,163 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.lang.String.format;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.function.Function;
+
+/**
+ * The worker side of the {@link ProcessEvaluator}. This class is the main
+ * class of the started worker processes and is not intended to be used
+ * directly.
+ * <p>
+ * A worker first receives the (serialized) fitness function. Then it reads
+ * batches of genotypes, evaluates them sequentially and sends back the
+ * fitness values, until the connection is closed or the evaluator sends the
+ * shutdown signal.
+ *
+ * @see ProcessEvaluator
+ * @see ProcessTransport
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public final class ProcessWorker {
+
+	/**
+	 * Batch size value, which signals the worker to terminate.
+	 */
+	static final int SHUTDOWN = -1;
+
+	// Maximal length of a transmitted error message.
+	private static final int MAX_MESSAGE_LENGTH = 4096;
+
+	private ProcessWorker() {
+	}
+
+	/**
+	 * Starts the worker process. The first argument defines the transport:
+	 * {@code --pipe} for communicating via <em>stdin/stdout</em> and
+	 * {@code --socket <port>} for communicating via a loopback socket. When
+	 * the pipe transport is used, {@code System.out} is redirected to
+	 * {@code System.err}.
+	 *
+	 * @param args the transport arguments
+	 * @throws IOException if the communication with the evaluator fails
+	 * @throws ClassNotFoundException if the fitness function, or the
+	 *         genotype classes, can't be found in the class path of the worker
+	 */
+	public static void main(final String[] args)
+		throws IOException, ClassNotFoundException
+	{
+		if (args.length == 1 && PipeTransport.ARGUMENT.equals(args[0])) {
+			final InputStream in =
+				new BufferedInputStream(new FileInputStream(FileDescriptor.in));
+			final OutputStream out =
+				new BufferedOutputStream(new FileOutputStream(FileDescriptor.out));
+
+			// The standard output is reserved for the worker protocol.
+			System.setOut(new PrintStream(
+				new FileOutputStream(FileDescriptor.err), true
+			));
+			run(in, out);
+		} else if (args.length == 2 && SocketTransport.ARGUMENT.equals(args[0])) {
+			final int port = Integer.parseInt(args[1]);
+			try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+				socket.setTcpNoDelay(true);
+				run(
+					new BufferedInputStream(socket.getInputStream()),
+					new BufferedOutputStream(socket.getOutputStream())
+				);
+			}
+		} else {
+			throw new IllegalArgumentException(format(
+				"Usage: %s (%s | %s <port>)",
+				ProcessWorker.class.getName(),
+				PipeTransport.ARGUMENT,
+				SocketTransport.ARGUMENT
+			));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	static void run(final InputStream input, final OutputStream output)
+		throws IOException, ClassNotFoundException
+	{
+		final ObjectOutputStream out = new ObjectOutputStream(output);
+		out.flush();
+		final ObjectInputStream in = new ObjectInputStream(input);
+
+		final Function<Object, Object> function =
+			(Function<Object, Object>)in.readObject();
+
+		int size = in.readInt();
+		while (size != SHUTDOWN) {
+			final Object[] genotypes = new Object[size];
+			for (int i = 0; i < size; ++i) {
+				genotypes[i] = in.readObject();
+			}
+
+			for (Object genotype : genotypes) {
+				Object fitness = null;
+				String error = null;
+				try {
+					fitness = function.apply(genotype);
+				} catch (RuntimeException e) {
+					error = message(e);
+				}
+
+				if (error == null) {
+					out.writeBoolean(true);
+					out.writeObject(fitness);
+				} else {
+					out.writeBoolean(false);
+					out.writeUTF(error);
+				}
+			}
+			out.flush();
+			out.reset();
+
+			size = in.readInt();
+		}
+	}
+
+	private static String message(final Throwable error) {
+		final String message = error.toString();
+		return message.length() > MAX_MESSAGE_LENGTH
+			? message.substring(0, MAX_MESSAGE_LENGTH)
+			: message;
+	}
+
+}
@@ -0,0 +1,225 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.jenetics.Gene;
+import org.jenetics.Genotype;
+import org.jenetics.Optimize;
+import org.jenetics.Phenotype;
+import org.jenetics.Population;
+import org.jenetics.Selector;
+import org.jenetics.util.ISeq;
+
+/**
+ * Selector which implements <em>fitness sharing</em>. The fitness of every
+ * individual is divided by its <em>niche count</em>, before the selection is
+ * delegated to the wrapped selector. This degrades the fitness of
+ * individuals in crowded regions of the search space and allows the
+ * population to maintain several niches.
+ * <p>
+ * The niche count of an individual is the sum of the sharing function
+ * <i>sh(d) = 1 - (d/r)<sup>α</sup></i> for all individuals within the
+ * sharing radius <i>r</i>, including the individual itself. The neighbours
+ * are found with a {@link SpatialIndex}, which makes the selection
+ * sub-quadratic in the population size. For minimization problems, the
+ * fitness is multiplied by the niche count instead. The fitness values
+ * must therefore not be negative.
+ *
+ * <pre>{@code
+ * final Engine<DoubleGene, Double> engine = Engine
+ *     .builder(fitness, DoubleChromosome.of(0, 10, 2))
+ *     .offspringSelector(new SharingSelector<DoubleGene, Double>(
+ *         new TournamentSelector<>(),
+ *         Distance.euclidean(),
+ *         0.5
+ *     ))
+ *     .build();
+ * }</pre>
+ *
+ * @see CrowdingSelector
+ *
+ * @param <G> the gene type
+ * @param <C> the fitness type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public class SharingSelector<
+	G extends Gene<?, G>,
+	C extends Number & Comparable<? super C>
+>
+	implements Selector<G, C>
+{
+
+	private final Selector<G, Double> _selector;
+	private final Distance<? super Genotype<G>> _distance;
+	private final double _radius;
+	private final double _alpha;
+
+	/**
+	 * Create a new fitness sharing selector.
+	 *
+	 * @param selector the selector which selects from the population with
+	 *        the shared fitness values
+	 * @param distance the distance function of the genotypes
+	 * @param radius the sharing radius; individuals within this distance
+	 *        share their fitness
+	 * @param alpha the shape parameter of the sharing function
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the {@code radius} or {@code alpha}
+	 *         is not positive
+	 */
+	public SharingSelector(
+		final Selector<G, Double> selector,
+		final Distance<? super Genotype<G>> distance,
+		final double radius,
+		final double alpha
+	) {
+		if (!(radius > 0)) {
+			throw new IllegalArgumentException(format(
+				"Sharing radius must be positive: %f", radius
+			));
+		}
+		if (!(alpha > 0)) {
+			throw new IllegalArgumentException(format(
+				"Alpha must be positive: %f", alpha
+			));
+		}
+
+		_selector = requireNonNull(selector);
+		_distance = requireNonNull(distance);
+		_radius = radius;
+		_alpha = alpha;
+	}
+
+	/**
+	 * Create a new fitness sharing selector with the triangular sharing
+	 * function, <i>α = 1</i>.
+	 *
+	 * @param selector the selector which selects from the population with
+	 *        the shared fitness values
+	 * @param distance the distance function of the genotypes
+	 * @param radius the sharing radius; individuals within this distance
+	 *        share their fitness
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the {@code radius} is not positive
+	 */
+	public SharingSelector(
+		final Selector<G, Double> selector,
+		final Distance<? super Genotype<G>> distance,
+		final double radius
+	) {
+		this(selector, distance, radius, 1.0);
+	}
+
+	@Override
+	public Population<G, C> select(
+		final Population<G, C> population,
+		final int count,
+		final Optimize opt
+	) {
+		requireNonNull(population, "Population");
+		requireNonNull(opt, "Optimization");
+		if (count < 0) {
+			throw new IllegalArgumentException(format(
+				"Selection count must be greater or equal then zero, but was %s",
+				count
+			));
+		}
+
+		final Population<G, C> selection = new Population<>(count);
+		if (!population.isEmpty() && count > 0) {
+			final double[] counts = nicheCounts(population);
+
+			final Population<G, Double> shared =
+				new Population<>(population.size());
+			final Map<Phenotype<G, Double>, Phenotype<G, C>> individuals =
+				new IdentityHashMap<>(population.size());
+
+			for (int i = 0; i < population.size(); ++i) {
+				final Phenotype<G, C> pt = population.get(i);
+				final double fitness = pt.getFitness().doubleValue();
+				final double value = opt == Optimize.MAXIMUM
+					? fitness/counts[i]
+					: fitness*counts[i];
+
+				final Phenotype<G, Double> spt = Phenotype.<G, Double>of(
+					pt.getGenotype(), pt.getGeneration(), gt -> value
+				);
+				shared.add(spt);
+				individuals.put(spt, pt);
+			}
+
+			for (Phenotype<G, Double> spt : _selector.select(shared, count, opt)) {
+				final Phenotype<G, C> pt = individuals.get(spt);
+				if (pt == null) {
+					throw new IllegalStateException(format(
+						"Selector %s returned an individual which is not part " +
+						"of the population.", _selector
+					));
+				}
+				selection.add(pt);
+			}
+		}
+
+		return selection;
+	}
+
+	private double[] nicheCounts(final Population<G, C> population) {
+		final ISeq<Genotype<G>> genotypes = population.stream()
+			.map(Phenotype::getGenotype)
+			.collect(ISeq.toISeq());
+		final SpatialIndex<Genotype<G>> index =
+			SpatialIndex.of(genotypes, _distance);
+
+		final double[] counts = new double[genotypes.size()];
+		for (int i = 0; i < counts.length; ++i) {
+			final int ii = i;
+			index.within(genotypes.get(i), _radius, (j, d) ->
+				counts[ii] += share(d)
+			);
+		}
+
+		return counts;
+	}
+
+	private double share(final double distance) {
+		final double d = distance/_radius;
+		return d < 1.0
+			? 1.0 - (_alpha == 1.0 ? d : Math.pow(d, _alpha))
+			: 0.0;
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"%s[%s, r=%s, a=%s]",
+			getClass().getSimpleName(), _selector, _radius, _alpha
+		);
+	}
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ProcessBuilder.Redirect;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transport which communicates with the worker process via a loopback
+ * socket connection. The worker process is started with the port number it
+ * has to connect to.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class SocketTransport implements ProcessTransport {
+
+	static final String ARGUMENT = "--socket";
+
+	// Interval for checking whether the started worker process is still alive.
+	private static final int ACCEPT_POLL_MILLIS = 100;
+
+	private final Duration _connectTimeout;
+
+	SocketTransport(final Duration connectTimeout) {
+		requireNonNull(connectTimeout);
+		if (connectTimeout.isNegative() || connectTimeout.isZero()) {
+			throw new IllegalArgumentException(
+				"Connect timeout must be positive: " + connectTimeout
+			);
+		}
+		_connectTimeout = connectTimeout;
+	}
+
+	@Override
+	public Connection open(final List<String> command) throws IOException {
+		try (ServerSocket server =
+				new ServerSocket(0, 1, InetAddress.getLoopbackAddress()))
+		{
+			final List<String> cmd = new ArrayList<>(command);
+			cmd.add(ARGUMENT);
+			cmd.add(Integer.toString(server.getLocalPort()));
+
+			final Process process = new ProcessBuilder(cmd)
+				.redirectOutput(Redirect.INHERIT)
+				.redirectError(Redirect.INHERIT)
+				.start();
+			process.getOutputStream().close();
+
+			try {
+				return new SocketConnection(process, accept(server, process));
+			} catch (IOException|RuntimeException e) {
+				process.destroy();
+				throw e;
+			}
+		}
+	}
+
+	private Socket accept(final ServerSocket server, final Process process)
+		throws IOException
+	{
+		final long deadline = System.nanoTime() + _connectTimeout.toNanos();
+
+		server.setSoTimeout(ACCEPT_POLL_MILLIS);
+		while (true) {
+			try {
+				final Socket socket = server.accept();
+				socket.setTcpNoDelay(true);
+				return socket;
+			} catch (SocketTimeoutException e) {
+				if (!process.isAlive()) {
+					throw new IOException(
+						"Worker process terminated with exit value " +
+						process.exitValue() + "."
+					);
+				}
+				if (System.nanoTime() - deadline >= 0) {
+					throw new IOException(
+						"Worker process didn't connect within " +
+						_connectTimeout + "."
+					);
+				}
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ProcessTransport.sockets(" + _connectTimeout + ")";
+	}
+
+	private static final class SocketConnection implements Connection {
+		private final Process _process;
+		private final Socket _socket;
+		private final InputStream _in;
+		private final OutputStream _out;
+
+		SocketConnection(final Process process, final Socket socket)
+			throws IOException
+		{
+			_process = process;
+			_socket = socket;
+			_in = new BufferedInputStream(socket.getInputStream());
+			_out = new BufferedOutputStream(socket.getOutputStream());
+		}
+
+		@Override
+		public InputStream getInputStream() {
+			return _in;
+		}
+
+		@Override
+		public OutputStream getOutputStream() {
+			return _out;
+		}
+
+		@Override
+		public boolean isAlive() {
+			return _process.isAlive() && !_socket.isClosed();
+		}
+
+		@Override
+		public void close() {
+			try {
+				_socket.close();
+			} catch (IOException ignore) {
+			}
+			_process.destroy();
+		}
+	}
+
+}
@@ -0,0 +1,249 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+import org.jenetics.Genotype;
+import org.jenetics.util.Seq;
+
+/**
+ * Index for fast <em>nearest-neighbour</em> and <em>range</em> queries on a
+ * fixed sequence of elements. The index answers the queries, needed for
+ * niching and diversity measures, without comparing the query element with
+ * every indexed element. Building an index of {@code n} elements requires
+ * <i>O(n log(n))</i> distance calculations and a query typically
+ * <i>O(log(n))</i>, which makes neighbour queries for all elements of a
+ * population sub-quadratic.
+ *
+ * <pre>{@code
+ * final ISeq<Genotype<DoubleGene>> genotypes = ...;
+ * final SpatialIndex<Genotype<DoubleGene>> index =
+ *     SpatialIndex.of(genotypes, Distance.euclidean());
+ *
+ * // The indexes of the five nearest neighbours of the first genotype.
+ * final int[] neighbours = index.nearest(genotypes.get(0), 5);
+ * }</pre>
+ *
+ * The implementation of the index depends on the distance function:
+ * <ul>
+ *     <li>{@link Distance#euclidean()}: <em>k-d</em> tree on the gene
+ *         values.</li>
+ *     <li>{@link Distance#hamming()}: <em>BK</em> tree, for the integral
+ *         distances of bit, character and permutation chromosomes.</li>
+ *     <li>Every other {@link Distance}: <em>vantage-point</em> tree, which
+ *         only relies on the metric properties of the distance.</li>
+ * </ul>
+ *
+ * For high dimensional or uniformly spread elements, the tree pruning
+ * becomes less effective and the query time of an exact search approaches
+ * the linear search. The nearest-neighbour searches of an index, created
+ * with {@link #of(Seq, Distance, int)}, are therefore bounded by a maximal
+ * number of distance calculations. Such a search is <em>approximate</em>:
+ * it returns the nearest elements found within its budget, which are
+ * usually the nearest elements, since the most promising parts of the
+ * tree are searched first. Range queries are always exact.
+ *
+ * @see Distance
+ *
+ * @param <T> the element type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public interface SpatialIndex<T> {
+
+	/**
+	 * Return the number of indexed elements.
+	 *
+	 * @return the number of indexed elements
+	 */
+	public int size();
+
+	/**
+	 * Return the positions of the {@code k} indexed elements which are
+	 * nearest to the given {@code point}, ordered by increasing distance. If
+	 * the {@code point} itself is indexed, it is part of the result.
+	 *
+	 * @param point the query point
+	 * @param k the number of neighbours
+	 * @return the positions of at most {@code k} nearest elements, within the
+	 *         indexed sequence
+	 * @throws NullPointerException if the {@code point} is {@code null}
+	 * @throws IllegalArgumentException if {@code k} is negative
+	 */
+	public int[] nearest(final T point, final int k);
+
+	/**
+	 * Calls the given {@code consumer} for every indexed element, whose
+	 * distance to the given {@code point} is not greater than the given
+	 * {@code radius}. The elements are reported in no particular order.
+	 *
+	 * @param point the query point
+	 * @param radius the query radius
+	 * @param consumer the consumer of the found elements
+	 * @throws NullPointerException if the {@code point} or the
+	 *         {@code consumer} is {@code null}
+	 * @throws IllegalArgumentException if the {@code radius} is negative
+	 */
+	public void within(
+		final T point,
+		final double radius,
+		final Neighbour consumer
+	);
+
+	/**
+	 * Return the positions of the indexed elements, whose distance to the
+	 * given {@code point} is not greater than the given {@code radius}.
+	 *
+	 * @param point the query point
+	 * @param radius the query radius
+	 * @return the positions of the found elements, in no particular order
+	 * @throws NullPointerException if the {@code point} is {@code null}
+	 * @throws IllegalArgumentException if the {@code radius} is negative
+	 */
+	public default int[] within(final T point, final double radius) {
+		final int[][] result = {new int[8]};
+		final int[] size = {0};
+		within(point, radius, (index, distance) -> {
+			if (size[0] == result[0].length) {
+				result[0] = Arrays.copyOf(result[0], size[0]*2);
+			}
+			result[0][size[0]++] = index;
+		});
+
+		return Arrays.copyOf(result[0], size[0]);
+	}
+
+
+	/**
+	 * Consumer of the elements found by a range query.
+	 *
+	 * @see SpatialIndex#within(Object, double, Neighbour)
+	 */
+	@FunctionalInterface
+	public static interface Neighbour {
+
+		/**
+		 * Accepts a found element.
+		 *
+		 * @param index the position of the element within the indexed
+		 *        sequence
+		 * @param distance the distance of the element to the query point
+		 */
+		public void accept(final int index, final double distance);
+
+	}
+
+
+	/**
+	 * Create a new index for the given {@code elements} and {@code distance}
+	 * function. The index refers to the elements by their position. The
+	 * nearest-neighbour searches of the index perform at most {@code checks}
+	 * distance calculations per query.
+	 *
+	 * @param elements the elements to index
+	 * @param distance the (metric) distance function
+	 * @param checks the maximal number of distance calculations of one
+	 *        nearest-neighbour query
+	 * @param <T> the element type
+	 * @return a new (approximate) spatial index
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if {@code checks} is smaller than one
+	 */
+	public static <T> SpatialIndex<T> of(
+		final Seq<? extends T> elements,
+		final Distance<? super T> distance,
+		final int checks
+	) {
+		requireNonNull(elements);
+		requireNonNull(distance);
+		if (checks < 1) {
+			throw new IllegalArgumentException(format(
+				"Number of checks must be greater than zero, but was %d.",
+				checks
+			));
+		}
+
+		final SpatialIndex<T> index;
+		if (distance instanceof EuclideanDistance<?>) {
+			index = new KDTree<>(
+				elements,
+				e -> EuclideanDistance.vector((Genotype<?>)e),
+				checks
+			);
+		} else if (distance instanceof HammingDistance<?>) {
+			index = new BKTree<>(
+				elements,
+				e -> HammingDistance.key((Genotype<?>)e),
+				HammingDistance::distance,
+				checks
+			);
+		} else {
+			index = new VPTree<>(elements, distance, checks);
+		}
+
+		return index;
+	}
+
+	/**
+	 * Create a new index for the given {@code elements} and {@code distance}
+	 * function. The index refers to the elements by their position and its
+	 * searches are exact.
+	 *
+	 * @param elements the elements to index
+	 * @param distance the (metric) distance function
+	 * @param <T> the element type
+	 * @return a new spatial index
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public static <T> SpatialIndex<T> of(
+		final Seq<? extends T> elements,
+		final Distance<? super T> distance
+	) {
+		return of(elements, distance, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Create a new <em>k-d</em> tree index for the given {@code elements},
+	 * which uses the euclidean distance of the element coordinates.
+	 *
+	 * @param elements the elements to index
+	 * @param coordinates the function which returns the coordinates of an
+	 *        element. All elements must have the same dimension.
+	 * @param <T> the element type
+	 * @return a new spatial index
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the elements have different
+	 *         dimensions
+	 */
+	public static <T> SpatialIndex<T> euclidean(
+		final Seq<? extends T> elements,
+		final Function<? super T, double[]> coordinates
+	) {
+		return new KDTree<>(elements, coordinates, Integer.MAX_VALUE);
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import java.util.function.ToDoubleBiFunction;
+
+import org.jenetics.Chromosome;
+import org.jenetics.Gene;
+import org.jenetics.Genotype;
+import org.jenetics.NumericGene;
+
+/**
+ * A cheap approximation model of an (expensive) fitness function. The
+ * surrogate is used by the {@link Engine} for pre-screening the newly
+ * created individuals. Only the most promising individuals, according to
+ * the predicted fitness, are evaluated with the real fitness function. The
+ * really evaluated individuals are reported back to the surrogate, which
+ * allows the incremental update of the approximation model.
+ *
+ * <pre>{@code
+ * final Engine<DoubleGene, Double> engine = Engine
+ *     .builder(Simulation::fitness, DoubleChromosome.of(0, 1, 10))
+ *     // Only the best 30% of the new individuals are really evaluated.
+ *     .surrogate(() -> Surrogate.nearestNeighbours(5, 1000), 0.3)
+ *     .build();
+ * }</pre>
+ *
+ * <em>The engine creates a new surrogate for every evolution stream. Its
+ * methods are called sequentially by the engine, but not necessarily from
+ * the same thread.</em>
+ *
+ * @see Engine.Builder#surrogate(java.util.function.Supplier, double, boolean)
+ *
+ * @param <G> the gene type
+ * @param <C> the fitness value type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+@FunctionalInterface
+public interface Surrogate<
+	G extends Gene<?, G>,
+	C extends Comparable<? super C>
+> {
+
+	/**
+	 * Predicts the fitness value of the given {@code genotype}.
+	 *
+	 * @param genotype the genotype to predict the fitness for
+	 * @return the predicted fitness, or {@code null} if no prediction is
+	 *         possible. Genotypes without prediction are always evaluated
+	 *         with the real fitness function.
+	 */
+	public C predict(final Genotype<G> genotype);
+
+	/**
+	 * Updates the surrogate model with a genotype, which has been evaluated
+	 * with the real fitness function. The default implementation does
+	 * nothing.
+	 *
+	 * @param genotype the evaluated genotype
+	 * @param fitness the real fitness value of the genotype
+	 */
+	public default void update(final Genotype<G> genotype, final C fitness) {
+	}
+
+
+	/**
+	 * Return a <em>k-nearest-neighbour</em> surrogate. The predicted fitness
+	 * is the median fitness of the {@code k} nearest genotypes of an archive
+	 * of really evaluated genotypes. If the archive is full, the oldest
+	 * entry is replaced.
+	 *
+	 * @param k the number of neighbours used for the prediction
+	 * @param archiveSize the maximal number of stored genotypes
+	 * @param distance the distance function between two genotypes
+	 * @param <G> the gene type
+	 * @param <C> the fitness value type
+	 * @return a new nearest-neighbour surrogate
+	 * @throws NullPointerException if the {@code distance} function is
+	 *         {@code null}
+	 * @throws IllegalArgumentException if {@code k} is smaller than one or
+	 *         the {@code archiveSize} is smaller than {@code k}
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	Surrogate<G, C> nearestNeighbours(
+		final int k,
+		final int archiveSize,
+		final ToDoubleBiFunction<? super Genotype<G>, ? super Genotype<G>> distance
+	) {
+		return new NearestNeighbourSurrogate<>(k, archiveSize, distance);
+	}
+
+	/**
+	 * Return a <em>k-nearest-neighbour</em> surrogate for numeric genotypes,
+	 * which uses the euclidean distance of the gene values.
+	 *
+	 * @see #nearestNeighbours(int, int, ToDoubleBiFunction)
+	 *
+	 * @param k the number of neighbours used for the prediction
+	 * @param archiveSize the maximal number of stored genotypes
+	 * @param <G> the gene type
+	 * @param <C> the fitness value type
+	 * @return a new nearest-neighbour surrogate
+	 * @throws IllegalArgumentException if {@code k} is smaller than one or
+	 *         the {@code archiveSize} is smaller than {@code k}
+	 */
+	public static <G extends NumericGene<?, G>, C extends Comparable<? super C>>
+	Surrogate<G, C> nearestNeighbours(final int k, final int archiveSize) {
+		return nearestNeighbours(k, archiveSize, Surrogate::euclidean);
+	}
+
+	/**
+	 * Return the euclidean distance of the gene values of the given
+	 * genotypes.
+	 *
+	 * @param a the first genotype
+	 * @param b the second genotype
+	 * @param <G> the gene type
+	 * @return the euclidean distance of the two genotypes
+	 * @throws NullPointerException if one of the genotypes is {@code null}
+	 * @throws IllegalArgumentException if the genotypes have different
+	 *         shapes
+	 */
+	public static <G extends NumericGene<?, G>> double
+	euclidean(final Genotype<G> a, final Genotype<G> b) {
+		if (a.length() != b.length()) {
+			throw new IllegalArgumentException(
+				"Genotypes have different lengths."
+			);
+		}
+
+		double sum = 0;
+		for (int i = 0, n = a.length(); i < n; ++i) {
+			final Chromosome<G> ca = a.getChromosome(i);
+			final Chromosome<G> cb = b.getChromosome(i);
+			if (ca.length() != cb.length()) {
+				throw new IllegalArgumentException(
+					"Chromosomes have different lengths."
+				);
+			}
+
+			for (int j = 0, m = ca.length(); j < m; ++j) {
+				final double diff =
+					ca.getGene(j).doubleValue() - cb.getGene(j).doubleValue();
+				sum += diff*diff;
+			}
+		}
+
+		return Math.sqrt(sum);
+	}
+
+}
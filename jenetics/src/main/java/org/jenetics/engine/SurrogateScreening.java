@@ -0,0 +1,234 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.jenetics.Gene;
+import org.jenetics.Genotype;
+import org.jenetics.Optimize;
+import org.jenetics.Phenotype;
+import org.jenetics.Population;
+
+/**
+ * Pre-screening of not yet evaluated individuals with a {@link Surrogate}.
+ * Only the given fraction of the individuals with the best predicted
+ * fitness is evaluated with the real fitness function. The remaining
+ * individuals keep the predicted fitness or are removed from the population.
+ * The screening object itself is immutable; the (mutable) surrogate model is
+ * created with {@link #newSurrogate()} for every evolution stream.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class SurrogateScreening<
+	G extends Gene<?, G>,
+	C extends Comparable<? super C>
+> {
+
+	private final Supplier<? extends Surrogate<G, C>> _surrogate;
+	private final double _evaluationFraction;
+	private final boolean _discardPredicted;
+
+	/**
+	 * Create a new surrogate screening object.
+	 *
+	 * @param surrogate the factory of the surrogate models
+	 * @param evaluationFraction the fraction of the predictable individuals
+	 *        which are evaluated with the real fitness function
+	 * @param discardPredicted if {@code true}, the not really evaluated
+	 *        individuals are removed from the population
+	 * @throws NullPointerException if the {@code surrogate} is {@code null}
+	 * @throws IllegalArgumentException if the {@code evaluationFraction} is
+	 *         not within the range [0, 1]
+	 */
+	SurrogateScreening(
+		final Supplier<? extends Surrogate<G, C>> surrogate,
+		final double evaluationFraction,
+		final boolean discardPredicted
+	) {
+		if (evaluationFraction < 0 || evaluationFraction > 1) {
+			throw new IllegalArgumentException(format(
+				"Evaluation fraction must be within [0, 1], but was %f.",
+				evaluationFraction
+			));
+		}
+
+		_surrogate = requireNonNull(surrogate);
+		_evaluationFraction = evaluationFraction;
+		_discardPredicted = discardPredicted;
+	}
+
+	Supplier<? extends Surrogate<G, C>> getSurrogate() {
+		return _surrogate;
+	}
+
+	/**
+	 * Create a new, untrained surrogate model.
+	 *
+	 * @return a new surrogate model
+	 * @throws NullPointerException if the surrogate factory returns
+	 *         {@code null}
+	 */
+	Surrogate<G, C> newSurrogate() {
+		return requireNonNull(_surrogate.get(), "Surrogate");
+	}
+
+	double getEvaluationFraction() {
+		return _evaluationFraction;
+	}
+
+	boolean isDiscardPredicted() {
+		return _discardPredicted;
+	}
+
+	/**
+	 * Screens the not yet evaluated individuals of the given population,
+	 * evaluates the most promising ones with the given {@code evaluation}
+	 * function and updates the surrogate with the real fitness values. The
+	 * population is changed in place.
+	 *
+	 * @param population the population to evaluate
+	 * @param optimize the optimization strategy
+	 * @param surrogate the surrogate model of the evolution stream
+	 * @param evaluation the real evaluation function
+	 * @return the evaluation counts, including the surrogate count
+	 */
+	EvaluationCounts evaluate(
+		final Population<G, C> population,
+		final Optimize optimize,
+		final Surrogate<G, C> surrogate,
+		final Function<Population<G, C>, EvaluationCounts> evaluation
+	) {
+		final Set<Genotype<G>> real =
+			Collections.newSetFromMap(new IdentityHashMap<>());
+		final List<Prediction<C>> predictions = new ArrayList<>();
+
+		for (int i = 0, n = population.size(); i < n; ++i) {
+			final Phenotype<G, C> pt = population.get(i);
+			if (!pt.isEvaluated()) {
+				final C fitness = surrogate.predict(pt.getGenotype());
+				if (fitness != null) {
+					predictions.add(new Prediction<>(i, fitness));
+				} else {
+					real.add(pt.getGenotype());
+				}
+			}
+		}
+
+		// The best predicted individuals are really evaluated.
+		predictions.sort((a, b) ->
+			optimize.<C>descending().compare(a.fitness, b.fitness));
+		final int count = (int)Math.ceil(_evaluationFraction*predictions.size());
+
+		for (Prediction<C> p : predictions.subList(0, count)) {
+			real.add(population.get(p.index).getGenotype());
+		}
+
+		final List<Prediction<C>> predicted =
+			predictions.subList(count, predictions.size());
+		if (_discardPredicted) {
+			final boolean[] discard = new boolean[population.size()];
+			predicted.forEach(p -> discard[p.index] = true);
+
+			final List<Phenotype<G, C>> remaining =
+				new ArrayList<>(population.size() - predicted.size());
+			for (int i = 0; i < discard.length; ++i) {
+				if (!discard[i]) remaining.add(population.get(i));
+			}
+			population.clear();
+			population.addAll(remaining);
+		} else {
+			for (Prediction<C> p : predicted) {
+				population.set(
+					p.index,
+					population.get(p.index).withFitness(p.fitness)
+				);
+			}
+		}
+
+		final EvaluationCounts counts = evaluation.apply(population);
+		update(population, real, surrogate);
+
+		return counts.plus(EvaluationCounts.of(0, 0, 0, predicted.size()));
+	}
+
+	/**
+	 * Evaluates all not yet evaluated individuals of the given population
+	 * with the real fitness function, without screening, and updates the
+	 * surrogate with the fitness values.
+	 *
+	 * @param population the population to evaluate
+	 * @param surrogate the surrogate model of the evolution stream
+	 * @param evaluation the real evaluation function
+	 * @return the evaluation counts
+	 */
+	EvaluationCounts train(
+		final Population<G, C> population,
+		final Surrogate<G, C> surrogate,
+		final Function<Population<G, C>, EvaluationCounts> evaluation
+	) {
+		final Set<Genotype<G>> real =
+			Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Phenotype<G, C> pt : population) {
+			if (!pt.isEvaluated()) real.add(pt.getGenotype());
+		}
+
+		final EvaluationCounts counts = evaluation.apply(population);
+		update(population, real, surrogate);
+
+		return counts;
+	}
+
+	// Updates the surrogate model with the really evaluated individuals.
+	private static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	void update(
+		final Population<G, C> population,
+		final Set<Genotype<G>> real,
+		final Surrogate<G, C> surrogate
+	) {
+		for (Phenotype<G, C> pt : population) {
+			if (pt.isEvaluated() && real.contains(pt.getGenotype())) {
+				surrogate.update(pt.getGenotype(), pt.getRawFitness());
+			}
+		}
+	}
+
+	private static final class Prediction<C> {
+		final int index;
+		final C fitness;
+
+		Prediction(final int index, final C fitness) {
+			this.index = index;
+			this.fitness = fitness;
+		}
+	}
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.jenetics.internal.util.require;
+
+/**
+ * Helper class for measuring the memory allocated by the current thread.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class ThreadAllocation {
+	private ThreadAllocation() {require.noInstance();}
+
+	private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+	private static com.sun.management.ThreadMXBean threads() {
+		try {
+			final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+			if (threads instanceof com.sun.management.ThreadMXBean) {
+				final com.sun.management.ThreadMXBean bean =
+					(com.sun.management.ThreadMXBean)threads;
+
+				if (bean.isThreadAllocatedMemorySupported() &&
+					bean.isThreadAllocatedMemoryEnabled())
+				{
+					return bean;
+				}
+			}
+		} catch (RuntimeException|LinkageError ignore) {
+			// The allocated memory can't be measured.
+		}
+
+		return null;
+	}
+
+	/**
+	 * Return the number of bytes allocated by the current thread so far.
+	 *
+	 * @return the number of bytes allocated by the current thread, or
+	 *         {@code -1} if the allocated memory can't be measured
+	 */
+	static long bytes() {
+		return THREADS != null
+			? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId())
+			: -1;
+	}
+
+}
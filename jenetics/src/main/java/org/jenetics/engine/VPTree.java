@@ -0,0 +1,209 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import org.jenetics.util.Seq;
+
+/**
+ * <em>Vantage-point</em> tree for arbitrary metric distances. The tree is
+ * stored implicitly in a permutation of the element positions: the first
+ * element of the range {@code [lo, hi)} is the vantage point, the elements
+ * of {@code [lo + 1, mid)} are not farther away from the vantage point than
+ * the median distance and the elements of {@code [mid, hi)} are not nearer.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class VPTree<T> implements SpatialIndex<T> {
+
+	private final Seq<? extends T> _elements;
+	private final Distance<? super T> _distance;
+	private final int _checks;
+	private final int[] _indexes;
+	private final double[] _medians;
+
+	VPTree(
+		final Seq<? extends T> elements,
+		final Distance<? super T> distance,
+		final int checks
+	) {
+		_elements = requireNonNull(elements);
+		_distance = requireNonNull(distance);
+		_checks = checks;
+		_indexes = new int[elements.size()];
+		_medians = new double[elements.size()];
+
+		for (int i = 0; i < _indexes.length; ++i) {
+			_indexes[i] = i;
+		}
+		build(0, _indexes.length, new double[_indexes.length]);
+	}
+
+	private void build(final int lo, final int hi, final double[] distances) {
+		if (hi - lo <= 1) return;
+
+		// Taking the middle element as vantage point avoids degenerated trees
+		// for sorted input sequences.
+		swap(lo, (lo + hi) >>> 1, distances);
+		final T vantage = _elements.get(_indexes[lo]);
+		for (int i = lo + 1; i < hi; ++i) {
+			distances[i] = _distance.distance(vantage, _elements.get(_indexes[i]));
+		}
+
+		final int mid = (lo + 1 + hi) >>> 1;
+		select(lo + 1, hi, mid, distances);
+		_medians[lo] = distances[mid];
+
+		build(lo + 1, mid, distances);
+		build(mid, hi, distances);
+	}
+
+	// Quick-select: partitions [lo, hi), so that the element at position k
+	// has the k-th smallest distance.
+	private void select(int lo, int hi, final int k, final double[] distances) {
+		while (hi - lo > 1) {
+			final double pivot = distances[(lo + hi) >>> 1];
+			int i = lo;
+			int j = hi - 1;
+			while (i <= j) {
+				while (distances[i] < pivot) ++i;
+				while (distances[j] > pivot) --j;
+				if (i <= j) {
+					swap(i++, j--, distances);
+				}
+			}
+
+			if (k <= j) {
+				hi = j + 1;
+			} else if (k >= i) {
+				lo = i;
+			} else {
+				return;
+			}
+		}
+	}
+
+	private void swap(final int i, final int j, final double[] distances) {
+		final int index = _indexes[i];
+		_indexes[i] = _indexes[j];
+		_indexes[j] = index;
+
+		final double distance = distances[i];
+		distances[i] = distances[j];
+		distances[j] = distance;
+	}
+
+	@Override
+	public int size() {
+		return _indexes.length;
+	}
+
+	@Override
+	public int[] nearest(final T point, final int k) {
+		requireNonNull(point);
+		if (k < 0) {
+			throw new IllegalArgumentException(format(
+				"Number of neighbours must not be negative: %d", k
+			));
+		}
+
+		final NeighbourHeap heap = new NeighbourHeap(Math.min(k, size()));
+		if (k > 0) {
+			nearest(point, 0, _indexes.length, heap, new int[]{_checks});
+		}
+		return heap.toIndexes();
+	}
+
+	// The search stops after the given number of distance calculations.
+	private void nearest(
+		final T point,
+		final int lo,
+		final int hi,
+		final NeighbourHeap heap,
+		final int[] checks
+	) {
+		if (lo >= hi || checks[0]-- <= 0) return;
+
+		final double distance = _distance
+			.distance(point, _elements.get(_indexes[lo]));
+		heap.add(_indexes[lo], distance);
+
+		final int mid = (lo + 1 + hi) >>> 1;
+		final double median = _medians[lo];
+		if (distance < median) {
+			nearest(point, lo + 1, mid, heap, checks);
+			if (distance + heap.bound() >= median) {
+				nearest(point, mid, hi, heap, checks);
+			}
+		} else {
+			nearest(point, mid, hi, heap, checks);
+			if (distance - heap.bound() <= median) {
+				nearest(point, lo + 1, mid, heap, checks);
+			}
+		}
+	}
+
+	@Override
+	public void within(
+		final T point,
+		final double radius,
+		final Neighbour consumer
+	) {
+		requireNonNull(point);
+		requireNonNull(consumer);
+		if (radius < 0) {
+			throw new IllegalArgumentException(format(
+				"Radius must not be negative: %f", radius
+			));
+		}
+
+		within(point, radius, 0, _indexes.length, consumer);
+	}
+
+	private void within(
+		final T point,
+		final double radius,
+		final int lo,
+		final int hi,
+		final Neighbour consumer
+	) {
+		if (lo >= hi) return;
+
+		final double distance = _distance
+			.distance(point, _elements.get(_indexes[lo]));
+		if (distance <= radius) {
+			consumer.accept(_indexes[lo], distance);
+		}
+
+		final int mid = (lo + 1 + hi) >>> 1;
+		final double median = _medians[lo];
+		if (distance - radius <= median) {
+			within(point, radius, lo + 1, mid, consumer);
+		}
+		if (distance + radius >= median) {
+			within(point, radius, mid, hi, consumer);
+		}
+	}
+
+}
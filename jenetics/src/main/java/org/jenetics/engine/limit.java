@@ -44,7 +44,7 @@ import org.jenetics.util.NanoClock;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
  * @since 3.0
- * @version 3.7
+ * @version 4.0
  */
 public final class limit {
 	private limit() {require.noInstance();}
@@ -122,6 +122,17 @@ public final class limit {
 	 *     .collect(toBestPhenotype());
 	 * }</pre>
 	 *
+	 * If the predicate is used for limiting an evolution stream, created by
+	 * an {@link Engine}, the execution time is measured from the start of
+	 * the first generation's evaluation and is also checked while a
+	 * generation is evaluated. No new fitness evaluations are started after
+	 * the time limit is exceeded and the stream ends with the partially
+	 * evaluated generation. Already running evaluations are finished, unless
+	 * an {@link Engine.Builder#evaluationTimeout(Duration, Comparable)} is
+	 * set, which interrupts them. If not a single individual of the first
+	 * generation could be evaluated within the time limit, the stream ends
+	 * without any result.
+	 *
 	 * @since 3.1
 	 *
 	 * @param duration the duration after the evolution stream will be truncated
@@ -149,6 +160,17 @@ public final class limit {
 	 *     .collect(toBestPhenotype());
 	 * }</pre>
 	 *
+	 * If the predicate is used for limiting an evolution stream, created by
+	 * an {@link Engine}, the execution time is measured from the start of
+	 * the first generation's evaluation and is also checked while a
+	 * generation is evaluated. No new fitness evaluations are started after
+	 * the time limit is exceeded and the stream ends with the partially
+	 * evaluated generation. Already running evaluations are finished, unless
+	 * an {@link Engine.Builder#evaluationTimeout(Duration, Comparable)} is
+	 * set, which interrupts them. If not a single individual of the first
+	 * generation could be evaluated within the time limit, the stream ends
+	 * without any result.
+	 *
 	 * @since 3.1
 	 *
 	 * @param duration the duration after the evolution stream will be truncated
@@ -0,0 +1,423 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.internal.math;
+
+import static java.lang.String.format;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.jenetics.internal.util.require;
+
+/**
+ * Order based operations on permutations, which are represented as
+ * {@code int[]} arrays of (allele) indexes. The values of the permutation
+ * arrays are in the range {@code [0, size)}, where {@code size} is the
+ * number of available values, and the arrays contain no duplicates. All
+ * operations are running in linear time, {@code O(size)}.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public final class permutation {
+	private permutation() {require.noInstance();}
+
+	/**
+	 * Return the inverse of the given permutation: the position of the value
+	 * {@code v} is stored at index {@code v} of the returned array. Values
+	 * which are not part of the permutation have position {@code -1}.
+	 *
+	 * @param order the permutation
+	 * @param size the number of available values
+	 * @return the positions of the permutation values
+	 * @throws ArrayIndexOutOfBoundsException if a value of the permutation is
+	 *         not in the range {@code [0, size)}
+	 */
+	public static int[] inverse(final int[] order, final int size) {
+		final int[] positions = new int[size];
+		Arrays.fill(positions, -1);
+		for (int i = 0; i < order.length; ++i) {
+			positions[order[i]] = i;
+		}
+		return positions;
+	}
+
+	/**
+	 * Test whether the given array is a valid permutation, with values in
+	 * the range {@code [0, size)} and no duplicates.
+	 *
+	 * @param order the array to test
+	 * @param size the number of available values
+	 * @return {@code true} if the given array is a valid permutation
+	 */
+	public static boolean isValid(final int[] order, final int size) {
+		final boolean[] seen = new boolean[size];
+		for (int value : order) {
+			if (value < 0 || value >= size || seen[value]) {
+				return false;
+			}
+			seen[value] = true;
+		}
+		return true;
+	}
+
+	/**
+	 * Test whether the two permutations contain the same values.
+	 *
+	 * @param a the first permutation
+	 * @param b the second permutation
+	 * @param size the number of available values
+	 * @return {@code true} if both permutations contain the same values
+	 */
+	public static boolean isSameSet(final int[] a, final int[] b, final int size) {
+		if (a.length != b.length) {
+			return false;
+		}
+
+		final int[] positions = inverse(b, size);
+		for (int value : a) {
+			if (positions[value] == -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reverses the elements of the given array in the range
+	 * {@code [from, until)}.
+	 *
+	 * @param order the array to change
+	 * @param from the start index, inclusively
+	 * @param until the end index, exclusively
+	 */
+	public static void reverse(final int[] order, final int from, final int until) {
+		for (int i = from, j = until - 1; i < j; ++i, --j) {
+			final int temp = order[i];
+			order[i] = order[j];
+			order[j] = temp;
+		}
+	}
+
+	/**
+	 * Performs the <em>partially matched crossover</em> (PMX) of the two given
+	 * permutations, in place. The values of the crossing region
+	 * {@code [begin, end)} are exchanged and the values outside the region,
+	 * which are now duplicated, are replaced by following the mapping of the
+	 * exchanged values. Since this mapping is injective, the mapping chains
+	 * of two duplicates never merge and the repair step is linear.
+	 *
+	 * @param a the first permutation
+	 * @param b the second permutation
+	 * @param begin the start of the crossing region, inclusively
+	 * @param end the end of the crossing region, exclusively
+	 * @param size the number of available values
+	 */
+	public static void pmx(
+		final int[] a,
+		final int[] b,
+		final int begin,
+		final int end,
+		final int size
+	) {
+		checkLength(a, b);
+		for (int i = begin; i < end; ++i) {
+			final int temp = a[i];
+			a[i] = b[i];
+			b[i] = temp;
+		}
+
+		final int[] positions = new int[size];
+		Arrays.fill(positions, -1);
+		repair(a, b, begin, end, positions);
+		Arrays.fill(positions, -1);
+		repair(b, a, begin, end, positions);
+	}
+
+	private static void repair(
+		final int[] that,
+		final int[] other,
+		final int begin,
+		final int end,
+		final int[] positions
+	) {
+		for (int i = begin; i < end; ++i) {
+			positions[that[i]] = i;
+		}
+
+		for (int i = 0; i < begin; ++i) {
+			that[i] = resolve(that[i], other, positions);
+		}
+		for (int i = end; i < that.length; ++i) {
+			that[i] = resolve(that[i], other, positions);
+		}
+	}
+
+	private static int resolve(
+		final int value,
+		final int[] other,
+		final int[] positions
+	) {
+		int result = value;
+		while (positions[result] != -1) {
+			result = other[positions[result]];
+		}
+		return result;
+	}
+
+	/**
+	 * Performs the <em>order crossover</em> (OX) of the two given
+	 * permutations, in place. Each offspring keeps the crossing region
+	 * {@code [begin, end)} of its own parent. The remaining positions, starting
+	 * at {@code end} and wrapping around, are filled with the values of the
+	 * other parent, in the order they appear there (starting at {@code end}),
+	 * skipping the values already taken from the crossing region. The
+	 * permutations may be <em>partial</em> and contain different values.
+	 *
+	 * @param a the first permutation
+	 * @param b the second permutation
+	 * @param begin the start of the crossing region, inclusively
+	 * @param end the end of the crossing region, exclusively
+	 * @param size the number of available values
+	 */
+	public static void ox(
+		final int[] a,
+		final int[] b,
+		final int begin,
+		final int end,
+		final int size
+	) {
+		checkLength(a, b);
+		final int[] ca = ox(a, b, begin, end, new boolean[size]);
+		final int[] cb = ox(b, a, begin, end, new boolean[size]);
+		System.arraycopy(ca, 0, a, 0, a.length);
+		System.arraycopy(cb, 0, b, 0, b.length);
+	}
+
+	private static int[] ox(
+		final int[] that,
+		final int[] other,
+		final int begin,
+		final int end,
+		final boolean[] used
+	) {
+		final int n = that.length;
+		final int[] child = new int[n];
+		for (int i = begin; i < end; ++i) {
+			child[i] = that[i];
+			used[that[i]] = true;
+		}
+
+		int k = end%n;
+		int missing = n - (end - begin);
+		for (int i = 0; i < n && missing > 0; ++i) {
+			final int value = other[(end + i)%n];
+			if (!used[value]) {
+				child[k] = value;
+				k = (k + 1)%n;
+				--missing;
+			}
+		}
+
+		return child;
+	}
+
+	/**
+	 * Performs the <em>cycle crossover</em> (CX) of the two given
+	 * permutations, in place. The positions are partitioned into cycles,
+	 * where the value of {@code b} at one position of the cycle is the value
+	 * of {@code a} at the next position. The values of every second cycle
+	 * are exchanged, so that every value of the offspring keeps the position
+	 * it has in one of the parents. If the permutations are <em>partial</em>
+	 * and contain different values, a cycle may also be an open chain, which
+	 * ends at a value not contained in the other permutation.
+	 *
+	 * @param a the first permutation
+	 * @param b the second permutation
+	 * @param size the number of available values
+	 * @return the number of cycles
+	 */
+	public static int cx(final int[] a, final int[] b, final int size) {
+		checkLength(a, b);
+		final int[] positionsA = inverse(a, size);
+		final int[] positionsB = inverse(b, size);
+		final boolean[] visited = new boolean[a.length];
+
+		int cycles = 0;
+		for (int start = 0; start < a.length; ++start) {
+			if (visited[start]) continue;
+
+			// Going back to the beginning of an open chain.
+			int first = start;
+			int previous = positionsB[a[first]];
+			while (previous != -1 && previous != start) {
+				first = previous;
+				previous = positionsB[a[first]];
+			}
+
+			final boolean exchange = (cycles & 1) == 1;
+			int i = first;
+			do {
+				visited[i] = true;
+				final int next = positionsA[b[i]];
+				if (exchange) {
+					final int temp = a[i];
+					a[i] = b[i];
+					b[i] = temp;
+				}
+				i = next;
+			} while (i != -1 && i != first);
+
+			++cycles;
+		}
+
+		return cycles;
+	}
+
+	/**
+	 * Creates an offspring of the two given permutations with the
+	 * <em>edge recombination crossover</em> (ERX). The offspring is built by
+	 * starting with the given {@code start} value and repeatedly appending
+	 * the not yet used neighbor (in one of the parent tours) with the fewest
+	 * remaining neighbors. Ties are broken randomly, and if the current value
+	 * has no unused neighbor, a random unused value is chosen. The parents
+	 * are treated as closed tours. If they are <em>partial</em> permutations
+	 * with different values, the offspring may contain the values of both
+	 * parents.
+	 *
+	 * @param a the first permutation
+	 * @param b the second permutation
+	 * @param start the first value of the offspring, which must be a value
+	 *        of the first permutation
+	 * @param size the number of available values
+	 * @param random the random engine used for breaking ties
+	 * @return the newly created offspring
+	 */
+	public static int[] erx(
+		final int[] a,
+		final int[] b,
+		final int start,
+		final int size,
+		final Random random
+	) {
+		checkLength(a, b);
+		final int n = a.length;
+
+		// Edge table with at most four neighbors per value.
+		final int[] edges = new int[size*4];
+		final int[] counts = new int[size];
+		for (int i = 0; i < n; ++i) {
+			edge(edges, counts, a[i], a[(i + 1)%n]);
+			edge(edges, counts, a[(i + 1)%n], a[i]);
+			edge(edges, counts, b[i], b[(i + 1)%n]);
+			edge(edges, counts, b[(i + 1)%n], b[i]);
+		}
+
+		// Pool of the unused values of both parents, with O(1) removal.
+		final int[] pool = Arrays.copyOf(a, 2*n);
+		final int[] poolIndexes = inverse(a, size);
+		int poolSize = n;
+		for (int value : b) {
+			if (poolIndexes[value] == -1) {
+				pool[poolSize] = value;
+				poolIndexes[value] = poolSize++;
+			}
+		}
+
+		final int[] child = new int[n];
+		int current = start;
+		for (int k = 0; k < n; ++k) {
+			child[k] = current;
+
+			final int index = poolIndexes[current];
+			final int last = pool[--poolSize];
+			pool[index] = last;
+			poolIndexes[last] = index;
+			poolIndexes[current] = -1;
+
+			for (int j = 0; j < counts[current]; ++j) {
+				remove(edges, counts, edges[current*4 + j], current);
+			}
+
+			if (k + 1 < n) {
+				int next = -1;
+				int min = Integer.MAX_VALUE;
+				int ties = 0;
+				for (int j = 0; j < counts[current]; ++j) {
+					final int neighbor = edges[current*4 + j];
+					if (counts[neighbor] < min) {
+						min = counts[neighbor];
+						next = neighbor;
+						ties = 1;
+					} else if (counts[neighbor] == min &&
+						random.nextInt(++ties) == 0)
+					{
+						next = neighbor;
+					}
+				}
+
+				current = next != -1 ? next : pool[random.nextInt(poolSize)];
+			}
+		}
+
+		return child;
+	}
+
+	private static void edge(
+		final int[] edges,
+		final int[] counts,
+		final int from,
+		final int to
+	) {
+		final int offset = from*4;
+		for (int j = 0; j < counts[from]; ++j) {
+			if (edges[offset + j] == to) return;
+		}
+		if (from != to) {
+			edges[offset + counts[from]++] = to;
+		}
+	}
+
+	private static void remove(
+		final int[] edges,
+		final int[] counts,
+		final int from,
+		final int to
+	) {
+		final int offset = from*4;
+		for (int j = 0; j < counts[from]; ++j) {
+			if (edges[offset + j] == to) {
+				edges[offset + j] = edges[offset + --counts[from]];
+				return;
+			}
+		}
+	}
+
+	private static void checkLength(final int[] a, final int[] b) {
+		if (a.length != b.length) {
+			throw new IllegalArgumentException(format(
+				"Required permutations with same length: %s != %s",
+				a.length, b.length
+			));
+		}
+	}
+
+}
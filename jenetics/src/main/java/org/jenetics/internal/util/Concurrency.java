@@ -38,7 +38,7 @@ import java.util.concurrent.FutureTask;
 
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
- * @version 3.8
+ * @version 4.0
  * @since 2.0
  */
 public abstract class Concurrency implements Executor, AutoCloseable {
@@ -73,6 +73,8 @@ public abstract class Concurrency implements Executor, AutoCloseable {
 			return new ForkJoinPoolConcurrency((ForkJoinPool)executor);
 		} else if (executor instanceof ExecutorService) {
 			return new ExecutorServiceConcurrency((ExecutorService)executor);
+		} else if (executor instanceof ThreadPerTaskExecutor) {
+			return new ThreadPerTaskConcurrency((ThreadPerTaskExecutor)executor);
 		} else if (executor == SERIAL_EXECUTOR) {
 			return SERIAL_EXECUTOR;
 		} else {
@@ -220,6 +222,51 @@ public abstract class Concurrency implements Executor, AutoCloseable {
 		}
 	}
 
+	/**
+	 * This Concurrency executes every runnable in its own thread. The
+	 * runnables are not partitioned into batches.
+	 */
+	private static final class ThreadPerTaskConcurrency extends Concurrency {
+		private final List<FutureTask<?>> _tasks = new ArrayList<>();
+		private final ThreadPerTaskExecutor _executor;
+
+		ThreadPerTaskConcurrency(final ThreadPerTaskExecutor executor) {
+			_executor = requireNonNull(executor);
+		}
+
+		@Override
+		public void execute(final Runnable command) {
+			final FutureTask<?> task = new FutureTask<>(command, null);
+			_tasks.add(task);
+			_executor.execute(task);
+		}
+
+		@Override
+		public void execute(final List<? extends Runnable> runnables) {
+			for (final Runnable runnable : runnables) {
+				execute(runnable);
+			}
+		}
+
+		@Override
+		public Executor getInnerExecutor() {
+			return _executor;
+		}
+
+		@Override
+		public void close() {
+			try {
+				for (FutureTask<?> t : _tasks) {
+					t.get();
+				}
+			} catch (InterruptedException|ExecutionException e) {
+				final String msg = e.getMessage();
+				throw (CancellationException)new CancellationException(msg)
+					.initCause(e);
+			}
+		}
+	}
+
 	/**
 	 * This Concurrency executes the runnables within the main thread.
 	 */
@@ -26,19 +26,24 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 /**
- * Class for lazy value initialization.
+ * Class for lazy value initialization. The value supplier is called at most
+ * once. It is called while holding a {@link ReentrantLock} instead of the
+ * object monitor, so that a <em>virtual</em> thread, which blocks within the
+ * supplier, doesn't pin its carrier thread.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
  * @since 3.0
- * @version 3.7
+ * @version 4.0
  */
 public final class Lazy<T> implements Supplier<T>, Serializable {
 	private static final long serialVersionUID = 2L;
 
 	private final transient Supplier<T> _supplier;
+	private final transient ReentrantLock _lock;
 
 	private T _value;
 	private volatile boolean _evaluated;
@@ -51,6 +56,7 @@ public final class Lazy<T> implements Supplier<T>, Serializable {
 		_value = value;
 		_evaluated = evaluated;
 		_supplier = supplier;
+		_lock = evaluated ? null : new ReentrantLock();
 	}
 
 	private Lazy(final Supplier<T> supplier) {
@@ -68,14 +74,21 @@ public final class Lazy<T> implements Supplier<T>, Serializable {
 	 * @return {@code true} is the {@code Lazy} variable has been evaluated,
 	 *         {@code false} otherwise
 	 */
-	public synchronized boolean isEvaluated() {
+	public boolean isEvaluated() {
 		return _evaluated;
 	}
 
-	private synchronized T evaluate() {
-		if (!_evaluated) {
-			_value = _supplier.get();
-			_evaluated = true;
+	// Not evaluated instances always have a lock; deserialized instances
+	// are already evaluated.
+	private T evaluate() {
+		_lock.lock();
+		try {
+			if (!_evaluated) {
+				_value = _supplier.get();
+				_evaluated = true;
+			}
+		} finally {
+			_lock.unlock();
 		}
 
 		return _value;
@@ -0,0 +1,269 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.internal.util;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor which starts a new thread for every submitted task. If the running
+ * Java version supports <em>virtual</em> threads, they are used for executing
+ * the tasks. Otherwise a new <em>daemon</em> platform thread is created for
+ * every task. This executor is intended for long running, mostly blocking
+ * tasks, like fitness functions which are calling an external service.
+ * <p>
+ * The number of concurrently running tasks can be limited. If the limit is
+ * reached, the {@link #execute(Runnable)} method blocks until a running task
+ * has been finished, whereas {@link #tryExecute(Runnable)} returns immediately.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public final class ThreadPerTaskExecutor implements Executor {
+
+	private final ThreadFactory _factory;
+	private final Semaphore _permits;
+	private final int _maxConcurrentTasks;
+
+	private ThreadPerTaskExecutor(
+		final ThreadFactory factory,
+		final int maxConcurrentTasks
+	) {
+		if (maxConcurrentTasks < 1) {
+			throw new IllegalArgumentException(format(
+				"Maximal number of concurrent tasks must be greater than " +
+				"zero, but was %d.", maxConcurrentTasks
+			));
+		}
+
+		_factory = requireNonNull(factory);
+		_maxConcurrentTasks = maxConcurrentTasks;
+		_permits = maxConcurrentTasks < Integer.MAX_VALUE
+			? new Semaphore(maxConcurrentTasks)
+			: null;
+	}
+
+	/**
+	 * Return the maximal number of concurrently executed tasks.
+	 *
+	 * @return the maximal number of concurrently executed tasks
+	 */
+	public int getMaxConcurrentTasks() {
+		return _maxConcurrentTasks;
+	}
+
+	/**
+	 * Return {@code true} if the tasks are executed by virtual threads.
+	 *
+	 * @return {@code true} if the tasks are executed by virtual threads,
+	 *         {@code false} otherwise
+	 */
+	public boolean isVirtual() {
+		return _factory != Env.PLATFORM_THREAD_FACTORY;
+	}
+
+	/**
+	 * Executes the given {@code task} in a new thread. This method blocks if
+	 * the maximal number of concurrent tasks is already running.
+	 *
+	 * @param task the task to execute
+	 * @throws NullPointerException if the given {@code task} is {@code null}
+	 * @throws CancellationException if the calling thread has been interrupted
+	 *         while waiting for a free execution slot
+	 * @throws RejectedExecutionException if no new thread can be created
+	 */
+	@Override
+	public void execute(final Runnable task) {
+		requireNonNull(task);
+
+		acquire();
+		start(task, this::release);
+	}
+
+	/**
+	 * Executes the given {@code task} in a new thread, if the maximal number
+	 * of concurrent tasks is not reached. This method never blocks. The
+	 * execution slot of the task is freed, when the task has finished or
+	 * when the returned <em>release</em> action is called, whatever happens
+	 * first. This allows the caller to give up tasks which are not reacting
+	 * on interruption, without blocking the execution of new tasks. The
+	 * abandoned tasks are still running, but they are no longer counted.
+	 *
+	 * @param task the task to execute
+	 * @return the idempotent action which releases the execution slot of the
+	 *         task, or {@code null} if the maximal number of concurrent tasks
+	 *         is reached
+	 * @throws NullPointerException if the given {@code task} is {@code null}
+	 * @throws RejectedExecutionException if no new thread can be created
+	 */
+	public Runnable tryExecute(final Runnable task) {
+		requireNonNull(task);
+
+		if (_permits != null && !_permits.tryAcquire()) {
+			return null;
+		}
+
+		final AtomicBoolean released = new AtomicBoolean(false);
+		final Runnable release = () -> {
+			if (released.compareAndSet(false, true)) {
+				release();
+			}
+		};
+
+		start(task, release);
+		return release;
+	}
+
+	private void start(final Runnable task, final Runnable release) {
+		try {
+			final Thread thread = _factory.newThread(() -> {
+				try {
+					task.run();
+				} finally {
+					release.run();
+				}
+			});
+			if (thread == null) {
+				throw new RejectedExecutionException(
+					"Thread factory didn't create a new thread."
+				);
+			}
+
+			thread.start();
+		} catch (RuntimeException|Error e) {
+			release.run();
+			throw e;
+		}
+	}
+
+	private void acquire() {
+		if (_permits != null) {
+			try {
+				_permits.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw (CancellationException)new CancellationException(
+					e.getMessage()
+				).initCause(e);
+			}
+		}
+	}
+
+	private void release() {
+		if (_permits != null) {
+			_permits.release();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"ThreadPerTaskExecutor[virtual=%s, maxConcurrentTasks=%d]",
+			isVirtual(), _maxConcurrentTasks
+		);
+	}
+
+	/**
+	 * Create a new thread-per-task executor with the given maximal number of
+	 * concurrently running tasks.
+	 *
+	 * @param maxConcurrentTasks the maximal number of concurrently running
+	 *        tasks. {@link Integer#MAX_VALUE} means no limit.
+	 * @return a new thread-per-task executor
+	 * @throws IllegalArgumentException if the given {@code maxConcurrentTasks}
+	 *         is smaller than one
+	 */
+	public static ThreadPerTaskExecutor of(final int maxConcurrentTasks) {
+		return new ThreadPerTaskExecutor(Env.THREAD_FACTORY, maxConcurrentTasks);
+	}
+
+	/**
+	 * Create a new thread-per-task executor without a limit of concurrently
+	 * running tasks.
+	 *
+	 * @return a new thread-per-task executor
+	 */
+	public static ThreadPerTaskExecutor of() {
+		return of(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Create a new thread-per-task executor which always uses platform
+	 * threads.
+	 *
+	 * @param maxConcurrentTasks the maximal number of concurrently running
+	 *        tasks. {@link Integer#MAX_VALUE} means no limit.
+	 * @return a new thread-per-task executor
+	 * @throws IllegalArgumentException if the given {@code maxConcurrentTasks}
+	 *         is smaller than one
+	 */
+	public static ThreadPerTaskExecutor ofPlatformThreads(
+		final int maxConcurrentTasks
+	) {
+		return new ThreadPerTaskExecutor(
+			Env.PLATFORM_THREAD_FACTORY,
+			maxConcurrentTasks
+		);
+	}
+
+
+	private static final class Env {
+		private static final AtomicLong THREAD_COUNT = new AtomicLong();
+
+		private static final ThreadFactory PLATFORM_THREAD_FACTORY = task -> {
+			final Thread thread = new Thread(
+				task,
+				"jenetics-task-" + THREAD_COUNT.incrementAndGet()
+			);
+			thread.setDaemon(true);
+			return thread;
+		};
+
+		private static final ThreadFactory THREAD_FACTORY = threadFactory();
+
+		// The virtual thread factory is looked up reflectively, because the
+		// library must still run on Java 8.
+		private static ThreadFactory threadFactory() {
+			try {
+				final Object builder = Thread.class
+					.getMethod("ofVirtual")
+					.invoke(null);
+
+				final Object factory = Class.forName("java.lang.Thread$Builder")
+					.getMethod("factory")
+					.invoke(builder);
+
+				return (ThreadFactory)factory;
+			} catch (ReflectiveOperationException|RuntimeException e) {
+				return PLATFORM_THREAD_FACTORY;
+			}
+		}
+	}
+
+}
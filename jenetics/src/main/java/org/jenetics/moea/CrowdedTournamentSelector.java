@@ -0,0 +1,193 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.moea;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Random;
+import java.util.function.ToIntFunction;
+
+import org.jenetics.Gene;
+import org.jenetics.Optimize;
+import org.jenetics.Population;
+import org.jenetics.Selector;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * Tournament selector, which uses the <em>Crowded-Comparison Operator</em>
+ * of the NSGA-II algorithm for choosing the winner of a tournament. An
+ * individual wins, if it has a lower non-domination rank or, for equal
+ * ranks, a greater crowding distance than its competitors. It is usually used
+ * as <em>offspring</em> selector, together with the {@link NSGA2Selector} as
+ * <em>survivors</em> selector.
+ *
+ * <pre>{@code
+ * final Engine<DoubleGene, Vec<double[]>> engine = Engine
+ *     .builder(fitness, codec)
+ *     .offspringSelector(CrowdedTournamentSelector.ofVec())
+ *     .survivorsSelector(NSGA2Selector.ofVec())
+ *     .build();
+ * }</pre>
+ *
+ * @see NSGA2Selector
+ *
+ * @param <G> the gene type
+ * @param <C> the multi-objective fitness type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public class CrowdedTournamentSelector<
+	G extends Gene<?, G>,
+	C extends Comparable<? super C>
+>
+	implements Selector<G, C>
+{
+
+	private final ElementComparator<? super C> _comparator;
+	private final ElementDistance<? super C> _distance;
+	private final ToIntFunction<? super C> _dimension;
+	private final int _sampleSize;
+
+	/**
+	 * Creates a new {@code CrowdedTournamentSelector} with the functions
+	 * needed for handling the multi-objective result type {@code C}.
+	 *
+	 * @param comparator the vector element comparator of the
+	 *        multi-objective result type {@code C}; larger elements are
+	 *        better
+	 * @param distance the vector element distance of the multi-objective
+	 *        result type {@code C}
+	 * @param dimension the dimensionality of the multi-objective result type
+	 *        {@code C}
+	 * @param sampleSize the number of individuals involved in one tournament
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the sample size is smaller than two
+	 */
+	public CrowdedTournamentSelector(
+		final ElementComparator<? super C> comparator,
+		final ElementDistance<? super C> distance,
+		final ToIntFunction<? super C> dimension,
+		final int sampleSize
+	) {
+		if (sampleSize < 2) {
+			throw new IllegalArgumentException(
+				"Sample size must be greater than one, but was " + sampleSize
+			);
+		}
+
+		_comparator = requireNonNull(comparator);
+		_distance = requireNonNull(distance);
+		_dimension = requireNonNull(dimension);
+		_sampleSize = sampleSize;
+	}
+
+	/**
+	 * Creates a new {@code CrowdedTournamentSelector} with sample size two,
+	 * the <em>binary tournament</em> of the NSGA-II algorithm.
+	 *
+	 * @param comparator the vector element comparator of the
+	 *        multi-objective result type {@code C}; larger elements are
+	 *        better
+	 * @param distance the vector element distance of the multi-objective
+	 *        result type {@code C}
+	 * @param dimension the dimensionality of the multi-objective result type
+	 *        {@code C}
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public CrowdedTournamentSelector(
+		final ElementComparator<? super C> comparator,
+		final ElementDistance<? super C> distance,
+		final ToIntFunction<? super C> dimension
+	) {
+		this(comparator, distance, dimension, 2);
+	}
+
+	@Override
+	public Population<G, C> select(
+		final Population<G, C> population,
+		final int count,
+		final Optimize opt
+	) {
+		requireNonNull(population, "Population");
+		requireNonNull(opt, "Optimization");
+		if (count < 0) {
+			throw new IllegalArgumentException(format(
+				"Selection count must be greater or equal then zero, but was %s",
+				count
+			));
+		}
+
+		final Population<G, C> selection = new Population<>(count);
+		if (!population.isEmpty() && count > 0) {
+			final Objectives<C> objectives = NSGA2Selector.objectives(
+				population, opt, _comparator, _distance, _dimension
+			);
+			final int[] ranks = Pareto.rank(objectives);
+			final double[] distances = Pareto.crowdingDistance(objectives, ranks);
+
+			final Random random = RandomRegistry.getRandom();
+			final int size = population.size();
+			for (int i = 0; i < count; ++i) {
+				int winner = random.nextInt(size);
+				for (int j = 1; j < _sampleSize; ++j) {
+					final int competitor = random.nextInt(size);
+					if (NSGA2Selector.crowdedCompare(
+							competitor, winner, ranks, distances) < 0)
+					{
+						winner = competitor;
+					}
+				}
+				selection.add(population.get(winner));
+			}
+		}
+
+		return selection;
+	}
+
+	@Override
+	public String toString() {
+		return format("%s[s=%d]", getClass().getSimpleName(), _sampleSize);
+	}
+
+	/**
+	 * Return a new selector for the given result type {@code V}. This method
+	 * is a shortcut for
+	 * <pre>{@code
+	 * new CrowdedTournamentSelector<>(Vec::compare, Vec::distance, Vec::length);
+	 * }</pre>
+	 *
+	 * @param <G> the gene type
+	 * @param <T> the array type, e.g. {@code double[]}
+	 * @param <V> the multi object result type vector
+	 * @return a new selector for the given result type {@code V}
+	 */
+	public static <G extends Gene<?, G>, T, V extends Vec<T>>
+	CrowdedTournamentSelector<G, V> ofVec() {
+		return new CrowdedTournamentSelector<>(
+			Vec<T>::compare,
+			Vec<T>::distance,
+			Vec<T>::length
+		);
+	}
+
+}
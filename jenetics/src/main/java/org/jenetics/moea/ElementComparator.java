@@ -0,0 +1,66 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.moea;
+
+/**
+ * Defines the order of two elements of a given <em>vector</em> type
+ * {@code V}, at a given index. Together with the vector dimension, this
+ * comparator is all what is needed for calculating the Pareto dominance of
+ * two vectors. Larger values are treated as better ones.
+ *
+ * <pre>{@code
+ * final ElementComparator<double[]> comparator =
+ *     (u, v, i) -> Double.compare(u[i], v[i]);
+ * }</pre>
+ *
+ * @param <V> the vector type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+@FunctionalInterface
+public interface ElementComparator<V> {
+
+	/**
+	 * Compares the {@code index} components of the two given vectors.
+	 *
+	 * @param u the first vector
+	 * @param v the second vector
+	 * @param index the vector index to compare
+	 * @return a negative integer, zero, or a positive integer as the first
+	 *         element is less than, equal to, or greater than the second
+	 *         element
+	 * @throws NullPointerException if one of the vectors is {@code null}
+	 * @throws IndexOutOfBoundsException if the {@code index} is out of bounds
+	 */
+	public int compare(final V u, final V v, final int index);
+
+	/**
+	 * Return a comparator which imposes the reverse order of {@code this}
+	 * comparator.
+	 *
+	 * @return the reverse element comparator
+	 */
+	public default ElementComparator<V> reversed() {
+		return (u, v, i) -> compare(v, u, i);
+	}
+
+}
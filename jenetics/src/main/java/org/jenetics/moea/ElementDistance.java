@@ -0,0 +1,54 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.moea;
+
+/**
+ * Defines the distance of two elements of a given <em>vector</em> type
+ * {@code V}, at a given index. The distance is used for calculating the
+ * crowding distance and the density of the individuals in the objective
+ * space.
+ *
+ * <pre>{@code
+ * final ElementDistance<double[]> distance = (u, v, i) -> u[i] - v[i];
+ * }</pre>
+ *
+ * @param <V> the vector type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+@FunctionalInterface
+public interface ElementDistance<V> {
+
+	/**
+	 * Calculates the distance of the {@code index} components of the two
+	 * given vectors.
+	 *
+	 * @param u the first vector
+	 * @param v the second vector
+	 * @param index the vector index
+	 * @return the distance of the two vector elements
+	 * @throws NullPointerException if one of the vectors is {@code null}
+	 * @throws IndexOutOfBoundsException if the {@code index} is out of bounds
+	 */
+	public double distance(final V u, final V v, final int index);
+
+}
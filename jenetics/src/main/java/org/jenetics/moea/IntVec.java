@@ -0,0 +1,93 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.moea;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * {@code int[]} implementation of the {@link Vec} interface.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class IntVec implements Vec<int[]>, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final ElementComparator<int[]> COMPARATOR =
+		(u, v, i) -> Integer.compare(u[i], v[i]);
+
+	private static final ElementDistance<int[]> DISTANCE =
+		(u, v, i) -> (double)u[i] - (double)v[i];
+
+	private final int[] _data;
+
+	IntVec(final int[] data) {
+		if (data.length == 0) {
+			throw new IllegalArgumentException("Vector length must be greater than zero.");
+		}
+		_data = data;
+	}
+
+	@Override
+	public int[] data() {
+		return _data;
+	}
+
+	@Override
+	public int length() {
+		return _data.length;
+	}
+
+	@Override
+	public ElementComparator<int[]> comparator() {
+		return COMPARATOR;
+	}
+
+	@Override
+	public ElementDistance<int[]> distance() {
+		return DISTANCE;
+	}
+
+	@Override
+	public int dominance(final Vec<int[]> other) {
+		return Pareto.dominance(_data, other.data());
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(_data);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return obj == this ||
+			obj instanceof IntVec &&
+			Arrays.equals(((IntVec)obj)._data, _data);
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(_data);
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.moea;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * {@code long[]} implementation of the {@link Vec} interface.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class LongVec implements Vec<long[]>, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final ElementComparator<long[]> COMPARATOR =
+		(u, v, i) -> Long.compare(u[i], v[i]);
+
+	private static final ElementDistance<long[]> DISTANCE =
+		(u, v, i) -> (double)u[i] - (double)v[i];
+
+	private final long[] _data;
+
+	LongVec(final long[] data) {
+		if (data.length == 0) {
+			throw new IllegalArgumentException("Vector length must be greater than zero.");
+		}
+		_data = data;
+	}
+
+	@Override
+	public long[] data() {
+		return _data;
+	}
+
+	@Override
+	public int length() {
+		return _data.length;
+	}
+
+	@Override
+	public ElementComparator<long[]> comparator() {
+		return COMPARATOR;
+	}
+
+	@Override
+	public ElementDistance<long[]> distance() {
+		return DISTANCE;
+	}
+
+	@Override
+	public int dominance(final Vec<long[]> other) {
+		return Pareto.dominance(_data, other.data());
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(_data);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return obj == this ||
+			obj instanceof LongVec &&
+			Arrays.equals(((LongVec)obj)._data, _data);
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(_data);
+	}
+
+}
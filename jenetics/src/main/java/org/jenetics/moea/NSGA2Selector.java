@@ -0,0 +1,193 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.moea;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.ToIntFunction;
+
+import org.jenetics.Gene;
+import org.jenetics.Optimize;
+import org.jenetics.Population;
+import org.jenetics.Selector;
+
+/**
+ * This selector selects the first {@code count} elements of the population,
+ * which has been sorted by the <em>Crowded-Comparison Operator</em>, as
+ * described in <a href="https://doi.org/10.1109/4235.996017">A Fast and
+ * Elitist Multiobjective Genetic Algorithm: NSGA-II</a>. The individuals are
+ * sorted by their non-domination rank first and by their crowding distance,
+ * within one front, second. It is usually used as <em>survivors</em>
+ * selector.
+ * <p>
+ * The non-dominated sorting is done on the fitness indexes, see
+ * {@link Pareto#rank(org.jenetics.util.Seq)}, and the crowding distances are
+ * calculated on primitive arrays. This keeps the selection practical for
+ * large populations.
+ *
+ * <pre>{@code
+ * final Engine<DoubleGene, Vec<double[]>> engine = Engine
+ *     .builder(fitness, codec)
+ *     .offspringSelector(CrowdedTournamentSelector.ofVec())
+ *     .survivorsSelector(NSGA2Selector.ofVec())
+ *     .build();
+ * }</pre>
+ *
+ * @see CrowdedTournamentSelector
+ * @see SPEA2Selector
+ *
+ * @param <G> the gene type
+ * @param <C> the multi-objective fitness type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public class NSGA2Selector<
+	G extends Gene<?, G>,
+	C extends Comparable<? super C>
+>
+	implements Selector<G, C>
+{
+
+	private final ElementComparator<? super C> _comparator;
+	private final ElementDistance<? super C> _distance;
+	private final ToIntFunction<? super C> _dimension;
+
+	/**
+	 * Creates a new {@code NSGA2Selector} with the functions needed for
+	 * handling the multi-objective result type {@code C}.
+	 *
+	 * @param comparator the vector element comparator of the
+	 *        multi-objective result type {@code C}; larger elements are
+	 *        better
+	 * @param distance the vector element distance of the multi-objective
+	 *        result type {@code C}
+	 * @param dimension the dimensionality of the multi-objective result type
+	 *        {@code C}
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public NSGA2Selector(
+		final ElementComparator<? super C> comparator,
+		final ElementDistance<? super C> distance,
+		final ToIntFunction<? super C> dimension
+	) {
+		_comparator = requireNonNull(comparator);
+		_distance = requireNonNull(distance);
+		_dimension = requireNonNull(dimension);
+	}
+
+	@Override
+	public Population<G, C> select(
+		final Population<G, C> population,
+		final int count,
+		final Optimize opt
+	) {
+		requireNonNull(population, "Population");
+		requireNonNull(opt, "Optimization");
+		if (count < 0) {
+			throw new IllegalArgumentException(format(
+				"Selection count must be greater or equal then zero, but was %s",
+				count
+			));
+		}
+
+		final Population<G, C> selection = new Population<>(count);
+		if (!population.isEmpty() && count > 0) {
+			final Objectives<C> objectives =
+				objectives(population, opt, _comparator, _distance, _dimension);
+			final int[] ranks = Pareto.rank(objectives);
+			final double[] distances = Pareto.crowdingDistance(objectives, ranks);
+
+			final int[] order = Pareto.indexes(population.size());
+			Pareto.sort(order, (i, j) -> crowdedCompare(i, j, ranks, distances));
+
+			for (int i = 0; i < count; ++i) {
+				selection.add(population.get(order[i%order.length]));
+			}
+		}
+
+		return selection;
+	}
+
+	/**
+	 * The <em>Crowded-Comparison Operator</em>. Individuals with a lower rank
+	 * and, for equal ranks, individuals with a greater crowding distance are
+	 * preferred (sorted first).
+	 */
+	static int crowdedCompare(
+		final int i,
+		final int j,
+		final int[] ranks,
+		final double[] distances
+	) {
+		final int cmp = Integer.compare(ranks[i], ranks[j]);
+		return cmp != 0 ? cmp : Double.compare(distances[j], distances[i]);
+	}
+
+	/**
+	 * Return the objective values of the given population, which are
+	 * maximized, according to the given optimization strategy.
+	 */
+	static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	Objectives<C> objectives(
+		final Population<G, C> population,
+		final Optimize opt,
+		final ElementComparator<? super C> comparator,
+		final ElementDistance<? super C> distance,
+		final ToIntFunction<? super C> dimension
+	) {
+		final Object[] fitness = new Object[population.size()];
+		for (int i = 0; i < fitness.length; ++i) {
+			fitness[i] = population.get(i).getFitness();
+		}
+
+		return Objectives.of(
+			fitness,
+			opt == Optimize.MAXIMUM ? comparator : comparator.reversed(),
+			distance,
+			dimension
+		);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName();
+	}
+
+	/**
+	 * Return a new selector for the given result type {@code V}. This method
+	 * is a shortcut for
+	 * <pre>{@code
+	 * new NSGA2Selector<>(Vec::compare, Vec::distance, Vec::length);
+	 * }</pre>
+	 *
+	 * @param <G> the gene type
+	 * @param <T> the array type, e.g. {@code double[]}
+	 * @param <V> the multi object result type vector
+	 * @return a new selector for the given result type {@code V}
+	 */
+	public static <G extends Gene<?, G>, T, V extends Vec<T>>
+	NSGA2Selector<G, V> ofVec() {
+		return new NSGA2Selector<>(Vec<T>::compare, Vec<T>::distance, Vec<T>::length);
+	}
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.moea;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Index based view of the objective values of a set of vectors. The
+ * algorithms of this package are working on the vector indexes and primitive
+ * arrays, which avoids the creation of temporary objects for large sets.
+ * Larger values are treated as better ones.
+ *
+ * @param <V> the vector type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+final class Objectives<V> {
+
+	private final Object[] _values;
+	private final ElementComparator<? super V> _comparator;
+	private final ElementDistance<? super V> _distance;
+	private final int _dimension;
+
+	private Objectives(
+		final Object[] values,
+		final ElementComparator<? super V> comparator,
+		final ElementDistance<? super V> distance,
+		final int dimension
+	) {
+		_values = values;
+		_comparator = requireNonNull(comparator);
+		_distance = distance;
+		_dimension = dimension;
+	}
+
+	/**
+	 * Return the number of vectors.
+	 *
+	 * @return the number of vectors
+	 */
+	int size() {
+		return _values.length;
+	}
+
+	/**
+	 * Return the number of objectives.
+	 *
+	 * @return the number of objectives
+	 */
+	int dimension() {
+		return _dimension;
+	}
+
+	@SuppressWarnings("unchecked")
+	private V get(final int index) {
+		return (V)_values[index];
+	}
+
+	/**
+	 * Compares the objective {@code m} of the vectors with index {@code i}
+	 * and {@code j}.
+	 */
+	int compare(final int i, final int j, final int m) {
+		return _comparator.compare(get(i), get(j), m);
+	}
+
+	/**
+	 * Return the distance of the objective {@code m} of the vectors with
+	 * index {@code i} and {@code j}.
+	 */
+	double distance(final int i, final int j, final int m) {
+		return _distance.distance(get(i), get(j), m);
+	}
+
+	/**
+	 * Lexicographical comparison of the vectors with index {@code i} and
+	 * {@code j}.
+	 */
+	int compare(final int i, final int j) {
+		for (int m = 0; m < _dimension; ++m) {
+			final int cmp = compare(i, j, m);
+			if (cmp != 0) {
+				return cmp;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Return the Pareto dominance of the vectors with index {@code i} and
+	 * {@code j}.
+	 */
+	int dominance(final int i, final int j) {
+		boolean superior = false;
+		boolean inferior = false;
+		for (int m = 0; m < _dimension; ++m) {
+			final int cmp = compare(i, j, m);
+			if (cmp > 0) {
+				if (inferior) return 0;
+				superior = true;
+			} else if (cmp < 0) {
+				if (superior) return 0;
+				inferior = true;
+			}
+		}
+
+		return superior ? 1 : inferior ? -1 : 0;
+	}
+
+	static <V> Objectives<V> of(
+		final List<? extends V> values,
+		final ElementComparator<? super V> comparator,
+		final ElementDistance<? super V> distance,
+		final ToIntFunction<? super V> dimension
+	) {
+		return of(values.toArray(), comparator, distance, dimension);
+	}
+
+	/**
+	 * Create a new objectives view of the given vectors. The given array is
+	 * not copied and must only contain elements of type {@code V}.
+	 */
+	static <V> Objectives<V> of(
+		final Object[] array,
+		final ElementComparator<? super V> comparator,
+		final ElementDistance<? super V> distance,
+		final ToIntFunction<? super V> dimension
+	) {
+		requireNonNull(dimension);
+
+		int dim = 0;
+		for (int i = 0; i < array.length; ++i) {
+			@SuppressWarnings("unchecked")
+			final int d = dimension.applyAsInt((V)array[i]);
+			if (i == 0) {
+				dim = d;
+			} else if (d != dim) {
+				throw new IllegalArgumentException(format(
+					"Vector dimensions are not equal: %d != %d", dim, d
+				));
+			}
+		}
+
+		return new Objectives<>(array, comparator, distance, dim);
+	}
+
+}
@@ -0,0 +1,685 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.moea;
+
+import static java.lang.Math.abs;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.ToIntFunction;
+
+import org.jenetics.internal.util.require;
+
+import org.jenetics.util.ISeq;
+import org.jenetics.util.Seq;
+
+/**
+ * Low-level utility methods for doing pareto-optimal calculations. This
+ * methods are mostly for users who want to extend the existing MOEA classes.
+ * All objectives are <em>maximized</em>.
+ *
+ * <p>
+ * The non-dominated sorting, {@link #rank(Seq)}, processes the vectors in
+ * lexicographical order and assigns every vector, with a binary search, to
+ * the first front which doesn't dominate it. For two objectives, the front
+ * check is done in constant time and for three objectives in
+ * logarithmic time, which leads to an overall complexity of
+ * <em>O(MN log N)</em> and <em>O(MN log<sup>2</sup>N)</em> respectively.
+ * For more than three objectives, the front check is linear in the size of
+ * the front (<em>ENS-BS</em>), with a worst case complexity of
+ * <em>O(MN<sup>2</sup>)</em>.
+ *
+ * @see <a href="https://doi.org/10.1109/TEVC.2014.2308305">
+ *     An Efficient Approach to Nondominated Sorting for Evolutionary
+ *     Multiobjective Optimization</a>
+ * @see <a href="https://doi.org/10.1109/TEVC.2003.810761">
+ *     Reducing the Run-time Complexity of Multiobjective EAs: The NSGA-II
+ *     and Other Algorithms</a>
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public final class Pareto {
+	private Pareto() {require.noInstance();}
+
+	/* *************************************************************************
+	 * Non-dominated sorting.
+	 * ************************************************************************/
+
+	/**
+	 * Calculates the non-domination rank of the given input {@code set},
+	 * using the <em>natural order</em> of the elements as <em>dominance</em>
+	 * measure. The returned array contains the (zero based) front index of
+	 * every vector; the non-dominated vectors have rank zero.
+	 *
+	 * @param set the input set
+	 * @param <T> the array element type
+	 * @return the non-domination rank of the given input {@code set}
+	 * @throws NullPointerException if the input {@code set} is {@code null}
+	 * @throws IllegalArgumentException if the vectors have different lengths
+	 */
+	public static <T> int[] rank(final Seq<? extends Vec<T>> set) {
+		return rank(set, Vec::compare, Vec::length);
+	}
+
+	/**
+	 * Calculates the non-domination rank of the given input {@code set},
+	 * using the given {@code comparator} for comparing the vector elements.
+	 * The returned array contains the (zero based) front index of every
+	 * vector; the non-dominated vectors have rank zero.
+	 *
+	 * @param set the input set
+	 * @param comparator the element comparator; larger elements are better
+	 * @param dimension the dimension of the vectors
+	 * @param <V> the vector type
+	 * @return the non-domination rank of the given input {@code set}
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the vectors have different lengths
+	 */
+	public static <V> int[] rank(
+		final Seq<? extends V> set,
+		final ElementComparator<? super V> comparator,
+		final ToIntFunction<? super V> dimension
+	) {
+		return rank(Objectives.of(set.asList(), comparator, null, dimension));
+	}
+
+	static int[] rank(final Objectives<?> objectives) {
+		final int size = objectives.size();
+		final int[] ranks = new int[size];
+		if (size == 0) {
+			return ranks;
+		}
+
+		// Descending lexicographical order; a vector can only be dominated
+		// by its predecessors.
+		final int[] order = indexes(size);
+		sort(order, (i, j) -> objectives.compare(j, i));
+
+		final List<Front> fronts = new ArrayList<>();
+		int previous = -1;
+		for (int p : order) {
+			if (previous != -1 && objectives.compare(previous, p) == 0) {
+				ranks[p] = ranks[previous];
+			} else {
+				// If a front dominates the vector, all lower fronts does too.
+				int low = 0;
+				int high = fronts.size();
+				while (low < high) {
+					final int mid = (low + high) >>> 1;
+					if (fronts.get(mid).dominates(p)) {
+						low = mid + 1;
+					} else {
+						high = mid;
+					}
+				}
+
+				if (low == fronts.size()) {
+					fronts.add(Front.of(objectives));
+				}
+				fronts.get(low).add(p);
+				ranks[p] = low;
+			}
+			previous = p;
+		}
+
+		return ranks;
+	}
+
+	/**
+	 * The vectors of one front. Since the vectors are added in descending
+	 * lexicographical order, the first objective of an already added vector
+	 * is always greater or equal than the first objective of the tested one.
+	 */
+	private static abstract class Front {
+		final Objectives<?> objectives;
+
+		Front(final Objectives<?> objectives) {
+			this.objectives = objectives;
+		}
+
+		/**
+		 * Test whether some element of this front dominates the given
+		 * vector, which must not be equal to an added one.
+		 */
+		abstract boolean dominates(final int p);
+
+		abstract void add(final int p);
+
+		static Front of(final Objectives<?> objectives) {
+			switch (objectives.dimension()) {
+				case 1: return new Front1(objectives);
+				case 2: return new Front2(objectives);
+				case 3: return new Front3(objectives);
+				default: return new FrontN(objectives);
+			}
+		}
+	}
+
+	// Every (non-equal) predecessor dominates the vector.
+	private static final class Front1 extends Front {
+		Front1(final Objectives<?> objectives) {
+			super(objectives);
+		}
+
+		@Override
+		boolean dominates(final int p) {
+			return true;
+		}
+
+		@Override
+		void add(final int p) {
+		}
+	}
+
+	// Only the front vector with the best second objective must be checked.
+	private static final class Front2 extends Front {
+		private int _best = -1;
+
+		Front2(final Objectives<?> objectives) {
+			super(objectives);
+		}
+
+		@Override
+		boolean dominates(final int p) {
+			return objectives.compare(_best, p, 1) >= 0;
+		}
+
+		@Override
+		void add(final int p) {
+			if (_best == -1 || objectives.compare(p, _best, 1) > 0) {
+				_best = p;
+			}
+		}
+	}
+
+	// The front vectors, which are non-dominated in the second and third
+	// objective, are stored as 'staircase', ordered by the second objective
+	// (ascending) and the third objective (descending).
+	private static final class Front3 extends Front {
+		private final TreeSet<Integer> _stairs;
+
+		Front3(final Objectives<?> objectives) {
+			super(objectives);
+			_stairs = new TreeSet<>((i, j) -> objectives.compare(i, j, 1));
+		}
+
+		@Override
+		boolean dominates(final int p) {
+			final Integer q = _stairs.ceiling(p);
+			return q != null && objectives.compare(q, p, 2) >= 0;
+		}
+
+		@Override
+		void add(final int p) {
+			Integer q = _stairs.floor(p);
+			while (q != null && objectives.compare(q, p, 2) <= 0) {
+				_stairs.remove(q);
+				q = _stairs.floor(p);
+			}
+			_stairs.add(p);
+		}
+	}
+
+	private static final class FrontN extends Front {
+		private int[] _elements = new int[8];
+		private int _size = 0;
+
+		FrontN(final Objectives<?> objectives) {
+			super(objectives);
+		}
+
+		@Override
+		boolean dominates(final int p) {
+			final int dimension = objectives.dimension();
+			for (int i = _size; --i >= 0;) {
+				final int q = _elements[i];
+				boolean dominates = true;
+				for (int m = 1; m < dimension && dominates; ++m) {
+					dominates = objectives.compare(q, p, m) >= 0;
+				}
+				if (dominates) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		void add(final int p) {
+			if (_size == _elements.length) {
+				final int[] elements = new int[_size*2];
+				System.arraycopy(_elements, 0, elements, 0, _size);
+				_elements = elements;
+			}
+			_elements[_size++] = p;
+		}
+	}
+
+	/**
+	 * Return the non-dominated elements, the <em>Pareto front</em>, of the
+	 * given input {@code set}.
+	 *
+	 * @param set the input set
+	 * @param <T> the array element type
+	 * @param <V> the vector type
+	 * @return the non-dominated elements of the given input {@code set}
+	 * @throws NullPointerException if the input {@code set} is {@code null}
+	 * @throws IllegalArgumentException if the vectors have different lengths
+	 */
+	public static <T, V extends Vec<T>> ISeq<V> front(final Seq<V> set) {
+		return front(set, Vec<T>::compare, Vec<T>::length);
+	}
+
+	/**
+	 * Return the non-dominated elements, the <em>Pareto front</em>, of the
+	 * given input {@code set}.
+	 *
+	 * @param set the input set
+	 * @param comparator the element comparator; larger elements are better
+	 * @param dimension the dimension of the vectors
+	 * @param <V> the vector type
+	 * @return the non-dominated elements of the given input {@code set}
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the vectors have different lengths
+	 */
+	public static <V> ISeq<V> front(
+		final Seq<V> set,
+		final ElementComparator<? super V> comparator,
+		final ToIntFunction<? super V> dimension
+	) {
+		final int[] ranks = rank(set, comparator, dimension);
+
+		final List<V> front = new ArrayList<>();
+		for (int i = 0; i < ranks.length; ++i) {
+			if (ranks[i] == 0) {
+				front.add(set.get(i));
+			}
+		}
+		return ISeq.of(front);
+	}
+
+
+	/* *************************************************************************
+	 * Crowding distance.
+	 * ************************************************************************/
+
+	/**
+	 * The crowding distance value of a solution provides an estimate of the
+	 * density of solutions surrounding that solution. The <em>crowding
+	 * distance</em> value of a particular solution is the average distance of
+	 * its two neighboring solutions. The boundary solutions get the crowding
+	 * distance {@link Double#POSITIVE_INFINITY}. All elements of the given
+	 * {@code set} are treated as members of one front.
+	 *
+	 * @param set the point set used for calculating the <em>crowding
+	 *        distance</em>
+	 * @param <T> the vector type
+	 * @return the crowded distances of the {@code set} points
+	 * @throws NullPointerException if the input {@code set} is {@code null}
+	 * @throws IllegalArgumentException if the vectors have different lengths
+	 */
+	public static <T> double[] crowdingDistance(final Seq<? extends Vec<T>> set) {
+		return crowdingDistance(set, Vec::compare, Vec::distance, Vec::length);
+	}
+
+	/**
+	 * The crowding distance value of a solution provides an estimate of the
+	 * density of solutions surrounding that solution. The <em>crowding
+	 * distance</em> value of a particular solution is the average distance of
+	 * its two neighboring solutions. The boundary solutions get the crowding
+	 * distance {@link Double#POSITIVE_INFINITY}. All elements of the given
+	 * {@code set} are treated as members of one front.
+	 *
+	 * @param set the point set used for calculating the <em>crowding
+	 *        distance</em>
+	 * @param comparator the comparator which defines the (total) order of the
+	 *        vector elements of {@code V}
+	 * @param distance the distance of two vector elements
+	 * @param dimension the dimension of vector type {@code V}
+	 * @param <V> the vector type
+	 * @return the crowded distances of the {@code set} points
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the vectors have different lengths
+	 */
+	public static <V> double[] crowdingDistance(
+		final Seq<? extends V> set,
+		final ElementComparator<? super V> comparator,
+		final ElementDistance<? super V> distance,
+		final ToIntFunction<? super V> dimension
+	) {
+		requireNonNull(distance);
+
+		final Objectives<V> objectives =
+			Objectives.of(set.asList(), comparator, distance, dimension);
+
+		final double[] result = new double[set.size()];
+		crowdingDistance(objectives, indexes(set.size()), 0, set.size(), result);
+		return result;
+	}
+
+	/**
+	 * Calculates the crowding distances of the vectors of every front
+	 * separately.
+	 *
+	 * @param objectives the objective values
+	 * @param ranks the front index of every vector
+	 * @return the crowding distances of the vectors
+	 */
+	static double[] crowdingDistance(
+		final Objectives<?> objectives,
+		final int[] ranks
+	) {
+		final int[] fronts = groupByRank(ranks);
+		final double[] result = new double[ranks.length];
+
+		int start = 0;
+		for (int i = 1; i <= fronts.length; ++i) {
+			if (i == fronts.length || ranks[fronts[i]] != ranks[fronts[start]]) {
+				crowdingDistance(objectives, fronts, start, i, result);
+				start = i;
+			}
+		}
+
+		return result;
+	}
+
+	// Crowding distance of the vector indexes in the range [start, end).
+	private static void crowdingDistance(
+		final Objectives<?> objectives,
+		final int[] indexes,
+		final int start,
+		final int end,
+		final double[] result
+	) {
+		final int size = end - start;
+		if (size <= 2) {
+			for (int i = start; i < end; ++i) {
+				result[indexes[i]] = Double.POSITIVE_INFINITY;
+			}
+			return;
+		}
+
+		for (int i = start; i < end; ++i) {
+			result[indexes[i]] = 0;
+		}
+
+		final int[] sorted = new int[size];
+		System.arraycopy(indexes, start, sorted, 0, size);
+		for (int m = 0, n = objectives.dimension(); m < n; ++m) {
+			final int index = m;
+			sort(sorted, (i, j) -> objectives.compare(i, j, index));
+
+			final int min = sorted[0];
+			final int max = sorted[size - 1];
+			result[min] = Double.POSITIVE_INFINITY;
+			result[max] = Double.POSITIVE_INFINITY;
+
+			final double norm = abs(objectives.distance(max, min, m));
+			if (norm > 0 && norm < Double.POSITIVE_INFINITY) {
+				for (int i = 1; i < size - 1; ++i) {
+					result[sorted[i]] += abs(
+						objectives.distance(sorted[i + 1], sorted[i - 1], m)
+					)/norm;
+				}
+			}
+		}
+	}
+
+	// Return the vector indexes ordered by their rank (counting sort).
+	static int[] groupByRank(final int[] ranks) {
+		int max = -1;
+		for (int rank : ranks) {
+			if (rank > max) max = rank;
+		}
+
+		final int[] offsets = new int[max + 2];
+		for (int rank : ranks) {
+			++offsets[rank + 1];
+		}
+		for (int i = 1; i < offsets.length; ++i) {
+			offsets[i] += offsets[i - 1];
+		}
+
+		final int[] result = new int[ranks.length];
+		for (int i = 0; i < ranks.length; ++i) {
+			result[offsets[ranks[i]]++] = i;
+		}
+		return result;
+	}
+
+
+	/* *************************************************************************
+	 * Dominance.
+	 * ************************************************************************/
+
+	/**
+	 * Calculates the <a href="https://en.wikipedia.org/wiki/Pareto_efficiency">
+	 *     <b>Pareto Dominance</b></a> of the two vectors <b>u</b> and <b>v</b>.
+	 *
+	 * @param u the first vector
+	 * @param v the second vector
+	 * @param dimension the dimension of the vectors
+	 * @param comparator the element comparator which is used for calculating
+	 *        the dominance
+	 * @param <T> the vector type
+	 * @return {@code 1} if <b>u</b> ≻ <b>v</b>, {@code -1} if <b>v</b> ≻
+	 *         <b>u</b> and {@code 0} otherwise
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public static <T> int dominance(
+		final T u,
+		final T v,
+		final int dimension,
+		final ElementComparator<? super T> comparator
+	) {
+		requireNonNull(comparator);
+
+		boolean superior = false;
+		boolean inferior = false;
+		for (int i = 0; i < dimension; ++i) {
+			final int cmp = comparator.compare(u, v, i);
+			if (cmp > 0) {
+				if (inferior) return 0;
+				superior = true;
+			} else if (cmp < 0) {
+				if (superior) return 0;
+				inferior = true;
+			}
+		}
+
+		return superior ? 1 : inferior ? -1 : 0;
+	}
+
+	/**
+	 * Calculates the <a href="https://en.wikipedia.org/wiki/Pareto_efficiency">
+	 *     <b>Pareto Dominance</b></a> of the two vectors <b>u</b> and <b>v</b>.
+	 *
+	 * @param u the first vector
+	 * @param v the second vector
+	 * @return {@code 1} if <b>u</b> ≻ <b>v</b>, {@code -1} if <b>v</b> ≻
+	 *         <b>u</b> and {@code 0} otherwise
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the vector lengths are not equal
+	 */
+	public static int dominance(final double[] u, final double[] v) {
+		checkLength(u.length, v.length);
+
+		boolean superior = false;
+		boolean inferior = false;
+		for (int i = 0; i < u.length; ++i) {
+			final int cmp = Double.compare(u[i], v[i]);
+			if (cmp > 0) {
+				if (inferior) return 0;
+				superior = true;
+			} else if (cmp < 0) {
+				if (superior) return 0;
+				inferior = true;
+			}
+		}
+
+		return superior ? 1 : inferior ? -1 : 0;
+	}
+
+	/**
+	 * Calculates the <a href="https://en.wikipedia.org/wiki/Pareto_efficiency">
+	 *     <b>Pareto Dominance</b></a> of the two vectors <b>u</b> and <b>v</b>.
+	 *
+	 * @param u the first vector
+	 * @param v the second vector
+	 * @return {@code 1} if <b>u</b> ≻ <b>v</b>, {@code -1} if <b>v</b> ≻
+	 *         <b>u</b> and {@code 0} otherwise
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the vector lengths are not equal
+	 */
+	public static int dominance(final int[] u, final int[] v) {
+		checkLength(u.length, v.length);
+
+		boolean superior = false;
+		boolean inferior = false;
+		for (int i = 0; i < u.length; ++i) {
+			if (u[i] > v[i]) {
+				if (inferior) return 0;
+				superior = true;
+			} else if (u[i] < v[i]) {
+				if (superior) return 0;
+				inferior = true;
+			}
+		}
+
+		return superior ? 1 : inferior ? -1 : 0;
+	}
+
+	/**
+	 * Calculates the <a href="https://en.wikipedia.org/wiki/Pareto_efficiency">
+	 *     <b>Pareto Dominance</b></a> of the two vectors <b>u</b> and <b>v</b>.
+	 *
+	 * @param u the first vector
+	 * @param v the second vector
+	 * @return {@code 1} if <b>u</b> ≻ <b>v</b>, {@code -1} if <b>v</b> ≻
+	 *         <b>u</b> and {@code 0} otherwise
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the vector lengths are not equal
+	 */
+	public static int dominance(final long[] u, final long[] v) {
+		checkLength(u.length, v.length);
+
+		boolean superior = false;
+		boolean inferior = false;
+		for (int i = 0; i < u.length; ++i) {
+			if (u[i] > v[i]) {
+				if (inferior) return 0;
+				superior = true;
+			} else if (u[i] < v[i]) {
+				if (superior) return 0;
+				inferior = true;
+			}
+		}
+
+		return superior ? 1 : inferior ? -1 : 0;
+	}
+
+	private static void checkLength(final int length1, final int length2) {
+		if (length1 != length2) {
+			throw new IllegalArgumentException(String.format(
+				"Vector lengths are not equal: %d != %d", length1, length2
+			));
+		}
+	}
+
+
+	/* *************************************************************************
+	 * Index sorting.
+	 * ************************************************************************/
+
+	/**
+	 * Compares two vector indexes.
+	 */
+	@FunctionalInterface
+	interface IndexComparator {
+		int compare(final int i, final int j);
+	}
+
+	static int[] indexes(final int size) {
+		final int[] indexes = new int[size];
+		for (int i = 0; i < size; ++i) {
+			indexes[i] = i;
+		}
+		return indexes;
+	}
+
+	/**
+	 * Stable (merge) sort of the given index array, without boxing the
+	 * indexes.
+	 *
+	 * @param indexes the index array to sort
+	 * @param comparator the index comparator
+	 */
+	static void sort(final int[] indexes, final IndexComparator comparator) {
+		if (indexes.length > 1) {
+			sort(indexes.clone(), indexes, 0, indexes.length, comparator);
+		}
+	}
+
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	// Sorts the range [from, to) of 'dest', 'src' must contain the same values.
+	private static void sort(
+		final int[] src,
+		final int[] dest,
+		final int from,
+		final int to,
+		final IndexComparator comparator
+	) {
+		if (to - from <= INSERTION_SORT_THRESHOLD) {
+			for (int i = from + 1; i < to; ++i) {
+				final int value = dest[i];
+				int j = i;
+				while (j > from && comparator.compare(dest[j - 1], value) > 0) {
+					dest[j] = dest[j - 1];
+					--j;
+				}
+				dest[j] = value;
+			}
+			return;
+		}
+
+		final int mid = (from + to) >>> 1;
+		sort(dest, src, from, mid, comparator);
+		sort(dest, src, mid, to, comparator);
+
+		if (comparator.compare(src[mid - 1], src[mid]) <= 0) {
+			System.arraycopy(src, from, dest, from, to - from);
+			return;
+		}
+
+		for (int i = from, p = from, q = mid; i < to; ++i) {
+			if (q >= to || p < mid && comparator.compare(src[p], src[q]) <= 0) {
+				dest[i] = src[p++];
+			} else {
+				dest[i] = src[q++];
+			}
+		}
+	}
+
+}
@@ -0,0 +1,247 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.moea;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+
+import org.jenetics.util.ISeq;
+
+/**
+ * This class only contains non-dominate (Pareto-optimal) elements according
+ * to a given <em>dominance</em> measure. Like a {@link java.util.Set}, it
+ * contains no duplicate entries. Unlike the usual set implementation,
+ * the iteration order is deterministic.
+ * <p>
+ * You can create a new {@code ParetoFront} for {@link Vec} objects
+ * <pre>{@code
+ * final ParetoFront<Vec<double[]>> front = new ParetoFront<>(Vec::dominance);
+ * front.add(Vec.of(1.0, 2.0));
+ * front.add(Vec.of(1.1, 2.5));
+ * front.add(Vec.of(0.9, 2.1));
+ * front.add(Vec.of(0.0, 2.9));
+ * }</pre>
+ *
+ * or directly for {@code double[]} array objects
+ * <pre>{@code
+ * final ParetoFront<double[]> front = new ParetoFront<>(Pareto::dominance);
+ * front.add(new double[]{1.0, 2.0});
+ * front.add(new double[]{1.1, 2.5});
+ * front.add(new double[]{0.9, 2.1});
+ * front.add(new double[]{0.0, 2.9});
+ * }</pre>
+ *
+ * Only the dominance measure must be defined, which allows to maintain the
+ * Pareto front of arbitrary types, e.g. of phenotypes over the whole
+ * evolution process:
+ * <pre>{@code
+ * final ParetoFront<Phenotype<DoubleGene, Vec<double[]>>> front = engine
+ *     .stream()
+ *     .limit(100)
+ *     .flatMap(result -> result.getParetoFront().stream())
+ *     .collect(ParetoFront.toParetoFront(
+ *         (a, b) -> a.getFitness().dominance(b.getFitness())
+ *     ));
+ * }</pre>
+ *
+ * The {@link #add(Object)} operation is linear in the size of the front.
+ *
+ * @param <T> the element type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public final class ParetoFront<T> extends AbstractSet<T> {
+
+	private final List<T> _population = new ArrayList<>();
+	private final Comparator<? super T> _dominance;
+
+	/**
+	 * Create a new {@code ParetoFront} with the given {@code dominance}
+	 * measure.
+	 *
+	 * @param dominance the <em>Pareto</em> dominance measure of the elements
+	 *        added to the Pareto front. It returns a positive value if the
+	 *        first element dominates the second one, a negative value if the
+	 *        second element dominates the first one and zero otherwise.
+	 * @throws NullPointerException if the given {@code dominance} measure is
+	 *         {@code null}
+	 */
+	public ParetoFront(final Comparator<? super T> dominance) {
+		_dominance = requireNonNull(dominance);
+	}
+
+	/**
+	 * Inserts an {@code element} to this pareto front. The element is only
+	 * added if it is not dominated by (and not equal to) an already existing
+	 * element. All elements, which are dominated by the new one, are removed
+	 * from the front.
+	 *
+	 * @param element the element to add
+	 * @return {@code true} if this set did not already contain the specified
+	 *         element and the element is not dominated
+	 * @throws NullPointerException if the given {@code element} is
+	 *         {@code null}
+	 */
+	@Override
+	public boolean add(final T element) {
+		requireNonNull(element);
+
+		for (T existing : _population) {
+			if (_dominance.compare(existing, element) > 0 ||
+				existing.equals(element))
+			{
+				return false;
+			}
+		}
+
+		_population.removeIf(existing -> _dominance.compare(element, existing) > 0);
+		_population.add(element);
+		return true;
+	}
+
+	/**
+	 * Adds all elements of the given collection to {@code this} pareto front.
+	 *
+	 * @param elements the elements to add to {@code this} pareto front
+	 * @return {@code this} pareto front
+	 * @throws NullPointerException if the given parameter is {@code null}
+	 */
+	public ParetoFront<T> merge(final Collection<? extends T> elements) {
+		addAll(elements);
+		return this;
+	}
+
+	/**
+	 * Trims {@code this} pareto front to the given size. The elements with
+	 * the smallest <em>crowding distance</em> are removed from the front.
+	 *
+	 * @param size the new size of the pareto front
+	 * @param comparator the element comparator used for calculating the
+	 *        crowding distance
+	 * @param distance the element distance measure
+	 * @param dimension the number of vector elements of {@code T}
+	 * @return {@code this} trimmed pareto front
+	 * @throws NullPointerException if one of the objects is {@code null}
+	 * @throws IllegalArgumentException if the given {@code size} is negative
+	 */
+	public ParetoFront<T> trim(
+		final int size,
+		final ElementComparator<? super T> comparator,
+		final ElementDistance<? super T> distance,
+		final ToIntFunction<? super T> dimension
+	) {
+		requireNonNull(comparator);
+		requireNonNull(distance);
+		requireNonNull(dimension);
+		if (size < 0) {
+			throw new IllegalArgumentException(format(
+				"Size must not be negative: %d", size
+			));
+		}
+
+		if (size < _population.size()) {
+			final double[] distances = Pareto.crowdingDistance(
+				ISeq.of(_population), comparator, distance, dimension
+			);
+
+			final int[] order = Pareto.indexes(distances.length);
+			Pareto.sort(order, (i, j) -> Double.compare(distances[j], distances[i]));
+
+			final List<T> trimmed = new ArrayList<>(size);
+			for (int i = 0; i < size; ++i) {
+				trimmed.add(_population.get(order[i]));
+			}
+			_population.clear();
+			_population.addAll(trimmed);
+		}
+
+		return this;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return _population.iterator();
+	}
+
+	@Override
+	public int size() {
+		return _population.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return _population.isEmpty();
+	}
+
+	/**
+	 * Return the elements of {@code this} pareto-front as {@link ISeq}.
+	 *
+	 * @return the elements of {@code this} pareto-front as {@link ISeq}
+	 */
+	public ISeq<T> toISeq() {
+		return ISeq.of(_population);
+	}
+
+	/**
+	 * Return a pareto-front collector. The natural order of the elements is
+	 * used as pareto-dominance order, which is the case for {@link Vec}
+	 * objects.
+	 *
+	 * @param <C> the element type
+	 * @return a new pareto-front collector
+	 */
+	public static <C extends Comparable<? super C>>
+	Collector<C, ?, ParetoFront<C>> toParetoFront() {
+		return toParetoFront(Comparator.naturalOrder());
+	}
+
+	/**
+	 * Return a pareto-front collector with the given pareto
+	 * {@code dominance} measure.
+	 *
+	 * @param dominance the pareto dominance comparator
+	 * @param <T> the element type
+	 * @return a new pareto-front collector
+	 * @throws NullPointerException if the given {@code dominance} collector
+	 *         is {@code null}
+	 */
+	public static <T> Collector<T, ?, ParetoFront<T>>
+	toParetoFront(final Comparator<? super T> dominance) {
+		requireNonNull(dominance);
+
+		return Collector.of(
+			() -> new ParetoFront<T>(dominance),
+			ParetoFront::add,
+			ParetoFront::merge
+		);
+	}
+
+}
@@ -0,0 +1,341 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.moea;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.min;
+import static java.lang.Math.sqrt;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+import org.jenetics.Gene;
+import org.jenetics.Optimize;
+import org.jenetics.Population;
+import org.jenetics.Selector;
+
+/**
+ * Implements the <em>environmental selection</em> of the <em>Strength Pareto
+ * Evolutionary Algorithm 2</em> (SPEA2), as described in
+ * <a href="https://doi.org/10.3929/ethz-a-004284029">SPEA2: Improving the
+ * Strength Pareto Evolutionary Algorithm</a>. It is usually used as
+ * <em>survivors</em> selector, where the population of the survivors plays
+ * the role of the SPEA2 <em>archive</em>.
+ * <p>
+ * The fitness of an individual is the sum of its <em>raw fitness</em>, the
+ * summed <em>strength</em> of the individuals which dominates it, and of its
+ * <em>density</em>, which is derived from the distance to its
+ * <em>k</em>-th nearest neighbour in the (normalized) objective space. If
+ * there are more non-dominated individuals than requested, the individuals
+ * which are closest to their nearest neighbours are removed iteratively
+ * (<em>archive truncation</em>).
+ * <p>
+ * The strength and density calculation are inherently quadratic in the
+ * population size. For very large populations, the {@link NSGA2Selector}
+ * should be preferred.
+ *
+ * <pre>{@code
+ * final Engine<DoubleGene, Vec<double[]>> engine = Engine
+ *     .builder(fitness, codec)
+ *     .offspringSelector(new TournamentSelector<>())
+ *     .survivorsSelector(SPEA2Selector.ofVec())
+ *     .build();
+ * }</pre>
+ *
+ * @see NSGA2Selector
+ *
+ * @param <G> the gene type
+ * @param <C> the multi-objective fitness type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public class SPEA2Selector<
+	G extends Gene<?, G>,
+	C extends Comparable<? super C>
+>
+	implements Selector<G, C>
+{
+
+	private final ElementComparator<? super C> _comparator;
+	private final ElementDistance<? super C> _distance;
+	private final ToIntFunction<? super C> _dimension;
+
+	/**
+	 * Creates a new {@code SPEA2Selector} with the functions needed for
+	 * handling the multi-objective result type {@code C}.
+	 *
+	 * @param comparator the vector element comparator of the
+	 *        multi-objective result type {@code C}; larger elements are
+	 *        better
+	 * @param distance the vector element distance of the multi-objective
+	 *        result type {@code C}
+	 * @param dimension the dimensionality of the multi-objective result type
+	 *        {@code C}
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public SPEA2Selector(
+		final ElementComparator<? super C> comparator,
+		final ElementDistance<? super C> distance,
+		final ToIntFunction<? super C> dimension
+	) {
+		_comparator = requireNonNull(comparator);
+		_distance = requireNonNull(distance);
+		_dimension = requireNonNull(dimension);
+	}
+
+	@Override
+	public Population<G, C> select(
+		final Population<G, C> population,
+		final int count,
+		final Optimize opt
+	) {
+		requireNonNull(population, "Population");
+		requireNonNull(opt, "Optimization");
+		if (count < 0) {
+			throw new IllegalArgumentException(format(
+				"Selection count must be greater or equal then zero, but was %s",
+				count
+			));
+		}
+
+		final Population<G, C> selection = new Population<>(count);
+		if (!population.isEmpty() && count > 0) {
+			final Objectives<C> objectives = NSGA2Selector.objectives(
+				population, opt, _comparator, _distance, _dimension
+			);
+			final int[] order = select(objectives, count);
+			for (int i = 0; i < count; ++i) {
+				selection.add(population.get(order[i%order.length]));
+			}
+		}
+
+		return selection;
+	}
+
+	/**
+	 * Return the indexes of the selected individuals, in selection order.
+	 * The returned array contains at most {@code count} elements.
+	 */
+	static int[] select(final Objectives<?> objectives, final int count) {
+		final int size = objectives.size();
+		final Space space = new Space(objectives);
+
+		// Strength and raw fitness.
+		final int[] strength = new int[size];
+		for (int i = 0; i < size; ++i) {
+			for (int j = i + 1; j < size; ++j) {
+				final int dominance = objectives.dominance(i, j);
+				if (dominance > 0) ++strength[i];
+				else if (dominance < 0) ++strength[j];
+			}
+		}
+		final double[] fitness = new double[size];
+		int nonDominated = size;
+		for (int i = 0; i < size; ++i) {
+			for (int j = i + 1; j < size; ++j) {
+				final int dominance = objectives.dominance(i, j);
+				if (dominance > 0) fitness[j] += strength[i];
+				else if (dominance < 0) fitness[i] += strength[j];
+			}
+			if (fitness[i] > 0) --nonDominated;
+		}
+
+		// Density.
+		final int k = (int)sqrt(size);
+		final double[] distances = new double[size];
+		for (int i = 0; i < size; ++i) {
+			int n = 0;
+			for (int j = 0; j < size; ++j) {
+				if (i != j) distances[n++] = space.distance(i, j);
+			}
+			final double sigma = n > 0 ? kth(distances, n, min(k, n) - 1) : 0;
+			fitness[i] += 1.0/(sigma + 2.0);
+		}
+
+		final int[] order = Pareto.indexes(size);
+		Pareto.sort(order, (i, j) -> Double.compare(fitness[i], fitness[j]));
+
+		return nonDominated > count
+			? truncate(space, Arrays.copyOf(order, nonDominated), count)
+			: Arrays.copyOf(order, min(count, size));
+	}
+
+	// Return the k-th smallest value of the first n array elements.
+	private static double kth(final double[] values, final int n, final int k) {
+		int low = 0;
+		int high = n - 1;
+		while (low < high) {
+			final double pivot = values[(low + high) >>> 1];
+			int i = low;
+			int j = high;
+			while (i <= j) {
+				while (values[i] < pivot) ++i;
+				while (values[j] > pivot) --j;
+				if (i <= j) {
+					final double temp = values[i];
+					values[i] = values[j];
+					values[j] = temp;
+					++i;
+					--j;
+				}
+			}
+			if (k <= j) high = j;
+			else if (k >= i) low = i;
+			else break;
+		}
+		return values[k];
+	}
+
+	/**
+	 * The archive truncation of the SPEA2 algorithm: the individual with the
+	 * smallest distance to its nearest (and second nearest) neighbour is
+	 * removed, until {@code count} individuals are left.
+	 */
+	private static int[] truncate(
+		final Space space,
+		final int[] indexes,
+		final int count
+	) {
+		final int size = indexes.length;
+		final boolean[] removed = new boolean[size];
+		final int[] nn1 = new int[size];
+		final int[] nn2 = new int[size];
+		final double[] d1 = new double[size];
+		final double[] d2 = new double[size];
+		for (int i = 0; i < size; ++i) {
+			neighbours(space, indexes, removed, i, nn1, nn2, d1, d2);
+		}
+
+		for (int alive = size; alive > count; --alive) {
+			int worst = -1;
+			for (int i = 0; i < size; ++i) {
+				if (!removed[i] && (
+						worst == -1 ||
+						d1[i] < d1[worst] ||
+						d1[i] == d1[worst] && d2[i] < d2[worst]))
+				{
+					worst = i;
+				}
+			}
+
+			removed[worst] = true;
+			for (int i = 0; i < size; ++i) {
+				if (!removed[i] && (nn1[i] == worst || nn2[i] == worst)) {
+					neighbours(space, indexes, removed, i, nn1, nn2, d1, d2);
+				}
+			}
+		}
+
+		final int[] result = new int[count];
+		for (int i = 0, j = 0; i < size; ++i) {
+			if (!removed[i]) result[j++] = indexes[i];
+		}
+		return result;
+	}
+
+	private static void neighbours(
+		final Space space,
+		final int[] indexes,
+		final boolean[] removed,
+		final int i,
+		final int[] nn1,
+		final int[] nn2,
+		final double[] d1,
+		final double[] d2
+	) {
+		nn1[i] = nn2[i] = -1;
+		d1[i] = d2[i] = Double.POSITIVE_INFINITY;
+		for (int j = 0; j < indexes.length; ++j) {
+			if (j != i && !removed[j]) {
+				final double d = space.distance(indexes[i], indexes[j]);
+				if (d < d1[i]) {
+					nn2[i] = nn1[i];
+					d2[i] = d1[i];
+					nn1[i] = j;
+					d1[i] = d;
+				} else if (d < d2[i]) {
+					nn2[i] = j;
+					d2[i] = d;
+				}
+			}
+		}
+	}
+
+	/**
+	 * The objective space, where every objective is normalized to the range
+	 * of the population.
+	 */
+	private static final class Space {
+		private final Objectives<?> _objectives;
+		private final double[] _norms;
+
+		Space(final Objectives<?> objectives) {
+			_objectives = objectives;
+			_norms = new double[objectives.dimension()];
+			for (int m = 0; m < _norms.length; ++m) {
+				int min = 0;
+				int max = 0;
+				for (int i = 1; i < objectives.size(); ++i) {
+					if (objectives.compare(i, min, m) < 0) min = i;
+					if (objectives.compare(i, max, m) > 0) max = i;
+				}
+				_norms[m] = abs(objectives.distance(max, min, m));
+			}
+		}
+
+		double distance(final int i, final int j) {
+			double sum = 0;
+			for (int m = 0; m < _norms.length; ++m) {
+				if (_norms[m] > 0 && _norms[m] < Double.POSITIVE_INFINITY) {
+					final double d = _objectives.distance(i, j, m)/_norms[m];
+					sum += d*d;
+				}
+			}
+			return sqrt(sum);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName();
+	}
+
+	/**
+	 * Return a new selector for the given result type {@code V}. This method
+	 * is a shortcut for
+	 * <pre>{@code
+	 * new SPEA2Selector<>(Vec::compare, Vec::distance, Vec::length);
+	 * }</pre>
+	 *
+	 * @param <G> the gene type
+	 * @param <T> the array type, e.g. {@code double[]}
+	 * @param <V> the multi object result type vector
+	 * @return a new selector for the given result type {@code V}
+	 */
+	public static <G extends Gene<?, G>, T, V extends Vec<T>>
+	SPEA2Selector<G, V> ofVec() {
+		return new SPEA2Selector<>(Vec<T>::compare, Vec<T>::distance, Vec<T>::length);
+	}
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.moea;
+
+/**
+ * The {@code Vec} interface represents the fitness result of a
+ * multi-objective fitness function. It also defines the <em>Pareto</em>
+ * dominance of two vectors, which is the (partial) order of the
+ * multi-objective fitness values. All objectives are maximized; the
+ * {@link org.jenetics.Optimize#MINIMUM} strategy minimizes all objectives.
+ * If some objectives must be maximized and some minimized, the minimized
+ * ones must be negated by the fitness function.
+ *
+ * <pre>{@code
+ * final Function<Genotype<DoubleGene>, Vec<double[]>> fitness = gt -> {
+ *     final double x = gt.getGene().doubleValue();
+ *     return Vec.of(sin(x), cos(x));
+ * };
+ * }</pre>
+ *
+ * The natural order of the vectors, defined by the {@link #compareTo(Vec)}
+ * method, is the Pareto dominance. Since this order is only a partial one,
+ * it must not be used for sorting.
+ *
+ * @implSpec
+ * The vector implementations must be immutable.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Pareto_efficiency">
+ *     Pareto efficiency</a>
+ *
+ * @param <T> the underlying array type, like {@code int[]} or
+ *        {@code double[]}
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public interface Vec<T> extends Comparable<Vec<T>> {
+
+	/**
+	 * Return the underlying data structure of the vector. The returned
+	 * array must not be changed.
+	 *
+	 * @return the underlying vector data
+	 */
+	public T data();
+
+	/**
+	 * Return the number of vector elements, the number of objectives.
+	 *
+	 * @return the vector length
+	 */
+	public int length();
+
+	/**
+	 * Return the comparator for comparing the elements of this vector.
+	 *
+	 * @return the comparator for comparing the elements of this vector
+	 */
+	public ElementComparator<T> comparator();
+
+	/**
+	 * Return the calculator for calculating the element distances of this
+	 * vector.
+	 *
+	 * @return the element distance calculator of this vector
+	 */
+	public ElementDistance<T> distance();
+
+	/**
+	 * Compares the {@code this} vector with the {@code other} at the given
+	 * component {@code index}.
+	 *
+	 * @param other the other vector
+	 * @param index the component index
+	 * @return a negative integer, zero, or a positive integer as
+	 *        {@code this[index]} is less than, equal to, or greater than
+	 *        {@code other[index]}
+	 * @throws NullPointerException if the {@code other} vector is
+	 *         {@code null}
+	 * @throws IndexOutOfBoundsException if the {@code index} is out of range
+	 *         {@code [0, length())}
+	 */
+	public default int compare(final Vec<T> other, final int index) {
+		return comparator().compare(data(), other.data(), index);
+	}
+
+	/**
+	 * Calculates the distance between two vector elements at the given
+	 * {@code index}.
+	 *
+	 * @param other the second vector
+	 * @param index the vector element index
+	 * @return the distance between two vector elements
+	 * @throws NullPointerException if the {@code other} vector is
+	 *         {@code null}
+	 * @throws IndexOutOfBoundsException if the {@code index} is out of range
+	 *         {@code [0, length())}
+	 */
+	public default double distance(final Vec<T> other, final int index) {
+		return distance().distance(data(), other.data(), index);
+	}
+
+	/**
+	 * Calculates the <em>Pareto dominance</em> of {@code this} and the
+	 * {@code other} vector.
+	 *
+	 * @param other the other vector
+	 * @return {@code 1} if <b>this</b> vector dominates the <b>other</b> one,
+	 *         {@code -1} if the <b>other</b> vector dominates <b>this</b> one
+	 *         and {@code 0} if no vector dominates the other one
+	 * @throws NullPointerException if the {@code other} vector is
+	 *         {@code null}
+	 * @throws IllegalArgumentException if the vector lengths are not equal
+	 */
+	public default int dominance(final Vec<T> other) {
+		if (length() != other.length()) {
+			throw new IllegalArgumentException(String.format(
+				"Vector lengths are not equal: %d != %d",
+				length(), other.length()
+			));
+		}
+
+		return Pareto.dominance(data(), other.data(), length(), comparator());
+	}
+
+	/**
+	 * The default implementation uses the {@link #dominance(Vec)} function
+	 * for defining the (partial) order of the vectors.
+	 *
+	 * @param other the other vector
+	 * @return the dominance of the two vectors
+	 */
+	@Override
+	public default int compareTo(final Vec<T> other) {
+		return dominance(other);
+	}
+
+
+	/* *************************************************************************
+	 *  Static factory methods.
+	 * ************************************************************************/
+
+	/**
+	 * Create a new {@code Vec} object from the given {@code double} values.
+	 *
+	 * @param values the vector values
+	 * @return a new vector with the given values
+	 * @throws NullPointerException if the given {@code values} are
+	 *         {@code null}
+	 * @throws IllegalArgumentException if the given {@code values} array is
+	 *         empty
+	 */
+	public static Vec<double[]> of(final double... values) {
+		return new DoubleVec(values.clone());
+	}
+
+	/**
+	 * Create a new {@code Vec} object from the given {@code int} values.
+	 *
+	 * @param values the vector values
+	 * @return a new vector with the given values
+	 * @throws NullPointerException if the given {@code values} are
+	 *         {@code null}
+	 * @throws IllegalArgumentException if the given {@code values} array is
+	 *         empty
+	 */
+	public static Vec<int[]> of(final int... values) {
+		return new IntVec(values.clone());
+	}
+
+	/**
+	 * Create a new {@code Vec} object from the given {@code long} values.
+	 *
+	 * @param values the vector values
+	 * @return a new vector with the given values
+	 * @throws NullPointerException if the given {@code values} are
+	 *         {@code null}
+	 * @throws IllegalArgumentException if the given {@code values} array is
+	 *         empty
+	 */
+	public static Vec<long[]> of(final long... values) {
+		return new LongVec(values.clone());
+	}
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+
+/**
+ * This package contains classes for doing multi-objective optimization (MOO).
+ * The fitness of the individuals is a vector of (conflicting) objective
+ * values, the {@link org.jenetics.moea.Vec}, and the result of the
+ * optimization is not a single best individual, but the set of the
+ * <em>Pareto</em> optimal individuals, the <em>Pareto front</em>.
+ *
+ * <pre>{@code
+ * final Engine<DoubleGene, Vec<double[]>> engine = Engine
+ *     .builder(fitness, codec)
+ *     .offspringSelector(CrowdedTournamentSelector.ofVec())
+ *     .survivorsSelector(NSGA2Selector.ofVec())
+ *     .build();
+ *
+ * final ISeq<Phenotype<DoubleGene, Vec<double[]>>> front = engine.stream()
+ *     .limit(100)
+ *     .reduce((a, b) -> b).get()
+ *     .getParetoFront();
+ * }</pre>
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+package org.jenetics.moea;
@@ -66,6 +66,7 @@ import java.util.stream.Collector;
  * large streams ({@code size >> 1000}).</i>
  *
  * @see <a href="http://en.wikipedia.org/wiki/Quantile">Wikipedia: Quantile</a>
+ * @see QuantileSketch
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
  * @since 1.0
@@ -0,0 +1,509 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.stat;
+
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+
+/**
+ * Mergeable quantile sketch with bounded memory, which allows to estimate
+ * arbitrary quantiles of a (possibly very large) stream of {@code double}
+ * values. The implementation follows the sketch published by
+ * <p>
+ * <strong>Zohar KARNIN, Kevin LANG and Edo LIBERTY</strong>:
+ * <em>Optimal Quantile Approximation in Streams</em>
+ * <br>
+ * [<a href="https://arxiv.org/abs/1603.05346">arXiv:1603.05346</a>]
+ * <p>
+ * The number of stored values is in the order of {@code 3*k}, independent of
+ * the number of accepted values. As long as less than {@code k} values have
+ * been accepted, the quantiles are exact. The rank error of the estimated
+ * quantiles is roughly {@code 1.7/k}, which is about {@code 1%} for the
+ * default {@code k = 200}. In contrast to the {@link Quantile} class, one
+ * sketch answers all quantile queries and combining two sketches doesn't
+ * reduce their accuracy.
+ *
+ * <pre>{@code
+ * final DoubleStream stream = ...
+ * final QuantileSketch sketch = stream.collect(
+ *         QuantileSketch::new,
+ *         QuantileSketch::accept,
+ *         QuantileSketch::combine
+ *     );
+ * final double median = sketch.quantile(0.5);
+ * }</pre>
+ *
+ * The same can be done with the {@link #toSketch(ToDoubleFunction)}
+ * collector:
+ * <pre>{@code
+ * final Stream<SomeObject> stream = ...
+ * final QuantileSketch sketch = stream
+ *     .collect(toSketch(v -> v.doubleValue()));
+ * final double[] percentiles = sketch.quantiles(0.5, 0.9, 0.99);
+ * }</pre>
+ *
+ * <p>
+ * <b>Implementation note:</b>
+ * <i>This implementation is not thread safe. However, it is safe to use on a
+ * parallel stream, because the parallel implementation of
+ * {@link java.util.stream.Stream#collect Stream.collect()} provides the
+ * necessary partitioning, isolation, and merging of results for safe and
+ * efficient parallel execution.</i>
+ *
+ * @see Quantile
+ * @see org.jenetics.engine.EvolutionStatistics
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ * @since 4.0
+ * @version 4.0
+ */
+public class QuantileSketch implements DoubleConsumer {
+
+	/**
+	 * The default accuracy parameter of the sketch.
+	 */
+	public static final int DEFAULT_K = 200;
+
+	private static final int MIN_K = 8;
+	private static final double CAPACITY_DECAY = 2.0/3.0;
+
+	private final int _k;
+
+	// The (unsorted) values of the compaction levels. A value of level 'l'
+	// represents 2^l accepted values.
+	private double[][] _levels = {new double[MIN_K]};
+	private int[] _sizes = {0};
+	private int[] _capacities;
+	private int _capacity;
+	private int _retained = 0;
+
+	private long _count = 0;
+	private double _min = Double.POSITIVE_INFINITY;
+	private double _max = Double.NEGATIVE_INFINITY;
+
+	// State of the random bit generator used for the compaction offset.
+	private long _seed = 0x9E3779B97F4A7C15L;
+
+	// Lazily created sorted view of the retained values.
+	private double[] _values;
+	private long[] _weights;
+
+	/**
+	 * Create a new quantile sketch with the given accuracy parameter.
+	 *
+	 * @param k the accuracy parameter of the sketch. The rank error of the
+	 *        quantiles is roughly {@code 1.7/k}.
+	 * @throws IllegalArgumentException if {@code k} is smaller than 8
+	 */
+	public QuantileSketch(final int k) {
+		_k = check(k);
+		updateCapacities();
+	}
+
+	private static int check(final int k) {
+		if (k < MIN_K) {
+			throw new IllegalArgumentException(format(
+				"k must be greater or equal to %d, but was %d.", MIN_K, k
+			));
+		}
+		return k;
+	}
+
+	/**
+	 * Create a new quantile sketch with the default accuracy parameter
+	 * {@link #DEFAULT_K}.
+	 */
+	public QuantileSketch() {
+		this(DEFAULT_K);
+	}
+
+	/**
+	 * Return the accuracy parameter of the sketch.
+	 *
+	 * @return the accuracy parameter of the sketch
+	 */
+	public int getK() {
+		return _k;
+	}
+
+	/**
+	 * Return the number of accepted values.
+	 *
+	 * @return the number of accepted values
+	 */
+	public long getCount() {
+		return _count;
+	}
+
+	/**
+	 * Return the minimal accepted value.
+	 *
+	 * @return the minimal accepted value, or {@link Double#POSITIVE_INFINITY}
+	 *         if no value has been accepted yet
+	 */
+	public double getMin() {
+		return _min;
+	}
+
+	/**
+	 * Return the maximal accepted value.
+	 *
+	 * @return the maximal accepted value, or {@link Double#NEGATIVE_INFINITY}
+	 *         if no value has been accepted yet
+	 */
+	public double getMax() {
+		return _max;
+	}
+
+	@Override
+	public void accept(final double value) {
+		if (_sizes[0] == _levels[0].length) {
+			_levels[0] = Arrays.copyOf(_levels[0], _levels[0].length*2);
+		}
+		_levels[0][_sizes[0]++] = value;
+		++_retained;
+
+		++_count;
+		_min = Math.min(_min, value);
+		_max = Math.max(_max, value);
+		_values = null;
+
+		if (_retained >= _capacity) {
+			compress();
+		}
+	}
+
+	/**
+	 * Combine the {@code other} sketch with {@code this} one. The accuracy of
+	 * the resulting sketch is the same as of a sketch which has accepted all
+	 * values directly.
+	 *
+	 * @param other the other sketch
+	 * @return {@code this} sketch
+	 * @throws NullPointerException if the other sketch is {@code null}
+	 */
+	public QuantileSketch combine(final QuantileSketch other) {
+		final double[][] levels = other._levels;
+		final int[] sizes = other._sizes.clone();
+
+		while (_levels.length < levels.length) {
+			addLevel();
+		}
+		for (int level = 0; level < levels.length; ++level) {
+			append(level, levels[level], sizes[level]);
+		}
+
+		_count += other._count;
+		_min = Math.min(_min, other._min);
+		_max = Math.max(_max, other._max);
+		_values = null;
+
+		compress();
+		return this;
+	}
+
+	/**
+	 * Return the estimated {@code p}-quantile of the accepted values. The
+	 * {@code 0}-quantile is the minimal and the {@code 1}-quantile the
+	 * maximal accepted value.
+	 *
+	 * @param p the quantile probability
+	 * @return the estimated quantile value, or {@link Double#NaN} if no value
+	 *         has been accepted yet
+	 * @throws IllegalArgumentException if the given probability {@code p} is
+	 *         not within the range {@code [0, 1]}
+	 */
+	public double quantile(final double p) {
+		if (!(p >= 0.0 && p <= 1.0)) {
+			throw new IllegalArgumentException(format(
+				"Quantile (%s) not in the valid range of [0, 1]", p
+			));
+		}
+		if (_count == 0) {
+			return Double.NaN;
+		}
+		if (p == 0.0) {
+			return _min;
+		}
+		if (p == 1.0) {
+			return _max;
+		}
+
+		sort();
+		final double rank = p*_count;
+		long weight = 0;
+		for (int i = 0; i < _values.length; ++i) {
+			weight += _weights[i];
+			if (weight > rank) {
+				return _values[i];
+			}
+		}
+
+		return _max;
+	}
+
+	/**
+	 * Return the estimated quantiles for the given probabilities.
+	 *
+	 * @param ps the quantile probabilities
+	 * @return the estimated quantile values
+	 * @throws IllegalArgumentException if one of the probabilities is not
+	 *         within the range {@code [0, 1]}
+	 */
+	public double[] quantiles(final double... ps) {
+		final double[] quantiles = new double[ps.length];
+		for (int i = 0; i < ps.length; ++i) {
+			quantiles[i] = quantile(ps[i]);
+		}
+		return quantiles;
+	}
+
+	/**
+	 * Return the estimated fraction of the accepted values which are smaller
+	 * than or equal to the given {@code value}.
+	 *
+	 * @param value the value to rank
+	 * @return the estimated normalized rank of the given {@code value}, or
+	 *         {@link Double#NaN} if no value has been accepted yet
+	 */
+	public double rank(final double value) {
+		if (_count == 0) {
+			return Double.NaN;
+		}
+
+		sort();
+		long weight = 0;
+		for (int i = 0; i < _values.length && _values[i] <= value; ++i) {
+			weight += _weights[i];
+		}
+
+		return (double)weight/_count;
+	}
+
+	/**
+	 * Return the number of values the sketch actually stores.
+	 *
+	 * @return the number of retained values
+	 */
+	int retained() {
+		return _retained;
+	}
+
+	// The capacities of the levels are decreasing geometrically for the
+	// lower levels.
+	private void updateCapacities() {
+		_capacities = new int[_levels.length];
+		_capacity = 0;
+		for (int level = 0; level < _levels.length; ++level) {
+			final int depth = _levels.length - level - 1;
+			_capacities[level] = max(
+				(int)Math.ceil(_k*Math.pow(CAPACITY_DECAY, depth)),
+				MIN_K
+			);
+			_capacity += _capacities[level];
+		}
+	}
+
+	private void compress() {
+		while (_retained >= _capacity) {
+			int level = 0;
+			while (_sizes[level] < _capacities[level]) {
+				++level;
+			}
+			compact(level);
+		}
+	}
+
+	// Halves the values of the given level: the values are sorted and every
+	// second value, starting at a random offset, is promoted to the next
+	// level with the doubled weight.
+	private void compact(final int level) {
+		if (level == _levels.length - 1) {
+			addLevel();
+		}
+
+		final double[] values = _levels[level];
+		final int size = _sizes[level];
+		Arrays.sort(values, 0, size);
+
+		final int keep = size & 1;
+		final double[] promoted = new double[size/2];
+		int index = 0;
+		for (int i = keep + nextBit(); i < size; i += 2) {
+			promoted[index++] = values[i];
+		}
+
+		_sizes[level] = keep;
+		_retained -= size - keep;
+		append(level + 1, promoted, index);
+	}
+
+	private void addLevel() {
+		final int levels = _levels.length;
+		_levels = Arrays.copyOf(_levels, levels + 1);
+		_levels[levels] = new double[MIN_K];
+		_sizes = Arrays.copyOf(_sizes, levels + 1);
+		updateCapacities();
+	}
+
+	private void append(final int level, final double[] values, final int size) {
+		final int length = _sizes[level] + size;
+		if (length > _levels[level].length) {
+			_levels[level] = Arrays.copyOf(
+				_levels[level],
+				max(length, _levels[level].length*2)
+			);
+		}
+
+		System.arraycopy(values, 0, _levels[level], _sizes[level], size);
+		_sizes[level] = length;
+		_retained += size;
+	}
+
+	private int nextBit() {
+		_seed ^= _seed << 13;
+		_seed ^= _seed >>> 7;
+		_seed ^= _seed << 17;
+		return (int)(_seed >>> 63);
+	}
+
+	// Creates the sorted values and weights.
+	private void sort() {
+		if (_values != null) {
+			return;
+		}
+
+		final int retained = _retained;
+		final double[] values = new double[retained];
+		final long[] weights = new long[retained];
+
+		int size = 0;
+		for (int level = 0; level < _levels.length; ++level) {
+			Arrays.sort(_levels[level], 0, _sizes[level]);
+			size = merge(
+				values, weights, size,
+				_levels[level], _sizes[level], 1L << level
+			);
+		}
+
+		_values = values;
+		_weights = weights;
+	}
+
+	// Merges the given sorted level values into the sorted values and weights.
+	private static int merge(
+		final double[] values,
+		final long[] weights,
+		final int size,
+		final double[] level,
+		final int levelSize,
+		final long weight
+	) {
+		int i = size - 1;
+		int j = levelSize - 1;
+		int k = size + levelSize - 1;
+		while (j >= 0) {
+			if (i >= 0 && Double.compare(values[i], level[j]) > 0) {
+				values[k] = values[i];
+				weights[k] = weights[i];
+				--i;
+			} else {
+				values[k] = level[j];
+				weights[k] = weight;
+				--j;
+			}
+			--k;
+		}
+
+		return size + levelSize;
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"QuantileSketch[k=%d, count=%d, retained=%d]",
+			_k, _count, _retained
+		);
+	}
+
+	/**
+	 * Return a {@code Collector} which applies an double-producing mapping
+	 * function to each input element, and returns a quantile sketch for the
+	 * resulting values. The collector can be used on parallel streams.
+	 *
+	 * <pre>{@code
+	 * final Stream<SomeObject> stream = ...
+	 * final QuantileSketch sketch = stream
+	 *     .collect(toSketch(200, v -> v.doubleValue()));
+	 * }</pre>
+	 *
+	 * @param k the accuracy parameter of the sketch
+	 * @param mapper a mapping function to apply to each element
+	 * @param <T> the type of the input elements
+	 * @return a {@code Collector} implementing the sketch reduction
+	 * @throws NullPointerException if the given {@code mapper} is
+	 *         {@code null}
+	 * @throws IllegalArgumentException if {@code k} is smaller than 8
+	 */
+	public static <T> Collector<T, ?, QuantileSketch> toSketch(
+		final int k,
+		final ToDoubleFunction<? super T> mapper
+	) {
+		check(k);
+		requireNonNull(mapper);
+
+		return Collector.of(
+			() -> new QuantileSketch(k),
+			(r, t) -> r.accept(mapper.applyAsDouble(t)),
+			QuantileSketch::combine
+		);
+	}
+
+	/**
+	 * Return a {@code Collector} which applies an double-producing mapping
+	 * function to each input element, and returns a quantile sketch, with
+	 * the default accuracy {@link #DEFAULT_K}, for the resulting values. The
+	 * collector can be used on parallel streams.
+	 *
+	 * <pre>{@code
+	 * final Stream<SomeObject> stream = ...
+	 * final QuantileSketch sketch = stream
+	 *     .collect(toSketch(v -> v.doubleValue()));
+	 * }</pre>
+	 *
+	 * @param mapper a mapping function to apply to each element
+	 * @param <T> the type of the input elements
+	 * @return a {@code Collector} implementing the sketch reduction
+	 * @throws NullPointerException if the given {@code mapper} is
+	 *         {@code null}
+	 */
+	public static <T> Collector<T, ?, QuantileSketch> toSketch(
+		final ToDoubleFunction<? super T> mapper
+	) {
+		return toSketch(DEFAULT_K, mapper);
+	}
+
+}
@@ -26,7 +26,7 @@ import java.util.stream.Stream;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
  * @since 1.0
- * @version 3.0
+ * @version 4.0
  */
 @FunctionalInterface
 public interface Factory<T> {
@@ -49,4 +49,25 @@ public interface Factory<T> {
 		return Stream.generate(this::newInstance);
 	}
 
+	/**
+	 * Create the given number of new instances at once. The default
+	 * implementation calls {@link #newInstance()} {@code count} times.
+	 * Factories with an expensive setup, which can be shared by all created
+	 * objects, should override this method.
+	 *
+	 * @since 4.0
+	 *
+	 * @param count the number of instances to create
+	 * @return a new sequence with {@code count} new instances
+	 * @throws IllegalArgumentException if the given {@code count} is negative
+	 */
+	public default ISeq<T> newInstances(final int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException(
+				"Instance count must not be negative: " + count
+			);
+		}
+		return ISeq.of(this::newInstance, count);
+	}
+
 }
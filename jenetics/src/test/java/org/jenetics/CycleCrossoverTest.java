@@ -0,0 +1,104 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import static org.jenetics.TestUtils.newPermutationDoubleGenePopulation;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.util.ISeq;
+import org.jenetics.util.MSeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class CycleCrossoverTest {
+
+	@Test
+	public void crossover() {
+		final ISeq<Character> alleles = ISeq.of('0', '1', '2', '3', '4', '5', '6', '7', '8', '9');
+		final MSeq<EnumGene<Character>> that = PermutationChromosome
+			.of(alleles, new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 0})
+			.toSeq().copy();
+		final MSeq<EnumGene<Character>> other = PermutationChromosome
+			.of(alleles, new int[]{2, 1, 4, 3, 6, 5, 8, 7, 0, 9})
+			.toSeq().copy();
+
+		new CycleCrossover<Character, Double>(1).crossover(that, other);
+
+		Assert.assertEquals(
+			new PermutationChromosome<>(that.toISeq()).toString(),
+			"1|2|4|3|5|6|8|7|9|0"
+		);
+		Assert.assertEquals(
+			new PermutationChromosome<>(other.toISeq()).toString(),
+			"2|1|3|4|6|5|7|8|0|9"
+		);
+	}
+
+	@Test
+	public void partialCrossover() {
+		final ISeq<Character> alleles = ISeq.of('0', '1', '2', '3', '4', '5');
+		final MSeq<EnumGene<Character>> that = PermutationChromosome
+			.of(alleles, new int[]{0, 1, 2, 4})
+			.toSeq().copy();
+		final MSeq<EnumGene<Character>> other = PermutationChromosome
+			.of(alleles, new int[]{1, 3, 0, 5})
+			.toSeq().copy();
+
+		// The open chain (2, 0, 1) is kept, the chain (3) is exchanged.
+		new CycleCrossover<Character, Double>(1).crossover(that, other);
+
+		Assert.assertEquals(
+			new PermutationChromosome<>(that.toISeq()).toString(),
+			"0|1|2|5"
+		);
+		Assert.assertEquals(
+			new PermutationChromosome<>(other.toISeq()).toString(),
+			"1|3|0|4"
+		);
+	}
+
+	@Test(invocationCount = 10)
+	public void partialPermutations() {
+		final ISeq<Integer> alleles =
+			PermutationChromosome.ofInteger(20).getValidAlleles();
+		final MSeq<EnumGene<Integer>> that =
+			PermutationChromosome.of(alleles, 8).toSeq().copy();
+		final MSeq<EnumGene<Integer>> other =
+			PermutationChromosome.of(alleles, 8).toSeq().copy();
+
+		new CycleCrossover<Integer, Double>(1).crossover(that, other);
+
+		Assert.assertTrue(new PermutationChromosome<>(that.toISeq()).isValid());
+		Assert.assertTrue(new PermutationChromosome<>(other.toISeq()).isValid());
+	}
+
+	@Test
+	public void alter() {
+		final Population<EnumGene<Double>, Double> population =
+			newPermutationDoubleGenePopulation(50, 2, 30);
+
+		new CycleCrossover<Double, Double>(0.5).alter(population, 1);
+		population.forEach(pt -> Assert.assertTrue(pt.isValid()));
+	}
+
+}
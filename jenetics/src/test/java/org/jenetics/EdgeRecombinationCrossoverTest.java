@@ -0,0 +1,79 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import static org.jenetics.TestUtils.newPermutationDoubleGenePopulation;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.util.ISeq;
+import org.jenetics.util.MSeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class EdgeRecombinationCrossoverTest {
+
+	@Test(invocationCount = 10)
+	public void crossover() {
+		final PermutationChromosome<Integer> ch1 = PermutationChromosome.ofInteger(1000);
+		final PermutationChromosome<Integer> ch2 = ch1.newInstance();
+		final MSeq<EnumGene<Integer>> that = ch1.toSeq().copy();
+		final MSeq<EnumGene<Integer>> other = ch2.toSeq().copy();
+
+		new EdgeRecombinationCrossover<Integer, Double>(1).crossover(that, other);
+
+		final PermutationChromosome<Integer> child1 =
+			new PermutationChromosome<>(that.toISeq());
+		final PermutationChromosome<Integer> child2 =
+			new PermutationChromosome<>(other.toISeq());
+
+		Assert.assertTrue(child1.isValid());
+		Assert.assertTrue(child2.isValid());
+		Assert.assertEquals(child1.alleleIndex(0), ch1.alleleIndex(0));
+		Assert.assertEquals(child2.alleleIndex(0), ch2.alleleIndex(0));
+	}
+
+	@Test(invocationCount = 10)
+	public void partialPermutations() {
+		final ISeq<Integer> alleles =
+			PermutationChromosome.ofInteger(20).getValidAlleles();
+		final MSeq<EnumGene<Integer>> that =
+			PermutationChromosome.of(alleles, 8).toSeq().copy();
+		final MSeq<EnumGene<Integer>> other =
+			PermutationChromosome.of(alleles, 8).toSeq().copy();
+
+		new EdgeRecombinationCrossover<Integer, Double>(1).crossover(that, other);
+
+		Assert.assertTrue(new PermutationChromosome<>(that.toISeq()).isValid());
+		Assert.assertTrue(new PermutationChromosome<>(other.toISeq()).isValid());
+	}
+
+	@Test
+	public void alter() {
+		final Population<EnumGene<Double>, Double> population =
+			newPermutationDoubleGenePopulation(50, 2, 30);
+
+		new EdgeRecombinationCrossover<Double, Double>(0.5).alter(population, 1);
+		population.forEach(pt -> Assert.assertTrue(pt.isValid()));
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import org.jenetics.util.ISeq;
+import org.jenetics.util.IO;
+import org.jenetics.util.LCG64ShiftRandom;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class FingerprintTest {
+
+	@Test(dataProvider = "genotypes")
+	public void equalGenotypes(final Genotype<?> genotype) {
+		final Genotype<?> copy = Genotype.of(genotype.toSeq());
+
+		Assert.assertNotSame(copy, genotype);
+		Assert.assertEquals(copy.getFingerprint(), genotype.getFingerprint());
+		Assert.assertEquals(
+			Fingerprint.of(copy).longValue(),
+			Fingerprint.of(genotype).longValue()
+		);
+		Assert.assertSame(genotype.getFingerprint(), genotype.getFingerprint());
+	}
+
+	@Test(dataProvider = "genotypes")
+	public void differentGenotypes(final Genotype<?> genotype) {
+		final Set<Fingerprint> fingerprints = new HashSet<>();
+		final Set<Genotype<?>> genotypes = new HashSet<>();
+
+		RandomRegistry.using(new LCG64ShiftRandom(123), r -> {
+			for (int i = 0; i < 1000; ++i) {
+				final Genotype<?> gt = genotype.newInstance();
+				genotypes.add(gt);
+				fingerprints.add(gt.getFingerprint());
+			}
+		});
+
+		Assert.assertEquals(fingerprints.size(), genotypes.size());
+	}
+
+	@DataProvider(name = "genotypes")
+	public Object[][] genotypes() {
+		return new Object[][] {
+			{Genotype.of(DoubleChromosome.of(0, 1, 10), 3)},
+			{Genotype.of(IntegerChromosome.of(0, 10, 5))},
+			{Genotype.of(LongChromosome.of(0, 1000, 3), 2)},
+			{Genotype.of(BitChromosome.of(13))},
+			{Genotype.of(BitChromosome.of(150))},
+			{Genotype.of(CharacterChromosome.of(10))},
+			{Genotype.of(PermutationChromosome.ofInteger(8))},
+			{Genotype.of(PermutationChromosome.of(ISeq.of("a", "b", "c", "d"), 2))}
+		};
+	}
+
+	@Test
+	public void bitChromosome() {
+		final BitChromosome chromosome = BitChromosome.of("1011001110001");
+
+		Assert.assertEquals(
+			Fingerprint.of(chromosome),
+			Fingerprint.of(BitChromosome.of(chromosome.toCanonicalString()))
+		);
+		Assert.assertNotEquals(
+			Fingerprint.of(chromosome),
+			Fingerprint.of(chromosome.invert())
+		);
+		Assert.assertNotEquals(
+			Fingerprint.of(BitChromosome.of(new BitSet(), 3)),
+			Fingerprint.of(BitChromosome.of(new BitSet(), 5))
+		);
+	}
+
+	@Test
+	public void chromosomeStructure() {
+		final Genotype<IntegerGene> gt1 = Genotype.of(
+			IntegerChromosome.of(IntegerGene.of(1, 0, 10), IntegerGene.of(2, 0, 10)),
+			IntegerChromosome.of(IntegerGene.of(3, 0, 10))
+		);
+		final Genotype<IntegerGene> gt2 = Genotype.of(
+			IntegerChromosome.of(IntegerGene.of(1, 0, 10)),
+			IntegerChromosome.of(IntegerGene.of(2, 0, 10), IntegerGene.of(3, 0, 10))
+		);
+
+		Assert.assertNotEquals(gt1.getFingerprint(), gt2.getFingerprint());
+	}
+
+	@Test
+	public void serialization() throws IOException {
+		final Genotype<DoubleGene> genotype = Genotype.of(DoubleChromosome.of(0, 1, 5));
+		genotype.getFingerprint();
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		IO.object.write(genotype, out);
+		final ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+		final Genotype<?> copy = (Genotype<?>)IO.object.read(in);
+
+		Assert.assertEquals(copy.getFingerprint(), genotype.getFingerprint());
+	}
+
+	@Test
+	public void compareAndToString() {
+		final Fingerprint fp1 = Genotype.of(DoubleChromosome.of(0, 1)).getFingerprint();
+		final Fingerprint fp2 = Genotype.of(DoubleChromosome.of(0, 1)).getFingerprint();
+
+		Assert.assertEquals(fp1.compareTo(fp1), 0);
+		Assert.assertEquals(
+			Integer.signum(fp1.compareTo(fp2)),
+			-Integer.signum(fp2.compareTo(fp1))
+		);
+		Assert.assertEquals(fp1.toString().length(), 32);
+	}
+
+}
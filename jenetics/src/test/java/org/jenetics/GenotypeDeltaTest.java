@@ -0,0 +1,114 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.util.MSeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+@Test
+public class GenotypeDeltaTest {
+
+	@Test
+	public void ofIndexes() {
+		final GenotypeDelta delta = GenotypeDelta.of(2, 7, 3, 7, 0);
+		Assert.assertEquals(delta.size(), 3);
+		Assert.assertEquals(
+			IntStream.range(0, delta.size()).map(delta::geneIndex).toArray(),
+			new int[]{0, 3, 7}
+		);
+		Assert.assertEquals(
+			IntStream.range(0, delta.size()).map(delta::chromosomeIndex).toArray(),
+			new int[]{2, 2, 2}
+		);
+		Assert.assertTrue(delta.contains(2, 3));
+		Assert.assertFalse(delta.contains(1, 3));
+		Assert.assertFalse(delta.contains(2, 4));
+		Assert.assertEquals(delta, GenotypeDelta.of(2, 0, 3, 7));
+	}
+
+	@Test
+	public void ofEmptyIndexes() {
+		Assert.assertSame(GenotypeDelta.of(3), GenotypeDelta.EMPTY);
+		Assert.assertTrue(GenotypeDelta.EMPTY.isEmpty());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void ofNegativeIndex() {
+		GenotypeDelta.of(0, 1, -1);
+	}
+
+	@Test
+	public void and() {
+		final GenotypeDelta delta = GenotypeDelta.of(1, 5, 2)
+			.and(GenotypeDelta.of(0, 9))
+			.and(GenotypeDelta.of(1, 2, 3));
+
+		Assert.assertEquals(delta.size(), 4);
+		Assert.assertEquals(delta.toString(), "[(0, 9), (1, 2), (1, 3), (1, 5)]");
+		Assert.assertEquals(delta.geneIndexes(1).toArray(), new int[]{2, 3, 5});
+		Assert.assertEquals(delta.geneIndexes(2).toArray(), new int[0]);
+	}
+
+	@Test
+	public void ofGenotypes() {
+		final Genotype<IntegerGene> parent = Genotype.of(
+			IntegerChromosome.of(0, 1000, 20),
+			IntegerChromosome.of(0, 1000, 30),
+			IntegerChromosome.of(0, 1000, 40)
+		);
+
+		final MSeq<Chromosome<IntegerGene>> chromosomes = parent.toSeq().copy();
+		final MSeq<IntegerGene> genes = chromosomes.get(1).toSeq().copy();
+		genes.set(3, genes.get(3).newInstance(1001));
+		genes.set(17, genes.get(17).newInstance(1002));
+		chromosomes.set(1, chromosomes.get(1).newInstance(genes.toISeq()));
+		final Genotype<IntegerGene> offspring =
+			parent.newInstance(chromosomes.toISeq());
+
+		final GenotypeDelta delta = GenotypeDelta.of(parent, offspring);
+		Assert.assertEquals(delta, GenotypeDelta.of(1, 3, 17));
+		Assert.assertEquals(GenotypeDelta.of(offspring, parent), delta);
+		Assert.assertTrue(GenotypeDelta.of(parent, parent).isEmpty());
+	}
+
+	@Test
+	public void ofGenotypesWithDifferentLength() {
+		final Genotype<DoubleGene> parent = Genotype.of(
+			DoubleChromosome.of(0, 1, 5)
+		);
+		final Genotype<DoubleGene> offspring = Genotype.of(
+			parent.getChromosome(),
+			DoubleChromosome.of(0, 1, 3)
+		);
+
+		Assert.assertEquals(
+			GenotypeDelta.of(parent, offspring),
+			GenotypeDelta.of(1, 0, 1, 2)
+		);
+	}
+
+}
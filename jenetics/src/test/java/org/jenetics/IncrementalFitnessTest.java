@@ -0,0 +1,173 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.engine.Engine;
+import org.jenetics.engine.EvolutionResult;
+import org.jenetics.engine.limit;
+import org.jenetics.util.Factory;
+import org.jenetics.util.MSeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+@Test
+public class IncrementalFitnessTest {
+
+	private static int sum(final Genotype<IntegerGene> gt) {
+		return gt.stream()
+			.flatMap(Chromosome::stream)
+			.mapToInt(IntegerGene::intValue)
+			.sum();
+	}
+
+	// Counts the full and the incremental fitness evaluations.
+	private static final class Sum implements IncrementalFitness<IntegerGene, Integer> {
+		final AtomicInteger full = new AtomicInteger();
+		final AtomicInteger incremental = new AtomicInteger();
+
+		@Override
+		public Integer apply(final Genotype<IntegerGene> genotype) {
+			full.incrementAndGet();
+			return sum(genotype);
+		}
+
+		@Override
+		public Integer apply(
+			final Genotype<IntegerGene> parent,
+			final Integer fitness,
+			final Genotype<IntegerGene> genotype,
+			final GenotypeDelta delta
+		) {
+			incremental.incrementAndGet();
+			int sum = fitness;
+			for (int i = 0; i < delta.size(); ++i) {
+				final int c = delta.chromosomeIndex(i);
+				final int g = delta.geneIndex(i);
+				if (c < parent.length() && g < parent.getChromosome(c).length()) {
+					sum -= parent.getChromosome(c).getGene(g).intValue();
+				}
+				if (c < genotype.length() && g < genotype.getChromosome(c).length()) {
+					sum += genotype.getChromosome(c).getGene(g).intValue();
+				}
+			}
+			return sum;
+		}
+	}
+
+	private static final Factory<Genotype<IntegerGene>> GENOTYPE = Genotype.of(
+		IntegerChromosome.of(0, 100, 10),
+		IntegerChromosome.of(0, 100, 20)
+	);
+
+	@Test
+	public void incrementalEvaluation() {
+		final Sum fitness = new Sum();
+		final Phenotype<IntegerGene, Integer> parent =
+			Phenotype.of(GENOTYPE.newInstance(), 0, fitness);
+
+		// Parent not evaluated, no ancestor: full evaluation.
+		final Phenotype<IntegerGene, Integer> pt1 =
+			parent.newInstance(GENOTYPE.newInstance(), 1);
+		Assert.assertEquals(pt1.getRawFitness().intValue(), sum(pt1.getGenotype()));
+		Assert.assertEquals(fitness.full.get(), 1);
+		Assert.assertEquals(fitness.incremental.get(), 0);
+
+		// Parent evaluated: incremental evaluation.
+		final Genotype<IntegerGene> gt2 = mutate(pt1.getGenotype());
+		final Phenotype<IntegerGene, Integer> pt2 = pt1.newInstance(gt2, 2);
+		Assert.assertEquals(pt2.getRawFitness().intValue(), sum(gt2));
+		Assert.assertEquals(fitness.incremental.get(), 1);
+
+		// Chain of not evaluated phenotypes uses the evaluated ancestor.
+		final Phenotype<IntegerGene, Integer> pt3 =
+			pt2.newInstance(mutate(gt2), 3);
+		final Phenotype<IntegerGene, Integer> pt4 =
+			pt3.newInstance(mutate(pt3.getGenotype()), 3);
+		Assert.assertEquals(pt4.getRawFitness().intValue(), sum(pt4.getGenotype()));
+		Assert.assertEquals(pt3.getRawFitness().intValue(), sum(pt3.getGenotype()));
+		Assert.assertEquals(fitness.full.get(), 1);
+		Assert.assertEquals(fitness.incremental.get(), 3);
+	}
+
+	@Test
+	public void explicitDelta() {
+		final AtomicInteger count = new AtomicInteger();
+		final IncrementalFitness<IntegerGene, Integer> fitness =
+			IncrementalFitness.of(
+				IncrementalFitnessTest::sum,
+				(parent, value, genotype, delta) -> {
+					count.incrementAndGet();
+					Assert.assertEquals(delta, GenotypeDelta.of(0, 4));
+					return value;
+				}
+			);
+
+		final Phenotype<IntegerGene, Integer> parent =
+			Phenotype.of(GENOTYPE.newInstance(), 0, fitness).evaluate();
+		final Phenotype<IntegerGene, Integer> child = parent.newInstance(
+			parent.getGenotype(), 1, GenotypeDelta.of(0, 4)
+		);
+
+		Assert.assertEquals(child.getRawFitness(), parent.getRawFitness());
+		Assert.assertEquals(count.get(), 1);
+	}
+
+	@Test
+	public void engineEvolution() {
+		final Sum fitness = new Sum();
+		final Engine<IntegerGene, Integer> engine = Engine
+			.builder(fitness, GENOTYPE)
+			.populationSize(50)
+			.alterers(
+				new SinglePointCrossover<>(0.2),
+				new Mutator<>(0.05),
+				new SwapMutator<>(0.05))
+			.build();
+
+		final Phenotype<IntegerGene, Integer> best = engine.stream()
+			.limit(limit.byFixedGeneration(30))
+			.peek(r -> r.getPopulation().forEach(pt ->
+				Assert.assertEquals(
+					pt.getRawFitness().intValue(),
+					sum(pt.getGenotype())
+				)))
+			.collect(EvolutionResult.toBestPhenotype());
+
+		Assert.assertEquals(best.getRawFitness().intValue(), sum(best.getGenotype()));
+		Assert.assertTrue(fitness.incremental.get() > 0);
+	}
+
+	// Changes two genes of the second chromosome.
+	private static Genotype<IntegerGene> mutate(final Genotype<IntegerGene> gt) {
+		final MSeq<Chromosome<IntegerGene>> chromosomes = gt.toSeq().copy();
+		final MSeq<IntegerGene> genes = chromosomes.get(1).toSeq().copy();
+		genes.set(2, genes.get(2).newInstance());
+		genes.set(11, genes.get(11).newInstance());
+		chromosomes.set(1, chromosomes.get(1).newInstance(genes.toISeq()));
+		return gt.newInstance(chromosomes.toISeq());
+	}
+
+}
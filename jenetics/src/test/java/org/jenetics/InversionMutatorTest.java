@@ -0,0 +1,72 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import static org.jenetics.TestUtils.newPermutationDoubleGenePopulation;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.util.MSeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class InversionMutatorTest {
+
+	@Test
+	public void mutate() {
+		final PermutationChromosome<Integer> chromosome =
+			PermutationChromosome.ofInteger(100);
+		final MSeq<EnumGene<Integer>> genes = chromosome.toSeq().copy();
+
+		final int mutations = new InversionMutator<EnumGene<Integer>, Double>(0.1)
+			.mutate(genes, 0.1);
+
+		final PermutationChromosome<Integer> mutated =
+			chromosome.newInstance(genes.toISeq());
+		Assert.assertTrue(mutated.isValid());
+		if (mutations == 0) {
+			Assert.assertEquals(mutated, chromosome);
+		}
+	}
+
+	@Test
+	public void alter() {
+		final Population<EnumGene<Double>, Double> population =
+			newPermutationDoubleGenePopulation(50, 2, 30);
+
+		final int alterations = new InversionMutator<EnumGene<Double>, Double>(0.5)
+			.alter(population, 1);
+
+		Assert.assertTrue(alterations > 0);
+		population.forEach(pt -> Assert.assertTrue(pt.isValid()));
+	}
+
+	@Test
+	public void singleGene() {
+		final MSeq<DoubleGene> genes = DoubleChromosome.of(0, 1, 1).toSeq().copy();
+		Assert.assertEquals(
+			new InversionMutator<DoubleGene, Double>(1).mutate(genes, 1),
+			0
+		);
+	}
+
+}
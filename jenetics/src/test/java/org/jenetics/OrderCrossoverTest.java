@@ -0,0 +1,89 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import static org.jenetics.TestUtils.newPermutationDoubleGenePopulation;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.util.ISeq;
+import org.jenetics.util.MSeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class OrderCrossoverTest {
+
+	@Test
+	public void crossover() {
+		final ISeq<Integer> alleles = ISeq.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+		final MSeq<EnumGene<Integer>> that = PermutationChromosome
+			.of(alleles, new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9})
+			.toSeq().copy();
+		final MSeq<EnumGene<Integer>> other = PermutationChromosome
+			.of(alleles, new int[]{9, 8, 7, 6, 5, 4, 3, 2, 1, 0})
+			.toSeq().copy();
+
+		new OrderCrossover<Integer, Double>(1).crossover(that, other);
+
+		final PermutationChromosome<Integer> ch1 =
+			new PermutationChromosome<>(that.toISeq());
+		final PermutationChromosome<Integer> ch2 =
+			new PermutationChromosome<>(other.toISeq());
+		Assert.assertTrue(ch1.isValid());
+		Assert.assertTrue(ch2.isValid());
+		Assert.assertNotEquals(ch1.toAlleleIndexes(), new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9});
+	}
+
+	@Test
+	public void alter() {
+		final Population<EnumGene<Double>, Double> population =
+			newPermutationDoubleGenePopulation(50, 2, 30);
+
+		new OrderCrossover<Double, Double>(0.5).alter(population, 1);
+		population.forEach(pt -> Assert.assertTrue(pt.isValid()));
+	}
+
+	@Test(invocationCount = 10)
+	public void partialPermutations() {
+		final ISeq<Integer> alleles =
+			PermutationChromosome.ofInteger(20).getValidAlleles();
+		final MSeq<EnumGene<Integer>> that =
+			PermutationChromosome.of(alleles, 8).toSeq().copy();
+		final MSeq<EnumGene<Integer>> other =
+			PermutationChromosome.of(alleles, 8).toSeq().copy();
+
+		new OrderCrossover<Integer, Double>(1).crossover(that, other);
+
+		Assert.assertTrue(new PermutationChromosome<>(that.toISeq()).isValid());
+		Assert.assertTrue(new PermutationChromosome<>(other.toISeq()).isValid());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void crossoverWithDifferentLength() {
+		final ISeq<Integer> alleles = ISeq.of(0, 1, 2, 3, 4, 5);
+		new OrderCrossover<Integer, Double>(1).crossover(
+			PermutationChromosome.of(alleles, new int[]{0, 1, 2}).toSeq().copy(),
+			PermutationChromosome.of(alleles, new int[]{0, 1, 3, 4}).toSeq().copy()
+		);
+	}
+
+}
@@ -58,6 +58,39 @@ public class PermutationChromosomeTest
 		Assert.assertFalse(chromosome.isValid());
 	}
 
+	@Test
+	public void ofAlleleIndexes() {
+		final ISeq<String> alleles = ISeq.of("a", "b", "c", "d");
+		final PermutationChromosome<String> ch =
+			PermutationChromosome.of(alleles, new int[]{3, 1, 0});
+
+		Assert.assertTrue(ch.isValid());
+		Assert.assertEquals(ch.toString(), "d|b|a");
+		Assert.assertEquals(ch.toAlleleIndexes(), new int[]{3, 1, 0});
+		Assert.assertEquals(ch.alleleIndex(1), 1);
+		Assert.assertEquals(ch.indexOf(3), 0);
+		Assert.assertEquals(ch.indexOf(0), 2);
+		Assert.assertEquals(ch.indexOf(2), -1);
+		Assert.assertEquals(ch.getGene(0), new EnumGene<>(3, alleles));
+		Assert.assertFalse(
+			PermutationChromosome.of(alleles, new int[]{3, 1, 3}).isValid()
+		);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void ofInvalidAlleleIndexes() {
+		PermutationChromosome.of(ISeq.of("a", "b"), new int[]{0, 2});
+	}
+
+	@Test
+	public void indexOf() {
+		final PermutationChromosome<Integer> ch = PermutationChromosome.ofInteger(1000);
+		for (int i = 0; i < ch.length(); ++i) {
+			Assert.assertEquals(ch.indexOf(ch.alleleIndex(i)), i);
+			Assert.assertEquals(ch.alleleIndex(i), ch.getGene(i).getAlleleIndex());
+		}
+	}
+
 	@Test
 	public void ofIntegerLength() {
 		final PermutationChromosome<Integer> c = PermutationChromosome.ofInteger(100);
@@ -25,6 +25,7 @@ import static java.lang.Math.toRadians;
 import java.io.Serializable;
 import java.util.function.Function;
 
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import org.jenetics.util.Factory;
@@ -52,4 +53,20 @@ public class PhenotypeTest extends ObjectTester<Phenotype<DoubleGene, Double>> {
 		return () -> Phenotype.of(_genotype.newInstance(), 0, _ff).evaluate();
 	}
 
+	@Test
+	public void withFitness() {
+		final Phenotype<DoubleGene, Double> pt =
+			Phenotype.of(_genotype.newInstance(), 3, _ff, f -> f*2);
+		Assert.assertFalse(pt.isEvaluated());
+
+		final Phenotype<DoubleGene, Double> fixed = pt.withFitness(10.0);
+		Assert.assertTrue(fixed.isEvaluated());
+		Assert.assertFalse(pt.isEvaluated());
+		Assert.assertEquals(fixed.getRawFitness(), 10.0);
+		Assert.assertEquals(fixed.getFitness(), 20.0);
+		Assert.assertEquals(fixed.getGeneration(), pt.getGeneration());
+		Assert.assertSame(fixed.getGenotype(), pt.getGenotype());
+		Assert.assertSame(fixed.getFitnessFunction(), pt.getFitnessFunction());
+	}
+
 }
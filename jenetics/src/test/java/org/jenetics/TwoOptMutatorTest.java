@@ -0,0 +1,114 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics;
+
+import java.util.Random;
+import java.util.function.ToDoubleBiFunction;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.util.ISeq;
+import org.jenetics.util.MSeq;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class TwoOptMutatorTest {
+
+	private static final class City {
+		final double x;
+		final double y;
+		City(final double x, final double y) {
+			this.x = x;
+			this.y = y;
+		}
+	}
+
+	private static final ToDoubleBiFunction<City, City> DISTANCE =
+		(a, b) -> Math.hypot(a.x - b.x, a.y - b.y);
+
+	private static double length(final PermutationChromosome<City> tour) {
+		double length = 0;
+		for (int i = 0; i < tour.length(); ++i) {
+			length += DISTANCE.applyAsDouble(
+				tour.getGene(i).getAllele(),
+				tour.getGene((i + 1)%tour.length()).getAllele()
+			);
+		}
+		return length;
+	}
+
+	private static ISeq<City> cities(final int count) {
+		final Random random = new Random(123);
+		return MSeq.<City>ofLength(count)
+			.fill(() -> new City(random.nextDouble(), random.nextDouble()))
+			.toISeq();
+	}
+
+	@Test
+	public void mutateShortensTour() {
+		final TwoOptMutator<City, Double> mutator =
+			new TwoOptMutator<>(DISTANCE, 0.5);
+
+		PermutationChromosome<City> tour = RandomRegistry.with(
+			new Random(456),
+			r -> PermutationChromosome.of(cities(200))
+		);
+
+		double length = length(tour);
+		for (int i = 0; i < 50; ++i) {
+			final MSeq<EnumGene<City>> genes = tour.toSeq().copy();
+			final int moves = mutator.mutate(genes, 0.5);
+			final PermutationChromosome<City> mutated =
+				tour.newInstance(genes.toISeq());
+
+			Assert.assertTrue(mutated.isValid());
+			Assert.assertTrue(length(mutated) <= length + 1e-9);
+			if (moves == 0) {
+				Assert.assertEquals(mutated, tour);
+			}
+
+			tour = mutated;
+			length = length(tour);
+		}
+	}
+
+	@Test
+	public void shortTour() {
+		final MSeq<EnumGene<City>> genes =
+			PermutationChromosome.of(cities(3)).toSeq().copy();
+		Assert.assertEquals(new TwoOptMutator<>(DISTANCE, 1).mutate(genes, 1), 0);
+	}
+
+	@Test
+	public void equality() {
+		Assert.assertEquals(
+			new TwoOptMutator<>(DISTANCE, 0.1),
+			new TwoOptMutator<>(DISTANCE, 0.1)
+		);
+		Assert.assertNotEquals(
+			new TwoOptMutator<>(DISTANCE, 0.1),
+			new TwoOptMutator<>((City a, City b) -> 1.0, 0.1)
+		);
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import static org.jenetics.engine.SharingSelectorTest.phenotype;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.DoubleGene;
+import org.jenetics.Optimize;
+import org.jenetics.Phenotype;
+import org.jenetics.Population;
+import org.jenetics.util.LCG64ShiftRandom;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class CrowdingSelectorTest {
+
+	// Three niches with five individuals each; the niche winners are the
+	// individuals with fitness 4, 14 and 24.
+	private static Population<DoubleGene, Double> population() {
+		final Population<DoubleGene, Double> population = new Population<>();
+		for (int niche = 0; niche < 3; ++niche) {
+			for (int i = 0; i < 5; ++i) {
+				population.add(phenotype(niche*10 + i*0.1, niche*10 + i));
+			}
+		}
+		return population;
+	}
+
+	@Test
+	public void nicheWinners() {
+		final Population<DoubleGene, Double> population = population();
+		final CrowdingSelector<DoubleGene, Double> selector =
+			new CrowdingSelector<DoubleGene, Double>(Distance.euclidean(), 5);
+
+		final Population<DoubleGene, Double> selection = RandomRegistry.with(
+			new LCG64ShiftRandom(123),
+			r -> selector.select(population, 300, Optimize.MAXIMUM)
+		);
+		final Set<Double> winners = selection.stream()
+			.map(Phenotype::getFitness)
+			.collect(Collectors.toSet());
+
+		Assert.assertEquals(selection.size(), 300);
+		Assert.assertEquals(winners.size(), 3);
+		Assert.assertTrue(winners.contains(4.0));
+		Assert.assertTrue(winners.contains(14.0));
+		Assert.assertTrue(winners.contains(24.0));
+	}
+
+	@Test
+	public void minimize() {
+		final Population<DoubleGene, Double> population = population();
+		final CrowdingSelector<DoubleGene, Double> selector =
+			new CrowdingSelector<DoubleGene, Double>(Distance.euclidean(), 5);
+
+		final Set<Double> winners = selector
+			.select(population, 300, Optimize.MINIMUM).stream()
+			.map(Phenotype::getFitness)
+			.collect(Collectors.toSet());
+
+		Assert.assertTrue(winners.stream().allMatch(f -> f%10 == 0));
+	}
+
+	@Test
+	public void emptyPopulation() {
+		Assert.assertTrue(
+			new CrowdingSelector<DoubleGene, Double>(Distance.euclidean())
+				.select(new Population<>(), 10, Optimize.MAXIMUM)
+				.isEmpty()
+		);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void invalidNicheSize() {
+		new CrowdingSelector<DoubleGene, Double>(Distance.euclidean(), 1);
+	}
+
+}
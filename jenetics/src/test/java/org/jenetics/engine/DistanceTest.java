@@ -0,0 +1,127 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import java.util.Arrays;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.BitChromosome;
+import org.jenetics.BitGene;
+import org.jenetics.CharacterChromosome;
+import org.jenetics.CharacterGene;
+import org.jenetics.DoubleChromosome;
+import org.jenetics.DoubleGene;
+import org.jenetics.EnumGene;
+import org.jenetics.Genotype;
+import org.jenetics.PermutationChromosome;
+import org.jenetics.util.ISeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class DistanceTest {
+
+	@Test
+	public void euclidean() {
+		final Genotype<DoubleGene> a = Genotype.of(
+			DoubleChromosome.of(DoubleGene.of(0, -10, 10)),
+			DoubleChromosome.of(DoubleGene.of(0, -10, 10))
+		);
+		final Genotype<DoubleGene> b = Genotype.of(
+			DoubleChromosome.of(DoubleGene.of(3, -10, 10)),
+			DoubleChromosome.of(DoubleGene.of(4, -10, 10))
+		);
+
+		Assert.assertEquals(Distance.<DoubleGene>euclidean().distance(a, b), 5.0);
+		Assert.assertEquals(EuclideanDistance.vector(b), new double[]{3, 4});
+	}
+
+	@Test
+	public void hammingBits() {
+		final Distance<Genotype<BitGene>> distance = Distance.hamming();
+
+		Assert.assertEquals(
+			distance.distance(
+				Genotype.of(BitChromosome.of("1011001110001")),
+				Genotype.of(BitChromosome.of("1011001110001"))
+			),
+			0.0
+		);
+		Assert.assertEquals(
+			distance.distance(
+				Genotype.of(BitChromosome.of("1011001110001")),
+				Genotype.of(BitChromosome.of("0011001110000"))
+			),
+			2.0
+		);
+
+		final BitChromosome bits = BitChromosome.of(13);
+		Assert.assertEquals(
+			distance.distance(Genotype.of(bits), Genotype.of(bits.invert())),
+			13.0
+		);
+	}
+
+	@Test
+	public void hammingPermutations() {
+		final ISeq<Integer> alleles = ISeq.of(0, 1, 2, 3, 4);
+		final Genotype<EnumGene<Integer>> a = Genotype.of(
+			PermutationChromosome.of(alleles, 5)
+		);
+		final int[] indexes = a.getChromosome().stream()
+			.mapToInt(EnumGene::getAlleleIndex)
+			.toArray();
+
+		final int[] swapped = Arrays.copyOf(indexes, indexes.length);
+		swapped[0] = indexes[1];
+		swapped[1] = indexes[0];
+		final Genotype<EnumGene<Integer>> b = Genotype.of(
+			new PermutationChromosome<>(
+				Arrays.stream(swapped)
+					.mapToObj(i -> EnumGene.of(i, alleles))
+					.collect(ISeq.toISeq())
+			)
+		);
+
+		Assert.assertEquals(Distance.<EnumGene<Integer>>hamming().distance(a, b), 2.0);
+	}
+
+	@Test
+	public void hammingCharacters() {
+		Assert.assertEquals(
+			Distance.<CharacterGene>hamming().distance(
+				Genotype.of(CharacterChromosome.of("hello")),
+				Genotype.of(CharacterChromosome.of("hallo"))
+			),
+			1.0
+		);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void hammingDifferentLength() {
+		Distance.<BitGene>hamming().distance(
+			Genotype.of(BitChromosome.of(10)),
+			Genotype.of(BitChromosome.of(11))
+		);
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.BitChromosome;
+import org.jenetics.BitGene;
+import org.jenetics.DoubleChromosome;
+import org.jenetics.DoubleGene;
+import org.jenetics.Genotype;
+import org.jenetics.Phenotype;
+import org.jenetics.util.ISeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class DiversityTest {
+
+	private static Genotype<DoubleGene> genotype(final double value) {
+		return Genotype.of(DoubleChromosome.of(DoubleGene.of(value, -100, 100)));
+	}
+
+	@Test
+	public void equalGenotypes() {
+		final Genotype<BitGene> gt = Genotype.of(BitChromosome.of(20));
+		final Diversity diversity = Diversity.of(
+			ISeq.of(gt, gt, Genotype.of(gt.toSeq())),
+			Distance.hamming()
+		);
+
+		Assert.assertEquals(diversity.getSize(), 3);
+		Assert.assertEquals(diversity.getDistinctCount(), 1);
+		Assert.assertEquals(diversity.getNearestNeighbourDistances().getMax(), 0.0);
+	}
+
+	@Test
+	public void nearestNeighbourDistances() {
+		final ISeq<Genotype<DoubleGene>> genotypes = ISeq.of(
+			genotype(0), genotype(1), genotype(3), genotype(7), genotype(7.5)
+		);
+		final Diversity diversity = Diversity.of(genotypes, Distance.euclidean());
+
+		Assert.assertEquals(diversity.getDistinctCount(), 5);
+		Assert.assertEquals(diversity.getDistinctRatio(), 1.0);
+		Assert.assertEquals(diversity.getNearestNeighbourDistances().getCount(), 5);
+		Assert.assertEquals(diversity.getNearestNeighbourDistances().getMin(), 0.5);
+		Assert.assertEquals(diversity.getNearestNeighbourDistances().getMax(), 2.0);
+		Assert.assertEquals(
+			diversity.getNearestNeighbourDistances().getMean(),
+			(1 + 1 + 2 + 0.5 + 0.5)/5.0,
+			1.0E-12
+		);
+	}
+
+	@Test
+	public void evolutionResult() {
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(gt -> gt.getGene().doubleValue(), DoubleChromosome.of(0, 1, 3))
+			.populationSize(50)
+			.build();
+
+		final EvolutionResult<DoubleGene, Double> result = engine.stream()
+			.limit(3)
+			.collect(EvolutionResult.toBestEvolutionResult());
+		final Diversity diversity = result.getDiversity(Distance.euclidean());
+
+		Assert.assertEquals(diversity.getSize(), 50);
+		Assert.assertEquals(
+			diversity,
+			Diversity.of(
+				result.getPopulation().stream()
+					.map(Phenotype::getGenotype)
+					.collect(ISeq.toISeq()),
+				Distance.euclidean()
+			)
+		);
+	}
+
+	@Test
+	public void singleGenotype() {
+		final Diversity diversity = Diversity.of(
+			ISeq.<Genotype<DoubleGene>>of(genotype(1)),
+			Distance.euclidean()
+		);
+
+		Assert.assertEquals(diversity.getDistinctCount(), 1);
+		Assert.assertEquals(diversity.getNearestNeighbourDistances().getCount(), 0);
+	}
+
+}
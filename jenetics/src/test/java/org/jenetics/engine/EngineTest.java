@@ -26,17 +26,36 @@ import static java.lang.Math.sin;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import org.jenetics.AnyChromosome;
+import org.jenetics.AnyGene;
 import org.jenetics.DoubleChromosome;
 import org.jenetics.DoubleGene;
 import org.jenetics.Genotype;
@@ -44,11 +63,16 @@ import org.jenetics.IntegerChromosome;
 import org.jenetics.IntegerGene;
 import org.jenetics.Mutator;
 import org.jenetics.Optimize;
+import org.jenetics.Population;
 import org.jenetics.RouletteWheelSelector;
+import org.jenetics.TruncationSelector;
 import org.jenetics.util.DoubleRange;
+import org.jenetics.util.Factory;
 import org.jenetics.util.IO;
 import org.jenetics.util.ISeq;
 import org.jenetics.util.IntRange;
+import org.jenetics.util.LCG64ShiftRandom;
+import org.jenetics.util.RandomRegistry;
 
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
@@ -209,6 +233,221 @@ public class EngineTest {
 		Assert.assertEquals(result.getInvalidCount(), populationSize);
 	}
 
+	@Test(dataProvider = "executors")
+	public void repairInvalidIndividuals(final Executor executor) {
+		final int populationSize = 100;
+		final AtomicInteger created = new AtomicInteger();
+		final Genotype<DoubleGene> genotype = Genotype.of(DoubleChromosome.of(0, 1));
+
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(
+				gt -> gt.getGene().getAllele(),
+				() -> {
+					created.incrementAndGet();
+					return genotype.newInstance();
+				})
+			.genotypeValidator(gt -> gt.getGene().getAllele() < 0.1)
+			.repair(gt -> Genotype.of(DoubleChromosome.of(
+				gt.getGene().newInstance(gt.getGene().getAllele()/10))))
+			.populationSize(populationSize)
+			.executor(executor)
+			.build();
+
+		final List<EvolutionResult<DoubleGene, Double>> results = engine.stream()
+			.limit(10)
+			.collect(Collectors.toList());
+
+		final int invalids = results.stream()
+			.mapToInt(EvolutionResult::getInvalidCount)
+			.sum();
+		final int kills = results.stream()
+			.mapToInt(EvolutionResult::getKillCount)
+			.sum();
+
+		Assert.assertTrue(invalids > 0);
+		Assert.assertEquals(created.get(), populationSize + kills);
+		Assert.assertTrue(
+			results.get(results.size() - 1).getPopulation().stream()
+				.allMatch(pt -> pt.getGenotype().getGene().getAllele() < 0.1)
+		);
+	}
+
+	@Test(dataProvider = "executors")
+	public void duplicateElimination(final Executor executor) {
+		final Engine<IntegerGene, Integer> engine = Engine
+			.builder(
+				gt -> gt.getGene().getAllele(),
+				Genotype.of(IntegerChromosome.of(0, 1000)))
+			.survivorsSelector(new TruncationSelector<>())
+			.offspringSelector(new TruncationSelector<>())
+			.duplicateElimination(true)
+			.populationSize(50)
+			.executor(executor)
+			.build();
+
+		Assert.assertTrue(engine.builder().isDuplicateElimination());
+		engine.stream()
+			.limit(20)
+			.forEach(result -> {
+				final long offspring = result.getPopulation().stream()
+					.skip(engine.getSurvivorsCount())
+					.map(pt -> pt.getGenotype().getFingerprint())
+					.distinct()
+					.count();
+				Assert.assertEquals(offspring, engine.getOffspringCount());
+			});
+	}
+
+	@Test
+	public void duplicateEliminationWithFingerprintCollision() {
+		// The alleles have the same hash code, which leads to the same
+		// fingerprint of the (different) genotypes.
+		Assert.assertEquals("Aa".hashCode(), "BB".hashCode());
+		final ISeq<Genotype<AnyGene<String>>> genotypes = ISeq.of(
+			Genotype.of(AnyChromosome.of(() -> "Aa")),
+			Genotype.of(AnyChromosome.of(() -> "BB"))
+		);
+		Assert.assertEquals(
+			genotypes.get(0).getFingerprint(),
+			genotypes.get(1).getFingerprint()
+		);
+
+		// The survivor is "Aa" and the offspring is "BB".
+		final Engine<AnyGene<String>, Integer> engine = Engine
+			.builder(
+				gt -> gt.getGene().getAllele().equals("BB") ? 1 : 0,
+				() -> Genotype.of(AnyChromosome.of(() -> "xx")))
+			.survivorsSelector((population, count, opt) -> population.stream()
+				.filter(pt -> pt.getGenotype().getGene().getAllele().equals("Aa"))
+				.limit(count)
+				.collect(Population.toPopulation()))
+			.offspringSelector(new TruncationSelector<>())
+			.alterers(new Mutator<>(0))
+			.duplicateElimination(true)
+			.populationSize(2)
+			.build();
+
+		final EvolutionResult<AnyGene<String>, Integer> result = engine
+			.stream(genotypes)
+			.limit(1)
+			.collect(EvolutionResult.toBestEvolutionResult());
+
+		Assert.assertEquals(
+			result.getPopulation().stream()
+				.map(pt -> pt.getGenotype().getGene().getAllele())
+				.collect(Collectors.toSet()),
+			new HashSet<>(Arrays.asList("Aa", "BB"))
+		);
+	}
+
+	@Test(dataProvider = "executors")
+	public void parallelInitialPopulation(final Executor executor) {
+		final Set<Genotype<DoubleGene>> serial = initialGenotypes(Runnable::run);
+		final Set<Genotype<DoubleGene>> parallel = initialGenotypes(executor);
+
+		Assert.assertEquals(serial.size(), 1000);
+		Assert.assertEquals(parallel, serial);
+	}
+
+	private static Set<Genotype<DoubleGene>>
+	initialGenotypes(final Executor executor) {
+		final Genotype<DoubleGene> genotype = Genotype.of(DoubleChromosome.of(0, 1, 5));
+		final Set<Genotype<DoubleGene>> genotypes = ConcurrentHashMap.newKeySet();
+
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(
+				gt -> gt.getGene().getAllele(),
+				() -> {
+					final Genotype<DoubleGene> gt = genotype.newInstance();
+					genotypes.add(gt);
+					return gt;
+				})
+			.populationSize(1000)
+			.executor(executor)
+			.build();
+
+		RandomRegistry.using(new LCG64ShiftRandom(123), r ->
+			engine.stream().limit(1).forEach(result -> {}));
+
+		return genotypes;
+	}
+
+	private static final class CountingRandom extends Random {
+		private static final long serialVersionUID = 1L;
+
+		static final AtomicInteger INSTANCES = new AtomicInteger();
+
+		CountingRandom(final long seed) {
+			super(seed);
+			INSTANCES.incrementAndGet();
+		}
+	}
+
+	@Test
+	public void initialPopulationCreationRandom() {
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(gt -> gt.getGene().getAllele(), DoubleChromosome.of(0, 1))
+			.populationSize(1000)
+			.executor(ForkJoinPool.commonPool())
+			.creationRandom(CountingRandom::new)
+			.build();
+
+		final int instances = CountingRandom.INSTANCES.get();
+		RandomRegistry.using(new CountingRandom(123), r ->
+			engine.stream().limit(1).forEach(result -> {}));
+
+		// One registry PRNG and 16 chunk PRNGs, of 64 individuals each.
+		Assert.assertEquals(CountingRandom.INSTANCES.get() - instances, 1 + 16);
+		Assert.assertTrue(engine.builder().getCreationRandom().isPresent());
+	}
+
+	@Test
+	public void initialPopulationWithoutCreationRandom() {
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(gt -> gt.getGene().getAllele(), DoubleChromosome.of(0, 1))
+			.populationSize(1000)
+			.executor(ForkJoinPool.commonPool())
+			.build();
+
+		final int instances = CountingRandom.INSTANCES.get();
+		RandomRegistry.using(new CountingRandom(123), r ->
+			engine.stream().limit(1).forEach(result -> {}));
+
+		// The population is created sequentially with the registry PRNG.
+		Assert.assertEquals(CountingRandom.INSTANCES.get() - instances, 1);
+		Assert.assertFalse(engine.builder().getCreationRandom().isPresent());
+	}
+
+	@Test
+	public void bulkInitialPopulation() {
+		final AtomicInteger bulkCount = new AtomicInteger();
+		final Genotype<DoubleGene> genotype = Genotype.of(DoubleChromosome.of(0, 1));
+		final Factory<Genotype<DoubleGene>> factory = new Factory<Genotype<DoubleGene>>() {
+			@Override
+			public Genotype<DoubleGene> newInstance() {
+				return genotype.newInstance();
+			}
+			@Override
+			public ISeq<Genotype<DoubleGene>> newInstances(final int count) {
+				bulkCount.addAndGet(count);
+				return Factory.super.newInstances(count);
+			}
+		};
+
+		final ISeq<Genotype<DoubleGene>> genotypes = ISeq.of(genotype::newInstance, 10);
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(gt -> gt.getGene().getAllele(), factory)
+			.populationSize(500)
+			.build();
+
+		final EvolutionResult<DoubleGene, Double> result = engine.stream(genotypes)
+			.limit(1)
+			.collect(EvolutionResult.toBestEvolutionResult());
+
+		Assert.assertEquals(result.getPopulation().size(), 500);
+		Assert.assertEquals(bulkCount.get(), 490);
+	}
+
 	@Test
 	public void parallelStream() {
 		final Engine<DoubleGene, Double> engine = Engine
@@ -273,6 +512,302 @@ public class EngineTest {
 		}
 	}
 
+	@Test(timeOut = 10_000L)
+	public void threadPerEvaluation() {
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+		final Function<Genotype<DoubleGene>, Double> ff = gt -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException ignore) {
+				Thread.currentThread().interrupt();
+			} finally {
+				running.decrementAndGet();
+			}
+			return gt.getGene().getAllele();
+		};
+
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(ff, DoubleChromosome.of(0, 1))
+			.populationSize(200)
+			.threadPerEvaluation(50)
+			.build();
+
+		final EvolutionResult<DoubleGene, Double> result = engine.stream()
+			.limit(3)
+			.collect(EvolutionResult.toBestEvolutionResult());
+
+		Assert.assertEquals(result.getTotalGenerations(), 3L);
+		Assert.assertTrue(maxRunning.get() <= 50, "Max running: " + maxRunning);
+		Assert.assertTrue(
+			result.getDurations().getEvaluationDuration()
+				.compareTo(Duration.ofMillis(20)) >= 0,
+			"Evaluation duration: " + result.getDurations().getEvaluationDuration()
+		);
+		Assert.assertSame(
+			engine.builder().getEvaluationExecutor(),
+			engine.getEvaluationExecutor()
+		);
+	}
+
+	@Test(timeOut = 20_000L)
+	public void threadPerEvaluationBlocking() {
+		// All evaluations must be in flight at the same time, for passing the
+		// barrier. More blocking evaluations than cores are only possible, if
+		// the evaluating threads don't pin their carrier threads.
+		final int count = 4*Runtime.getRuntime().availableProcessors() + 1;
+		final CyclicBarrier barrier = new CyclicBarrier(count);
+		final AtomicInteger calls = new AtomicInteger();
+		final AtomicInteger timeouts = new AtomicInteger();
+
+		// Only the evaluations of the initial population are waiting.
+		final Function<Genotype<DoubleGene>, Double> ff = gt -> {
+			if (calls.incrementAndGet() <= count) {
+				try {
+					barrier.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (BrokenBarrierException|TimeoutException e) {
+					timeouts.incrementAndGet();
+				}
+			}
+			return gt.getGene().getAllele();
+		};
+
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(ff, DoubleChromosome.of(0, 1))
+			.populationSize(count)
+			.threadPerEvaluation()
+			.build();
+
+		final EvolutionResult<DoubleGene, Double> result = engine.stream()
+			.limit(1)
+			.collect(EvolutionResult.toBestEvolutionResult());
+
+		Assert.assertEquals(result.getPopulation().size(), count);
+		Assert.assertEquals(timeouts.get(), 0);
+	}
+
+	@Test(timeOut = 10_000L)
+	public void evaluationTimeout() {
+		final Function<Genotype<DoubleGene>, Double> ff = gt -> {
+			if (gt.getGene().getAllele() > 0.9) {
+				try {
+					Thread.sleep(60_000);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return gt.getGene().getAllele();
+		};
+
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(ff, DoubleChromosome.of(0, 1))
+			.populationSize(100)
+			.executor(Executors.newFixedThreadPool(20))
+			.evaluationTimeout(Duration.ofMillis(50), -1.0)
+			.build();
+
+		final EvolutionResult<DoubleGene, Double> result = engine.stream()
+			.limit(3)
+			.collect(EvolutionResult.toBestEvolutionResult());
+
+		Assert.assertTrue(result.getBestFitness() <= 0.9);
+
+		final int timeouts = engine.stream()
+			.limit(3)
+			.mapToInt(r -> r.getEvaluationCounts().getTimeoutCount())
+			.sum();
+		Assert.assertTrue(timeouts > 0, "Timeouts: " + timeouts);
+
+		((ExecutorService)engine.getExecutor()).shutdownNow();
+	}
+
+	@Test(timeOut = 20_000L)
+	public void evaluationTimeoutWithThreadPerEvaluation() {
+		// The hanging evaluations are ignoring the interruption and are
+		// holding their threads until the end of the test.
+		final CountDownLatch release = new CountDownLatch(1);
+		final Function<Genotype<DoubleGene>, Double> ff = gt -> {
+			if (gt.getGene().getAllele() > 0.8) {
+				boolean interrupted = false;
+				while (release.getCount() > 0) {
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						interrupted = true;
+					}
+				}
+				if (interrupted) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return gt.getGene().getAllele();
+		};
+
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(ff, DoubleChromosome.of(0, 1))
+			.populationSize(50)
+			.threadPerEvaluation(4)
+			.evaluationTimeout(Duration.ofMillis(100), -1.0)
+			.build();
+
+		try {
+			final List<EvolutionResult<DoubleGene, Double>> results =
+				engine.stream()
+					.limit(5)
+					.collect(Collectors.toList());
+
+			Assert.assertEquals(results.size(), 5);
+			Assert.assertTrue(
+				results.stream()
+					.mapToInt(r -> r.getEvaluationCounts().getTimeoutCount())
+					.sum() > 0
+			);
+			Assert.assertTrue(
+				results.get(4).getBestFitness() <= 0.8,
+				"Best fitness: " + results.get(4).getBestFitness()
+			);
+		} finally {
+			release.countDown();
+		}
+	}
+
+	@Test(timeOut = 10_000L)
+	public void cancelEvaluationByExecutionTime() {
+		final Function<Genotype<DoubleGene>, Double> ff = gt -> {
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return gt.getGene().getAllele();
+		};
+
+		// One generation needs at least 2 seconds for the evaluation.
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(ff, DoubleChromosome.of(0, 1))
+			.populationSize(200)
+			.executor((Executor)Runnable::run)
+			.build();
+
+		final long start = System.nanoTime();
+		final EvolutionResult<DoubleGene, Double> result = engine.stream()
+			.limit(limit.byExecutionTime(Duration.ofMillis(200)))
+			.collect(EvolutionResult.toBestEvolutionResult());
+		final long millis = (System.nanoTime() - start)/1_000_000;
+
+		Assert.assertTrue(millis < 1500, "Execution time: " + millis);
+		Assert.assertNotNull(result);
+		Assert.assertTrue(result.getPopulation().size() > 0);
+		Assert.assertTrue(
+			result.getEvaluationCounts().getEvaluationCount() < 200,
+			"Evaluations: " + result.getEvaluationCounts()
+		);
+		result.getPopulation()
+			.forEach(pt -> Assert.assertTrue(pt.isEvaluated()));
+	}
+
+	@Test
+	public void cancelFirstEvaluationByExecutionTime() {
+		final Function<Genotype<DoubleGene>, Double> ff = gt -> {
+			try {
+				Thread.sleep(1000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return gt.getGene().getAllele();
+		};
+
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(ff, DoubleChromosome.of(0, 1))
+			.populationSize(10)
+			.executor((Executor)Runnable::run)
+			.build();
+
+		final long start = System.nanoTime();
+		final long count = engine.stream()
+			.limit(limit.byExecutionTime(Duration.ZERO))
+			.count();
+		final long millis = (System.nanoTime() - start)/1_000_000;
+
+		Assert.assertEquals(count, 0);
+		Assert.assertTrue(millis < 500, "Execution time: " + millis);
+	}
+
+	@Test
+	public void surrogateScreening() {
+		final Function<Genotype<DoubleGene>, Double> ff =
+			gt -> gt.getGene().getAllele();
+
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(ff, DoubleChromosome.of(0, 1))
+			.populationSize(100)
+			.surrogate(() -> Surrogate.nearestNeighbours(3, 500), 0.25)
+			.build();
+
+		final EvaluationCounts counts = engine.stream()
+			.limit(10)
+			.map(EvolutionResult::getEvaluationCounts)
+			.reduce(EvaluationCounts.ZERO, EvaluationCounts::plus);
+
+		Assert.assertTrue(counts.getSurrogateCount() > 0, counts.toString());
+		Assert.assertTrue(
+			counts.getEvaluationCount() < counts.getSurrogateCount(),
+			counts.toString()
+		);
+	}
+
+	@Test
+	public void surrogatePerStream() {
+		final Function<Genotype<DoubleGene>, Double> ff =
+			gt -> gt.getGene().getAllele();
+
+		final List<AtomicInteger> updates = new CopyOnWriteArrayList<>();
+		final Supplier<Surrogate<DoubleGene, Double>> surrogates = () -> {
+			final AtomicInteger count = new AtomicInteger();
+			updates.add(count);
+			return new Surrogate<DoubleGene, Double>() {
+				@Override
+				public Double predict(final Genotype<DoubleGene> genotype) {
+					return null;
+				}
+				@Override
+				public void update(
+					final Genotype<DoubleGene> genotype,
+					final Double fitness
+				) {
+					count.incrementAndGet();
+				}
+			};
+		};
+
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(ff, DoubleChromosome.of(0, 1))
+			.populationSize(20)
+			.surrogate(surrogates, 1.0)
+			.build();
+
+		final Iterator<EvolutionResult<DoubleGene, Double>> it1 = engine.iterator();
+		final Iterator<EvolutionResult<DoubleGene, Double>> it2 = engine.builder()
+			.build()
+			.iterator();
+
+		long evaluations1 = 0;
+		long evaluations2 = 0;
+		for (int i = 0; i < 5; ++i) {
+			evaluations1 += it1.next().getEvaluationCounts().getEvaluationCount();
+			if (i%2 == 0) {
+				evaluations2 += it2.next().getEvaluationCounts().getEvaluationCount();
+			}
+		}
+
+		Assert.assertEquals(updates.size(), 2);
+		Assert.assertEquals(updates.get(0).get(), evaluations1);
+		Assert.assertEquals(updates.get(1).get(), evaluations2);
+	}
+
 	@DataProvider(name = "executors")
 	public Object[][] executors() {
 		return new Object[][] {
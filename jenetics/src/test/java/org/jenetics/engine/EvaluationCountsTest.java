@@ -0,0 +1,65 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.util.Factory;
+import org.jenetics.util.ObjectTester;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+@Test
+public class EvaluationCountsTest extends ObjectTester<EvaluationCounts> {
+
+	@Override
+	protected Factory<EvaluationCounts> factory() {
+		return () -> {
+			final Random random = RandomRegistry.getRandom();
+
+			return EvaluationCounts.of(
+				random.nextInt(1_000_000),
+				random.nextInt(1_000_000),
+				random.nextInt(1_000_000),
+				random.nextInt(1_000_000)
+			);
+		};
+	}
+
+	@Test
+	public void plus() {
+		final EvaluationCounts counts = EvaluationCounts.of(10, 2, 3, 4)
+			.plus(EvaluationCounts.of(5, 1, 0, 2));
+
+		Assert.assertEquals(counts, EvaluationCounts.of(15, 3, 3, 6));
+		Assert.assertEquals(counts.plus(EvaluationCounts.ZERO), counts);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void negativeCount() {
+		EvaluationCounts.of(-1, 0, 0);
+	}
+
+}
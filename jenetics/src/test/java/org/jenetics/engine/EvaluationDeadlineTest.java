@@ -0,0 +1,192 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import org.jenetics.DoubleChromosome;
+import org.jenetics.DoubleGene;
+import org.jenetics.Genotype;
+import org.jenetics.Phenotype;
+import org.jenetics.Population;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class EvaluationDeadlineTest {
+
+	private final ExecutorService _executor = Executors.newFixedThreadPool(20);
+
+	@AfterClass
+	public void shutdown() {
+		_executor.shutdownNow();
+	}
+
+	private static Population<DoubleGene, Double> population(
+		final int size,
+		final Function<Genotype<DoubleGene>, Double> ff
+	) {
+		return new Population<DoubleGene, Double>(size)
+			.fill(() -> Phenotype.of(
+				Genotype.of(DoubleChromosome.of(0, 1)), 1, ff),
+				size
+			);
+	}
+
+	private static Function<Genotype<DoubleGene>, Double>
+	sleeping(final long millis) {
+		return gt -> {
+			try {
+				Thread.sleep(millis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CancellationException();
+			}
+			return gt.getGene().getAllele();
+		};
+	}
+
+	@Test(timeOut = 10_000L)
+	public void noTimeout() {
+		final Population<DoubleGene, Double> population =
+			population(50, sleeping(1));
+
+		final EvaluationDeadline<Double> deadline = new EvaluationDeadline<>(
+			Duration.ofSeconds(5), null, null, -1.0
+		);
+
+		final EvaluationCounts counts = deadline.evaluate(population, _executor, Cancellation.NONE);
+		Assert.assertEquals(counts, EvaluationCounts.of(50, 0, 0));
+		population.forEach(pt -> {
+			Assert.assertTrue(pt.isEvaluated());
+			Assert.assertEquals(pt.getFitness(), pt.getGenotype().getGene().getAllele());
+		});
+	}
+
+	@Test(timeOut = 10_000L)
+	public void individualTimeout() {
+		final Population<DoubleGene, Double> population = population(20, gt -> {
+			if (gt.getGene().getAllele() < 0.5) {
+				return sleeping(1).apply(gt);
+			} else {
+				return sleeping(60_000).apply(gt);
+			}
+		});
+		final long slow = population.stream()
+			.filter(pt -> pt.getGenotype().getGene().getAllele() >= 0.5)
+			.count();
+
+		final EvaluationDeadline<Double> deadline = new EvaluationDeadline<>(
+			Duration.ofMillis(100), null, null, -1.0
+		);
+
+		final EvaluationCounts counts = deadline.evaluate(population, _executor, Cancellation.NONE);
+		Assert.assertEquals(counts.getEvaluationCount(), 20);
+		Assert.assertEquals(counts.getTimeoutCount(), slow);
+		Assert.assertEquals(
+			population.stream().filter(pt -> pt.getFitness() == -1.0).count(),
+			slow
+		);
+	}
+
+	@Test(timeOut = 10_000L)
+	public void generationTimeout() {
+		final Population<DoubleGene, Double> population =
+			population(10, sleeping(60_000));
+
+		final EvaluationDeadline<Double> deadline = new EvaluationDeadline<>(
+			null, Duration.ofMillis(200), null, -1.0
+		);
+
+		final EvaluationCounts counts = deadline.evaluate(population, _executor, Cancellation.NONE);
+		Assert.assertEquals(counts, EvaluationCounts.of(10, 10, 0));
+		population.forEach(pt -> Assert.assertEquals(pt.getFitness(), -1.0));
+	}
+
+	@Test(timeOut = 10_000L)
+	public void speculation() {
+		final AtomicInteger calls = new AtomicInteger();
+		final Population<DoubleGene, Double> population = population(1, gt ->
+			calls.incrementAndGet() == 1
+				? sleeping(60_000).apply(gt)
+				: gt.getGene().getAllele()
+		);
+
+		final EvaluationDeadline<Double> deadline = new EvaluationDeadline<>(
+			null, null, Duration.ofMillis(50), null
+		);
+
+		final EvaluationCounts counts = deadline.evaluate(population, _executor, Cancellation.NONE);
+		Assert.assertEquals(counts, EvaluationCounts.of(1, 0, 1));
+		Assert.assertEquals(
+			population.get(0).getFitness(),
+			population.get(0).getGenotype().getGene().getAllele()
+		);
+	}
+
+	@Test(timeOut = 10_000L)
+	public void evaluatedIndividuals() {
+		final Population<DoubleGene, Double> population =
+			population(10, sleeping(1));
+		population.get(0).evaluate();
+		population.get(5).evaluate();
+
+		final EvaluationDeadline<Double> deadline = new EvaluationDeadline<>(
+			Duration.ofSeconds(5), null, null, -1.0
+		);
+
+		final EvaluationCounts counts = deadline.evaluate(population, _executor, Cancellation.NONE);
+		Assert.assertEquals(counts.getEvaluationCount(), 8);
+	}
+
+	@Test(timeOut = 10_000L)
+	public void cancellation() {
+		final Population<DoubleGene, Double> population =
+			population(10, sleeping(60_000));
+
+		final long start = System.nanoTime();
+		final Cancellation cancellation = Cancellation.NONE
+			.or(() -> System.nanoTime() - start > 100_000_000L);
+
+		final EvaluationDeadline<Double> deadline = new EvaluationDeadline<>(
+			Duration.ofSeconds(60), null, null, -1.0
+		);
+
+		final EvaluationCounts counts =
+			deadline.evaluate(population, _executor, cancellation);
+		Assert.assertEquals(counts, EvaluationCounts.ZERO);
+		population.forEach(pt -> Assert.assertFalse(pt.isEvaluated()));
+	}
+
+	@Test(expectedExceptions = NullPointerException.class)
+	public void missingPenalty() {
+		new EvaluationDeadline<Double>(Duration.ofSeconds(1), null, null, null);
+	}
+
+}
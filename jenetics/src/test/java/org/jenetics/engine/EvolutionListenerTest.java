@@ -0,0 +1,209 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.Alterer;
+import org.jenetics.DoubleChromosome;
+import org.jenetics.DoubleGene;
+import org.jenetics.Genotype;
+import org.jenetics.Mutator;
+import org.jenetics.engine.EvolutionListener.Stage;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class EvolutionListenerTest {
+
+	private static final class Recorder implements EvolutionListener {
+		final Map<Stage, AtomicInteger> started = new ConcurrentHashMap<>();
+		final Map<Stage, AtomicInteger> finished = new ConcurrentHashMap<>();
+		final AtomicInteger alterations = new AtomicInteger();
+		final AtomicInteger alterers = new AtomicInteger();
+		final AtomicLong evaluated = new AtomicLong();
+
+		@Override
+		public void stageStarted(
+			final Stage stage,
+			final long generation,
+			final Duration queued
+		) {
+			Assert.assertFalse(queued.isNegative());
+			started.computeIfAbsent(stage, s -> new AtomicInteger())
+				.incrementAndGet();
+		}
+
+		@Override
+		public void stageFinished(
+			final Stage stage,
+			final long generation,
+			final Duration duration,
+			final long allocated
+		) {
+			Assert.assertFalse(duration.isNegative());
+			finished.computeIfAbsent(stage, s -> new AtomicInteger())
+				.incrementAndGet();
+		}
+
+		@Override
+		public void batchEvaluated(
+			final long generation,
+			final int size,
+			final Duration queued,
+			final Duration duration
+		) {
+			Assert.assertTrue(size > 0);
+			evaluated.addAndGet(size);
+		}
+
+		@Override
+		public void altered(
+			final long generation,
+			final Alterer<?, ?> alterer,
+			final int alterations,
+			final Duration duration
+		) {
+			alterers.incrementAndGet();
+			this.alterations.addAndGet(alterations);
+		}
+
+		int started(final Stage stage) {
+			return started.getOrDefault(stage, new AtomicInteger()).get();
+		}
+
+		int finished(final Stage stage) {
+			return finished.getOrDefault(stage, new AtomicInteger()).get();
+		}
+	}
+
+	@Test
+	public void stageEvents() {
+		final Recorder recorder = new Recorder();
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(
+				gt -> gt.getGene().doubleValue(),
+				Genotype.of(DoubleChromosome.of(0, 1)))
+			.populationSize(50)
+			.listener(recorder)
+			.build();
+
+		final long evaluations = engine.stream()
+			.limit(10)
+			.mapToLong(r -> r.getEvaluationCounts().getEvaluationCount())
+			.sum();
+
+		for (Stage stage : Stage.values()) {
+			Assert.assertEquals(recorder.started(stage), 10, stage.name());
+			Assert.assertEquals(recorder.finished(stage), 10, stage.name());
+		}
+		Assert.assertEquals(recorder.evaluated.get(), evaluations);
+	}
+
+	@Test
+	public void altererEvents() {
+		final Recorder recorder = new Recorder();
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(
+				gt -> gt.getGene().doubleValue(),
+				Genotype.of(DoubleChromosome.of(0, 1)))
+			.listener(recorder)
+			.build();
+
+		final int alterations = engine.stream()
+			.limit(10)
+			.mapToInt(EvolutionResult::getAlterCount)
+			.sum();
+
+		Assert.assertEquals(recorder.alterers.get(), 2*10);
+		Assert.assertEquals(recorder.alterations.get(), alterations);
+	}
+
+	@Test
+	public void builderCopy() {
+		final Recorder recorder = new Recorder();
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(
+				gt -> gt.getGene().doubleValue(),
+				Genotype.of(DoubleChromosome.of(0, 1)))
+			.alterers(new Mutator<>(0.5))
+			.listener(recorder)
+			.build();
+
+		final Engine.Builder<DoubleGene, Double> builder = engine.builder();
+		Assert.assertSame(builder.getListener().orElse(null), recorder);
+		Assert.assertSame(builder.copy().getListener().orElse(null), recorder);
+
+		builder.build().stream().limit(3).forEach(r -> {});
+		Assert.assertEquals(recorder.alterers.get(), 3);
+	}
+
+	@Test
+	public void noListener() {
+		final Engine.Builder<DoubleGene, Double> builder = Engine
+			.builder(
+				gt -> gt.getGene().doubleValue(),
+				Genotype.of(DoubleChromosome.of(0, 1)));
+
+		Assert.assertFalse(builder.getListener().isPresent());
+	}
+
+	@Test
+	public void compositeListener() {
+		final Recorder recorder1 = new Recorder();
+		final Recorder recorder2 = new Recorder();
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(
+				gt -> gt.getGene().doubleValue(),
+				Genotype.of(DoubleChromosome.of(0, 1)))
+			.listener(EvolutionListener.of(recorder1, recorder2))
+			.build();
+
+		engine.stream().limit(5).forEach(r -> {});
+
+		Assert.assertEquals(recorder1.finished(Stage.EVOLVE), 5);
+		Assert.assertEquals(recorder2.finished(Stage.EVOLVE), 5);
+		Assert.assertEquals(recorder1.alterers.get(), recorder2.alterers.get());
+	}
+
+	@Test
+	public void jfrListener() {
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(
+				gt -> gt.getGene().doubleValue(),
+				Genotype.of(DoubleChromosome.of(0, 1)))
+			.listener(EvolutionListener.jfr())
+			.build();
+
+		final EvolutionResult<DoubleGene, Double> result = engine.stream()
+			.limit(5)
+			.collect(EvolutionResult.toBestEvolutionResult());
+
+		Assert.assertEquals(result.getTotalGenerations(), 5);
+	}
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.DoubleChromosome;
+import org.jenetics.DoubleGene;
+import org.jenetics.Genotype;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class EvolutionMetricsTest {
+
+	private static final class ManualClock extends Clock {
+		Instant now = Instant.ofEpochSecond(1000);
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+
+		@Override public ZoneId getZone() { return null; }
+		@Override public Clock withZone(ZoneId zone) { return null; }
+	}
+
+	private static Engine<DoubleGene, Double> engine() {
+		return Engine
+			.builder(
+				gt -> gt.getGene().doubleValue(),
+				Genotype.of(DoubleChromosome.of(0, 1)))
+			.populationSize(50)
+			.build();
+	}
+
+	@Test
+	public void predefinedMetrics() {
+		final EvolutionMetrics metrics = EvolutionMetrics.of();
+		final long evaluations = engine().stream()
+			.limit(20)
+			.peek(metrics)
+			.mapToLong(r -> r.getEvaluationCounts().getEvaluationCount())
+			.sum();
+
+		final MetricsSnapshot snapshot = metrics.snapshot();
+		Assert.assertEquals(
+			snapshot.getCounters().get(EvolutionMetrics.GENERATIONS),
+			Long.valueOf(20)
+		);
+		Assert.assertEquals(
+			snapshot.getCounters().get(EvolutionMetrics.EVALUATIONS),
+			Long.valueOf(evaluations)
+		);
+		Assert.assertEquals(snapshot.getGauges().get("generation"), 20.0);
+
+		final double best = snapshot.getGauges().get("fitness.best");
+		Assert.assertTrue(best >= snapshot.getGauges().get("fitness.p99"));
+		Assert.assertTrue(
+			snapshot.getGauges().get("fitness.p99") >=
+			snapshot.getGauges().get("fitness.p50")
+		);
+
+		for (EvolutionListener.Stage stage : EvolutionListener.Stage.values()) {
+			final String name = stage.name().toLowerCase().replace('_', '.');
+			Assert.assertEquals(snapshot.getHistograms().get(name).getCount(), 20);
+		}
+	}
+
+	@Test
+	public void slidingWindow() {
+		final ManualClock clock = new ManualClock();
+		final EvolutionMetrics metrics =
+			EvolutionMetrics.of(Duration.ofSeconds(10), clock);
+		final LatencyHistogram histogram = metrics.histogram("latency");
+
+		metrics.counter("count").add(100);
+		histogram.record(Duration.ofMillis(100));
+		clock.now = clock.now.plusSeconds(10);
+		MetricsSnapshot snapshot = metrics.snapshot();
+		Assert.assertEquals(snapshot.getSpan(), Duration.ofSeconds(10));
+		Assert.assertEquals(snapshot.getRates().get("count"), 10.0);
+		Assert.assertEquals(snapshot.getHistograms().get("latency").getCount(), 1);
+
+		metrics.counter("count").add(50);
+		histogram.record(Duration.ofMillis(10));
+		histogram.record(Duration.ofMillis(10));
+		// The window can't start within the previous snapshot interval.
+		clock.now = clock.now.plusSeconds(5);
+		snapshot = metrics.snapshot();
+		Assert.assertEquals(snapshot.getSpan(), Duration.ofSeconds(15));
+		Assert.assertEquals(snapshot.getCounters().get("count"), Long.valueOf(150));
+		Assert.assertEquals(snapshot.getRates().get("count"), 10.0);
+		Assert.assertEquals(snapshot.getHistograms().get("latency").getCount(), 3);
+
+		clock.now = clock.now.plusSeconds(5);
+		snapshot = metrics.snapshot();
+		Assert.assertEquals(snapshot.getSpan(), Duration.ofSeconds(10));
+		Assert.assertEquals(snapshot.getRates().get("count"), 5.0);
+		Assert.assertEquals(snapshot.getHistograms().get("latency").getCount(), 2);
+		Assert.assertTrue(
+			snapshot.getHistograms().get("latency").getMax().toMillis() < 20
+		);
+
+		clock.now = clock.now.plusSeconds(10);
+		snapshot = metrics.snapshot();
+		Assert.assertEquals(snapshot.getRates().get("count"), 0.0);
+		Assert.assertEquals(snapshot.getHistograms().get("latency").getCount(), 0);
+	}
+
+	@Test
+	public void customGauge() {
+		final EvolutionMetrics metrics = EvolutionMetrics.of();
+		metrics.gauge("answer", () -> 42);
+		Assert.assertEquals(metrics.snapshot().getGauges().get("answer"), 42.0);
+		Assert.assertTrue(
+			Double.isNaN(metrics.snapshot().getGauges().get("fitness.best"))
+		);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void zeroWindow() {
+		EvolutionMetrics.of(Duration.ZERO);
+	}
+
+	@Test
+	public void jsonLinesFile() throws IOException {
+		final EvolutionMetrics metrics = EvolutionMetrics.of();
+		engine().stream()
+			.limit(5)
+			.forEach(metrics);
+
+		final Path path = Files.createTempFile("metrics-", ".jsonl");
+		try {
+			Files.delete(path);
+			final MetricsExporter exporter = MetricsExporter.jsonLines(path);
+			exporter.export(metrics.snapshot());
+			exporter.export(metrics.snapshot());
+
+			final List<String> lines = Files.readAllLines(path);
+			Assert.assertEquals(lines.size(), 2);
+			for (String line : lines) {
+				Assert.assertTrue(line.startsWith("{\"time\":\""), line);
+				Assert.assertTrue(line.endsWith("}}"), line);
+				Assert.assertTrue(
+					line.contains("\"generations\":{\"total\":5,\"rate\":"),
+					line
+				);
+				Assert.assertTrue(line.contains("\"evolve\":{\"count\":5,"), line);
+			}
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void jsonEscaping() throws IOException {
+		final EvolutionMetrics metrics = EvolutionMetrics.of();
+		metrics.gauge("quote\"\n", () -> Double.NaN);
+
+		final StringWriter out = new StringWriter();
+		MetricsExporter.jsonLines(out).export(metrics.snapshot());
+
+		Assert.assertTrue(out.toString().contains("\"quote\\\"\\n\":null"));
+		Assert.assertTrue(out.toString().endsWith("}}\n"));
+	}
+
+}
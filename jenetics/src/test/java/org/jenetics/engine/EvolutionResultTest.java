@@ -21,6 +21,9 @@ package org.jenetics.engine;
 
 import static org.jenetics.engine.EvolutionResult.toBestEvolutionResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Random;
@@ -39,6 +42,7 @@ import org.jenetics.Optimize;
 import org.jenetics.Phenotype;
 import org.jenetics.Population;
 import org.jenetics.util.Factory;
+import org.jenetics.util.IO;
 import org.jenetics.util.ObjectTester;
 import org.jenetics.util.RandomRegistry;
 
@@ -76,7 +80,12 @@ public class EvolutionResultTest
 				),
 				random.nextInt(100),
 				random.nextInt(100),
-				random.nextInt(100)
+				random.nextInt(100),
+				EvaluationCounts.of(
+					random.nextInt(100),
+					random.nextInt(100),
+					random.nextInt(100)
+				)
 			);
 		};
 	}
@@ -154,6 +163,61 @@ public class EvolutionResultTest
 		Assert.assertEquals(minResult.getWorstFitness().intValue(), length - 1);
 	}
 
+	@Test
+	public void scalarParetoFront() {
+		final Function<Genotype<IntegerGene>, Integer> ff = gt -> gt.getGene().getAllele();
+
+		final Population<IntegerGene, Integer> population = new Population<>();
+		for (int i = 0; i < 10; ++i) {
+			population.add(Phenotype.of(
+				Genotype.of(IntegerChromosome.of(IntegerGene.of(i%4, 0, 10))),
+				1,
+				ff
+			));
+		}
+
+		final EvolutionResult<IntegerGene, Integer> maxResult = EvolutionResult.of(
+			Optimize.MAXIMUM, population, 0, 0, EvolutionDurations.ZERO, 0, 0, 0
+		);
+		Assert.assertEquals(maxResult.getParetoFront().length(), 2);
+		Assert.assertTrue(maxResult.getParetoFront().forAll(pt -> pt.getFitness() == 3));
+
+		final EvolutionResult<IntegerGene, Integer> minResult = EvolutionResult.of(
+			Optimize.MINIMUM, population, 0, 0, EvolutionDurations.ZERO, 0, 0, 0
+		);
+		Assert.assertEquals(minResult.getParetoFront().length(), 3);
+		Assert.assertTrue(minResult.getParetoFront().forAll(pt -> pt.getFitness() == 0));
+	}
+
+	@Test
+	public void serializedParetoFront() throws IOException {
+		final Function<Genotype<IntegerGene>, Integer> ff = gt -> gt.getGene().getAllele();
+
+		final Population<IntegerGene, Integer> population = new Population<>();
+		for (int i = 0; i < 10; ++i) {
+			population.add(Phenotype.of(
+				Genotype.of(IntegerChromosome.of(IntegerGene.of(i%4, 0, 10))),
+				1,
+				ff
+			));
+		}
+
+		final EvolutionResult<IntegerGene, Integer> result = EvolutionResult.of(
+			Optimize.MAXIMUM, population, 0, 0, EvolutionDurations.ZERO, 0, 0, 0
+		);
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		IO.object.write(result, out);
+		final ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+		final EvolutionResult<?, ?> copy = (EvolutionResult<?, ?>)IO.object.read(in);
+
+		Assert.assertEquals(copy, result);
+		Assert.assertEquals(copy.getEvaluationCounts(), EvaluationCounts.ZERO);
+		Assert.assertEquals(copy.getParetoFront().length(), 2);
+		Assert.assertTrue(copy.getParetoFront()
+			.forAll(pt -> pt.getFitness().equals(3)));
+	}
+
 	@Test
 	public void compareTo() {
 		final int length = 100;
@@ -0,0 +1,87 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.DoubleChromosome;
+import org.jenetics.DoubleGene;
+import org.jenetics.Genotype;
+import org.jenetics.stat.DoubleMomentStatistics;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class EvolutionStatisticsTest {
+
+	@Test
+	public void numberQuantiles() {
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(
+				gt -> gt.getGene().doubleValue(),
+				Genotype.of(DoubleChromosome.of(0, 1)))
+			.populationSize(50)
+			.build();
+
+		final EvolutionStatistics<Double, DoubleMomentStatistics> statistics =
+			EvolutionStatistics.ofNumber();
+
+		engine.stream()
+			.limit(20)
+			.forEach(statistics);
+
+		Assert.assertEquals(statistics.getFitnessQuantiles().getCount(), 20*50);
+		Assert.assertEquals(
+			statistics.getFitnessQuantiles().getMax(),
+			statistics.getFitness().getMax()
+		);
+		Assert.assertEquals(
+			statistics.getFitnessQuantiles().getMin(),
+			statistics.getFitness().getMin()
+		);
+		Assert.assertEquals(statistics.getEvolveDurationQuantiles().getCount(), 20);
+		Assert.assertTrue(
+			statistics.getEvolveDurationQuantiles().quantile(0.9) <=
+			statistics.getEvolveDuration().getMax()
+		);
+		Assert.assertTrue(statistics.toString().contains("p99"));
+	}
+
+	@Test
+	public void comparableQuantiles() {
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(
+				gt -> gt.getGene().doubleValue(),
+				Genotype.of(DoubleChromosome.of(0, 1)))
+			.build();
+
+		final EvolutionStatistics<Double, ?> statistics =
+			EvolutionStatistics.ofComparable();
+
+		engine.stream()
+			.limit(5)
+			.forEach(statistics);
+
+		Assert.assertEquals(statistics.getFitnessQuantiles().getCount(), 0);
+		Assert.assertEquals(statistics.getEvaluationDurationQuantiles().getCount(), 5);
+	}
+
+}
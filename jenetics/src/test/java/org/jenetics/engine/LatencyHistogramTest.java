@@ -0,0 +1,118 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import java.time.Duration;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class LatencyHistogramTest {
+
+	@Test
+	public void indexRange() {
+		Assert.assertEquals(LatencyHistogram.index(0), 0);
+		Assert.assertEquals(
+			LatencyHistogram.index(Long.MAX_VALUE),
+			LatencyHistogram.BUCKETS - 1
+		);
+
+		int previous = 0;
+		for (long value = 1; value > 0 && value < Long.MAX_VALUE/3; value += value/3 + 1) {
+			final int index = LatencyHistogram.index(value);
+			Assert.assertTrue(index >= previous);
+			Assert.assertEquals(
+				LatencyHistogram.index(LatencyHistogram.value(index)),
+				index
+			);
+			previous = index;
+		}
+	}
+
+	@Test
+	public void relativeError() {
+		final Random random = new Random(123);
+		for (int i = 0; i < 100_000; ++i) {
+			final long value = random.nextLong() >>> (1 + random.nextInt(63));
+			final long estimate = LatencyHistogram.value(LatencyHistogram.index(value));
+			Assert.assertTrue(
+				Math.abs(estimate - value) <= value/16.0,
+				value + " -> " + estimate
+			);
+		}
+	}
+
+	@Test
+	public void quantiles() {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 1000; ++i) {
+			histogram.record(Duration.ofMillis(i));
+		}
+		Assert.assertEquals(histogram.getCount(), 1000);
+
+		final MetricsSnapshot.Histogram snapshot =
+			new MetricsSnapshot.Histogram(histogram.counts());
+		Assert.assertEquals(snapshot.getCount(), 1000);
+		assertClose(snapshot.getMin(), Duration.ofMillis(1));
+		assertClose(snapshot.quantile(0.5), Duration.ofMillis(500));
+		assertClose(snapshot.quantile(0.9), Duration.ofMillis(900));
+		assertClose(snapshot.quantile(0.99), Duration.ofMillis(990));
+		assertClose(snapshot.getMax(), Duration.ofMillis(1000));
+		assertClose(snapshot.getMean(), Duration.ofNanos(500_500_000));
+	}
+
+	@Test
+	public void negativeValue() {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(-10);
+
+		final MetricsSnapshot.Histogram snapshot =
+			new MetricsSnapshot.Histogram(histogram.counts());
+		Assert.assertEquals(snapshot.getMax(), Duration.ZERO);
+	}
+
+	@Test
+	public void empty() {
+		final MetricsSnapshot.Histogram snapshot =
+			new MetricsSnapshot.Histogram(new LatencyHistogram().counts());
+		Assert.assertEquals(snapshot.getCount(), 0);
+		Assert.assertEquals(snapshot.quantile(0.5), Duration.ZERO);
+		Assert.assertEquals(snapshot.getMean(), Duration.ZERO);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void invalidQuantile() {
+		new MetricsSnapshot.Histogram(new LatencyHistogram().counts())
+			.quantile(1.1);
+	}
+
+	private static void assertClose(final Duration actual, final Duration expected) {
+		final double error = Math.abs(actual.toNanos() - expected.toNanos());
+		Assert.assertTrue(
+			error <= expected.toNanos()/16.0,
+			actual + " != " + expected
+		);
+	}
+
+}
@@ -0,0 +1,307 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import org.jenetics.DoubleChromosome;
+import org.jenetics.DoubleGene;
+import org.jenetics.Genotype;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class ProcessEvaluatorTest {
+
+	private static final class Square
+		implements Function<Genotype<DoubleGene>, Double>, Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public Double apply(final Genotype<DoubleGene> gt) {
+			final double value = gt.getGene().doubleValue();
+			return value*value;
+		}
+	}
+
+	// Terminates the worker process, if the marker file doesn't exist.
+	private static final class Crashing
+		implements Function<Genotype<DoubleGene>, Double>, Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final String _marker;
+
+		Crashing(final String marker) {
+			_marker = marker;
+		}
+
+		@Override
+		public Double apply(final Genotype<DoubleGene> gt) {
+			try {
+				if (new File(_marker).createNewFile()) {
+					Runtime.getRuntime().halt(1);
+				}
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+			return gt.getGene().doubleValue();
+		}
+	}
+
+	private static final class Failing
+		implements Function<Genotype<DoubleGene>, Double>, Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public Double apply(final Genotype<DoubleGene> gt) {
+			throw new IllegalArgumentException("Invalid genotype.");
+		}
+	}
+
+	// Never returns for genotypes with a value greater than five.
+	private static final class Hanging
+		implements Function<Genotype<DoubleGene>, Double>, Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public Double apply(final Genotype<DoubleGene> gt) {
+			while (gt.getGene().doubleValue() > 5) {
+				try {
+					Thread.sleep(Long.MAX_VALUE);
+				} catch (InterruptedException ignore) {
+				}
+			}
+			return gt.getGene().doubleValue();
+		}
+	}
+
+	private static List<Genotype<DoubleGene>> genotypes(final int count) {
+		return IntStream.range(0, count)
+			.mapToObj(i -> Genotype.of(DoubleChromosome.of(0, 10)))
+			.collect(Collectors.toList());
+	}
+
+	@DataProvider(name = "transports")
+	public Object[][] transports() {
+		return new Object[][] {
+			{ProcessTransport.pipes()},
+			{ProcessTransport.sockets()}
+		};
+	}
+
+	@Test(dataProvider = "transports", timeOut = 60_000L)
+	public void evaluate(final ProcessTransport transport) {
+		final Square function = new Square();
+		final List<Genotype<DoubleGene>> genotypes = genotypes(100);
+
+		try (ProcessEvaluator<DoubleGene, Double> evaluator = ProcessEvaluator
+			.builder(function)
+			.transport(transport)
+			.workers(2)
+			.batchSize(8)
+			.build())
+		{
+			final List<Double> fitness = genotypes.parallelStream()
+				.map(evaluator)
+				.collect(Collectors.toList());
+
+			for (int i = 0; i < genotypes.size(); ++i) {
+				Assert.assertEquals(
+					fitness.get(i),
+					function.apply(genotypes.get(i))
+				);
+			}
+			Assert.assertEquals(evaluator.getRestartCount(), 0);
+		}
+	}
+
+	@Test(timeOut = 60_000L)
+	public void restartWorker() throws IOException {
+		final File marker = File.createTempFile("jenetics-", ".marker");
+		Assert.assertTrue(marker.delete());
+		marker.deleteOnExit();
+
+		final List<Genotype<DoubleGene>> genotypes = genotypes(20);
+		try (ProcessEvaluator<DoubleGene, Double> evaluator =
+				ProcessEvaluator.of(new Crashing(marker.getPath()), 1))
+		{
+			final List<Double> fitness = genotypes.parallelStream()
+				.map(evaluator)
+				.collect(Collectors.toList());
+
+			for (int i = 0; i < genotypes.size(); ++i) {
+				Assert.assertEquals(
+					fitness.get(i),
+					genotypes.get(i).getGene().doubleValue()
+				);
+			}
+			Assert.assertEquals(evaluator.getRestartCount(), 1);
+		} finally {
+			marker.delete();
+		}
+	}
+
+	@Test(timeOut = 60_000L)
+	public void batchTimeout() throws InterruptedException {
+		final List<Genotype<DoubleGene>> genotypes = IntStream.range(0, 8)
+			.mapToObj(i -> Genotype.of(DoubleChromosome.of(DoubleGene.of(i, 0, 10))))
+			.collect(Collectors.toList());
+
+		final ExecutorService executor =
+			Executors.newFixedThreadPool(genotypes.size());
+		try (ProcessEvaluator<DoubleGene, Double> evaluator = ProcessEvaluator
+			.builder(new Hanging())
+			.workers(1)
+			.batchSize(genotypes.size())
+			.maxAttempts(2)
+			.batchTimeout(Duration.ofMillis(500))
+			.build())
+		{
+			final List<Future<Double>> fitness = genotypes.stream()
+				.map(gt -> executor.submit(() -> evaluator.apply(gt)))
+				.collect(Collectors.toList());
+
+			for (int i = 0; i < genotypes.size(); ++i) {
+				try {
+					Assert.assertEquals(fitness.get(i).get(), (double)i);
+					Assert.assertTrue(i <= 5, "Unexpected result for " + i);
+				} catch (ExecutionException e) {
+					Assert.assertTrue(i > 5, "Unexpected error for " + i);
+					Assert.assertTrue(
+						e.getCause() instanceof CancellationException,
+						e.getCause().toString()
+					);
+				}
+			}
+			Assert.assertTrue(evaluator.getRestartCount() > 0);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void invalidBatchTimeout() {
+		ProcessEvaluator.builder(new Square()).batchTimeout(Duration.ZERO);
+	}
+
+	@Test(timeOut = 60_000L, expectedExceptions = CancellationException.class)
+	public void fitnessFunctionError() {
+		try (ProcessEvaluator<DoubleGene, Double> evaluator =
+				ProcessEvaluator.of(new Failing(), 1))
+		{
+			evaluator.apply(Genotype.of(DoubleChromosome.of(0, 1)));
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void notSerializableFunction() {
+		final Function<Genotype<DoubleGene>, Double> function =
+			gt -> gt.getGene().doubleValue();
+
+		ProcessEvaluator.of(function, 1);
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void closedEvaluator() {
+		final ProcessEvaluator<DoubleGene, Double> evaluator =
+			ProcessEvaluator.of(new Square(), 1);
+		evaluator.close();
+
+		evaluator.apply(Genotype.of(DoubleChromosome.of(0, 1)));
+	}
+
+	@Test(timeOut = 60_000L)
+	public void concurrentClose() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final ProcessEvaluator<DoubleGene, Double> evaluator =
+				ProcessEvaluator.of(new Square(), 1);
+			final Genotype<DoubleGene> genotype =
+				Genotype.of(DoubleChromosome.of(0, 1));
+
+			// Every task evaluates genotypes until the evaluator is closed.
+			final List<Future<IllegalStateException>> errors = IntStream.range(0, 4)
+				.mapToObj(i -> executor.submit(() -> {
+					try {
+						while (true) {
+							evaluator.apply(genotype);
+						}
+					} catch (IllegalStateException e) {
+						return e;
+					}
+				}))
+				.collect(Collectors.toList());
+
+			Thread.sleep(500);
+			evaluator.close();
+
+			for (Future<IllegalStateException> error : errors) {
+				Assert.assertNotNull(error.get(10, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test(timeOut = 60_000L)
+	public void engineEvaluation() {
+		try (ProcessEvaluator<DoubleGene, Double> evaluator =
+				ProcessEvaluator.of(new Square(), 2))
+		{
+			final Engine<DoubleGene, Double> engine = Engine
+				.builder(evaluator, DoubleChromosome.of(0, 10))
+				.populationSize(50)
+				.threadPerEvaluation(2*evaluator.getBatchSize())
+				.build();
+
+			final EvolutionResult<DoubleGene, Double> result = engine.stream()
+				.limit(5)
+				.collect(EvolutionResult.toBestEvolutionResult());
+
+			final Genotype<DoubleGene> best = result.getBestPhenotype().getGenotype();
+			Assert.assertEquals(
+				result.getBestFitness(),
+				new Square().apply(best)
+			);
+		}
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.DoubleChromosome;
+import org.jenetics.DoubleGene;
+import org.jenetics.Genotype;
+import org.jenetics.Optimize;
+import org.jenetics.Phenotype;
+import org.jenetics.Population;
+import org.jenetics.TournamentSelector;
+import org.jenetics.TruncationSelector;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class SharingSelectorTest {
+
+	static Phenotype<DoubleGene, Double> phenotype(
+		final double value,
+		final double fitness
+	) {
+		return Phenotype.of(
+			Genotype.of(DoubleChromosome.of(DoubleGene.of(value, -100, 100))),
+			1,
+			gt -> fitness
+		);
+	}
+
+	// Nine crowded individuals around 0 and one lonely individual at 50.
+	private static Population<DoubleGene, Double> population(
+		final double crowded,
+		final double lonely
+	) {
+		final Population<DoubleGene, Double> population = new Population<>();
+		for (int i = 0; i < 9; ++i) {
+			population.add(phenotype(i*0.01, crowded));
+		}
+		population.add(phenotype(50, lonely));
+		return population;
+	}
+
+	@Test
+	public void maximize() {
+		final Population<DoubleGene, Double> population = population(10, 6);
+		final Phenotype<DoubleGene, Double> lonely = population.get(9);
+
+		Assert.assertNotSame(
+			new TruncationSelector<DoubleGene, Double>()
+				.select(population, 1, Optimize.MAXIMUM).get(0),
+			lonely
+		);
+
+		final SharingSelector<DoubleGene, Double> selector =
+			new SharingSelector<DoubleGene, Double>(
+			new TruncationSelector<>(), Distance.euclidean(), 1.0
+		);
+		Assert.assertSame(
+			selector.select(population, 1, Optimize.MAXIMUM).get(0),
+			lonely
+		);
+	}
+
+	@Test
+	public void minimize() {
+		final Population<DoubleGene, Double> population = population(0.5, 1.5);
+		final Phenotype<DoubleGene, Double> lonely = population.get(9);
+
+		Assert.assertNotSame(
+			new TruncationSelector<DoubleGene, Double>()
+				.select(population, 1, Optimize.MINIMUM).get(0),
+			lonely
+		);
+
+		final SharingSelector<DoubleGene, Double> selector =
+			new SharingSelector<DoubleGene, Double>(
+			new TruncationSelector<>(), Distance.euclidean(), 1.0, 2.0
+		);
+		Assert.assertSame(
+			selector.select(population, 1, Optimize.MINIMUM).get(0),
+			lonely
+		);
+	}
+
+	@Test
+	public void selectFromPopulation() {
+		final Population<DoubleGene, Double> population = population(10, 6);
+		final SharingSelector<DoubleGene, Double> selector =
+			new SharingSelector<DoubleGene, Double>(
+			new TournamentSelector<>(3), Distance.euclidean(), 0.5
+		);
+
+		final Population<DoubleGene, Double> selection =
+			selector.select(population, 100, Optimize.MAXIMUM);
+
+		Assert.assertEquals(selection.size(), 100);
+		for (Phenotype<DoubleGene, Double> pt : selection) {
+			Assert.assertTrue(population.stream().anyMatch(p -> p == pt));
+		}
+	}
+
+	@Test
+	public void emptyPopulation() {
+		final SharingSelector<DoubleGene, Double> selector =
+			new SharingSelector<DoubleGene, Double>(
+			new TruncationSelector<>(), Distance.euclidean(), 1.0
+		);
+
+		Assert.assertTrue(
+			selector.select(new Population<>(), 10, Optimize.MAXIMUM).isEmpty()
+		);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void invalidRadius() {
+		new SharingSelector<DoubleGene, Double>(
+			new TruncationSelector<>(), Distance.euclidean(), 0.0
+		);
+	}
+
+}
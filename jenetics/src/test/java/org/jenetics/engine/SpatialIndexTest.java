@@ -0,0 +1,232 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import org.jenetics.BitChromosome;
+import org.jenetics.BitGene;
+import org.jenetics.DoubleChromosome;
+import org.jenetics.DoubleGene;
+import org.jenetics.EnumGene;
+import org.jenetics.Genotype;
+import org.jenetics.IntegerChromosome;
+import org.jenetics.IntegerGene;
+import org.jenetics.PermutationChromosome;
+import org.jenetics.util.ISeq;
+import org.jenetics.util.LCG64ShiftRandom;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class SpatialIndexTest {
+
+	@Test(dataProvider = "indexes")
+	public <T> void nearest(final ISeq<T> elements, final Distance<T> distance) {
+		final SpatialIndex<T> index = SpatialIndex.of(elements, distance);
+		Assert.assertEquals(index.size(), elements.size());
+
+		for (int i = 0; i < elements.size(); i += 7) {
+			final T point = elements.get(i);
+			for (int k : new int[]{0, 1, 5, 20}) {
+				final double[] expected = elements.stream()
+					.mapToDouble(e -> distance.distance(point, e))
+					.sorted()
+					.limit(k)
+					.toArray();
+				final double[] actual = Arrays.stream(index.nearest(point, k))
+					.mapToDouble(j -> distance.distance(point, elements.get(j)))
+					.toArray();
+
+				Assert.assertEquals(actual.length, expected.length);
+				for (int j = 0; j < expected.length; ++j) {
+					Assert.assertEquals(actual[j], expected[j], 1.0E-12);
+				}
+			}
+		}
+	}
+
+	@Test(dataProvider = "indexes")
+	public <T> void approximateNearest(
+		final ISeq<T> elements,
+		final Distance<T> distance
+	) {
+		final SpatialIndex<T> index = SpatialIndex.of(elements, distance, 16);
+
+		for (int i = 0; i < elements.size(); i += 7) {
+			final T point = elements.get(i);
+			final double[] expected = elements.stream()
+				.mapToDouble(e -> distance.distance(point, e))
+				.sorted()
+				.limit(5)
+				.toArray();
+			final double[] actual = Arrays.stream(index.nearest(point, 5))
+				.mapToDouble(j -> distance.distance(point, elements.get(j)))
+				.toArray();
+
+			Assert.assertTrue(actual.length <= expected.length);
+			for (int j = 0; j < actual.length; ++j) {
+				Assert.assertTrue(actual[j] >= expected[j]);
+				Assert.assertTrue(j == 0 || actual[j] >= actual[j - 1]);
+			}
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void invalidChecks() {
+		SpatialIndex.of(
+			ISeq.<Genotype<BitGene>>of(Genotype.of(BitChromosome.of(10))),
+			Distance.<BitGene>hamming(),
+			0
+		);
+	}
+
+	@Test(dataProvider = "indexes")
+	public <T> void within(final ISeq<T> elements, final Distance<T> distance) {
+		final SpatialIndex<T> index = SpatialIndex.of(elements, distance);
+		final double radius = median(elements, distance);
+
+		for (int i = 0; i < elements.size(); i += 7) {
+			final T point = elements.get(i);
+			final int[] expected = new int[elements.size()];
+			int size = 0;
+			for (int j = 0; j < elements.size(); ++j) {
+				if (distance.distance(point, elements.get(j)) <= radius) {
+					expected[size++] = j;
+				}
+			}
+
+			final int[] actual = index.within(point, radius);
+			Arrays.sort(actual);
+			Assert.assertEquals(actual, Arrays.copyOf(expected, size));
+
+			index.within(point, radius, (j, d) ->
+				Assert.assertEquals(d, distance.distance(point, elements.get(j)), 1.0E-12)
+			);
+		}
+	}
+
+	private static <T> double median(
+		final ISeq<T> elements,
+		final Distance<T> distance
+	) {
+		final double[] distances = elements.stream()
+			.mapToDouble(e -> distance.distance(elements.get(0), e))
+			.sorted()
+			.toArray();
+		return distances[distances.length/4];
+	}
+
+	@DataProvider(name = "indexes")
+	public Object[][] indexes() {
+		return RandomRegistry.with(new LCG64ShiftRandom(123), r -> {
+			final Genotype<DoubleGene> doubles =
+				Genotype.of(DoubleChromosome.of(0, 10, 3));
+			final Genotype<BitGene> bits = Genotype.of(BitChromosome.of(37));
+			final Genotype<EnumGene<Integer>> permutations =
+				Genotype.of(PermutationChromosome.ofInteger(12));
+			final Genotype<IntegerGene> integers =
+				Genotype.of(IntegerChromosome.of(0, 5, 4));
+
+			final Distance<Genotype<IntegerGene>> manhattan = (a, b) -> {
+				double sum = 0;
+				for (int i = 0; i < a.getChromosome().length(); ++i) {
+					sum += Math.abs(
+						a.getChromosome().getGene(i).intValue() -
+						b.getChromosome().getGene(i).intValue()
+					);
+				}
+				return sum;
+			};
+
+			return new Object[][] {
+				{ISeq.of(doubles::newInstance, 500), Distance.<DoubleGene>euclidean()},
+				{ISeq.of(doubles::newInstance, 3), Distance.<DoubleGene>euclidean()},
+				{ISeq.of(bits::newInstance, 500), Distance.<BitGene>hamming()},
+				{ISeq.of(permutations::newInstance, 300), Distance.<EnumGene<Integer>>hamming()},
+				{ISeq.of(integers::newInstance, 400), manhattan},
+				{ISeq.of(integers::newInstance, 1), manhattan}
+			};
+		});
+	}
+
+	@Test
+	public void euclideanCoordinates() {
+		final Random random = new Random(123);
+		final ISeq<double[]> points = ISeq.of(
+			() -> new double[]{random.nextDouble(), random.nextDouble()},
+			1000
+		);
+
+		final SpatialIndex<double[]> index =
+			SpatialIndex.euclidean(points, p -> p);
+		final int[] nearest = index.nearest(new double[]{0.5, 0.5}, 1);
+
+		double min = Double.POSITIVE_INFINITY;
+		int expected = -1;
+		for (int i = 0; i < points.size(); ++i) {
+			final double d = Math.hypot(
+				points.get(i)[0] - 0.5,
+				points.get(i)[1] - 0.5
+			);
+			if (d < min) {
+				min = d;
+				expected = i;
+			}
+		}
+
+		Assert.assertEquals(nearest, new int[]{expected});
+	}
+
+	@Test
+	public void emptyIndex() {
+		final SpatialIndex<Genotype<DoubleGene>> index = SpatialIndex.of(
+			ISeq.<Genotype<DoubleGene>>empty(),
+			Distance.euclidean()
+		);
+		final Genotype<DoubleGene> gt = Genotype.of(DoubleChromosome.of(0, 1));
+
+		Assert.assertEquals(index.size(), 0);
+		Assert.assertEquals(index.nearest(gt, 3).length, 0);
+		Assert.assertEquals(index.within(gt, 1.0).length, 0);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void differentDimensions() {
+		SpatialIndex.euclidean(
+			ISeq.of(new double[]{1, 2}, new double[]{1, 2, 3}),
+			p -> p
+		);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void negativeRadius() {
+		final Genotype<BitGene> gt = Genotype.of(BitChromosome.of(10));
+		SpatialIndex.of(ISeq.<Genotype<BitGene>>of(gt), Distance.<BitGene>hamming())
+			.within(gt, -1.0);
+	}
+
+}
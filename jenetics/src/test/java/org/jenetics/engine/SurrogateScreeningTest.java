@@ -0,0 +1,163 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.DoubleChromosome;
+import org.jenetics.DoubleGene;
+import org.jenetics.Genotype;
+import org.jenetics.Optimize;
+import org.jenetics.Phenotype;
+import org.jenetics.Population;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class SurrogateScreeningTest {
+
+	private static final Function<Genotype<DoubleGene>, Double> FF =
+		gt -> gt.getGene().getAllele();
+
+	// Perfect surrogate, which counts the updates.
+	private static final class Exact implements Surrogate<DoubleGene, Double> {
+		final AtomicInteger updates = new AtomicInteger();
+
+		@Override
+		public Double predict(final Genotype<DoubleGene> genotype) {
+			return FF.apply(genotype);
+		}
+
+		@Override
+		public void update(final Genotype<DoubleGene> genotype, final Double fitness) {
+			Assert.assertEquals(fitness, FF.apply(genotype));
+			updates.incrementAndGet();
+		}
+	}
+
+	private static Population<DoubleGene, Double> population(final int size) {
+		return new Population<DoubleGene, Double>(size)
+			.fill(() -> Phenotype.of(
+				Genotype.of(DoubleChromosome.of(0, 1)), 1, FF),
+				size
+			);
+	}
+
+	private static EvaluationCounts evaluate(final Population<DoubleGene, Double> pop) {
+		int count = 0;
+		for (Phenotype<DoubleGene, Double> pt : pop) {
+			if (!pt.isEvaluated()) {
+				pt.evaluate();
+				++count;
+			}
+		}
+		return EvaluationCounts.of(count);
+	}
+
+	@Test
+	public void keepPredicted() {
+		final Exact surrogate = new Exact();
+		final SurrogateScreening<DoubleGene, Double> screening =
+			new SurrogateScreening<>(() -> surrogate, 0.2, false);
+
+		final Population<DoubleGene, Double> population = population(100);
+		final double best = population.stream()
+			.mapToDouble(pt -> FF.apply(pt.getGenotype()))
+			.max().orElse(0);
+
+		final EvaluationCounts counts = screening
+			.evaluate(population, Optimize.MAXIMUM, surrogate, SurrogateScreeningTest::evaluate);
+
+		Assert.assertEquals(counts, EvaluationCounts.of(20, 0, 0, 80));
+		Assert.assertEquals(population.size(), 100);
+		Assert.assertEquals(surrogate.updates.get(), 20);
+		population.forEach(pt -> Assert.assertTrue(pt.isEvaluated()));
+		Assert.assertEquals(
+			population.stream().mapToDouble(Phenotype::getFitness).max().orElse(0),
+			best
+		);
+	}
+
+	@Test
+	public void discardPredicted() {
+		final Exact surrogate = new Exact();
+		final SurrogateScreening<DoubleGene, Double> screening =
+			new SurrogateScreening<>(() -> surrogate, 0.3, true);
+
+		final Population<DoubleGene, Double> population = population(100);
+		final double[] sorted = population.stream()
+			.mapToDouble(pt -> FF.apply(pt.getGenotype()))
+			.sorted()
+			.toArray();
+
+		final EvaluationCounts counts = screening
+			.evaluate(population, Optimize.MINIMUM, surrogate, SurrogateScreeningTest::evaluate);
+
+		Assert.assertEquals(counts, EvaluationCounts.of(30, 0, 0, 70));
+		Assert.assertEquals(population.size(), 30);
+		Assert.assertEquals(
+			population.stream().mapToDouble(Phenotype::getFitness).max().orElse(0),
+			sorted[29]
+		);
+	}
+
+	@Test
+	public void unpredictable() {
+		final SurrogateScreening<DoubleGene, Double> screening =
+			new SurrogateScreening<>(() -> gt -> null, 0.0, true);
+
+		final Population<DoubleGene, Double> population = population(10);
+		final EvaluationCounts counts = screening.evaluate(
+			population,
+			Optimize.MAXIMUM,
+			screening.newSurrogate(),
+			SurrogateScreeningTest::evaluate
+		);
+
+		Assert.assertEquals(counts, EvaluationCounts.of(10));
+		Assert.assertEquals(population.size(), 10);
+	}
+
+	@Test
+	public void train() {
+		final Exact surrogate = new Exact();
+		final SurrogateScreening<DoubleGene, Double> screening =
+			new SurrogateScreening<>(() -> surrogate, 0.0, false);
+
+		final Population<DoubleGene, Double> population = population(10);
+		population.get(0).evaluate();
+
+		final EvaluationCounts counts =
+			screening.train(population, surrogate, SurrogateScreeningTest::evaluate);
+
+		Assert.assertEquals(counts, EvaluationCounts.of(9));
+		Assert.assertEquals(surrogate.updates.get(), 9);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void invalidFraction() {
+		new SurrogateScreening<DoubleGene, Double>(() -> gt -> null, 1.1, false);
+	}
+
+}
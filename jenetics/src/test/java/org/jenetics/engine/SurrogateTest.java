@@ -0,0 +1,105 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.engine;
+
+import java.util.Arrays;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.DoubleChromosome;
+import org.jenetics.DoubleGene;
+import org.jenetics.Genotype;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class SurrogateTest {
+
+	private static Genotype<DoubleGene> genotype(final double... values) {
+		return Genotype.of(DoubleChromosome.of(
+			Arrays.stream(values)
+				.mapToObj(v -> DoubleGene.of(v, -100, 100))
+				.toArray(DoubleGene[]::new)
+		));
+	}
+
+	@Test
+	public void euclidean() {
+		Assert.assertEquals(
+			Surrogate.euclidean(genotype(0, 0), genotype(3, 4)),
+			5.0
+		);
+		Assert.assertEquals(
+			Surrogate.euclidean(genotype(1, 2), genotype(1, 2)),
+			0.0
+		);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void euclideanDifferentLength() {
+		Surrogate.euclidean(genotype(0, 0), genotype(1, 2, 3));
+	}
+
+	@Test
+	public void emptyArchive() {
+		final Surrogate<DoubleGene, Double> surrogate =
+			Surrogate.nearestNeighbours(3, 10);
+
+		Assert.assertNull(surrogate.predict(genotype(1)));
+		surrogate.update(genotype(1), 1.0);
+		surrogate.update(genotype(2), 2.0);
+		Assert.assertNull(surrogate.predict(genotype(1)));
+	}
+
+	@Test
+	public void nearestNeighbours() {
+		final Surrogate<DoubleGene, Double> surrogate =
+			Surrogate.nearestNeighbours(3, 100);
+		for (int i = 0; i < 10; ++i) {
+			surrogate.update(genotype(i), i*10.0);
+		}
+
+		// Neighbours of 2.2 are 2, 3 and 1; median fitness is 20.
+		Assert.assertEquals(surrogate.predict(genotype(2.2)), 20.0);
+		Assert.assertEquals(surrogate.predict(genotype(-5)), 10.0);
+		Assert.assertEquals(surrogate.predict(genotype(50)), 80.0);
+	}
+
+	@Test
+	public void archiveReplacement() {
+		final Surrogate<DoubleGene, Double> surrogate =
+			Surrogate.nearestNeighbours(1, 3);
+		surrogate.update(genotype(0), 0.0);
+		surrogate.update(genotype(1), 1.0);
+		surrogate.update(genotype(2), 2.0);
+		Assert.assertEquals(surrogate.predict(genotype(0)), 0.0);
+
+		// The oldest entry is replaced.
+		surrogate.update(genotype(3), 3.0);
+		Assert.assertEquals(surrogate.predict(genotype(0)), 1.0);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void invalidArchiveSize() {
+		Surrogate.nearestNeighbours(5, 4);
+	}
+
+}
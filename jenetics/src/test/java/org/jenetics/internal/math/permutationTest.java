@@ -0,0 +1,243 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.internal.math;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import org.jenetics.internal.util.array;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class permutationTest {
+
+	private static int[] shuffled(final int length, final Random random) {
+		return array.shuffle(IntStream.range(0, length).toArray(), random);
+	}
+
+	@Test
+	public void inverse() {
+		final int[] positions = permutation.inverse(new int[]{3, 0, 5}, 6);
+		Assert.assertEquals(positions, new int[]{1, -1, -1, 0, -1, 2});
+	}
+
+	@Test
+	public void isValid() {
+		Assert.assertTrue(permutation.isValid(new int[]{2, 0, 1}, 3));
+		Assert.assertTrue(permutation.isValid(new int[]{4, 0}, 5));
+		Assert.assertFalse(permutation.isValid(new int[]{2, 0, 2}, 3));
+		Assert.assertFalse(permutation.isValid(new int[]{3, 0, 1}, 3));
+		Assert.assertFalse(permutation.isValid(new int[]{-1, 0, 1}, 3));
+	}
+
+	@Test
+	public void isSameSet() {
+		Assert.assertTrue(permutation.isSameSet(new int[]{2, 0, 1}, new int[]{0, 1, 2}, 4));
+		Assert.assertFalse(permutation.isSameSet(new int[]{2, 0, 1}, new int[]{0, 1, 3}, 4));
+		Assert.assertFalse(permutation.isSameSet(new int[]{2, 0}, new int[]{0, 1, 2}, 4));
+	}
+
+	@Test
+	public void reverse() {
+		final int[] order = {0, 1, 2, 3, 4, 5};
+		permutation.reverse(order, 1, 5);
+		Assert.assertEquals(order, new int[]{0, 4, 3, 2, 1, 5});
+	}
+
+	@Test(dataProvider = "lengths")
+	public void pmx(final Integer length) {
+		final Random random = new Random(length);
+		for (int i = 0; i < 100; ++i) {
+			final int[] a = shuffled(length, random);
+			final int[] b = shuffled(length, random);
+			final int[] points = base.subset(length, 2, random);
+
+			final int[] ea = a.clone();
+			final int[] eb = b.clone();
+			pmxReference(ea, eb, points[0], points[1]);
+
+			permutation.pmx(a, b, points[0], points[1], length);
+			Assert.assertEquals(a, ea);
+			Assert.assertEquals(b, eb);
+			Assert.assertTrue(permutation.isValid(a, length));
+			Assert.assertTrue(permutation.isValid(b, length));
+		}
+	}
+
+	// The original, quadratic PMX implementation.
+	private static void pmxReference(
+		final int[] a,
+		final int[] b,
+		final int begin,
+		final int end
+	) {
+		for (int i = begin; i < end; ++i) {
+			final int temp = a[i];
+			a[i] = b[i];
+			b[i] = temp;
+		}
+		repairReference(a, b, begin, end);
+		repairReference(b, a, begin, end);
+	}
+
+	private static void repairReference(
+		final int[] that,
+		final int[] other,
+		final int begin,
+		final int end
+	) {
+		for (int i = 0; i < that.length; ++i) {
+			if (i >= begin && i < end) continue;
+
+			int index = indexOf(that, that[i], begin, end);
+			while (index != -1) {
+				that[i] = other[index];
+				index = indexOf(that, that[i], begin, end);
+			}
+		}
+	}
+
+	private static int indexOf(
+		final int[] array,
+		final int value,
+		final int begin,
+		final int end
+	) {
+		for (int i = begin; i < end; ++i) {
+			if (array[i] == value) return i;
+		}
+		return -1;
+	}
+
+	@Test
+	public void ox() {
+		final int[] a = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+		final int[] b = {9, 8, 7, 6, 5, 4, 3, 2, 1, 0};
+		permutation.ox(a, b, 3, 6, 10);
+
+		Assert.assertEquals(a, new int[]{8, 7, 6, 3, 4, 5, 2, 1, 0, 9});
+		Assert.assertEquals(b, new int[]{1, 2, 3, 6, 5, 4, 7, 8, 9, 0});
+	}
+
+	@Test(dataProvider = "lengths")
+	public void oxKeepsRegion(final Integer length) {
+		final Random random = new Random(length);
+		for (int i = 0; i < 100; ++i) {
+			final int[] a = shuffled(length, random);
+			final int[] b = shuffled(length, random);
+			final int[] points = base.subset(length, 2, random);
+
+			final int[] ca = a.clone();
+			final int[] cb = b.clone();
+			permutation.ox(ca, cb, points[0], points[1], length);
+
+			Assert.assertTrue(permutation.isValid(ca, length));
+			Assert.assertTrue(permutation.isValid(cb, length));
+			for (int j = points[0]; j < points[1]; ++j) {
+				Assert.assertEquals(ca[j], a[j]);
+				Assert.assertEquals(cb[j], b[j]);
+			}
+		}
+	}
+
+	@Test
+	public void cx() {
+		final int[] a = {1, 2, 3, 4, 5, 6, 7, 8, 9, 0};
+		final int[] b = {2, 1, 4, 3, 6, 5, 8, 7, 0, 9};
+		Assert.assertEquals(permutation.cx(a, b, 10), 5);
+
+		Assert.assertEquals(a, new int[]{1, 2, 4, 3, 5, 6, 8, 7, 9, 0});
+		Assert.assertEquals(b, new int[]{2, 1, 3, 4, 6, 5, 7, 8, 0, 9});
+	}
+
+	@Test(dataProvider = "lengths")
+	public void cxKeepsPositions(final Integer length) {
+		final Random random = new Random(length);
+		for (int i = 0; i < 100; ++i) {
+			final int[] a = shuffled(length, random);
+			final int[] b = shuffled(length, random);
+
+			final int[] ca = a.clone();
+			final int[] cb = b.clone();
+			permutation.cx(ca, cb, length);
+
+			Assert.assertTrue(permutation.isValid(ca, length));
+			Assert.assertTrue(permutation.isValid(cb, length));
+			for (int j = 0; j < length; ++j) {
+				Assert.assertTrue(ca[j] == a[j] && cb[j] == b[j] ||
+					ca[j] == b[j] && cb[j] == a[j]);
+			}
+		}
+	}
+
+	@Test(dataProvider = "lengths")
+	public void erx(final Integer length) {
+		final Random random = new Random(length);
+		for (int i = 0; i < 100; ++i) {
+			final int[] a = shuffled(length, random);
+			final int[] b = shuffled(length, random);
+
+			final int[] child = permutation.erx(a, b, a[0], length, random);
+			Assert.assertTrue(permutation.isValid(child, length));
+			Assert.assertEquals(child.length, length.intValue());
+			Assert.assertEquals(child[0], a[0]);
+		}
+	}
+
+	@Test(dataProvider = "lengths")
+	public void erxOfSameTour(final Integer length) {
+		final Random random = new Random(length);
+		final int[] a = shuffled(length, random);
+
+		final int[] child = permutation.erx(a, a.clone(), a[3%length], length, random);
+		Assert.assertEquals(edges(child), edges(a));
+	}
+
+	private static Set<Set<Integer>> edges(final int[] tour) {
+		final Set<Set<Integer>> edges = new HashSet<>();
+		for (int i = 0; i < tour.length; ++i) {
+			final Set<Integer> edge = new HashSet<>();
+			edge.add(tour[i]);
+			edge.add(tour[(i + 1)%tour.length]);
+			edges.add(edge);
+		}
+		return edges;
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void differentLength() {
+		permutation.cx(new int[]{0, 1}, new int[]{0, 1, 2}, 3);
+	}
+
+	@DataProvider(name = "lengths")
+	public Object[][] lengths() {
+		return new Object[][] {
+			{2}, {3}, {4}, {5}, {10}, {33}, {100}, {1000}
+		};
+	}
+
+}
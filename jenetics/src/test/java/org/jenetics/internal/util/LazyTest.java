@@ -20,7 +20,10 @@
 package org.jenetics.internal.util;
 
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import org.jenetics.util.Factory;
@@ -41,4 +44,34 @@ public class LazyTest extends ObjectTester<Lazy<Double>> {
 		};
 	}
 
+	@Test(timeOut = 10_000L)
+	public void evaluateOutsideMonitor() throws InterruptedException {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final Lazy<Integer> lazy = Lazy.of(() -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return 42;
+		});
+
+		final Thread thread = new Thread(lazy::get);
+		thread.start();
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		// Neither the monitor nor the evaluation state is blocked by the
+		// running supplier.
+		synchronized (lazy) {
+			Assert.assertFalse(lazy.isEvaluated());
+		}
+
+		release.countDown();
+		thread.join();
+		Assert.assertTrue(lazy.isEvaluated());
+		Assert.assertEquals(lazy.get(), Integer.valueOf(42));
+	}
+
 }
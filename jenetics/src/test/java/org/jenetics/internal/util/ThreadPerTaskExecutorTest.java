@@ -0,0 +1,83 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.internal.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class ThreadPerTaskExecutorTest {
+
+	@Test(dataProvider = "executors", timeOut = 10_000L)
+	public void execute(final ThreadPerTaskExecutor executor) {
+		final AtomicInteger count = new AtomicInteger();
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+
+		final List<Runnable> tasks = IntStream.range(0, 500)
+			.mapToObj(i -> (Runnable)() -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				try {
+					Thread.sleep(5);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					running.decrementAndGet();
+				}
+				count.incrementAndGet();
+			})
+			.collect(Collectors.toList());
+
+		try (Concurrency c = Concurrency.with(executor)) {
+			c.execute(tasks);
+		}
+
+		Assert.assertEquals(count.get(), tasks.size());
+		Assert.assertTrue(
+			maxRunning.get() <= executor.getMaxConcurrentTasks(),
+			"Max running tasks: " + maxRunning.get()
+		);
+	}
+
+	@DataProvider(name = "executors")
+	public Object[][] executors() {
+		return new Object[][] {
+			{ThreadPerTaskExecutor.of()},
+			{ThreadPerTaskExecutor.of(1)},
+			{ThreadPerTaskExecutor.of(10)},
+			{ThreadPerTaskExecutor.ofPlatformThreads(1)},
+			{ThreadPerTaskExecutor.ofPlatformThreads(100)}
+		};
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void invalidMaxConcurrentTasks() {
+		ThreadPerTaskExecutor.of(0);
+	}
+
+}
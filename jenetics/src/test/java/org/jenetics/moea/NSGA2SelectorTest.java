@@ -0,0 +1,176 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.moea;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.DoubleChromosome;
+import org.jenetics.DoubleGene;
+import org.jenetics.Genotype;
+import org.jenetics.Optimize;
+import org.jenetics.Phenotype;
+import org.jenetics.Population;
+import org.jenetics.engine.Engine;
+import org.jenetics.engine.EvolutionResult;
+import org.jenetics.util.ISeq;
+import org.jenetics.util.RandomRegistry;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class NSGA2SelectorTest {
+
+	static Vec<double[]> fitness(final Genotype<DoubleGene> gt) {
+		final double x = gt.getGene().doubleValue();
+		return Vec.of(x*x, (x - 2)*(x - 2));
+	}
+
+	static Population<DoubleGene, Vec<double[]>> population(
+		final int size,
+		final long seed
+	) {
+		return RandomRegistry.with(new Random(seed), r -> {
+			final Population<DoubleGene, Vec<double[]>> population =
+				new Population<>(size);
+			for (int i = 0; i < size; ++i) {
+				population.add(Phenotype.of(
+					Genotype.of(DoubleChromosome.of(-5, 5)),
+					0,
+					NSGA2SelectorTest::fitness
+				));
+			}
+			return population;
+		});
+	}
+
+	static ISeq<Vec<double[]>> fitness(
+		final Population<DoubleGene, Vec<double[]>> population
+	) {
+		return population.stream()
+			.map(Phenotype::getFitness)
+			.collect(ISeq.toISeq());
+	}
+
+	@Test
+	public void selectFronts() {
+		final Population<DoubleGene, Vec<double[]>> population = population(200, 123);
+		final ISeq<Vec<double[]>> fitness = fitness(population);
+		final int[] ranks = Pareto.rank(fitness.map(v -> Vec.of(-v.data()[0], -v.data()[1])));
+
+		final Population<DoubleGene, Vec<double[]>> selection =
+			NSGA2Selector.<DoubleGene, double[], Vec<double[]>>ofVec()
+				.select(population, 50, Optimize.MINIMUM);
+		Assert.assertEquals(selection.size(), 50);
+
+		// The selected individuals must have the lowest ranks.
+		final int maxRank = selection.stream()
+			.mapToInt(pt -> ranks[population.indexOf(pt)])
+			.max().getAsInt();
+		final long better = java.util.stream.IntStream.of(ranks)
+			.filter(r -> r < maxRank)
+			.count();
+		Assert.assertTrue(better <= 50);
+		Assert.assertEquals(
+			selection.stream()
+				.filter(pt -> ranks[population.indexOf(pt)] < maxRank)
+				.count(),
+			better
+		);
+	}
+
+	@Test
+	public void selectMoreThanPopulation() {
+		final Population<DoubleGene, Vec<double[]>> population = population(20, 456);
+		final Population<DoubleGene, Vec<double[]>> selection =
+			NSGA2Selector.<DoubleGene, double[], Vec<double[]>>ofVec()
+				.select(population, 50, Optimize.MAXIMUM);
+
+		Assert.assertEquals(selection.size(), 50);
+		Assert.assertEquals(
+			selection.stream().collect(Collectors.toSet()),
+			population.stream().collect(Collectors.toSet())
+		);
+	}
+
+	@Test
+	public void selectEmpty() {
+		final Population<DoubleGene, Vec<double[]>> selection =
+			NSGA2Selector.<DoubleGene, double[], Vec<double[]>>ofVec()
+				.select(new Population<>(), 10, Optimize.MAXIMUM);
+		Assert.assertTrue(selection.isEmpty());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void negativeCount() {
+		NSGA2Selector.<DoubleGene, double[], Vec<double[]>>ofVec()
+			.select(population(10, 1), -1, Optimize.MAXIMUM);
+	}
+
+	@Test
+	public void crowdedTournament() {
+		final Population<DoubleGene, Vec<double[]>> population = population(100, 789);
+		final Population<DoubleGene, Vec<double[]>> selection =
+			CrowdedTournamentSelector.<DoubleGene, double[], Vec<double[]>>ofVec()
+				.select(population, 100, Optimize.MINIMUM);
+
+		Assert.assertEquals(selection.size(), 100);
+		Assert.assertTrue(population.containsAll(selection));
+	}
+
+	@Test
+	public void evolve() {
+		final Engine<DoubleGene, Vec<double[]>> engine = Engine
+			.builder(NSGA2SelectorTest::fitness, DoubleChromosome.of(-5, 5))
+			.optimize(Optimize.MINIMUM)
+			.offspringSelector(CrowdedTournamentSelector.ofVec())
+			.survivorsSelector(NSGA2Selector.ofVec())
+			.populationSize(100)
+			.build();
+
+		final EvolutionResult<DoubleGene, Vec<double[]>> result =
+			RandomRegistry.with(new Random(1234), r -> engine.stream()
+				.limit(30)
+				.reduce((a, b) -> b)
+				.orElseThrow(AssertionError::new));
+
+		final ISeq<Phenotype<DoubleGene, Vec<double[]>>> front =
+			result.getParetoFront();
+		Assert.assertTrue(front.size() > 50, "Front size: " + front.size());
+
+		// The Pareto optimal solutions are in the range [0, 2].
+		for (Phenotype<DoubleGene, Vec<double[]>> pt : front) {
+			final double x = pt.getGenotype().getGene().doubleValue();
+			Assert.assertTrue(x >= -0.1 && x <= 2.1, "Not Pareto optimal: " + x);
+		}
+
+		final Set<Phenotype<DoubleGene, Vec<double[]>>> expected =
+			result.getPopulation().stream()
+				.filter(pt -> result.getPopulation().stream()
+					.noneMatch(p -> p.getFitness().dominance(pt.getFitness()) < 0))
+				.collect(Collectors.toSet());
+		Assert.assertEquals(front.stream().collect(Collectors.toSet()), expected);
+	}
+
+}
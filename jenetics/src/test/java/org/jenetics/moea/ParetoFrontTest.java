@@ -0,0 +1,87 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.moea;
+
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.util.ISeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class ParetoFrontTest {
+
+	@Test
+	public void add() {
+		final ParetoFront<Vec<double[]>> front = new ParetoFront<>(Vec::dominance);
+
+		Assert.assertTrue(front.add(Vec.of(1.0, 2.0)));
+		Assert.assertTrue(front.add(Vec.of(2.0, 1.0)));
+		Assert.assertFalse(front.add(Vec.of(1.0, 2.0)));
+		Assert.assertFalse(front.add(Vec.of(0.5, 0.5)));
+		Assert.assertEquals(front.size(), 2);
+
+		Assert.assertTrue(front.add(Vec.of(2.0, 2.0)));
+		Assert.assertEquals(front.toISeq(), ISeq.of(Vec.of(2.0, 2.0)));
+	}
+
+	@Test
+	public void collect() {
+		final ISeq<Vec<int[]>> points = ParetoTest.points(1000, 3, 100, new Random(123));
+
+		final ParetoFront<Vec<int[]>> front = points.stream()
+			.collect(ParetoFront.toParetoFront());
+		final ParetoFront<Vec<int[]>> parallelFront = points.asList()
+			.parallelStream()
+			.collect(ParetoFront.toParetoFront());
+
+		final ISeq<Vec<int[]>> expected = Pareto.front(points).stream()
+			.distinct()
+			.collect(ISeq.toISeq());
+
+		Assert.assertEquals(front.size(), expected.size());
+		Assert.assertTrue(front.containsAll(expected.asList()));
+		Assert.assertEquals(parallelFront, front);
+	}
+
+	@Test
+	public void trim() {
+		final ParetoFront<Vec<double[]>> front = new ParetoFront<>(Vec::dominance);
+		for (int i = 0; i <= 10; ++i) {
+			front.add(Vec.of(i, 10.0 - i));
+		}
+		front.add(Vec.of(5.1, 4.9));
+		Assert.assertEquals(front.size(), 12);
+
+		front.trim(11, Vec::compare, Vec::distance, Vec::length);
+		Assert.assertEquals(front.size(), 11);
+		Assert.assertTrue(front.contains(Vec.of(0.0, 10.0)));
+		Assert.assertTrue(front.contains(Vec.of(10.0, 0.0)));
+
+		front.trim(2, Vec::compare, Vec::distance, Vec::length);
+		Assert.assertEquals(front.size(), 2);
+		Assert.assertTrue(front.contains(Vec.of(0.0, 10.0)));
+		Assert.assertTrue(front.contains(Vec.of(10.0, 0.0)));
+	}
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.moea;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import org.jenetics.util.ISeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class ParetoTest {
+
+	static ISeq<Vec<int[]>> points(
+		final int size,
+		final int dimension,
+		final int range,
+		final Random random
+	) {
+		return ISeq.<Vec<int[]>>of(() -> {
+			final int[] values = new int[dimension];
+			for (int i = 0; i < dimension; ++i) {
+				values[i] = random.nextInt(range);
+			}
+			return Vec.of(values);
+		}, size);
+	}
+
+	// Naive O(MN^3) reference implementation.
+	private static <T> int[] rank(final ISeq<Vec<T>> points) {
+		final int[] ranks = new int[points.size()];
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int i = 0; i < points.size(); ++i) {
+				for (int j = 0; j < points.size(); ++j) {
+					if (points.get(j).dominance(points.get(i)) > 0 &&
+						ranks[i] <= ranks[j])
+					{
+						ranks[i] = ranks[j] + 1;
+						changed = true;
+					}
+				}
+			}
+		}
+		return ranks;
+	}
+
+	@DataProvider(name = "dimensions")
+	public Object[][] dimensions() {
+		return new Object[][] {
+			{1, 10}, {1, 1000},
+			{2, 5}, {2, 1000},
+			{3, 5}, {3, 1000},
+			{4, 3}, {4, 1000},
+			{6, 4}
+		};
+	}
+
+	@Test(dataProvider = "dimensions")
+	public void rank(final int dimension, final int range) {
+		final Random random = new Random(dimension*range);
+		for (int i = 0; i < 20; ++i) {
+			final ISeq<Vec<int[]>> points =
+				points(random.nextInt(150) + 1, dimension, range, random);
+
+			Assert.assertEquals(Pareto.rank(points), rank(points));
+		}
+	}
+
+	@Test
+	public void rankEmpty() {
+		Assert.assertEquals(Pareto.rank(ISeq.<Vec<int[]>>empty()), new int[0]);
+	}
+
+	@Test
+	public void front() {
+		final ISeq<Vec<int[]>> points = points(500, 3, 100, new Random(123));
+		final ISeq<Vec<int[]>> front = Pareto.front(points);
+
+		Assert.assertFalse(front.isEmpty());
+		for (Vec<int[]> point : points) {
+			final boolean dominated = points.stream()
+				.anyMatch(p -> p.dominance(point) > 0);
+			Assert.assertEquals(front.contains(point), !dominated);
+		}
+	}
+
+	@Test
+	public void crowdingDistance() {
+		final ISeq<Vec<double[]>> points = ISeq.of(
+			Vec.of(0.0, 4.0),
+			Vec.of(1.0, 3.0),
+			Vec.of(3.0, 1.0),
+			Vec.of(4.0, 0.0)
+		);
+
+		final double[] distances = Pareto.crowdingDistance(points);
+		Assert.assertEquals(distances[0], Double.POSITIVE_INFINITY);
+		Assert.assertEquals(distances[1], 3.0/4.0 + 3.0/4.0, 0.000001);
+		Assert.assertEquals(distances[2], 3.0/4.0 + 3.0/4.0, 0.000001);
+		Assert.assertEquals(distances[3], Double.POSITIVE_INFINITY);
+	}
+
+	@Test
+	public void crowdingDistanceOfFronts() {
+		final Random random = new Random(456);
+		final ISeq<Vec<int[]>> points = points(300, 3, 50, random);
+		final Objectives<Vec<int[]>> objectives = Objectives.of(
+			points.asList(), Vec::compare, Vec::distance, Vec::length
+		);
+		final int[] ranks = Pareto.rank(objectives);
+		final double[] distances = Pareto.crowdingDistance(objectives, ranks);
+
+		for (int rank = 0, n = IntStream.of(ranks).max().getAsInt(); rank <= n; ++rank) {
+			final int r = rank;
+			final int[] indexes = IntStream.range(0, ranks.length)
+				.filter(i -> ranks[i] == r)
+				.toArray();
+			final double[] expected = Pareto.crowdingDistance(
+				IntStream.of(indexes)
+					.mapToObj(points::get)
+					.collect(ISeq.toISeq())
+			);
+			for (int i = 0; i < indexes.length; ++i) {
+				Assert.assertEquals(distances[indexes[i]], expected[i]);
+			}
+		}
+	}
+
+	@Test
+	public void dominance() {
+		Assert.assertEquals(Pareto.dominance(new double[]{1, 2}, new double[]{1, 2}), 0);
+		Assert.assertEquals(Pareto.dominance(new double[]{1, 3}, new double[]{1, 2}), 1);
+		Assert.assertEquals(Pareto.dominance(new double[]{1, 2}, new double[]{2, 2}), -1);
+		Assert.assertEquals(Pareto.dominance(new double[]{1, 3}, new double[]{2, 2}), 0);
+		Assert.assertEquals(Pareto.dominance(new int[]{3, 3}, new int[]{2, 2}), 1);
+		Assert.assertEquals(Pareto.dominance(new long[]{3, 1}, new long[]{2, 2}), 0);
+
+		Assert.assertEquals(Vec.of(1, 2, 3).dominance(Vec.of(1, 2, 2)), 1);
+		Assert.assertEquals(Vec.of(1, 2, 3).compareTo(Vec.of(2, 2, 4)), -1);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void dominanceOfDifferentLength() {
+		Vec.of(1.0, 2.0).dominance(Vec.of(1.0, 2.0, 3.0));
+	}
+
+	@Test
+	public void sort() {
+		final Random random = new Random(789);
+		final double[] values = random.doubles(1000).map(v -> Math.floor(v*50)).toArray();
+		final int[] indexes = Pareto.indexes(values.length);
+		Pareto.sort(indexes, (i, j) -> Double.compare(values[i], values[j]));
+
+		for (int i = 1; i < indexes.length; ++i) {
+			Assert.assertTrue(values[indexes[i - 1]] <= values[indexes[i]]);
+			if (values[indexes[i - 1]] == values[indexes[i]]) {
+				Assert.assertTrue(indexes[i - 1] < indexes[i], "Not stable.");
+			}
+		}
+	}
+
+}
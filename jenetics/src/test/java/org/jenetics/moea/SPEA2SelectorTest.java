@@ -0,0 +1,98 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.moea;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.jenetics.DoubleGene;
+import org.jenetics.Optimize;
+import org.jenetics.Population;
+import org.jenetics.util.ISeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class SPEA2SelectorTest {
+
+	@Test
+	public void selectNonDominated() {
+		final Population<DoubleGene, Vec<double[]>> population =
+			NSGA2SelectorTest.population(100, 123);
+		final ISeq<Vec<double[]>> fitness = NSGA2SelectorTest.fitness(population);
+		final int[] ranks = Pareto.rank(fitness);
+		final long front = IntStream.of(ranks).filter(r -> r == 0).count();
+
+		final Population<DoubleGene, Vec<double[]>> selection =
+			SPEA2Selector.<DoubleGene, double[], Vec<double[]>>ofVec()
+				.select(population, (int)front + 10, Optimize.MAXIMUM);
+
+		Assert.assertEquals(selection.size(), front + 10);
+		for (int i = 0; i < population.size(); ++i) {
+			if (ranks[i] == 0) {
+				Assert.assertTrue(selection.contains(population.get(i)));
+			}
+		}
+	}
+
+	@Test
+	public void truncate() {
+		final Population<DoubleGene, Vec<double[]>> population =
+			NSGA2SelectorTest.population(100, 456);
+
+		// All individuals are non-dominated for minimization, x in [0, 2].
+		final Population<DoubleGene, Vec<double[]>> front = population.stream()
+			.filter(pt -> {
+				final double x = pt.getGenotype().getGene().doubleValue();
+				return x >= 0 && x <= 2;
+			})
+			.collect(Population.toPopulation());
+		Assert.assertTrue(front.size() > 5);
+
+		final Population<DoubleGene, Vec<double[]>> selection =
+			SPEA2Selector.<DoubleGene, double[], Vec<double[]>>ofVec()
+				.select(front, 5, Optimize.MINIMUM);
+		Assert.assertEquals(selection.size(), 5);
+
+		Assert.assertTrue(front.containsAll(selection));
+
+		// The truncation removes the most crowded individuals.
+		Assert.assertTrue(minDistance(selection) > minDistance(front));
+	}
+
+	private static double minDistance(
+		final Population<DoubleGene, Vec<double[]>> population
+	) {
+		double min = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < population.size(); ++i) {
+			for (int j = i + 1; j < population.size(); ++j) {
+				min = Math.min(min, Math.abs(
+					population.get(i).getFitness().data()[0] -
+					population.get(j).getFitness().data()[0]
+				));
+			}
+		}
+		return min;
+	}
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmx.at)
+ */
+package org.jenetics.stat;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import io.jenetics.prngine.LCG64ShiftRandom;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
+ */
+public class QuantileSketchTest {
+
+	@Test
+	public void exactForSmallStreams() {
+		final QuantileSketch sketch = new QuantileSketch();
+		final double[] values = new Random(123).doubles(150).toArray();
+		Arrays.stream(values).forEach(sketch);
+
+		final double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		for (double p : new double[]{0.1, 0.25, 0.5, 0.75, 0.9}) {
+			Assert.assertEquals(
+				sketch.quantile(p),
+				sorted[(int)(sorted.length*p)]
+			);
+		}
+		Assert.assertEquals(sketch.quantile(0), sorted[0]);
+		Assert.assertEquals(sketch.quantile(1), sorted[sorted.length - 1]);
+	}
+
+	@Test(dataProvider = "quantiles")
+	public void quantile(final Double p) {
+		final int N = 1_000_000;
+		final QuantileSketch sketch = new QuantileSketch();
+		new LCG64ShiftRandom(1234).doubles().limit(N).forEach(sketch);
+
+		Assert.assertEquals(sketch.getCount(), N);
+		Assert.assertEquals(sketch.quantile(p), p, 0.01);
+		Assert.assertTrue(sketch.retained() < 4*sketch.getK());
+	}
+
+	@Test(dataProvider = "quantiles")
+	public void parallelQuantile(final Double p) {
+		final int N = 1_000_000;
+		final QuantileSketch sketch = new LCG64ShiftRandom(1234).doubles()
+			.limit(N).parallel()
+			.collect(
+				QuantileSketch::new,
+				QuantileSketch::accept,
+				QuantileSketch::combine
+			);
+
+		Assert.assertEquals(sketch.getCount(), N);
+		Assert.assertEquals(sketch.quantile(p), p, 0.01);
+		Assert.assertTrue(sketch.retained() < 4*sketch.getK());
+	}
+
+	@DataProvider(name = "quantiles")
+	public Object[][] quantiles() {
+		return new Double[][] {
+			{0.0}, {0.01}, {0.1}, {0.25}, {0.5}, {0.75}, {0.9}, {0.99}, {1.0}
+		};
+	}
+
+	@Test
+	public void toSketch() {
+		final QuantileSketch sketch = IntStream.range(0, 100_000).boxed()
+			.parallel()
+			.collect(QuantileSketch.toSketch(Integer::doubleValue));
+
+		Assert.assertEquals(sketch.getCount(), 100_000);
+		final double[] quantiles = sketch.quantiles(0.5, 0.9, 0.99);
+		Assert.assertEquals(quantiles[0], 50_000, 1_000);
+		Assert.assertEquals(quantiles[1], 90_000, 1_000);
+		Assert.assertEquals(quantiles[2], 99_000, 1_000);
+	}
+
+	@Test
+	public void combineExact() {
+		final QuantileSketch a = new QuantileSketch();
+		final QuantileSketch b = new QuantileSketch();
+		IntStream.range(0, 50).asDoubleStream().forEach(a);
+		IntStream.range(50, 100).asDoubleStream().forEach(b);
+
+		final QuantileSketch c = a.combine(b);
+		Assert.assertEquals(c.getCount(), 100);
+		Assert.assertEquals(c.quantile(0.5), 50.0);
+		Assert.assertEquals(c.quantile(0.25), 25.0);
+	}
+
+	@Test
+	public void rank() {
+		final QuantileSketch sketch = new QuantileSketch();
+		IntStream.range(0, 100_000).asDoubleStream().forEach(sketch);
+
+		Assert.assertEquals(sketch.rank(50_000), 0.5, 0.01);
+		Assert.assertEquals(sketch.rank(-1), 0.0);
+		Assert.assertEquals(sketch.rank(100_000), 1.0);
+	}
+
+	@Test
+	public void minMax() {
+		final QuantileSketch sketch = new QuantileSketch(8);
+		IntStream.range(-1000, 1000).asDoubleStream().forEach(sketch);
+
+		Assert.assertEquals(sketch.getMin(), -1000.0);
+		Assert.assertEquals(sketch.getMax(), 999.0);
+	}
+
+	@Test
+	public void empty() {
+		final QuantileSketch sketch = new QuantileSketch();
+		Assert.assertTrue(Double.isNaN(sketch.quantile(0.5)));
+		Assert.assertTrue(Double.isNaN(sketch.rank(0.5)));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void invalidProbability() {
+		new QuantileSketch().quantile(1.5);
+	}
+
+}